@@ -0,0 +1,42 @@
+package com.epam.esm.benchmark;
+
+import com.epam.esm.util.CriteriaConstructor;
+import com.epam.esm.util.entity.SearchUnit;
+import com.epam.esm.util.entity.SortUnit;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures conversion of search and sort request parameters to criteria as controllers do it for every
+ * list request, including the id tiebreaker appended for keyset pagination.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CriteriaConstructorBenchmark {
+    private final List<String> searchFields = List.of("name", "description", "tagName", "tagName");
+    private final List<String> searchExpressions = List.of("spa", "relax", "beauty", "health");
+    private final List<String> sortFields = List.of("createDate", "name");
+    private final List<String> sortTypes = List.of("desc", "asc");
+
+    @Benchmark
+    public List<SearchUnit> searchCriteria() {
+        return CriteriaConstructor.convertListsToSearchCriteria(searchFields, searchExpressions);
+    }
+
+    @Benchmark
+    public List<SortUnit> sortCriteria() {
+        return CriteriaConstructor.convertListsToSortCriteria(sortFields, sortTypes);
+    }
+
+    @Benchmark
+    public List<SortUnit> keysetSortCriteria() {
+        return CriteriaConstructor.appendIdTiebreaker(
+                CriteriaConstructor.convertListsToSortCriteria(sortFields, sortTypes));
+    }
+}
@@ -0,0 +1,107 @@
+package com.epam.esm.benchmark;
+
+import com.epam.esm.model.dao.Dao;
+import com.epam.esm.model.dao.exception.DaoException;
+import com.epam.esm.model.dao.metrics.DaoMetricsAspect;
+import com.epam.esm.util.entity.SearchUnit;
+import com.epam.esm.util.entity.SortUnit;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures overhead of {@link DaoMetricsAspect} on a DAO which doesn't touch the database: calls through a proxy
+ * without advice, as DAOs are already proxied for transactions, and through a proxy with the aspect. Overhead
+ * per call is the difference between them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DaoMetricsBenchmark {
+    private static final List<String> PAGE = List.of("first", "second", "third");
+    private Dao<String> plainDao;
+    private Dao<String> measuredDao;
+    private List<SearchUnit> searchCriteria;
+    private List<SortUnit> sortCriteria;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        plainDao = new AspectJProxyFactory(new StubDao()).getProxy();
+        AspectJProxyFactory factory = new AspectJProxyFactory(new StubDao());
+        factory.addAspect(new DaoMetricsAspect(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT)));
+        measuredDao = factory.getProxy();
+        searchCriteria = List.of(new SearchUnit("name", "gift"));
+        sortCriteria = List.of(new SortUnit("createDate", false), new SortUnit("id", true));
+    }
+
+    @Benchmark
+    public Optional<String> findByIdPlain() throws DaoException {
+        return plainDao.findById(1);
+    }
+
+    @Benchmark
+    public Optional<String> findByIdMeasured() throws DaoException {
+        return measuredDao.findById(1);
+    }
+
+    @Benchmark
+    public List<String> findAllPlain() throws DaoException {
+        return plainDao.findAll(searchCriteria, sortCriteria, 0, PAGE.size());
+    }
+
+    @Benchmark
+    public List<String> findAllMeasured() throws DaoException {
+        return measuredDao.findAll(searchCriteria, sortCriteria, 0, PAGE.size());
+    }
+
+    private static class StubDao implements Dao<String> {
+        @Override
+        public String add(String entity) {
+            return entity;
+        }
+
+        @Override
+        public Optional<String> findById(long id) {
+            return Optional.of(PAGE.get(0));
+        }
+
+        @Override
+        public List<String> findAll(int offset, int limit) {
+            return PAGE;
+        }
+
+        @Override
+        public List<String> findAll(List<SearchUnit> searchCriteria,
+                                    List<SortUnit> sortCriteria,
+                                    int offset,
+                                    int limit) {
+            return PAGE;
+        }
+
+        @Override
+        public List<String> findAll(List<SearchUnit> searchCriteria,
+                                    List<SortUnit> sortCriteria,
+                                    List<String> afterSortKeys,
+                                    int limit) {
+            return PAGE;
+        }
+
+        @Override
+        public String update(String entity) {
+            return entity;
+        }
+
+        @Override
+        public String delete(long id) {
+            return PAGE.get(0);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.epam.esm.benchmark;
+
+import com.epam.esm.GiftCertificatesApplication;
+import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.entity.Tag;
+import com.epam.esm.generator.DataGenerator;
+import com.epam.esm.model.dao.GiftCertificateDao;
+import com.epam.esm.model.dao.TagDao;
+import com.epam.esm.model.dao.UserDao;
+import com.epam.esm.model.dao.exception.DaoException;
+import com.epam.esm.util.entity.OrderSummary;
+import com.epam.esm.util.entity.SortUnit;
+import com.epam.esm.util.entity.TagFilter;
+import org.hibernate.SessionFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures latency distribution of DAO queries behind list endpoints as the catalog grows. Data is generated by
+ * {@link DataGenerator} into H2 in MySQL mode: tags and users grow with certificates, popularity of tags and
+ * activity of users is skewed, so few tags and users have most of certificates and orders. With disabled
+ * in-memory indexes search by tags and the most used tag are answered by SQL, otherwise by the indexes.
+ * Percentiles are reported by sample mode, statements per call with
+ * {@code -prof com.epam.esm.benchmark.HibernateStatementProfiler}. H2 doesn't cache parsed statements, otherwise
+ * a repeated call with the same parameters on a pooled connection returns the result of the previous execution
+ * without running the query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class DaoScalingBenchmark {
+    private static final int PAGE_SIZE = 20;
+    private static final int CERTIFICATES_PER_TAG = 100;
+    private static final int CERTIFICATES_PER_USER = 10;
+    private static final String POPULAR_TAG = "tag1";
+    @Param({"10000", "100000", "1000000"})
+    private int certificates;
+    @Param({"false", "true"})
+    private boolean indexesEnabled;
+    private ConfigurableApplicationContext context;
+    private GiftCertificateDao giftCertificateDao;
+    private UserDao userDao;
+    private TagDao tagDao;
+    private List<SortUnit> newestFirst;
+    private TagFilter popularTag;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(GiftCertificatesApplication.class)
+                .profiles(DataGenerator.PROFILE)
+                .run("--spring.main.web-application-type=none",
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;MODE=MySQL;"
+                                + "DATABASE_TO_UPPER=false;QUERY_CACHE_SIZE=0",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.properties.hibernate.generate_statistics=true",
+                        "--logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=warn",
+                        "--generator.tags=" + Math.max(1, certificates / CERTIFICATES_PER_TAG),
+                        "--generator.users=" + Math.max(1, certificates / CERTIFICATES_PER_USER),
+                        "--generator.certificates=" + certificates,
+                        "--generator.orders=" + certificates,
+                        "--index.certificate-text.enabled=" + indexesEnabled,
+                        "--index.certificate-tag.enabled=" + indexesEnabled,
+                        "--index.tag-usage.enabled=" + indexesEnabled);
+        HibernateStatementProfiler.register(context.getBean(EntityManagerFactory.class)
+                .unwrap(SessionFactory.class)
+                .getStatistics());
+        giftCertificateDao = context.getBean(GiftCertificateDao.class);
+        userDao = context.getBean(UserDao.class);
+        tagDao = context.getBean(TagDao.class);
+        newestFirst = List.of(new SortUnit("createDate", false), new SortUnit("id", true));
+        popularTag = TagFilter.builder().allOf(List.of(POPULAR_TAG)).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        HibernateStatementProfiler.unregister();
+        context.close();
+    }
+
+    @Benchmark
+    public List<GiftCertificate> findAll() throws DaoException {
+        return giftCertificateDao.findAll(List.of(), newestFirst, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<GiftCertificate> findByTagName() throws DaoException {
+        return giftCertificateDao.findByTagName(popularTag, List.of(), newestFirst, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<OrderSummary> findOrdersOfUser() throws DaoException {
+        return userDao.findOrdersOfUser(1, List.of(), 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Tag findMostUsedTag() throws DaoException {
+        return tagDao.findMostUsedTag();
+    }
+}
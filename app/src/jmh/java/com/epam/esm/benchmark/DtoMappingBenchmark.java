@@ -0,0 +1,105 @@
+package com.epam.esm.benchmark;
+
+import com.epam.esm.controller.mapper.DtoMapper;
+import com.epam.esm.controller.mapper.DtoMapperImpl;
+import com.epam.esm.entity.*;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares time and allocation per mapped entity of reflective {@link ModelMapper} against generated
+ * {@link DtoMapper}. Run with {@code -prof gc} to compare allocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoMappingBenchmark {
+    private ModelMapper modelMapper;
+    private DtoMapper dtoMapper;
+    private GiftCertificate giftCertificate;
+    private Tag tag;
+    private User user;
+    private Order order;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        dtoMapper = new DtoMapperImpl();
+        LocalDateTime date = LocalDateTime.now();
+        tag = Tag.builder().id(1L).name("tag").build();
+        giftCertificate = GiftCertificate.builder()
+                .id(1L)
+                .name("certificate")
+                .description("description")
+                .price(BigDecimal.TEN)
+                .durationInDays(10)
+                .createDate(date)
+                .lastUpdateDate(date)
+                .tags(List.of(tag, Tag.builder().id(2L).name("other").build()))
+                .build();
+        user = User.builder()
+                .id(1L)
+                .email("user@mail.com")
+                .name("name")
+                .surname("surname")
+                .registrationDate(date)
+                .role(Role.USER)
+                .status(Status.ACTIVE)
+                .build();
+        order = Order.builder()
+                .id(1L)
+                .user(user)
+                .giftCertificate(giftCertificate)
+                .cost(BigDecimal.TEN)
+                .orderDate(date)
+                .build();
+    }
+
+    @Benchmark
+    public GiftCertificateDto giftCertificateModelMapper() {
+        return modelMapper.map(giftCertificate, GiftCertificateDto.class);
+    }
+
+    @Benchmark
+    public GiftCertificateDto giftCertificateGenerated() {
+        return dtoMapper.toDto(giftCertificate);
+    }
+
+    @Benchmark
+    public TagDto tagModelMapper() {
+        return modelMapper.map(tag, TagDto.class);
+    }
+
+    @Benchmark
+    public TagDto tagGenerated() {
+        return dtoMapper.toDto(tag);
+    }
+
+    @Benchmark
+    public UserDto userModelMapper() {
+        return modelMapper.map(user, UserDto.class);
+    }
+
+    @Benchmark
+    public UserDto userGenerated() {
+        return dtoMapper.toDto(user);
+    }
+
+    @Benchmark
+    public OrderDto orderModelMapper() {
+        return modelMapper.map(order, OrderDto.class);
+    }
+
+    @Benchmark
+    public OrderDto orderGenerated() {
+        return dtoMapper.toDto(order);
+    }
+}
@@ -0,0 +1,135 @@
+package com.epam.esm.benchmark;
+
+import com.epam.esm.GiftCertificatesApplication;
+import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.model.dao.GiftCertificateDao;
+import com.epam.esm.model.service.ExportService;
+import com.epam.esm.model.service.GiftCertificateImportService;
+import com.epam.esm.model.service.ServiceException;
+import com.epam.esm.util.entity.ExportFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares export of 100 000 gift certificates with scrollable cursor against paging through
+ * {@code findAll} with the maximum page size, which is the only way to get whole catalog without export.
+ * Rows per second are reported as {@code rows} counter. Run with {@code -prof gc} to compare allocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgs = "-Xmx512m")
+public class ExportBenchmark {
+    private static final int ROW_COUNT = 100_000;
+    private static final int PAGE_SIZE = 1000;
+    private ConfigurableApplicationContext context;
+    private ExportService exportService;
+    private GiftCertificateDao giftCertificateDao;
+    private TransactionTemplate transactionTemplate;
+    private ObjectWriter objectWriter;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Rows {
+        public long rows;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws ServiceException {
+        context = new SpringApplicationBuilder(GiftCertificatesApplication.class)
+                .run("--spring.main.web-application-type=none",
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;MODE=MySQL",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--index.certificate-text.enabled=false",
+                        "--index.certificate-tag.enabled=false");
+        exportService = context.getBean(ExportService.class);
+        giftCertificateDao = context.getBean(GiftCertificateDao.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(true);
+        objectWriter = context.getBean(ObjectMapper.class).writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StringBuilder source = new StringBuilder();
+        for (int i = 0; i < ROW_COUNT; i++) {
+            source.append("{\"name\":\"certificate").append(i)
+                    .append("\",\"description\":\"description\",\"price\":10,\"durationInDays\":10,")
+                    .append("\"tags\":[{\"name\":\"tag").append(i % 100).append("\"}]}\n");
+        }
+        context.getBean(GiftCertificateImportService.class).importAll(new StringReader(source.toString()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void scroll(Rows rows) throws ServiceException {
+        CountingOutputStream out = new CountingOutputStream();
+        exportService.exportGiftCertificates(null, null, ExportFormat.NDJSON, out);
+        rows.rows += out.lines;
+    }
+
+    @Benchmark
+    public void paging(Rows rows) throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        int offset = 0;
+        int pageSize;
+        do {
+            int pageOffset = offset;
+            pageSize = transactionTemplate.execute(status -> writePage(writer, pageOffset));
+            offset += pageSize;
+        } while (pageSize == PAGE_SIZE);
+        writer.flush();
+        rows.rows += out.lines;
+    }
+
+    private int writePage(Writer writer, int offset) {
+        try {
+            List<GiftCertificate> page = giftCertificateDao.findAll(List.of(), List.of(), offset, PAGE_SIZE);
+            for (GiftCertificate giftCertificate : page) {
+                writer.write(objectWriter.writeValueAsString(giftCertificate));
+                writer.write('\n');
+            }
+            return page.size();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.epam.esm.benchmark;
+
+import com.epam.esm.GiftCertificatesApplication;
+import com.epam.esm.entity.Tag;
+import com.epam.esm.model.dao.TagDao;
+import com.epam.esm.model.dao.exception.DaoException;
+import com.epam.esm.model.service.GiftCertificateImportService;
+import com.epam.esm.model.service.ServiceException;
+import com.epam.esm.util.entity.ImportResult;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures import of 100 000 gift certificates, each with two existing and one new tag. With batch size 1
+ * Hibernate sends every insert as a separate statement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class GiftCertificateImportBenchmark {
+    private static final int LINE_COUNT = 100_000;
+    private static final int EXISTING_TAG_COUNT = 100;
+    private static final int NEW_TAG_NAME_COUNT = 1000;
+    @Param({"1", "50"})
+    private int batchSize;
+    private ConfigurableApplicationContext context;
+    private GiftCertificateImportService importService;
+    private String source;
+
+    @Setup(Level.Trial)
+    public void setUp() throws DaoException {
+        context = new SpringApplicationBuilder(GiftCertificatesApplication.class)
+                .run("--spring.main.web-application-type=none",
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;MODE=MySQL",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize);
+        importService = context.getBean(GiftCertificateImportService.class);
+        TagDao tagDao = context.getBean(TagDao.class);
+        List<Long> tagIds = new ArrayList<>();
+        for (int i = 0; i < EXISTING_TAG_COUNT; i++) {
+            tagIds.add(tagDao.add(Tag.builder().name("tag" + i).build()).getId());
+        }
+        Random random = new Random(42);
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < LINE_COUNT; i++) {
+            builder.append("{\"name\":\"certificate").append(i)
+                    .append("\",\"description\":\"description of certificate ").append(i)
+                    .append("\",\"price\":").append(1 + random.nextInt(1000))
+                    .append(",\"durationInDays\":").append(1 + random.nextInt(365))
+                    .append(",\"tags\":[").append(existingTag(random.nextInt(EXISTING_TAG_COUNT), tagIds))
+                    .append(",").append(existingTag(random.nextInt(EXISTING_TAG_COUNT), tagIds))
+                    .append(",{\"name\":\"new").append(random.nextInt(NEW_TAG_NAME_COUNT))
+                    .append("\"}]}\n");
+        }
+        source = builder.toString();
+    }
+
+    private static String existingTag(int index, List<Long> tagIds) {
+        return "{\"id\":" + tagIds.get(index) + ",\"name\":\"tag" + index + "\"}";
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ImportResult importAll() throws ServiceException {
+        return importService.importAll(new StringReader(source));
+    }
+}
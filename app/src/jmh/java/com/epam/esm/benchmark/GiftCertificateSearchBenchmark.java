@@ -0,0 +1,105 @@
+package com.epam.esm.benchmark;
+
+import com.epam.esm.GiftCertificatesApplication;
+import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.model.index.GiftCertificateTextIndexLoader;
+import com.epam.esm.model.service.GiftCertificateService;
+import com.epam.esm.model.service.ServiceException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares search of gift certificates by part of name and description with and without text index.
+ * Without index the search is answered by {@code LIKE '%expression%'} which scans the whole table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class GiftCertificateSearchBenchmark {
+    private static final int WORD_COUNT = 20000;
+    private static final int BATCH_SIZE = 5000;
+    private static final long SEED = 42;
+    @Param({"1000000"})
+    private int certificates;
+    @Param({"true", "false"})
+    private boolean indexEnabled;
+    private ConfigurableApplicationContext context;
+    private GiftCertificateService giftCertificateService;
+    private String nameExpression;
+    private String descriptionExpression;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(GiftCertificatesApplication.class)
+                .run("--spring.main.web-application-type=none",
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;MODE=MySQL",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--index.certificate-text.enabled=" + indexEnabled);
+        seed(context.getBean(JdbcTemplate.class));
+        context.getBean(GiftCertificateTextIndexLoader.class).rebuild();
+        giftCertificateService = context.getBean(GiftCertificateService.class);
+        nameExpression = word(WORD_COUNT / 3);
+        descriptionExpression = word(WORD_COUNT / 7);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<GiftCertificate> searchByName() throws ServiceException {
+        return giftCertificateService.findAll(null, null, List.of("name"), List.of(nameExpression), 0, 10);
+    }
+
+    @Benchmark
+    public List<GiftCertificate> searchByNameAndDescription() throws ServiceException {
+        return giftCertificateService.findAll(null,
+                null,
+                List.of("name", "description"),
+                List.of(nameExpression, descriptionExpression),
+                0,
+                10);
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        Random random = new Random(SEED);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now().minusDays(1));
+        String sql = "INSERT INTO gift_certificate (id, name, description, price, duration_in_days, create_date, "
+                + "last_update_date) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (long id = 1; id <= certificates; id++) {
+            String name = word(random.nextInt(WORD_COUNT)) + " " + word(random.nextInt(WORD_COUNT));
+            String description = word(random.nextInt(WORD_COUNT)) + " " + word(random.nextInt(WORD_COUNT))
+                    + " " + word(random.nextInt(WORD_COUNT));
+            batch.add(new Object[]{id, name, description, BigDecimal.TEN, 10, now, now});
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+
+    private static String word(int number) {
+        return "word" + Integer.toString(number, Character.MAX_RADIX) + "x";
+    }
+}
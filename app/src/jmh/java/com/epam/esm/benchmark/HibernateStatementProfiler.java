@@ -0,0 +1,58 @@
+package com.epam.esm.benchmark;
+
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.Defaults;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Reports JDBC statements prepared by Hibernate per benchmark operation as {@code statements} secondary metric.
+ * Benchmark registers statistics of its session factory with {@link #register(Statistics)}, statistics must be
+ * enabled by {@code hibernate.generate_statistics}. Profiler of the last iteration is called after trial tear
+ * down, so benchmark calls {@link #unregister()} before closing the session factory, which clears statistics.
+ * Enabled with {@code -prof com.epam.esm.benchmark.HibernateStatementProfiler}.
+ */
+public class HibernateStatementProfiler implements InternalProfiler {
+    private static volatile LongSupplier statementCount;
+    private long statementCountBefore;
+
+    public static void register(Statistics statistics) {
+        statementCount = statistics::getPrepareStatementCount;
+    }
+
+    public static void unregister() {
+        long frozenStatementCount = statementCount.getAsLong();
+        statementCount = () -> frozenStatementCount;
+    }
+
+    @Override
+    public String getDescription() {
+        return "JDBC statements prepared by Hibernate per operation";
+    }
+
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+        statementCountBefore = statementCount == null ? 0 : statementCount.getAsLong();
+    }
+
+    @Override
+    public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams,
+                                                       IterationParams iterationParams,
+                                                       IterationResult result) {
+        long operations = result.getMetadata().getMeasuredOps();
+        if (statementCount == null || operations == 0) {
+            return List.of();
+        }
+        double statements = (double) (statementCount.getAsLong() - statementCountBefore) / operations;
+        return List.of(new ScalarResult(Defaults.PREFIX + "statements", statements, "#/op", AggregationPolicy.AVG));
+    }
+}
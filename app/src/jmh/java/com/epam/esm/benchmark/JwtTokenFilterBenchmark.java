@@ -0,0 +1,117 @@
+package com.epam.esm.benchmark;
+
+import com.epam.esm.entity.Role;
+import com.epam.esm.entity.Status;
+import com.epam.esm.entity.User;
+import com.epam.esm.model.dao.UserDao;
+import com.epam.esm.security.AccountStatusCache;
+import com.epam.esm.security.JwtTokenFilter;
+import com.epam.esm.security.JwtTokenProvider;
+import com.epam.esm.security.SecurityUser;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures cost of authenticating a request with the same bearer token. User details and account status are
+ * served from memory, so only token handling is measured. {@link #validateThenAuthenticate()} repeats calls the filter made
+ * before claims were parsed once, with disabled cache it verifies signature twice per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenFilterBenchmark {
+    private static final String AUTHORIZATION_HEADER = "Authorization";
+    private static final String EMAIL = "user@mail.com";
+    private static final long USER_ID = 1;
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {
+    };
+    @Param({"true", "false"})
+    private boolean cacheEnabled;
+    private AnnotationConfigApplicationContext context;
+    private JwtTokenProvider jwtTokenProvider;
+    private JwtTokenFilter jwtTokenFilter;
+    private MockHttpServletRequest request;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext();
+        context.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance());
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", Map.of(
+                "jwt.header", AUTHORIZATION_HEADER,
+                "jwt.secret", "supersecret",
+                "jwt.expiration", "604800",
+                "jwt.cache.enabled", String.valueOf(cacheEnabled))));
+        SecurityUser user = new SecurityUser(USER_ID, EMAIL, "", Role.USER, Status.ACTIVE);
+        context.registerBean("userDetailsServiceImpl", UserDetailsService.class, () -> username -> user);
+        context.registerBean(UserDao.class, JwtTokenFilterBenchmark::userDao);
+        context.register(AccountStatusCache.class, JwtTokenProvider.class, JwtTokenFilter.class);
+        context.refresh();
+        jwtTokenProvider = context.getBean(JwtTokenProvider.class);
+        jwtTokenFilter = context.getBean(JwtTokenFilter.class);
+        token = jwtTokenProvider.createToken(user);
+        request = new MockHttpServletRequest();
+        request.addHeader(AUTHORIZATION_HEADER, token);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Authentication filter() throws IOException, ServletException {
+        jwtTokenFilter.doFilter(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    @Benchmark
+    public Authentication validateThenAuthenticate() {
+        if (jwtTokenProvider.validateToken(token)) {
+            return jwtTokenProvider.getAuthentication(token);
+        }
+        return null;
+    }
+
+    /**
+     * Creates user DAO which only finds the benchmark user by id.
+     */
+    private static UserDao userDao() {
+        User user = User.builder().id(USER_ID).email(EMAIL).role(Role.USER).status(Status.ACTIVE).build();
+        return (UserDao) Proxy.newProxyInstance(UserDao.class.getClassLoader(), new Class<?>[]{UserDao.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "findById":
+                            return Optional.of(user);
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return UserDao.class.getSimpleName();
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
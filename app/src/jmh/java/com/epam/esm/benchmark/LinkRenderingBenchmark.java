@@ -0,0 +1,159 @@
+package com.epam.esm.benchmark;
+
+import com.epam.esm.controller.GiftCertificateControllerV1;
+import com.epam.esm.entity.GiftCertificateDto;
+import com.epam.esm.entity.Tag;
+import com.epam.esm.util.LinkTemplate;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.DefaultLinkRelationProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+/**
+ * Measures rendering of a page of 1000 gift certificates to HAL: links built by {@code linkTo(methodOn(...))}
+ * for every record as before, links expanded from {@link LinkTemplate} for every record, and compact
+ * representation with templated links once per collection. With {@code serialize=false} only links are built.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LinkRenderingBenchmark {
+    private static final int PAGE_SIZE = 1000;
+    private static final String UPDATE = "update";
+    private static final String DELETE = "delete";
+    private static final LinkTemplate ITEM_LINK = LinkTemplate.compile("/api/v1/gift-certificates/{id}");
+    @Param({"true", "false"})
+    private boolean serialize;
+    private ObjectMapper halObjectMapper;
+    private Link collectionSelf;
+    private LocalDateTime date;
+    private List<Tag> tags;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setServerName("example.com");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        halObjectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .registerModule(new Jackson2HalModule());
+        halObjectMapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new DefaultLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+        collectionSelf = Link.of("http://example.com/api/v1/gift-certificates?limit=" + PAGE_SIZE);
+        date = LocalDateTime.now();
+        tags = List.of(Tag.builder().id(1L).name("tag1").build(), Tag.builder().id(2L).name("tag2").build());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public void methodInvocation(Sink sink, Blackhole blackhole) throws IOException {
+        List<GiftCertificateDto> page = createPage();
+        for (GiftCertificateDto giftCertificateDto : page) {
+            Long id = giftCertificateDto.getId();
+            Link self = linkTo(methodOn(GiftCertificateControllerV1.class).findById(id, null)).withSelfRel();
+            Link update = linkTo(methodOn(GiftCertificateControllerV1.class).update(id, null, null)).withRel(UPDATE);
+            Link delete = linkTo(methodOn(GiftCertificateControllerV1.class).delete(id, null)).withRel(DELETE);
+            giftCertificateDto.add(self, update, delete);
+        }
+        render(CollectionModel.of(page, collectionSelf), sink, blackhole);
+    }
+
+    @Benchmark
+    public void template(Sink sink, Blackhole blackhole) throws IOException {
+        List<GiftCertificateDto> page = createPage();
+        String baseUri = LinkTemplate.currentBaseUri();
+        for (GiftCertificateDto giftCertificateDto : page) {
+            String href = ITEM_LINK.expand(baseUri, giftCertificateDto.getId());
+            giftCertificateDto.add(Link.of(href), Link.of(href, UPDATE), Link.of(href, DELETE));
+        }
+        render(CollectionModel.of(page, collectionSelf), sink, blackhole);
+    }
+
+    @Benchmark
+    public void compact(Sink sink, Blackhole blackhole) throws IOException {
+        List<GiftCertificateDto> page = createPage();
+        String baseUri = LinkTemplate.currentBaseUri();
+        CollectionModel<GiftCertificateDto> collectionModel = CollectionModel.of(page, collectionSelf);
+        collectionModel.add(ITEM_LINK.toTemplatedLink(baseUri, IanaLinkRelations.ITEM),
+                ITEM_LINK.toTemplatedLink(baseUri, LinkRelation.of(UPDATE)),
+                ITEM_LINK.toTemplatedLink(baseUri, LinkRelation.of(DELETE)));
+        render(collectionModel, sink, blackhole);
+    }
+
+    private List<GiftCertificateDto> createPage() {
+        List<GiftCertificateDto> page = new ArrayList<>(PAGE_SIZE);
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            page.add(GiftCertificateDto.builder()
+                    .id(id)
+                    .name("certificate" + id)
+                    .description("description")
+                    .price(BigDecimal.TEN)
+                    .durationInDays(10)
+                    .createDate(date)
+                    .lastUpdateDate(date)
+                    .tags(tags)
+                    .build());
+        }
+        return page;
+    }
+
+    private void render(CollectionModel<GiftCertificateDto> collectionModel, Sink sink, Blackhole blackhole)
+            throws IOException {
+        if (serialize) {
+            halObjectMapper.writeValue(sink, collectionModel);
+        } else {
+            blackhole.consume(collectionModel);
+        }
+    }
+
+    /**
+     * Counts written bytes, so serialization is not eliminated.
+     */
+    @State(Scope.Thread)
+    public static class Sink extends OutputStream {
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.epam.esm.benchmark;
+
+import com.epam.esm.GiftCertificatesApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures latency of catalog requests over HTTP while other clients keep sending logins. Passwords are verified
+ * on the bounded hashing pool, so with flood latency percentiles should stay close to the ones without it, while
+ * logins which don't fit the pool get 429 status.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(4)
+@Fork(1)
+public class LoginFloodBenchmark {
+    private static final String EMAIL = "flood@mail.com";
+    private static final String PASSWORD = "flood-password";
+    private static final String JSON = "application/json";
+    @Param({"0", "32"})
+    private int loginClients;
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private ExecutorService flood;
+    private volatile boolean flooding;
+    private URI catalogUri;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        context = new SpringApplicationBuilder(GiftCertificatesApplication.class)
+                .run("--server.port=0",
+                        "--management.server.port=-1",
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;MODE=MySQL",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect");
+        String baseUri = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/v1";
+        catalogUri = URI.create(baseUri + "/gift-certificates?offset=0&limit=10");
+        httpClient = HttpClient.newHttpClient();
+        HttpRequest register = post(baseUri + "/users", "{\"email\":\"" + EMAIL + "\",\"password\":\"" + PASSWORD
+                + "\",\"name\":\"name\",\"surname\":\"surname\"}");
+        httpClient.send(register, HttpResponse.BodyHandlers.discarding());
+        HttpRequest login = post(baseUri + "/auth/login",
+                "{\"email\":\"" + EMAIL + "\",\"password\":\"" + PASSWORD + "\"}");
+        flooding = true;
+        flood = Executors.newFixedThreadPool(Math.max(loginClients, 1));
+        for (int i = 0; i < loginClients; i++) {
+            flood.execute(() -> {
+                while (flooding) {
+                    try {
+                        httpClient.send(login, HttpResponse.BodyHandlers.discarding());
+                    } catch (IOException e) {
+                        return;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            });
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        flooding = false;
+        flood.shutdown();
+        flood.awaitTermination(1, TimeUnit.MINUTES);
+        context.close();
+    }
+
+    @Benchmark
+    public int findCertificates() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(catalogUri).GET().build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static HttpRequest post(String uri, String body) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .header("Content-Type", JSON)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
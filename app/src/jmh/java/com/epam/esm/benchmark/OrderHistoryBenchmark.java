@@ -0,0 +1,138 @@
+package com.epam.esm.benchmark;
+
+import com.epam.esm.GiftCertificatesApplication;
+import com.epam.esm.entity.*;
+import com.epam.esm.model.dao.GiftCertificateDao;
+import com.epam.esm.model.dao.OrderDao;
+import com.epam.esm.model.dao.TagDao;
+import com.epam.esm.model.dao.UserDao;
+import com.epam.esm.model.dao.exception.DaoException;
+import com.epam.esm.util.entity.OrderSummary;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares page of order history read as {@link OrderSummary} rows against the previous read path, which
+ * checked existence of user, loaded {@link Order} entities with user and gift certificate with tags and
+ * mapped them to {@link OrderDto}. Run with {@code -prof gc} to compare allocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class OrderHistoryBenchmark {
+    private static final String FIND_ORDERS_OF_USER_QUERY = "select o from Order o where o.user.id = :id";
+    private static final int GIFT_CERTIFICATE_COUNT = 100;
+    private static final int ORDER_COUNT = 5000;
+    private static final int LIMIT = 100;
+    @Param({"0", "4900"})
+    private int offset;
+    private ConfigurableApplicationContext context;
+    private UserDao userDao;
+    private TransactionTemplate transactionTemplate;
+    private EntityManager entityManager;
+    private ModelMapper modelMapper;
+    private long userId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(GiftCertificatesApplication.class)
+                .run("--spring.main.web-application-type=none",
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;MODE=MySQL",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect");
+        userDao = context.getBean(UserDao.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        entityManager = context.getBean(EntityManager.class);
+        modelMapper = new ModelMapper();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            try {
+                populate();
+            } catch (DaoException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private void populate() throws DaoException {
+        User user = userDao.add(User.builder()
+                .email("benchmark@mail.com")
+                .name("name")
+                .surname("surname")
+                .password("$2a$12$passwordhashpasswordhashpasswordhashpasswordhashpass")
+                .registrationDate(LocalDateTime.now())
+                .role(Role.USER)
+                .status(Status.ACTIVE)
+                .build());
+        userId = user.getId();
+        TagDao tagDao = context.getBean(TagDao.class);
+        List<Tag> tags = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            tags.add(tagDao.add(Tag.builder().name("tag" + i).build()));
+        }
+        GiftCertificateDao giftCertificateDao = context.getBean(GiftCertificateDao.class);
+        List<GiftCertificate> giftCertificates = new ArrayList<>();
+        for (int i = 0; i < GIFT_CERTIFICATE_COUNT; i++) {
+            giftCertificates.add(giftCertificateDao.add(GiftCertificate.builder()
+                    .name("certificate" + i)
+                    .description("description")
+                    .price(BigDecimal.TEN)
+                    .durationInDays(10)
+                    .createDate(LocalDateTime.now())
+                    .lastUpdateDate(LocalDateTime.now())
+                    .tags(new ArrayList<>(List.of(tags.get(i % 10), tags.get((i + 3) % 10))))
+                    .build()));
+        }
+        OrderDao orderDao = context.getBean(OrderDao.class);
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            orderDao.add(Order.builder()
+                    .user(user)
+                    .giftCertificate(giftCertificates.get(i % GIFT_CERTIFICATE_COUNT))
+                    .cost(BigDecimal.TEN)
+                    .orderDate(LocalDateTime.now())
+                    .build());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<OrderSummary> projection() throws DaoException {
+        return userDao.findOrdersOfUser(userId, List.of(), offset, LIMIT);
+    }
+
+    @Benchmark
+    public List<OrderDto> entities() {
+        return transactionTemplate.execute(status -> {
+            entityManager.find(User.class, userId);
+            return entityManager.createQuery(FIND_ORDERS_OF_USER_QUERY, Order.class)
+                    .setParameter("id", userId)
+                    .setFirstResult(offset)
+                    .setMaxResults(LIMIT)
+                    .getResultStream()
+                    .map(order -> modelMapper.map(order, OrderDto.class))
+                    .collect(Collectors.toList());
+        });
+    }
+}
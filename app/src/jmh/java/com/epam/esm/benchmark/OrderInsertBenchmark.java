@@ -0,0 +1,82 @@
+package com.epam.esm.benchmark;
+
+import com.epam.esm.GiftCertificatesApplication;
+import com.epam.esm.entity.*;
+import com.epam.esm.model.dao.GiftCertificateDao;
+import com.epam.esm.model.dao.OrderDao;
+import com.epam.esm.model.dao.UserDao;
+import com.epam.esm.model.dao.exception.DaoException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures throughput of concurrent order inserts. With block size 1 every insert reserves its id with
+ * a separate update of the sequence table, which is how ids were generated from the shared sequence before.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(1)
+public class OrderInsertBenchmark {
+    @Param({"1", "100"})
+    private int blockSize;
+    private ConfigurableApplicationContext context;
+    private OrderDao orderDao;
+    private User user;
+    private GiftCertificate giftCertificate;
+
+    @Setup(Level.Trial)
+    public void setUp() throws DaoException {
+        context = new SpringApplicationBuilder(GiftCertificatesApplication.class)
+                .run("--spring.main.web-application-type=none",
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;MODE=MySQL",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.properties[id.block-size.order_sequence]=" + blockSize);
+        orderDao = context.getBean(OrderDao.class);
+        user = context.getBean(UserDao.class).add(User.builder()
+                .email("benchmark@mail.com")
+                .name("name")
+                .surname("surname")
+                .password("password")
+                .registrationDate(LocalDateTime.now())
+                .role(Role.USER)
+                .status(Status.ACTIVE)
+                .build());
+        giftCertificate = context.getBean(GiftCertificateDao.class).add(GiftCertificate.builder()
+                .name("name")
+                .description("description")
+                .price(BigDecimal.TEN)
+                .durationInDays(10)
+                .createDate(LocalDateTime.now())
+                .lastUpdateDate(LocalDateTime.now())
+                .tags(new ArrayList<>())
+                .build());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Order add() throws DaoException {
+        return orderDao.add(Order.builder()
+                .user(user)
+                .giftCertificate(giftCertificate)
+                .cost(BigDecimal.TEN)
+                .orderDate(LocalDateTime.now())
+                .build());
+    }
+}
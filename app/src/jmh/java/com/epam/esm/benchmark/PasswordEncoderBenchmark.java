@@ -0,0 +1,42 @@
+package com.epam.esm.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calibrates password hashing pool. Every benchmark runs in a single thread, so its throughput is count of
+ * hashes or verifications per second one core can do with given BCrypt strength. Pool of {@code n} threads
+ * handles at most {@code n} times that many logins per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(1)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+    private static final String PASSWORD = "benchmark-password";
+    @Param({"10", "11", "12", "13"})
+    private int strength;
+    private BCryptPasswordEncoder passwordEncoder;
+    private String hash;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        passwordEncoder = new BCryptPasswordEncoder(strength);
+        hash = passwordEncoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public String encode() {
+        return passwordEncoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches(PASSWORD, hash);
+    }
+}
@@ -0,0 +1,88 @@
+package com.epam.esm.benchmark;
+
+import com.epam.esm.entity.*;
+import com.epam.esm.model.validator.*;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.DataBinder;
+import org.springframework.validation.Validator;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures validation of entities through {@link DataBinder} the same way services validate them before writes:
+ * new gift certificate with tags, gift certificate patch, new tag and registered user.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidatorBenchmark {
+    private final Validator giftCertificateValidator = new GiftCertificateValidator(new TagValidator());
+    private final Validator proxyGiftCertificateValidator =
+            new ProxyGiftCertificateValidator(new ProxyTagValidator());
+    private final Validator tagValidator = new ProxyTagValidator();
+    private final Validator userValidator = new UserValidator();
+    private GiftCertificate giftCertificate;
+    private GiftCertificate patch;
+    private Tag tag;
+    private User user;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LocalDateTime date = LocalDateTime.now();
+        tag = Tag.builder().name("relax").build();
+        giftCertificate = GiftCertificate.builder()
+                .name("Spa day")
+                .description("Full day in spa with massage and sauna")
+                .price(new BigDecimal("120.50"))
+                .durationInDays(90)
+                .tags(List.of(Tag.builder().id(1L).name("spa").build(), tag, Tag.builder().name("beauty").build()))
+                .build();
+        patch = GiftCertificate.builder()
+                .price(new BigDecimal("99.99"))
+                .lastUpdateDate(date)
+                .build();
+        user = User.builder()
+                .email("user@mail.com")
+                .password("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3lBCcHB0sI9uKBmOi0ej4vG")
+                .name("Name")
+                .surname("Surname")
+                .registrationDate(date)
+                .role(Role.USER)
+                .status(Status.ACTIVE)
+                .build();
+    }
+
+    @Benchmark
+    public BindingResult newGiftCertificate() {
+        return validate(giftCertificate, proxyGiftCertificateValidator);
+    }
+
+    @Benchmark
+    public BindingResult giftCertificatePatch() {
+        return validate(patch, giftCertificateValidator);
+    }
+
+    @Benchmark
+    public BindingResult newTag() {
+        return validate(tag, tagValidator);
+    }
+
+    @Benchmark
+    public BindingResult newUser() {
+        return validate(user, userValidator);
+    }
+
+    private static BindingResult validate(Object target, Validator validator) {
+        DataBinder dataBinder = new DataBinder(target);
+        dataBinder.addValidators(validator);
+        dataBinder.validate();
+        return dataBinder.getBindingResult();
+    }
+}
@@ -0,0 +1,18 @@
+package com.epam.esm.config;
+
+import com.epam.esm.model.cache.EntityCacheProperties;
+import com.epam.esm.model.cache.EntityCacheRegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(EntityCacheProperties.class)
+public class EntityCacheConfig {
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(EntityCacheRegionFactory regionFactory) {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, regionFactory);
+    }
+}
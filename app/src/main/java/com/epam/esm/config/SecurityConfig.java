@@ -2,6 +2,8 @@ package com.epam.esm.config;
 
 import com.epam.esm.security.CustomRestAuthenticationEntryPoint;
 import com.epam.esm.security.JwtConfigurer;
+import com.epam.esm.security.JwtTokenFilter;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -45,4 +47,15 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     protected PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder(ENCODER_STRENGTH);
     }
+
+    /**
+     * Keeps {@link JwtTokenFilter} bean out of servlet filters, so the token is verified once per request by
+     * the security filter chain only.
+     */
+    @Bean
+    public FilterRegistrationBean<JwtTokenFilter> jwtTokenFilterRegistration(JwtTokenFilter jwtTokenFilter) {
+        FilterRegistrationBean<JwtTokenFilter> registration = new FilterRegistrationBean<>(jwtTokenFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
 }
@@ -1,18 +1,16 @@
 package com.epam.esm.controller;
 
 import com.epam.esm.controller.exception.ApiError;
-import com.epam.esm.controller.exception.ControllerException;
 import com.epam.esm.entity.AuthenticationRequestDto;
-import com.epam.esm.entity.User;
-import com.epam.esm.model.service.ServiceException;
-import com.epam.esm.model.service.UserService;
 import com.epam.esm.security.JwtTokenProvider;
+import com.epam.esm.security.PasswordHashingExecutor;
+import com.epam.esm.security.SecurityUser;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -22,6 +20,7 @@ import org.springframework.web.bind.annotation.RestController;
 import javax.annotation.security.PermitAll;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RequiredArgsConstructor
 @RestController
@@ -34,19 +33,30 @@ public class AuthenticationControllerV1 {
     private static final String ROLE = "role";
     private static final String ID = "id";
     private final AuthenticationManager authenticationManager;
-    private final UserService userService;
     private final JwtTokenProvider jwtTokenProvider;
+    private final PasswordHashingExecutor passwordHashingExecutor;
 
+    /**
+     * Authenticates user by email and password. Password is verified on {@link PasswordHashingExecutor}, the
+     * request thread is released while the response is prepared.
+     *
+     * @param request email and password
+     * @return future of response with token, or 429 status if password verification pool is saturated
+     */
     @PostMapping("/login")
     @PermitAll
-    public ResponseEntity<?> authenticate(@RequestBody AuthenticationRequestDto request) {
+    public CompletableFuture<ResponseEntity<?>> authenticate(@RequestBody AuthenticationRequestDto request) {
+        return passwordHashingExecutor.submit(() -> login(request));
+    }
+
+    private ResponseEntity<?> login(AuthenticationRequestDto request) {
         try {
             String email = request.getEmail();
             String password = request.getPassword();
-            authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(email, password));
-            User user = userService.findByEmail(email).orElseThrow(() ->
-                    new UsernameNotFoundException("User doesn't exist"));
-            String token = jwtTokenProvider.createToken(request.getEmail(), user.getRole().name());
+            Authentication authentication =
+                    authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(email, password));
+            SecurityUser user = (SecurityUser) authentication.getPrincipal();
+            String token = jwtTokenProvider.createToken(user);
             Map<Object, Object> response = new HashMap<>();
             response.put(ID, user.getId());
             response.put(EMAIL, email);
@@ -57,8 +67,6 @@ public class AuthenticationControllerV1 {
             ApiError result = new ApiError("Invalid email/password combination",
                     "400" + USER_ENTITY_CODE);
             return ResponseEntity.badRequest().body(result);
-        } catch (ServiceException e) {
-            throw new ControllerException(e.getLocalizedMessage(), USER_ENTITY_CODE);
         }
     }
 }
@@ -0,0 +1,106 @@
+package com.epam.esm.controller;
+
+import com.epam.esm.controller.exception.ControllerException;
+import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.entity.Order;
+import com.epam.esm.model.service.ExportService;
+import com.epam.esm.model.service.ServiceException;
+import com.epam.esm.util.entity.ExportFormat;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Controller for streaming export of {@link GiftCertificate} and {@link Order} objects. Records are
+ * written to response as they are read, so whole table can be exported with a single request.
+ */
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("api/v1/export")
+public class ExportControllerV1 {
+    private static final String GIFT_CERTIFICATE_ENTITY_CODE = "01";
+    private static final String ORDER_ENTITY_CODE = "04";
+    private static final String ATTACHMENT = "attachment; filename=\"%s.%s\"";
+    private static final String GIFT_CERTIFICATES = "gift-certificates";
+    private static final String ORDERS = "orders";
+    private final ExportService exportService;
+
+    /**
+     * Exports {@link GiftCertificate} objects with tags, which were last updated in provided range.
+     *
+     * @param format   format of records, ndjson or csv
+     * @param from     start of range of last update date inclusive
+     * @param to       end of range of last update date exclusive
+     * @param response response to write records to
+     * @throws ControllerException if error occurs while exporting {@link GiftCertificate} objects
+     */
+    @GetMapping("/gift-certificates")
+    @PreAuthorize("hasAuthority('all:write')")
+    public void exportGiftCertificates(@RequestParam(defaultValue = "ndjson") String format,
+                                       @RequestParam(required = false)
+                                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                       @RequestParam(required = false)
+                                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                       HttpServletResponse response) {
+        ExportFormat exportFormat = toExportFormat(format);
+        try {
+            prepare(response, GIFT_CERTIFICATES, exportFormat);
+            exportService.exportGiftCertificates(from, to, exportFormat, response.getOutputStream());
+        } catch (ServiceException | IOException e) {
+            throw new ControllerException(e.getLocalizedMessage(), GIFT_CERTIFICATE_ENTITY_CODE);
+        }
+    }
+
+    /**
+     * Exports {@link Order} objects, which were made in provided range, with ids of user and gift certificate.
+     *
+     * @param format   format of records, ndjson or csv
+     * @param from     start of range of order date inclusive
+     * @param to       end of range of order date exclusive
+     * @param response response to write records to
+     * @throws ControllerException if error occurs while exporting {@link Order} objects
+     */
+    @GetMapping("/orders")
+    @PreAuthorize("hasAuthority('all:write')")
+    public void exportOrders(@RequestParam(defaultValue = "ndjson") String format,
+                             @RequestParam(required = false)
+                             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                             @RequestParam(required = false)
+                             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                             HttpServletResponse response) {
+        ExportFormat exportFormat = toExportFormat(format);
+        try {
+            prepare(response, ORDERS, exportFormat);
+            exportService.exportOrders(from, to, exportFormat, response.getOutputStream());
+        } catch (ServiceException | IOException e) {
+            throw new ControllerException(e.getLocalizedMessage(), ORDER_ENTITY_CODE);
+        }
+    }
+
+    private static ExportFormat toExportFormat(String format) {
+        return Arrays.stream(ExportFormat.values())
+                .filter(exportFormat -> exportFormat.name().equals(format.toUpperCase(Locale.ROOT)))
+                .findAny()
+                .orElseThrow(() -> new IllegalArgumentException("Export format must be one of "
+                        + Arrays.toString(ExportFormat.values()).toLowerCase(Locale.ROOT)));
+    }
+
+    private static void prepare(HttpServletResponse response, String fileName, ExportFormat format) {
+        response.setContentType(format.getMediaType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                String.format(ATTACHMENT, fileName, format.name().toLowerCase(Locale.ROOT)));
+    }
+}
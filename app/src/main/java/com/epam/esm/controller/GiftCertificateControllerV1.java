@@ -2,23 +2,43 @@ package com.epam.esm.controller;
 
 import com.epam.esm.controller.exception.ControllerException;
 import com.epam.esm.controller.exception.EntityNotFoundException;
+import com.epam.esm.controller.exception.PreconditionFailedException;
+import com.epam.esm.controller.mapper.DtoMapper;
 import com.epam.esm.entity.GiftCertificate;
 import com.epam.esm.entity.GiftCertificateDto;
+import com.epam.esm.model.cache.CatalogVersion;
+import com.epam.esm.model.service.GiftCertificateImportService;
 import com.epam.esm.model.service.GiftCertificateService;
 import com.epam.esm.model.service.ServiceException;
+import com.epam.esm.timing.RequestPhase;
+import com.epam.esm.timing.RequestTimings;
+import com.epam.esm.util.EntityTagConverter;
+import com.epam.esm.util.LinkTemplate;
+import com.epam.esm.util.entity.CursorPage;
+import com.epam.esm.util.entity.ImportResult;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.annotation.security.PermitAll;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -30,74 +50,126 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
  */
 @RequiredArgsConstructor
 @RestController
-@RequestMapping("api/v1/gift-certificates")
+@RequestMapping(GiftCertificateControllerV1.PATH)
 @Validated
 public class GiftCertificateControllerV1 {
+    static final String PATH = "api/v1/gift-certificates";
     private static final String GIFT_CERTIFICATE_ENTITY_CODE = "01";
     private static final String UPDATE = "update";
     private static final String DELETE = "delete";
+    private static final LinkTemplate ITEM_LINK = LinkTemplate.compile("/" + PATH + "/{id}");
     private final GiftCertificateService giftCertificateService;
-    private final ModelMapper modelMapper;
+    private final GiftCertificateImportService giftCertificateImportService;
+    private final DtoMapper dtoMapper;
+    private final CatalogVersion catalogVersion;
 
     /**
      * Finds all {@link GiftCertificate} objects. There is ability to provide search field names with search
-     * expressions and sort field names with sort type.
+     * expressions and sort field names with sort type. Search field may be followed by operator, for example
+     * {@code searchField=price:between&searchExpression=10;20}, see {@link com.epam.esm.util.entity.SearchOperator}.
+     * If offset is provided records are paged by offset, otherwise keyset pagination is used and link to the next
+     * page contains cursor of the last record.
+     * Tag names are combined as AND for {@code tagName}, OR for {@code anyTagName} and NOT for
+     * {@code excludedTagName}. Every record has links to itself, its update and delete, or if {@code compactLinks}
+     * is true these links are sent once for the whole collection as templates expanded with record id.
      *
      * @param offset           count of records to skip
      * @param limit            maximum count of records to return
-     * @param tagName          the tag name
+     * @param tagName          names of tags which gift certificate must have
+     * @param anyTagName       names of tags at least one of which gift certificate must have
+     * @param excludedTagName  names of tags which gift certificate must not have
      * @param sortField        the sort field
      * @param sortType         the sort type
      * @param searchField      the search field
      * @param searchExpression the search expression
-     * @return list of {@link GiftCertificate} objects
+     * @param cursor           continuation token of previous page, ignored if offset is provided
+     * @param compactLinks     whether links of records are sent as templates once per collection
+     * @param request          current request, checked against current version of the catalog before any search
+     * @return list of {@link GiftCertificate} objects or nothing if catalog wasn't changed since the version
+     *         supplied in {@code If-None-Match} header
      * @throws ControllerException if error occurs while finding all {@link GiftCertificate} objects
      */
     @GetMapping()
     @PermitAll
-    public CollectionModel<GiftCertificateDto> findAll(@RequestParam Integer offset,
-                                                       @RequestParam Integer limit,
-                                                       @RequestParam(required = false) List<String> tagName,
-                                                       @RequestParam(required = false) List<String> sortField,
-                                                       @RequestParam(required = false) List<String> sortType,
-                                                       @RequestParam(required = false) List<String> searchField,
-                                                       @RequestParam(required = false) List<String> searchExpression) {
+    public ResponseEntity<CollectionModel<GiftCertificateDto>> findAll(
+            @RequestParam(required = false) Integer offset,
+            @RequestParam Integer limit,
+            @RequestParam(required = false) List<String> tagName,
+            @RequestParam(required = false) List<String> anyTagName,
+            @RequestParam(required = false) List<String> excludedTagName,
+            @RequestParam(required = false) List<String> sortField,
+            @RequestParam(required = false) List<String> sortType,
+            @RequestParam(required = false) List<String> searchField,
+            @RequestParam(required = false) List<String> searchExpression,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean compactLinks,
+            WebRequest request) {
+        String catalogEntityTag = catalogVersion.current();
+        if (request.checkNotModified(catalogEntityTag)) {
+            return null;
+        }
+        long linksStart = System.nanoTime();
+        Link link = linkTo(methodOn(GiftCertificateControllerV1.class)
+                .findAll(offset, limit, tagName, anyTagName, excludedTagName, sortField, sortType, searchField,
+                        searchExpression, cursor, compactLinks, null))
+                .withSelfRel();
+        RequestTimings.record(RequestPhase.LINKS, linksStart);
+        boolean byTagName = tagName != null || anyTagName != null || excludedTagName != null;
         try {
-            if (tagName != null) {
-                Link link = linkTo(methodOn(GiftCertificateControllerV1.class)
-                        .findAll(offset, limit, tagName, sortField, sortType, searchField, searchExpression))
-                        .withSelfRel();
-                List<GiftCertificateDto> giftCertificates = giftCertificateService.findByTagName(tagName,
-                        sortField, sortType, searchField, searchExpression, offset, limit)
-                        .stream()
-                        .map(this::convertGiftCertificateToDto)
-                        .collect(Collectors.toList());
-                for (GiftCertificateDto giftCertificateDto : giftCertificates) {
-                    Long id = giftCertificateDto.getId();
-                    Link self = linkTo(methodOn(GiftCertificateControllerV1.class).findById(id)).withSelfRel();
-                    Link update = linkTo(methodOn(GiftCertificateControllerV1.class).update(id, null)).withRel(
-                            UPDATE);
-                    Link delete = linkTo(methodOn(GiftCertificateControllerV1.class).delete(id)).withRel(DELETE);
-                    giftCertificateDto.add(self, update, delete);
+            List<GiftCertificate> foundGiftCertificates;
+            Link next = null;
+            if (offset != null && byTagName) {
+                foundGiftCertificates = giftCertificateService.findByTagName(tagName, anyTagName, excludedTagName,
+                        sortField, sortType, searchField, searchExpression, offset, limit);
+            } else if (offset != null) {
+                foundGiftCertificates = giftCertificateService.findAll(sortField, sortType, searchField,
+                        searchExpression, offset, limit);
+            } else {
+                CursorPage<GiftCertificate> page;
+                if (byTagName) {
+                    page = giftCertificateService.findByTagName(tagName, anyTagName, excludedTagName, sortField,
+                            sortType, searchField, searchExpression, cursor, limit);
+                } else {
+                    page = giftCertificateService.findAll(sortField, sortType, searchField, searchExpression,
+                            cursor, limit);
+                }
+                foundGiftCertificates = page.getContent();
+                if (page.getNextCursor() != null) {
+                    linksStart = System.nanoTime();
+                    next = linkTo(methodOn(GiftCertificateControllerV1.class).findAll(null, limit, tagName,
+                            anyTagName, excludedTagName, sortField, sortType, searchField, searchExpression,
+                            page.getNextCursor(), compactLinks, null))
+                            .withRel(IanaLinkRelations.NEXT);
+                    RequestTimings.record(RequestPhase.LINKS, linksStart);
                 }
-                return CollectionModel.of(giftCertificates, link);
             }
-            Link link = linkTo(methodOn(GiftCertificateControllerV1.class)
-                    .findAll(offset, limit, null, sortField, sortType, searchField, searchExpression))
-                    .withSelfRel();
-            List<GiftCertificateDto> giftCertificates = giftCertificateService.findAll(sortField, sortType, searchField,
-                    searchExpression, offset, limit)
-                    .stream()
-                    .map(this::convertGiftCertificateToDto)
+            long mappingStart = System.nanoTime();
+            List<GiftCertificateDto> giftCertificates = foundGiftCertificates.stream()
+                    .map(dtoMapper::toDto)
                     .collect(Collectors.toList());
-            for (GiftCertificateDto giftCertificateDto : giftCertificates) {
-                Long id = giftCertificateDto.getId();
-                Link self = linkTo(methodOn(GiftCertificateControllerV1.class).findById(id)).withSelfRel();
-                Link update = linkTo(methodOn(GiftCertificateControllerV1.class).update(id, null)).withRel(UPDATE);
-                Link delete = linkTo(methodOn(GiftCertificateControllerV1.class).delete(id)).withRel(DELETE);
-                giftCertificateDto.add(self, update, delete);
+            RequestTimings.record(RequestPhase.MAPPING, mappingStart);
+            linksStart = System.nanoTime();
+            String baseUri = LinkTemplate.currentBaseUri();
+            if (!compactLinks) {
+                for (GiftCertificateDto giftCertificateDto : giftCertificates) {
+                    String href = ITEM_LINK.expand(baseUri, giftCertificateDto.getId());
+                    giftCertificateDto.add(Link.of(href), Link.of(href, UPDATE), Link.of(href, DELETE));
+                }
+            }
+            CollectionModel<GiftCertificateDto> collectionModel = CollectionModel.of(giftCertificates, link);
+            if (next != null) {
+                collectionModel.add(next);
             }
-            return CollectionModel.of(giftCertificates, link);
+            if (compactLinks) {
+                collectionModel.add(ITEM_LINK.toTemplatedLink(baseUri, IanaLinkRelations.ITEM),
+                        ITEM_LINK.toTemplatedLink(baseUri, LinkRelation.of(UPDATE)),
+                        ITEM_LINK.toTemplatedLink(baseUri, LinkRelation.of(DELETE)));
+            }
+            RequestTimings.record(RequestPhase.LINKS, linksStart);
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache())
+                    .eTag(catalogEntityTag)
+                    .body(collectionModel);
         } catch (ServiceException e) {
             throw new ControllerException(e.getLocalizedMessage(), GIFT_CERTIFICATE_ENTITY_CODE);
         }
@@ -106,20 +178,28 @@ public class GiftCertificateControllerV1 {
     /**
      * Finds {@link GiftCertificate} by id.
      *
-     * @param id id to search by
-     * @return found {@link GiftCertificate}
+     * @param id      id to search by
+     * @param request current request, checked against version of found {@link GiftCertificate}
+     * @return found {@link GiftCertificate} with its version as entity tag or nothing if it wasn't changed since
+     *         the version supplied in {@code If-None-Match} header
      * @throws ControllerException if error occurs while finding {@link GiftCertificate} objects by id
      */
     @GetMapping("/{id}")
     @PermitAll
-    public EntityModel<GiftCertificate> findById(@PathVariable long id) {
-        Link self = linkTo(methodOn(GiftCertificateControllerV1.class).findById(id)).withSelfRel();
-        Link update = linkTo(methodOn(GiftCertificateControllerV1.class).update(id, null)).withRel(UPDATE);
-        Link delete = linkTo(methodOn(GiftCertificateControllerV1.class).delete(id)).withRel(DELETE);
+    public ResponseEntity<EntityModel<GiftCertificate>> findById(@PathVariable long id, WebRequest request) {
         try {
             GiftCertificate giftCertificate = giftCertificateService.findById(id).orElseThrow(
                     () -> new EntityNotFoundException(id, GIFT_CERTIFICATE_ENTITY_CODE));
-            return EntityModel.of(giftCertificate, self, update, delete);
+            String entityTag = EntityTagConverter.toEntityTag(giftCertificate.getVersion());
+            if (request.checkNotModified(entityTag)) {
+                return null;
+            }
+            String href = ITEM_LINK.expand(LinkTemplate.currentBaseUri(), id);
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache())
+                    .eTag(entityTag)
+                    .body(EntityModel.of(giftCertificate, Link.of(href), Link.of(href, UPDATE),
+                            Link.of(href, DELETE)));
         } catch (ServiceException e) {
             throw new ControllerException(e.getLocalizedMessage(), GIFT_CERTIFICATE_ENTITY_CODE);
         }
@@ -139,9 +219,10 @@ public class GiftCertificateControllerV1 {
         Link self = linkTo(methodOn(GiftCertificateControllerV1.class).add(giftCertificate)).withSelfRel();
         try {
             GiftCertificate addedEntity = giftCertificateService.add(giftCertificate);
-            Link update = linkTo(methodOn(GiftCertificateControllerV1.class).update(giftCertificate.getId(), null))
+            Link update = linkTo(methodOn(GiftCertificateControllerV1.class)
+                    .update(giftCertificate.getId(), null, null))
                     .withRel(UPDATE);
-            Link delete = linkTo(methodOn(GiftCertificateControllerV1.class).delete(giftCertificate.getId()))
+            Link delete = linkTo(methodOn(GiftCertificateControllerV1.class).delete(giftCertificate.getId(), null))
                     .withRel(DELETE);
             return EntityModel.of(addedEntity, self, update, delete);
         } catch (ServiceException e) {
@@ -149,54 +230,98 @@ public class GiftCertificateControllerV1 {
         }
     }
 
+    /**
+     * Imports {@link GiftCertificate} objects from newline delimited JSON request body, one object per line.
+     * Body is read as a stream and stored in chunks, so its size is not limited by available memory.
+     *
+     * @param body request body
+     * @return result of every non-blank line with counts of created, rejected and failed records
+     * @throws ControllerException if error occurs while reading request body
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAuthority('all:write')")
+    public ImportResult importAll(InputStream body) {
+        try {
+            return giftCertificateImportService.importAll(new InputStreamReader(body, StandardCharsets.UTF_8));
+        } catch (ServiceException e) {
+            throw new ControllerException(e.getLocalizedMessage(), GIFT_CERTIFICATE_ENTITY_CODE);
+        }
+    }
+
     /**
      * Updates {@link GiftCertificate} object with provided id to the supplied object. If supplied object's field
-     * is null therefore it will not be updated.
+     * is null therefore it will not be updated. If entity tag is supplied in {@code If-Match} header object is
+     * updated only if it wasn't changed since that version, without locking it.
      *
-     * @param id    id of object to be updated
-     * @param patch patch object
-     * @return updated {@link GiftCertificate}
-     * @throws ControllerException if error occurs while updating {@link GiftCertificate} object
+     * @param id      id of object to be updated
+     * @param ifMatch entity tags of versions the client expects, any version if null
+     * @param patch   patch object
+     * @return updated {@link GiftCertificate} with its new version as entity tag
+     * @throws ControllerException         if error occurs while updating {@link GiftCertificate} object
+     * @throws PreconditionFailedException if object was changed since the version supplied in {@code If-Match}
      */
     @PatchMapping("/{id}")
     @PreAuthorize("hasAuthority('all:write')")
-    public EntityModel<GiftCertificate> update(@PathVariable long id,
-                                               @Valid @NotNull @RequestBody GiftCertificate patch) {
-        Link self = linkTo(methodOn(GiftCertificateControllerV1.class).update(id, patch)).withSelfRel();
-        Link delete = linkTo(methodOn(GiftCertificateControllerV1.class).delete(id)).withRel(DELETE);
+    public ResponseEntity<EntityModel<GiftCertificate>> update(@PathVariable long id,
+                                                               @RequestHeader(name = HttpHeaders.IF_MATCH,
+                                                                       required = false) String ifMatch,
+                                                               @Valid @NotNull @RequestBody GiftCertificate patch) {
+        Link self = linkTo(methodOn(GiftCertificateControllerV1.class).update(id, null, patch)).withSelfRel();
+        Link delete = linkTo(methodOn(GiftCertificateControllerV1.class).delete(id, null)).withRel(DELETE);
         try {
-            giftCertificateService.findById(id).orElseThrow(() ->
+            GiftCertificate giftCertificate = giftCertificateService.findById(id).orElseThrow(() ->
                     new EntityNotFoundException(id, GIFT_CERTIFICATE_ENTITY_CODE));
-            GiftCertificate updatedGiftCertificate = giftCertificateService.update(id, patch);
-            return EntityModel.of(updatedGiftCertificate, self, delete);
+            GiftCertificate updatedGiftCertificate;
+            if (ifMatch == null || EntityTagConverter.isAny(ifMatch)) {
+                updatedGiftCertificate = giftCertificateService.update(id, patch);
+            } else if (EntityTagConverter.matches(ifMatch, giftCertificate.getVersion())) {
+                updatedGiftCertificate = giftCertificateService.update(id, patch, giftCertificate.getVersion());
+            } else {
+                throw new PreconditionFailedException(id, GIFT_CERTIFICATE_ENTITY_CODE);
+            }
+            return ResponseEntity.ok()
+                    .eTag(EntityTagConverter.toEntityTag(updatedGiftCertificate.getVersion()))
+                    .body(EntityModel.of(updatedGiftCertificate, self, delete));
+        } catch (OptimisticLockingFailureException e) {
+            throw new PreconditionFailedException(id, GIFT_CERTIFICATE_ENTITY_CODE);
         } catch (ServiceException e) {
             throw new ControllerException(e.getLocalizedMessage(), GIFT_CERTIFICATE_ENTITY_CODE);
         }
     }
 
     /**
-     * Deletes {@link GiftCertificate} object with provided id.
+     * Deletes {@link GiftCertificate} object with provided id. If entity tag is supplied in {@code If-Match}
+     * header object is deleted only if it wasn't changed since that version, without locking it.
      *
-     * @param id object id to be deleted
+     * @param id      object id to be deleted
+     * @param ifMatch entity tags of versions the client expects, any version if null
      * @return deleted {@link GiftCertificate}
-     * @throws ControllerException if error occurs while deleting {@link GiftCertificate} object
+     * @throws ControllerException         if error occurs while deleting {@link GiftCertificate} object
+     * @throws PreconditionFailedException if object was changed since the version supplied in {@code If-Match}
      */
     @DeleteMapping("/{id}")
     @PreAuthorize("hasAuthority('all:write')")
-    public EntityModel<GiftCertificate> delete(@PathVariable long id) {
-        Link self = linkTo(methodOn(GiftCertificateControllerV1.class).delete(id)).withSelfRel();
-        Link update = linkTo(methodOn(GiftCertificateControllerV1.class).update(id, null)).withRel(UPDATE);
+    public EntityModel<GiftCertificate> delete(@PathVariable long id,
+                                               @RequestHeader(name = HttpHeaders.IF_MATCH, required = false)
+                                                       String ifMatch) {
+        Link self = linkTo(methodOn(GiftCertificateControllerV1.class).delete(id, null)).withSelfRel();
+        Link update = linkTo(methodOn(GiftCertificateControllerV1.class).update(id, null, null)).withRel(UPDATE);
         try {
-            giftCertificateService.findById(id).orElseThrow(() ->
+            GiftCertificate giftCertificate = giftCertificateService.findById(id).orElseThrow(() ->
                     new EntityNotFoundException(id, GIFT_CERTIFICATE_ENTITY_CODE));
-            GiftCertificate deletedGiftCertificate = giftCertificateService.delete(id);
+            GiftCertificate deletedGiftCertificate;
+            if (ifMatch == null || EntityTagConverter.isAny(ifMatch)) {
+                deletedGiftCertificate = giftCertificateService.delete(id);
+            } else if (EntityTagConverter.matches(ifMatch, giftCertificate.getVersion())) {
+                deletedGiftCertificate = giftCertificateService.delete(id, giftCertificate.getVersion());
+            } else {
+                throw new PreconditionFailedException(id, GIFT_CERTIFICATE_ENTITY_CODE);
+            }
             return EntityModel.of(deletedGiftCertificate, self, update);
+        } catch (OptimisticLockingFailureException e) {
+            throw new PreconditionFailedException(id, GIFT_CERTIFICATE_ENTITY_CODE);
         } catch (ServiceException e) {
             throw new ControllerException(e.getLocalizedMessage(), GIFT_CERTIFICATE_ENTITY_CODE);
         }
     }
-
-    private GiftCertificateDto convertGiftCertificateToDto(GiftCertificate giftCertificate) {
-        return modelMapper.map(giftCertificate, GiftCertificateDto.class);
-    }
 }
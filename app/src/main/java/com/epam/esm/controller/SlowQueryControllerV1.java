@@ -0,0 +1,56 @@
+package com.epam.esm.controller;
+
+import com.epam.esm.model.dao.metrics.SlowQueryLog;
+import com.epam.esm.util.entity.SlowQuerySummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.Link;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.validation.constraints.Positive;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+/**
+ * Admin controller for report of slow SQL statement shapes recorded by {@link SlowQueryLog}.
+ */
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("api/v1/slow-queries")
+@Validated
+public class SlowQueryControllerV1 {
+    private final SlowQueryLog slowQueryLog;
+
+    /**
+     * Finds slow statement shapes with the highest total duration, with types of bind parameters and plan.
+     *
+     * @param limit maximum count of shapes, configured report size if not provided
+     * @return shapes in descending order of total duration
+     */
+    @GetMapping
+    @PreAuthorize("hasAuthority('all:write')")
+    public CollectionModel<SlowQuerySummary> findSlowest(@RequestParam(required = false) @Positive Integer limit) {
+        Link self = linkTo(methodOn(SlowQueryControllerV1.class).findSlowest(limit)).withSelfRel();
+        return CollectionModel.of(slowQueryLog.findSlowest(limit), self);
+    }
+
+    /**
+     * Clears the report, so plans of slow statements are captured again.
+     *
+     * @return empty response
+     */
+    @DeleteMapping
+    @PreAuthorize("hasAuthority('all:write')")
+    public ResponseEntity<Void> reset() {
+        slowQueryLog.reset();
+        return ResponseEntity.noContent().build();
+    }
+}
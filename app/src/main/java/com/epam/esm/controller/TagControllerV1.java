@@ -2,18 +2,29 @@ package com.epam.esm.controller;
 
 import com.epam.esm.controller.exception.ControllerException;
 import com.epam.esm.controller.exception.EntityNotFoundException;
+import com.epam.esm.controller.mapper.DtoMapper;
 import com.epam.esm.entity.Tag;
 import com.epam.esm.entity.TagDto;
+import com.epam.esm.model.cache.CatalogVersion;
 import com.epam.esm.model.service.ServiceException;
 import com.epam.esm.model.service.TagService;
+import com.epam.esm.timing.RequestPhase;
+import com.epam.esm.timing.RequestTimings;
+import com.epam.esm.util.EntityTagConverter;
+import com.epam.esm.util.LinkTemplate;
+import com.epam.esm.util.entity.CursorPage;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
@@ -28,16 +39,22 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
  */
 @RequiredArgsConstructor
 @RestController
-@RequestMapping("api/v1/tags")
+@RequestMapping(TagControllerV1.PATH)
 public class TagControllerV1 {
+    static final String PATH = "api/v1/tags";
     private static final String TAG_ENTITY_CODE = "02";
     private static final String DELETE = "delete";
+    private static final LinkTemplate ITEM_LINK = LinkTemplate.compile("/" + PATH + "/{id}");
     private final TagService tagService;
-    private final ModelMapper modelMapper;
+    private final DtoMapper dtoMapper;
+    private final CatalogVersion catalogVersion;
 
     /**
      * Finds all {@link Tag} objects. There is ability to provide search field names with search
-     * expressions and sort field names with sort type.
+     * expressions and sort field names with sort type. If offset is provided records are paged by offset,
+     * otherwise keyset pagination is used and link to the next page contains cursor of the last record.
+     * Every record has links to itself and its delete, or if {@code compactLinks} is true these links are sent
+     * once for the whole collection as templates expanded with record id.
      *
      * @param offset           count of records to skip
      * @param limit            maximum count of records to return
@@ -45,32 +62,79 @@ public class TagControllerV1 {
      * @param sortType         the sort type
      * @param searchField      the search field
      * @param searchExpression the search expression
-     * @return list of {@link Tag} objects
+     * @param cursor           continuation token of previous page, ignored if offset is provided
+     * @param compactLinks     whether links of records are sent as templates once per collection
+     * @param request          current request, checked against current version of the catalog before any search
+     * @return list of {@link Tag} objects or nothing if catalog wasn't changed since the version supplied in
+     *         {@code If-None-Match} header
      * @throws ControllerException if error occurs while finding all {@link Tag} objects
      */
     @GetMapping()
     @PreAuthorize("hasAuthority('all:read')")
-    public CollectionModel<TagDto> findAll(@RequestParam Integer offset,
-                                           @RequestParam Integer limit,
-                                           @RequestParam(required = false) List<String> sortField,
-                                           @RequestParam(required = false) List<String> sortType,
-                                           @RequestParam(required = false) List<String> searchField,
-                                           @RequestParam(required = false) List<String> searchExpression) {
+    public ResponseEntity<CollectionModel<TagDto>> findAll(
+            @RequestParam(required = false) Integer offset,
+            @RequestParam Integer limit,
+            @RequestParam(required = false) List<String> sortField,
+            @RequestParam(required = false) List<String> sortType,
+            @RequestParam(required = false) List<String> searchField,
+            @RequestParam(required = false) List<String> searchExpression,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean compactLinks,
+            WebRequest request) {
+        String catalogEntityTag = catalogVersion.current();
+        if (request.checkNotModified(catalogEntityTag)) {
+            return null;
+        }
+        long linksStart = System.nanoTime();
         Link link = linkTo(methodOn(TagControllerV1.class)
-                .findAll(offset, limit, sortField, sortType, searchField, searchExpression))
+                .findAll(offset, limit, sortField, sortType, searchField, searchExpression, cursor, compactLinks,
+                        null))
                 .withSelfRel();
+        RequestTimings.record(RequestPhase.LINKS, linksStart);
         try {
-            List<TagDto> tags = tagService.findAll(sortField, sortType, searchField, searchExpression, offset, limit)
-                    .stream()
-                    .map(this::convertTagToDto)
+            List<Tag> foundTags;
+            Link next = null;
+            if (offset != null) {
+                foundTags = tagService.findAll(sortField, sortType, searchField, searchExpression, offset, limit);
+            } else {
+                CursorPage<Tag> page = tagService.findAll(sortField, sortType, searchField, searchExpression,
+                        cursor, limit);
+                foundTags = page.getContent();
+                if (page.getNextCursor() != null) {
+                    linksStart = System.nanoTime();
+                    next = linkTo(methodOn(TagControllerV1.class).findAll(null, limit, sortField, sortType,
+                            searchField, searchExpression, page.getNextCursor(), compactLinks,
+                            null))
+                            .withRel(IanaLinkRelations.NEXT);
+                    RequestTimings.record(RequestPhase.LINKS, linksStart);
+                }
+            }
+            long mappingStart = System.nanoTime();
+            List<TagDto> tags = foundTags.stream()
+                    .map(dtoMapper::toDto)
                     .collect(Collectors.toList());
-            for (TagDto tagDto : tags) {
-                Long id = tagDto.getId();
-                Link self = linkTo(methodOn(TagControllerV1.class).findById(id)).withSelfRel();
-                Link delete = linkTo(methodOn(TagControllerV1.class).delete(id)).withRel(DELETE);
-                tagDto.add(self, delete);
+            RequestTimings.record(RequestPhase.MAPPING, mappingStart);
+            linksStart = System.nanoTime();
+            String baseUri = LinkTemplate.currentBaseUri();
+            if (!compactLinks) {
+                for (TagDto tagDto : tags) {
+                    String href = ITEM_LINK.expand(baseUri, tagDto.getId());
+                    tagDto.add(Link.of(href), Link.of(href, DELETE));
+                }
+            }
+            CollectionModel<TagDto> collectionModel = CollectionModel.of(tags, link);
+            if (next != null) {
+                collectionModel.add(next);
+            }
+            if (compactLinks) {
+                collectionModel.add(ITEM_LINK.toTemplatedLink(baseUri, IanaLinkRelations.ITEM),
+                        ITEM_LINK.toTemplatedLink(baseUri, LinkRelation.of(DELETE)));
             }
-            return CollectionModel.of(tags, link);
+            RequestTimings.record(RequestPhase.LINKS, linksStart);
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .eTag(catalogEntityTag)
+                    .body(collectionModel);
         } catch (ServiceException e) {
             throw new ControllerException(e.getLocalizedMessage(), TAG_ENTITY_CODE);
         }
@@ -79,18 +143,26 @@ public class TagControllerV1 {
     /**
      * Finds {@link Tag} by id.
      *
-     * @param id id to search by
-     * @return found tag
+     * @param id      id to search by
+     * @param request current request, checked against version of found tag
+     * @return found tag with its version as entity tag or nothing if it wasn't changed since the version
+     *         supplied in {@code If-None-Match} header
      * @throws ControllerException if error occurs while finding {@link Tag} objects by id
      */
     @GetMapping("/{id}")
     @PreAuthorize("hasAuthority('all:read')")
-    public EntityModel<Tag> findById(@PathVariable long id) {
-        Link self = linkTo(methodOn(TagControllerV1.class).findById(id)).withSelfRel();
-        Link delete = linkTo(methodOn(TagControllerV1.class).delete(id)).withRel(DELETE);
+    public ResponseEntity<EntityModel<Tag>> findById(@PathVariable long id, WebRequest request) {
         try {
             Tag tag = tagService.findById(id).orElseThrow(() -> new EntityNotFoundException(id, TAG_ENTITY_CODE));
-            return EntityModel.of(tag, self, delete);
+            String entityTag = EntityTagConverter.toEntityTag(tag.getVersion());
+            if (request.checkNotModified(entityTag)) {
+                return null;
+            }
+            String href = ITEM_LINK.expand(LinkTemplate.currentBaseUri(), id);
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .eTag(entityTag)
+                    .body(EntityModel.of(tag, Link.of(href), Link.of(href, DELETE)));
         } catch (ServiceException e) {
             throw new ControllerException(e.getLocalizedMessage(), TAG_ENTITY_CODE);
         }
@@ -154,8 +226,4 @@ public class TagControllerV1 {
             throw new ControllerException(e.getLocalizedMessage(), TAG_ENTITY_CODE);
         }
     }
-
-    private TagDto convertTagToDto(Tag tag) {
-        return modelMapper.map(tag, TagDto.class);
-    }
 }
@@ -3,13 +3,21 @@ package com.epam.esm.controller;
 import com.epam.esm.controller.exception.ApiError;
 import com.epam.esm.controller.exception.ControllerException;
 import com.epam.esm.controller.exception.EntityNotFoundException;
+import com.epam.esm.controller.mapper.DtoMapper;
 import com.epam.esm.entity.*;
 import com.epam.esm.model.service.ServiceException;
 import com.epam.esm.model.service.UserService;
+import com.epam.esm.security.PasswordHashingExecutor;
+import com.epam.esm.security.SecurityUser;
+import com.epam.esm.timing.RequestPhase;
+import com.epam.esm.timing.RequestTimings;
+import com.epam.esm.util.LinkTemplate;
+import com.epam.esm.util.entity.CursorPage;
+import com.epam.esm.util.entity.OrderSummary;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.Link;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -23,7 +31,7 @@ import javax.annotation.security.PermitAll;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import java.util.List;
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
@@ -34,17 +42,23 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
  */
 @RequiredArgsConstructor
 @RestController
-@RequestMapping("api/v1/users")
+@RequestMapping(UserControllerV1.PATH)
 @Validated
 public class UserControllerV1 {
+    static final String PATH = "api/v1/users";
     private static final String USER_ENTITY_CODE = "03";
     private static final String ORDER_ENTITY_CODE = "04";
+    private static final LinkTemplate ITEM_LINK = LinkTemplate.compile("/" + PATH + "/{id}");
     private final UserService userService;
-    private final ModelMapper modelMapper;
+    private final DtoMapper dtoMapper;
+    private final PasswordHashingExecutor passwordHashingExecutor;
 
     /**
      * Finds all {@link User} objects. There is ability to provide search field names with search
-     * expressions and sort field names with sort type
+     * expressions and sort field names with sort type. If offset is provided records are paged by offset,
+     * otherwise keyset pagination is used and link to the next page contains cursor of the last record.
+     * Every record has link to itself, or if {@code compactLinks} is true this link is sent once for the whole
+     * collection as template expanded with record id.
      *
      * @param offset           count of records to skip
      * @param limit            maximum count of records to return
@@ -52,31 +66,64 @@ public class UserControllerV1 {
      * @param sortType         the sort type
      * @param searchField      the search field
      * @param searchExpression the search expression
+     * @param cursor           continuation token of previous page, ignored if offset is provided
+     * @param compactLinks     whether links of records are sent as templates once per collection
      * @return list of {@link User} objects
      * @throws ControllerException if error occurs while finding all {@link User} objects
      */
     @GetMapping()
     @PreAuthorize("hasAuthority('all:read')")
-    public CollectionModel<UserDto> findAll(@RequestParam Integer offset,
+    public CollectionModel<UserDto> findAll(@RequestParam(required = false) Integer offset,
                                             @RequestParam Integer limit,
                                             @RequestParam(required = false) List<String> sortField,
                                             @RequestParam(required = false) List<String> sortType,
                                             @RequestParam(required = false) List<String> searchField,
-                                            @RequestParam(required = false) List<String> searchExpression) {
+                                            @RequestParam(required = false) List<String> searchExpression,
+                                            @RequestParam(required = false) String cursor,
+                                            @RequestParam(defaultValue = "false") boolean compactLinks) {
+        long linksStart = System.nanoTime();
         Link link = linkTo(methodOn(UserControllerV1.class)
-                .findAll(offset, limit, sortField, sortType, searchField, searchExpression))
+                .findAll(offset, limit, sortField, sortType, searchField, searchExpression, cursor, compactLinks))
                 .withSelfRel();
+        RequestTimings.record(RequestPhase.LINKS, linksStart);
         try {
-            List<UserDto> users = userService.findAll(sortField, sortType, searchField, searchExpression, offset, limit)
-                    .stream()
-                    .map(this::convertUserToDto)
+            List<User> foundUsers;
+            Link next = null;
+            if (offset != null) {
+                foundUsers = userService.findAll(sortField, sortType, searchField, searchExpression, offset, limit);
+            } else {
+                CursorPage<User> page = userService.findAll(sortField, sortType, searchField, searchExpression,
+                        cursor, limit);
+                foundUsers = page.getContent();
+                if (page.getNextCursor() != null) {
+                    linksStart = System.nanoTime();
+                    next = linkTo(methodOn(UserControllerV1.class).findAll(null, limit, sortField, sortType,
+                            searchField, searchExpression, page.getNextCursor(), compactLinks))
+                            .withRel(IanaLinkRelations.NEXT);
+                    RequestTimings.record(RequestPhase.LINKS, linksStart);
+                }
+            }
+            long mappingStart = System.nanoTime();
+            List<UserDto> users = foundUsers.stream()
+                    .map(dtoMapper::toDto)
                     .collect(Collectors.toList());
-            for (UserDto userDto : users) {
-                Long id = userDto.getId();
-                Link self = linkTo(methodOn(UserControllerV1.class).findById(id)).withSelfRel();
-                userDto.add(self);
+            RequestTimings.record(RequestPhase.MAPPING, mappingStart);
+            linksStart = System.nanoTime();
+            String baseUri = LinkTemplate.currentBaseUri();
+            if (!compactLinks) {
+                for (UserDto userDto : users) {
+                    userDto.add(Link.of(ITEM_LINK.expand(baseUri, userDto.getId())));
+                }
             }
-            return CollectionModel.of(users, link);
+            CollectionModel<UserDto> collectionModel = CollectionModel.of(users, link);
+            if (next != null) {
+                collectionModel.add(next);
+            }
+            if (compactLinks) {
+                collectionModel.add(ITEM_LINK.toTemplatedLink(baseUri, IanaLinkRelations.ITEM));
+            }
+            RequestTimings.record(RequestPhase.LINKS, linksStart);
+            return collectionModel;
         } catch (ServiceException e) {
             throw new ControllerException(e.getLocalizedMessage(), USER_ENTITY_CODE);
         }
@@ -102,35 +149,51 @@ public class UserControllerV1 {
     }
 
     /**
-     * Finds {@link User} orders.
+     * Finds {@link User} orders. Search fields may be followed by operator, for example
+     * {@code searchField=orderDate:between&searchExpression=2021-01-01T00:00;2021-02-01T00:00}.
      *
-     * @param userId to search by
-     * @param offset count of records to skip
-     * @param limit  maximum count of records to return
+     * @param userId           to search by
+     * @param offset           count of records to skip
+     * @param limit            maximum count of records to return
+     * @param searchField      the search field
+     * @param searchExpression the search expression
+     * @param cursor           continuation token of previous page, ignored if offset is provided
      * @return found {@link User} orders
      * @throws ControllerException if error occurs while finding {@link User} orders
      */
     @GetMapping("/{userId}/orders")
     @PreAuthorize("hasAuthority('all:read')")
-    public CollectionModel<OrderDto> findOrdersOfUser(@PathVariable long userId,
-                                                      @RequestParam Integer offset,
-                                                      @RequestParam Integer limit) {
-        Link self = linkTo(methodOn(UserControllerV1.class).findOrdersOfUser(userId, offset, limit)).withSelfRel();
+    public CollectionModel<OrderSummary> findOrdersOfUser(@PathVariable long userId,
+                                                          @RequestParam(required = false) Integer offset,
+                                                          @RequestParam Integer limit,
+                                                          @RequestParam(required = false) List<String> searchField,
+                                                          @RequestParam(required = false) List<String> searchExpression,
+                                                          @RequestParam(required = false) String cursor) {
+        Link self = linkTo(methodOn(UserControllerV1.class).findOrdersOfUser(userId, offset, limit, searchField,
+                searchExpression, cursor))
+                .withSelfRel();
         try {
-            String email = SecurityContextHolder.getContext().getAuthentication().getName();
-            Optional<User> userByEmailOptional = userService.findByEmail(email);
-            if (userByEmailOptional.isPresent()) {
-                User user = userByEmailOptional.get();
-                if (userId != user.getId() && !user.getRole().equals(Role.ADMIN)) {
-                    throw new AccessDeniedException("Access denied");
-                }
+            checkOwnership(userId);
+            List<OrderSummary> foundOrders;
+            Link next = null;
+            if (offset != null) {
+                foundOrders = userService.findOrdersOfUser(userId, searchField, searchExpression, offset, limit);
             } else {
-                throw new ControllerException("User with id = (" + userId + ") doesn't exist", ORDER_ENTITY_CODE);
+                CursorPage<OrderSummary> page = userService.findOrdersOfUser(userId, searchField, searchExpression,
+                        cursor, limit);
+                foundOrders = page.getContent();
+                if (page.getNextCursor() != null) {
+                    next = linkTo(methodOn(UserControllerV1.class)
+                            .findOrdersOfUser(userId, null, limit, searchField, searchExpression,
+                                    page.getNextCursor()))
+                            .withRel(IanaLinkRelations.NEXT);
+                }
             }
-            List<OrderDto> ordersOfUser = userService.findOrdersOfUser(userId, offset, limit).stream()
-                    .map(this::convertOrderToDto)
-                    .collect(Collectors.toList());
-            return CollectionModel.of(ordersOfUser, self);
+            CollectionModel<OrderSummary> collectionModel = CollectionModel.of(foundOrders, self);
+            if (next != null) {
+                collectionModel.add(next);
+            }
+            return collectionModel;
         } catch (ServiceException e) {
             throw new ControllerException(e.getLocalizedMessage(), ORDER_ENTITY_CODE);
         }
@@ -144,27 +207,29 @@ public class UserControllerV1 {
         Link self = linkTo(methodOn(UserControllerV1.class).makeOrderOnGiftCertificate(userId, giftCertificate))
                 .withSelfRel();
         try {
-            String email = SecurityContextHolder.getContext().getAuthentication().getName();
-            Optional<User> userByEmailOptional = userService.findByEmail(email);
-            if (userByEmailOptional.isPresent()) {
-                User user = userByEmailOptional.get();
-                if (userId != user.getId() && !user.getRole().equals(Role.ADMIN)) {
-                    throw new AccessDeniedException("Access denied");
-                }
-            } else {
-                throw new ControllerException("User with id = (" + userId + ") doesn't exist", ORDER_ENTITY_CODE);
-            }
-            OrderDto orderDto =
-                    convertOrderToDto(userService.makeOrderOnGiftCertificate(userId, giftCertificate.getId()));
+            checkOwnership(userId);
+            Order order = userService.makeOrderOnGiftCertificate(userId, giftCertificate.getId());
+            OrderDto orderDto = dtoMapper.toDto(order);
             return EntityModel.of(orderDto, self);
         } catch (ServiceException e) {
             throw new ControllerException(e.getLocalizedMessage(), ORDER_ENTITY_CODE);
         }
     }
 
+    /**
+     * Registers new user. Password is hashed on {@link PasswordHashingExecutor}, the request thread is
+     * released while the user is registered.
+     *
+     * @param request user data
+     * @return future of response, or 429 status if password hashing pool is saturated
+     */
     @PostMapping()
     @PermitAll
-    public ResponseEntity<ApiError> register(@RequestBody RegistrationRequestDto registrationRequest) {
+    public CompletableFuture<ResponseEntity<ApiError>> register(@RequestBody RegistrationRequestDto request) {
+        return passwordHashingExecutor.submit(() -> registerUser(request));
+    }
+
+    private ResponseEntity<ApiError> registerUser(RegistrationRequestDto registrationRequest) {
         try {
             if (!userService.register(registrationRequest.getEmail(),
                     registrationRequest.getPassword(),
@@ -180,11 +245,10 @@ public class UserControllerV1 {
         }
     }
 
-    private UserDto convertUserToDto(User user) {
-        return modelMapper.map(user, UserDto.class);
-    }
-
-    private OrderDto convertOrderToDto(Order order) {
-        return modelMapper.map(order, OrderDto.class);
+    private static void checkOwnership(long userId) {
+        SecurityUser user = (SecurityUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (userId != user.getId() && !user.getRole().equals(Role.ADMIN)) {
+            throw new AccessDeniedException("Access denied");
+        }
     }
 }
@@ -28,17 +28,26 @@ import org.springframework.web.servlet.NoHandlerFoundException;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
 import javax.validation.ConstraintViolationException;
+import java.util.concurrent.RejectedExecutionException;
 
 @Log4j
 @Order(Ordered.HIGHEST_PRECEDENCE)
 @ControllerAdvice
 public class CustomRestExceptionHandler extends ResponseEntityExceptionHandler {
+    private static final String RETRY_AFTER_SECONDS = "1";
+
     @ExceptionHandler(EntityNotFoundException.class)
     protected ResponseEntity<Object> entityNotFoundException(EntityNotFoundException ex) {
         String errorCode = HttpStatus.NOT_FOUND.value() + ex.getEntityCode();
         return new ResponseEntity<>(new ApiError(ex.getLocalizedMessage(), errorCode), HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    protected ResponseEntity<Object> preconditionFailedException(PreconditionFailedException ex) {
+        String errorCode = HttpStatus.PRECONDITION_FAILED.value() + ex.getEntityCode();
+        return new ResponseEntity<>(new ApiError(ex.getLocalizedMessage(), errorCode), HttpStatus.PRECONDITION_FAILED);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     protected ResponseEntity<Object> illegalArgumentException(IllegalArgumentException ex) {
         String errorCode = Integer.toString(HttpStatus.BAD_REQUEST.value());
@@ -52,6 +61,16 @@ public class CustomRestExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(new ApiError(ex.getLocalizedMessage(), errorCode), HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(RejectedExecutionException.class)
+    protected ResponseEntity<Object> rejectedExecutionException(RejectedExecutionException ex) {
+        log.warn("Request rejected, executor is saturated");
+        ApiError apiError = new ApiError("Too many requests, try again later",
+                Integer.toString(HttpStatus.TOO_MANY_REQUESTS.value()));
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        return new ResponseEntity<>(apiError, headers, HttpStatus.TOO_MANY_REQUESTS);
+    }
+
     @ExceptionHandler({ConstraintViolationException.class, JsonMappingException.class})
     protected ResponseEntity<Object> handleBadRequestExceptions(Exception e) {
         ApiError apiError = new ApiError(e.getLocalizedMessage(), Integer.toString(HttpStatus.BAD_REQUEST.value()));
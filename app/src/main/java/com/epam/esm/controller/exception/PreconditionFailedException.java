@@ -0,0 +1,20 @@
+package com.epam.esm.controller.exception;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Thrown to indicate that requested entity was changed since the version supplied in {@code If-Match} header
+ */
+@Getter
+@Setter
+public class PreconditionFailedException extends RuntimeException {
+    private long id;
+    private String entityCode;
+
+    public PreconditionFailedException(long id, String entityCode) {
+        super("Requested resource was modified (id = " + id + ")");
+        this.id = id;
+        this.entityCode = entityCode;
+    }
+}
@@ -0,0 +1,45 @@
+package com.epam.esm.controller.mapper;
+
+import com.epam.esm.entity.*;
+import org.mapstruct.Mapper;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * Maps entities to DTOs returned by controllers. Implementation is generated by MapStruct at build time as plain
+ * getter and setter calls, so no property matching or reflection is done per mapped entity. Unmapped DTO properties
+ * fail the build, so fields added to DTOs are not silently left empty.
+ */
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface DtoMapper {
+    /**
+     * Maps {@link GiftCertificate} to {@link GiftCertificateDto}.
+     *
+     * @param giftCertificate the gift certificate
+     * @return the gift certificate DTO
+     */
+    GiftCertificateDto toDto(GiftCertificate giftCertificate);
+
+    /**
+     * Maps {@link Tag} to {@link TagDto}.
+     *
+     * @param tag the tag
+     * @return the tag DTO
+     */
+    TagDto toDto(Tag tag);
+
+    /**
+     * Maps {@link User} to {@link UserDto}.
+     *
+     * @param user the user
+     * @return the user DTO
+     */
+    UserDto toDto(User user);
+
+    /**
+     * Maps {@link Order} to {@link OrderDto}.
+     *
+     * @param order the order
+     * @return the order DTO
+     */
+    OrderDto toDto(Order order);
+}
@@ -1,10 +1,17 @@
 package com.epam.esm.entity;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import javax.persistence.*;
 import javax.validation.Valid;
@@ -18,6 +25,8 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "gift-certificate")
 @Table(name = "gift_certificate")
 @Data
 @Builder
@@ -26,11 +35,14 @@ import java.util.List;
 public class GiftCertificate implements Serializable {
     @Min(1)
     @Id
-    @GeneratedValue
+    @GeneratedValue(generator = "gift_certificate_sequence")
+    @GenericGenerator(name = "gift_certificate_sequence", strategy = "com.epam.esm.model.dao.id.PooledIdGenerator",
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "gift_certificate_sequence"))
     private Long id;
     @Size(min = 1, max = 255)
     private String name;
     @Size(min = 1, max = 65535)
+    @Lob
     private String description;
     @Positive
     private BigDecimal price;
@@ -46,11 +58,16 @@ public class GiftCertificate implements Serializable {
     @Column(name = "last_update_date")
     private LocalDateTime lastUpdateDate;
     @Valid
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "gift-certificate-tags")
     @ManyToMany(cascade = CascadeType.ALL)
     @JoinTable(name = "gift_certificate_has_tag",
             joinColumns = {@JoinColumn(name = "gift_certificate_id")},
             inverseJoinColumns = {@JoinColumn(name = "tag_id")})
     private List<Tag> tags;
+    @JsonIgnore
+    @Version
+    @ColumnDefault("0")
+    private long version;
 }
 
 
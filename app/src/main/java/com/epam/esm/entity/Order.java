@@ -1,10 +1,15 @@
 package com.epam.esm.entity;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import javax.persistence.*;
 import javax.validation.Valid;
@@ -25,7 +30,9 @@ import java.time.LocalDateTime;
 public class Order implements Serializable {
     @Min(1)
     @Id
-    @GeneratedValue
+    @GeneratedValue(generator = "order_sequence")
+    @GenericGenerator(name = "order_sequence", strategy = "com.epam.esm.model.dao.id.PooledIdGenerator",
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "order_sequence"))
     private Long id;
     @NotNull
     @Valid
@@ -45,4 +52,8 @@ public class Order implements Serializable {
     @PastOrPresent
     @Column(name = "order_date")
     private LocalDateTime orderDate;
+    @JsonIgnore
+    @Version
+    @ColumnDefault("0")
+    private long version;
 }
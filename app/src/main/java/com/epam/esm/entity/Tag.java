@@ -1,19 +1,30 @@
 package com.epam.esm.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
 import javax.persistence.Table;
+import javax.persistence.Version;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.Size;
 import java.io.Serializable;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tag")
 @Table(name = "tag")
 @Data
 @Builder
@@ -22,8 +33,14 @@ import java.io.Serializable;
 public class Tag implements Serializable {
     @Min(1)
     @Id
-    @GeneratedValue
+    @GeneratedValue(generator = "tag_sequence")
+    @GenericGenerator(name = "tag_sequence", strategy = "com.epam.esm.model.dao.id.PooledIdGenerator",
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "tag_sequence"))
     private Long id;
     @Size(min = 1, max = 255)
     private String name;
+    @JsonIgnore
+    @Version
+    @ColumnDefault("0")
+    private long version;
 }
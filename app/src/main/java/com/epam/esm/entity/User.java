@@ -4,6 +4,11 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import javax.persistence.*;
 import javax.validation.constraints.Min;
@@ -13,6 +18,8 @@ import java.io.Serializable;
 import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
 @Table(name = "user")
 @Data
 @Builder
@@ -21,7 +28,9 @@ import java.time.LocalDateTime;
 public class User implements Serializable {
     @Min(1)
     @Id
-    @GeneratedValue
+    @GeneratedValue(generator = "user_sequence")
+    @GenericGenerator(name = "user_sequence", strategy = "com.epam.esm.model.dao.id.PooledIdGenerator",
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "user_sequence"))
     private Long id;
     @Size(min = 6, max = 255)
     private String email;
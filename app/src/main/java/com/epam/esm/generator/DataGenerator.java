@@ -0,0 +1,324 @@
+package com.epam.esm.generator;
+
+import com.epam.esm.entity.Role;
+import com.epam.esm.entity.Status;
+import com.epam.esm.model.cache.CatalogVersion;
+import com.epam.esm.model.dao.id.IdSequenceAligner;
+import com.epam.esm.model.index.GiftCertificateTagIndexLoader;
+import com.epam.esm.model.index.GiftCertificateTextIndexLoader;
+import com.epam.esm.model.index.TagUsageStatisticsLoader;
+import lombok.extern.log4j.Log4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fills database with synthetic tags, users, gift certificates with tags and orders on startup of the
+ * {@code generator} profile. Popularity of tags, words, certificates and order counts of users follow
+ * {@link ZipfDistribution}, so few of them take most of references as in real catalogs. Data depends only on
+ * the seed, sizes and current date, dates are spread over the history ending at the start of the current day.
+ * The only exception is salt of password hash shared by all generated users. Rows are appended after the
+ * greatest existing ids and inserted by {@link MultiRowInserter}, then id sequences are aligned and in-memory
+ * indexes are rebuilt unless the application exits after generation.
+ */
+@Log4j
+@Component
+@Profile(DataGenerator.PROFILE)
+public class DataGenerator implements ApplicationRunner {
+    public static final String PROFILE = "generator";
+    private static final String NEXT_ID_QUERY = "SELECT COALESCE(MAX(id), 0) + 1 FROM %s";
+    private static final String TAG_TABLE = "tag";
+    private static final String USER_TABLE = "`user`";
+    private static final String GIFT_CERTIFICATE_TABLE = "gift_certificate";
+    private static final String GIFT_CERTIFICATE_HAS_TAG_TABLE = "gift_certificate_has_tag";
+    private static final String ORDER_TABLE = "`order`";
+    private static final String[] SYLLABLES = {"ba", "ce", "di", "fo", "gu", "ha", "je", "ki", "lo", "mu", "na",
+            "pe", "ri", "so", "tu", "va", "we", "xi", "yo", "za"};
+    private static final long SCATTER_MULTIPLIER = 1_000_000_007L;
+    private static final int MIN_PRICE_CENTS = 500;
+    private static final int MAX_PRICE_CENTS = 50_000;
+    private static final int MAX_DURATION_IN_DAYS = 365;
+    private static final int NAME_WORDS = 2;
+    private static final int DESCRIPTION_WORDS = 8;
+    private static final double WORD_SKEW = 1;
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final IdSequenceAligner idSequenceAligner;
+    private final GiftCertificateTextIndexLoader textIndexLoader;
+    private final GiftCertificateTagIndexLoader tagIndexLoader;
+    private final TagUsageStatisticsLoader tagUsageStatisticsLoader;
+    private final CatalogVersion catalogVersion;
+    @Value("${generator.seed:42}")
+    private long seed;
+    @Value("${generator.tags:1000}")
+    private int tags;
+    @Value("${generator.users:10000}")
+    private int users;
+    @Value("${generator.certificates:100000}")
+    private int certificates;
+    @Value("${generator.orders:1000000}")
+    private long orders;
+    @Value("${generator.min-tags-per-certificate:1}")
+    private int minTagsPerCertificate;
+    @Value("${generator.max-tags-per-certificate:5}")
+    private int maxTagsPerCertificate;
+    @Value("${generator.tag-skew:1.0}")
+    private double tagSkew;
+    @Value("${generator.user-skew:1.1}")
+    private double userSkew;
+    @Value("${generator.certificate-skew:0.8}")
+    private double certificateSkew;
+    @Value("${generator.words:10000}")
+    private int words;
+    @Value("${generator.history-days:1095}")
+    private int historyDays;
+    @Value("${generator.rows-per-statement:500}")
+    private int rowsPerStatement;
+    @Value("${generator.statements-per-batch:20}")
+    private int statementsPerBatch;
+    @Value("${generator.user-password:password}")
+    private String userPassword;
+    @Value("${generator.rebuild-indexes:true}")
+    private boolean rebuildIndexes;
+
+    public DataGenerator(JdbcTemplate jdbcTemplate,
+                         PasswordEncoder passwordEncoder,
+                         IdSequenceAligner idSequenceAligner,
+                         GiftCertificateTextIndexLoader textIndexLoader,
+                         GiftCertificateTagIndexLoader tagIndexLoader,
+                         TagUsageStatisticsLoader tagUsageStatisticsLoader,
+                         CatalogVersion catalogVersion) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.idSequenceAligner = idSequenceAligner;
+        this.textIndexLoader = textIndexLoader;
+        this.tagIndexLoader = tagIndexLoader;
+        this.tagUsageStatisticsLoader = tagUsageStatisticsLoader;
+        this.catalogVersion = catalogVersion;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        generate();
+    }
+
+    /**
+     * Generates configured amount of data.
+     *
+     * @throws IllegalArgumentException if sizes are inconsistent, for example orders are requested without users
+     */
+    public void generate() {
+        if (tags < 0 || users < 0 || certificates < 0 || orders < 0 || minTagsPerCertificate < 0
+                || maxTagsPerCertificate < minTagsPerCertificate
+                || certificates > 0 && maxTagsPerCertificate > tags
+                || orders > 0 && (users == 0 || certificates == 0)
+                || words < 1 || historyDays < 1) {
+            throw new IllegalArgumentException("Generator sizes are inconsistent");
+        }
+        long startTime = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(seed);
+        LocalDateTime end = LocalDate.now().atStartOfDay();
+        LocalDateTime start = end.minusDays(historyDays);
+        long firstTagId = findNextId(TAG_TABLE);
+        long firstUserId = findNextId(USER_TABLE);
+        long firstCertificateId = findNextId(GIFT_CERTIFICATE_TABLE);
+        long firstOrderId = findNextId(ORDER_TABLE);
+        ZipfDistribution wordDistribution = new ZipfDistribution(words, WORD_SKEW);
+        generateTags(firstTagId);
+        generateUsers(random.split(), wordDistribution, firstUserId, start, end);
+        int[] prices = generateCertificates(random.split(), wordDistribution, firstCertificateId, start, end);
+        generateCertificateTags(random.split(), firstCertificateId, firstTagId);
+        generateOrders(random.split(), prices, firstOrderId, firstUserId, firstCertificateId, start, end);
+        idSequenceAligner.align();
+        catalogVersion.increment();
+        if (rebuildIndexes) {
+            textIndexLoader.rebuild();
+            tagIndexLoader.rebuild();
+            tagUsageStatisticsLoader.rebuild();
+        }
+        log.info(String.format("Generated %d tags, %d users, %d gift certificates and %d orders in %d ms", tags,
+                users, certificates, orders, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime)));
+    }
+
+    private void generateTags(long firstTagId) {
+        MultiRowInserter inserter = createInserter(TAG_TABLE, List.of("id", "name", "version"));
+        for (int i = 0; i < tags; i++) {
+            long id = firstTagId + i;
+            inserter.add(id, "tag" + id, 0);
+        }
+        inserter.flush();
+    }
+
+    private void generateUsers(SplittableRandom random,
+                               ZipfDistribution wordDistribution,
+                               long firstUserId,
+                               LocalDateTime start,
+                               LocalDateTime end) {
+        String passwordHash = passwordEncoder.encode(userPassword);
+        long historyMinutes = ChronoUnit.MINUTES.between(start, end);
+        MultiRowInserter inserter = createInserter(USER_TABLE, List.of("id", "email", "name", "surname",
+                "registration_date", "password", "role", "status"));
+        for (int i = 0; i < users; i++) {
+            long id = firstUserId + i;
+            inserter.add(id,
+                    "user" + id + "@example.com",
+                    capitalize(word(wordDistribution.sample(random))),
+                    capitalize(word(wordDistribution.sample(random))),
+                    Timestamp.valueOf(start.plusMinutes(random.nextLong(historyMinutes))),
+                    passwordHash,
+                    Role.USER.name(),
+                    Status.ACTIVE.name());
+        }
+        inserter.flush();
+    }
+
+    private int[] generateCertificates(SplittableRandom random,
+                                       ZipfDistribution wordDistribution,
+                                       long firstCertificateId,
+                                       LocalDateTime start,
+                                       LocalDateTime end) {
+        int[] prices = new int[certificates];
+        MultiRowInserter inserter = createInserter(GIFT_CERTIFICATE_TABLE, List.of("id", "name", "description",
+                "price", "duration_in_days", "create_date", "last_update_date", "version"));
+        for (int i = 0; i < certificates; i++) {
+            prices[i] = MIN_PRICE_CENTS + random.nextInt(MAX_PRICE_CENTS - MIN_PRICE_CENTS + 1);
+            Timestamp createDate = Timestamp.valueOf(findCreateDate(i, start, end));
+            inserter.add(firstCertificateId + i,
+                    sentence(random, wordDistribution, NAME_WORDS),
+                    sentence(random, wordDistribution, DESCRIPTION_WORDS),
+                    BigDecimal.valueOf(prices[i], 2),
+                    1 + random.nextInt(MAX_DURATION_IN_DAYS),
+                    createDate,
+                    createDate,
+                    0);
+        }
+        inserter.flush();
+        return prices;
+    }
+
+    /**
+     * Tags are linked after all certificates are inserted, so batches of links never reference certificates
+     * which are still buffered.
+     */
+    private void generateCertificateTags(SplittableRandom random, long firstCertificateId, long firstTagId) {
+        if (certificates == 0 || maxTagsPerCertificate == 0) {
+            return;
+        }
+        ZipfDistribution tagDistribution = new ZipfDistribution(tags, tagSkew);
+        MultiRowInserter inserter = createInserter(GIFT_CERTIFICATE_HAS_TAG_TABLE,
+                List.of("gift_certificate_id", "tag_id"));
+        int[] certificateTags = new int[maxTagsPerCertificate];
+        for (int i = 0; i < certificates; i++) {
+            int tagCount = minTagsPerCertificate + random.nextInt(maxTagsPerCertificate - minTagsPerCertificate + 1);
+            for (int j = 0; j < tagCount; j++) {
+                int tag;
+                do {
+                    tag = tagDistribution.sample(random);
+                } while (contains(certificateTags, j, tag));
+                certificateTags[j] = tag;
+                inserter.add(firstCertificateId + i, firstTagId + tag);
+            }
+        }
+        inserter.flush();
+    }
+
+    private void generateOrders(SplittableRandom random,
+                                int[] prices,
+                                long firstOrderId,
+                                long firstUserId,
+                                long firstCertificateId,
+                                LocalDateTime start,
+                                LocalDateTime end) {
+        if (orders == 0) {
+            return;
+        }
+        ZipfDistribution userDistribution = new ZipfDistribution(users, userSkew);
+        ZipfDistribution certificateDistribution = new ZipfDistribution(certificates, certificateSkew);
+        MultiRowInserter inserter = createInserter(ORDER_TABLE, List.of("id", "user_id", "gift_certificate_id",
+                "cost", "order_date", "version"));
+        for (long i = 0; i < orders; i++) {
+            int certificate = scatter(certificateDistribution.sample(random), certificates);
+            LocalDateTime createDate = findCreateDate(certificate, start, end);
+            LocalDateTime orderDate = createDate.plusMinutes(
+                    random.nextLong(ChronoUnit.MINUTES.between(createDate, end) + 1));
+            inserter.add(firstOrderId + i,
+                    firstUserId + userDistribution.sample(random),
+                    firstCertificateId + certificate,
+                    BigDecimal.valueOf(prices[certificate], 2),
+                    Timestamp.valueOf(orderDate),
+                    0);
+        }
+        inserter.flush();
+    }
+
+    private MultiRowInserter createInserter(String table, List<String> columns) {
+        return new MultiRowInserter(jdbcTemplate, table, columns, rowsPerStatement, statementsPerBatch);
+    }
+
+    private long findNextId(String table) {
+        Long nextId = jdbcTemplate.queryForObject(String.format(NEXT_ID_QUERY, table), Long.class);
+        return nextId == null ? 1 : nextId;
+    }
+
+    /**
+     * Certificates are created evenly over the history in order of ids.
+     */
+    private LocalDateTime findCreateDate(int certificate, LocalDateTime start, LocalDateTime end) {
+        return start.plusMinutes(ChronoUnit.MINUTES.between(start, end) * certificate / certificates);
+    }
+
+    /**
+     * Maps popularity rank to certificate index, so popular certificates are spread over the history instead of
+     * being the oldest ones. Multiplication by a prime greater than count is a permutation of indexes.
+     */
+    private static int scatter(int rank, int count) {
+        return (int) (rank * SCATTER_MULTIPLIER % count);
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String sentence(SplittableRandom random, ZipfDistribution wordDistribution, int wordCount) {
+        StringBuilder sentence = new StringBuilder(capitalize(word(wordDistribution.sample(random))));
+        for (int i = 1; i < wordCount; i++) {
+            sentence.append(' ').append(word(wordDistribution.sample(random)));
+        }
+        return sentence.toString();
+    }
+
+    /**
+     * Spells rank in syllables, so every rank has a distinct pronounceable word of at least two syllables.
+     */
+    private static String word(int rank) {
+        StringBuilder word = new StringBuilder();
+        int value = rank + SYLLABLES.length;
+        while (value > 0) {
+            word.append(SYLLABLES[value % SYLLABLES.length]);
+            value /= SYLLABLES.length;
+        }
+        return word.toString();
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
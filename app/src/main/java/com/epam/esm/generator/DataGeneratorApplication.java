@@ -0,0 +1,24 @@
+package com.epam.esm.generator;
+
+import com.epam.esm.GiftCertificatesApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+/**
+ * Starts application without web server in the {@code generator} profile, so {@link DataGenerator} fills the
+ * configured database, and exits when data is generated. In-memory indexes are not rebuilt, since they are
+ * discarded on exit.
+ */
+public class DataGeneratorApplication {
+    private DataGeneratorApplication() {
+    }
+
+    public static void main(String[] args) {
+        System.exit(SpringApplication.exit(new SpringApplicationBuilder(GiftCertificatesApplication.class)
+                .profiles(DataGenerator.PROFILE)
+                .web(WebApplicationType.NONE)
+                .properties("generator.rebuild-indexes=false")
+                .run(args)));
+    }
+}
@@ -0,0 +1,110 @@
+package com.epam.esm.generator;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Inserts rows into a table by multi-row {@code INSERT ... VALUES (...), (...)} statements which are sent to
+ * the database in JDBC batches, so a round trip inserts {@code rowsPerStatement * statementsPerBatch} rows.
+ * Rows of the last incomplete statement are inserted by a statement with fewer value groups on {@link #flush()}.
+ */
+public class MultiRowInserter {
+    private static final String INSERT_QUERY = "INSERT INTO %s (%s) VALUES ";
+    private static final String VALUES_SEPARATOR = ", ";
+    private final JdbcTemplate jdbcTemplate;
+    private final String insertQuery;
+    private final String valuesPlaceholder;
+    private final int columnCount;
+    private final int rowsPerStatement;
+    private final int statementsPerBatch;
+    private final String fullStatement;
+    private final List<Object[]> batch = new ArrayList<>();
+    private Object[] statementParameters;
+    private int rowsInStatement;
+    private long insertedRows;
+
+    /**
+     * Creates inserter.
+     *
+     * @param jdbcTemplate       template of the target datasource
+     * @param table              table name, quoted if it is a reserved word
+     * @param columns            column names of inserted values in order
+     * @param rowsPerStatement   count of rows inserted by one statement
+     * @param statementsPerBatch count of statements sent in one JDBC batch
+     */
+    public MultiRowInserter(JdbcTemplate jdbcTemplate,
+                            String table,
+                            List<String> columns,
+                            int rowsPerStatement,
+                            int statementsPerBatch) {
+        if (rowsPerStatement < 1 || statementsPerBatch < 1) {
+            throw new IllegalArgumentException("Rows per statement and statements per batch must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.insertQuery = String.format(INSERT_QUERY, table, String.join(VALUES_SEPARATOR, columns));
+        this.valuesPlaceholder = "(" + String.join(VALUES_SEPARATOR, Collections.nCopies(columns.size(), "?")) + ")";
+        this.columnCount = columns.size();
+        this.rowsPerStatement = rowsPerStatement;
+        this.statementsPerBatch = statementsPerBatch;
+        this.fullStatement = createStatement(rowsPerStatement);
+        this.statementParameters = new Object[rowsPerStatement * columnCount];
+    }
+
+    /**
+     * Adds row, sends batch to the database when it is full.
+     *
+     * @param values values of row in order of columns
+     */
+    public void add(Object... values) {
+        if (values.length != columnCount) {
+            throw new IllegalArgumentException("Row must have " + columnCount + " values");
+        }
+        System.arraycopy(values, 0, statementParameters, rowsInStatement * columnCount, columnCount);
+        if (++rowsInStatement == rowsPerStatement) {
+            batch.add(statementParameters);
+            statementParameters = new Object[rowsPerStatement * columnCount];
+            rowsInStatement = 0;
+            if (batch.size() == statementsPerBatch) {
+                executeBatch();
+            }
+        }
+    }
+
+    /**
+     * Inserts all added rows which are not inserted yet.
+     */
+    public void flush() {
+        executeBatch();
+        if (rowsInStatement > 0) {
+            Object[] parameters = new Object[rowsInStatement * columnCount];
+            System.arraycopy(statementParameters, 0, parameters, 0, parameters.length);
+            jdbcTemplate.update(createStatement(rowsInStatement), parameters);
+            insertedRows += rowsInStatement;
+            rowsInStatement = 0;
+        }
+    }
+
+    /**
+     * Returns count of inserted rows.
+     *
+     * @return count of rows inserted by this inserter
+     */
+    public long getInsertedRows() {
+        return insertedRows;
+    }
+
+    private void executeBatch() {
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(fullStatement, batch);
+            insertedRows += (long) batch.size() * rowsPerStatement;
+            batch.clear();
+        }
+    }
+
+    private String createStatement(int rowCount) {
+        return insertQuery + String.join(VALUES_SEPARATOR, Collections.nCopies(rowCount, valuesPlaceholder));
+    }
+}
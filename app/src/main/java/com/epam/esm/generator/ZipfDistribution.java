@@ -0,0 +1,56 @@
+package com.epam.esm.generator;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Zipf distribution over ranks {@code 0..size-1}: probability of rank {@code k} is proportional to
+ * {@code 1 / (k + 1)^exponent}, so few first ranks take most of samples. Cumulative probabilities are computed
+ * once and sampled by binary search, sampling with the same random sequence gives the same ranks.
+ */
+public class ZipfDistribution {
+    private final double[] cumulativeProbabilities;
+
+    /**
+     * Computes cumulative probabilities of ranks.
+     *
+     * @param size     count of ranks
+     * @param exponent skew of distribution, 0 gives uniform distribution
+     * @throws IllegalArgumentException if size is not positive or exponent is negative
+     */
+    public ZipfDistribution(int size, double exponent) {
+        if (size < 1 || exponent < 0) {
+            throw new IllegalArgumentException("Zipf distribution requires positive size and non-negative exponent");
+        }
+        cumulativeProbabilities = new double[size];
+        double sum = 0;
+        for (int rank = 0; rank < size; rank++) {
+            sum += 1 / Math.pow(rank + 1, exponent);
+            cumulativeProbabilities[rank] = sum;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cumulativeProbabilities[rank] /= sum;
+        }
+    }
+
+    /**
+     * Returns count of ranks.
+     *
+     * @return count of ranks
+     */
+    public int size() {
+        return cumulativeProbabilities.length;
+    }
+
+    /**
+     * Samples rank.
+     *
+     * @param random source of randomness
+     * @return rank from 0 to size - 1
+     */
+    public int sample(SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulativeProbabilities, random.nextDouble());
+        int rank = index >= 0 ? index + 1 : -index - 1;
+        return Math.min(rank, cumulativeProbabilities.length - 1);
+    }
+}
@@ -0,0 +1,15 @@
+package com.epam.esm.model.cache;
+
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+
+/**
+ * Storage of a cache region which holds limited amount of entries for a limited time.
+ */
+public interface BoundedStorageAccess extends DomainDataStorageAccess {
+    /**
+     * Returns current values of region counters.
+     *
+     * @return statistics snapshot
+     */
+    CacheStatistics getStatistics();
+}
@@ -0,0 +1,19 @@
+package com.epam.esm.model.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Snapshot of counters of a single cache region. Expired entries are counted as evictions, explicit
+ * invalidations made on entity update or delete are not.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatistics {
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private long size;
+}
@@ -0,0 +1,72 @@
+package com.epam.esm.model.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import java.time.Duration;
+
+/**
+ * Region storage backed by Caffeine cache, which uses W-TinyLFU eviction policy. Maintenance work such as
+ * eviction is done in the calling thread, so no background threads are involved.
+ */
+class CaffeineStorageAccess implements BoundedStorageAccess {
+    private final Cache<Object, Object> cache;
+
+    CaffeineStorageAccess(long maximumSize, Duration timeToLive) {
+        this(maximumSize, timeToLive, Ticker.systemTicker());
+    }
+
+    CaffeineStorageAccess(long maximumSize, Duration timeToLive, Ticker ticker) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .executor(Runnable::run)
+                .ticker(ticker)
+                .recordStats();
+        if (timeToLive != null && !timeToLive.isZero()) {
+            builder.expireAfterWrite(timeToLive);
+        }
+        cache = builder.build();
+    }
+
+    @Override
+    public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+        return cache.getIfPresent(key);
+    }
+
+    @Override
+    public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+        cache.put(key, value);
+    }
+
+    @Override
+    public boolean contains(Object key) {
+        return cache.asMap().containsKey(key);
+    }
+
+    @Override
+    public void evictData() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void evictData(Object key) {
+        cache.invalidate(key);
+    }
+
+    @Override
+    public void release() {
+        cache.invalidateAll();
+        cache.cleanUp();
+    }
+
+    @Override
+    public CacheStatistics getStatistics() {
+        cache.cleanUp();
+        CacheStats stats = cache.stats();
+        return new CacheStatistics(stats.hitCount(), stats.missCount(), stats.evictionCount(),
+                cache.estimatedSize());
+    }
+}
@@ -0,0 +1,48 @@
+package com.epam.esm.model.cache;
+
+import lombok.extern.log4j.Log4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Version of the catalog of gift certificates and tags, used as entity tag of collection responses, so a client
+ * polling an unchanged collection is answered with a single primary key lookup instead of a search. Version
+ * is stored in the data source, so changes made by every application node are tracked. Services increment it
+ * after every committed change of gift certificates or tags, including changes of tags, which are embedded in
+ * gift certificate responses. Version is read before the data source is queried, so a response may only be
+ * tagged with an older version than its content, which causes one needless refetch but never a stale not
+ * modified response.
+ */
+@Log4j
+@Component
+public class CatalogVersion {
+    private static final String INCREMENT_QUERY = "UPDATE catalog_version SET version = version + 1 WHERE id = 1";
+    private static final String FIND_QUERY = "SELECT version FROM catalog_version WHERE id = 1";
+    private final JdbcTemplate jdbcTemplate;
+
+    public CatalogVersion(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Increments version after a committed change. The change can't be undone at this point, so failure is
+     * logged instead of failing the request.
+     */
+    public void increment() {
+        try {
+            jdbcTemplate.update(INCREMENT_QUERY);
+        } catch (DataAccessException e) {
+            log.error("Catalog version can't be incremented, collections may be reported as not modified", e);
+        }
+    }
+
+    /**
+     * Returns opaque value of current version to be used as entity tag.
+     *
+     * @return current version
+     */
+    public String current() {
+        return Long.toString(jdbcTemplate.queryForObject(FIND_QUERY, Long.class), Character.MAX_RADIX);
+    }
+}
@@ -0,0 +1,28 @@
+package com.epam.esm.model.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings of entity cache regions. Top level values are defaults, which may be overridden for a region
+ * with {@code cache.entity.regions.<region>.*} properties.
+ */
+@Data
+@ConfigurationProperties(prefix = "cache.entity")
+public class EntityCacheProperties {
+    private EvictionPolicy evictionPolicy = EvictionPolicy.W_TINY_LFU;
+    private long maximumSize = 1000;
+    private Duration timeToLive = Duration.ofMinutes(10);
+    private Map<String, Region> regions = new HashMap<>();
+
+    @Data
+    public static class Region {
+        private EvictionPolicy evictionPolicy;
+        private Long maximumSize;
+        private Duration timeToLive;
+    }
+}
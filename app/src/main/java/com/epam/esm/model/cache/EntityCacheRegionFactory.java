@@ -0,0 +1,155 @@
+package com.epam.esm.model.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Hibernate second-level cache provider with size and time bounded regions. Entities marked with
+ * {@link org.hibernate.annotations.Cache} are looked up here by {@code EntityManager.find} before database
+ * is queried, and Hibernate refreshes or invalidates cached entries when entity is added, updated or deleted.
+ * Cached entries are disassembled entity states, so every lookup still gets its own managed instance.
+ * Counters of every region are published as {@code cache.gets}, {@code cache.evictions} and {@code cache.size}
+ * meters tagged by region name, regions created after binding are published as soon as they are created.
+ */
+@Component
+public class EntityCacheRegionFactory extends RegionFactoryTemplate implements MeterBinder {
+    private static final String GETS = "cache.gets";
+    private static final String EVICTIONS = "cache.evictions";
+    private static final String SIZE = "cache.size";
+    private static final String CACHE_TAG = "cache";
+    private static final String RESULT_TAG = "result";
+    private static final String HIT = "hit";
+    private static final String MISS = "miss";
+    private final EntityCacheProperties properties;
+    private final Map<String, BoundedStorageAccess> storages = new ConcurrentHashMap<>();
+    private final List<MeterRegistry> meterRegistries = new CopyOnWriteArrayList<>();
+
+    public EntityCacheRegionFactory(EntityCacheProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Returns counters of all created regions.
+     *
+     * @return statistics by region name
+     */
+    public Map<String, CacheStatistics> getStatistics() {
+        Map<String, CacheStatistics> statistics = new TreeMap<>();
+        storages.forEach((regionName, storage) -> statistics.put(regionName, storage.getStatistics()));
+        return Collections.unmodifiableMap(statistics);
+    }
+
+    /**
+     * Returns counters of region with provided name.
+     *
+     * @param regionName region name
+     * @return statistics or empty {@code Optional} if there is no such region
+     */
+    public Optional<CacheStatistics> getStatistics(String regionName) {
+        return Optional.ofNullable(storages.get(regionName)).map(BoundedStorageAccess::getStatistics);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        meterRegistries.add(meterRegistry);
+        storages.forEach((regionName, storage) -> bindRegion(meterRegistry, regionName, storage));
+    }
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map configValues) {
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        storages.values().forEach(StorageAccess::release);
+        storages.clear();
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+                                                                    DomainDataRegionBuildingContext buildingContext) {
+        return createStorage(regionConfig.getRegionName());
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName,
+                                                                  SessionFactoryImplementor sessionFactory) {
+        return createStorage(regionName);
+    }
+
+    /**
+     * Creates storage of update timestamps. It is never bounded, because losing timestamp of a table would let
+     * stale query results be returned.
+     */
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName,
+                                                                SessionFactoryImplementor sessionFactory) {
+        return register(regionName, new CaffeineStorageAccess(Long.MAX_VALUE, Duration.ZERO));
+    }
+
+    private BoundedStorageAccess createStorage(String regionName) {
+        EntityCacheProperties.Region region = properties.getRegions()
+                .getOrDefault(regionName, new EntityCacheProperties.Region());
+        EvictionPolicy evictionPolicy = Optional.ofNullable(region.getEvictionPolicy())
+                .orElse(properties.getEvictionPolicy());
+        long maximumSize = Optional.ofNullable(region.getMaximumSize()).orElse(properties.getMaximumSize());
+        Duration timeToLive = Optional.ofNullable(region.getTimeToLive()).orElse(properties.getTimeToLive());
+        return register(regionName, createStorage(evictionPolicy, maximumSize, timeToLive));
+    }
+
+    private BoundedStorageAccess register(String regionName, BoundedStorageAccess storage) {
+        storages.put(regionName, storage);
+        meterRegistries.forEach(meterRegistry -> bindRegion(meterRegistry, regionName, storage));
+        return storage;
+    }
+
+    private static void bindRegion(MeterRegistry meterRegistry, String regionName, BoundedStorageAccess storage) {
+        FunctionCounter.builder(GETS, storage, region -> region.getStatistics().getHitCount())
+                .tags(CACHE_TAG, regionName, RESULT_TAG, HIT)
+                .description("Lookups of entries found in the cache region")
+                .register(meterRegistry);
+        FunctionCounter.builder(GETS, storage, region -> region.getStatistics().getMissCount())
+                .tags(CACHE_TAG, regionName, RESULT_TAG, MISS)
+                .description("Lookups of entries missing in the cache region")
+                .register(meterRegistry);
+        FunctionCounter.builder(EVICTIONS, storage, region -> region.getStatistics().getEvictionCount())
+                .tags(CACHE_TAG, regionName)
+                .description("Entries evicted from the cache region by size or time to live")
+                .register(meterRegistry);
+        Gauge.builder(SIZE, storage, region -> region.getStatistics().getSize())
+                .tags(CACHE_TAG, regionName)
+                .description("Entries held by the cache region")
+                .register(meterRegistry);
+    }
+
+    private static BoundedStorageAccess createStorage(EvictionPolicy evictionPolicy,
+                                                      long maximumSize,
+                                                      Duration timeToLive) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("Maximum size of cache region must not be negative");
+        }
+        if (evictionPolicy == EvictionPolicy.LRU) {
+            return new LruStorageAccess(maximumSize, timeToLive);
+        }
+        return new CaffeineStorageAccess(maximumSize, timeToLive);
+    }
+}
@@ -0,0 +1,16 @@
+package com.epam.esm.model.cache;
+
+/**
+ * Policy which decides what entry leaves a full entity cache region.
+ */
+public enum EvictionPolicy {
+    /**
+     * Window TinyLFU admission and eviction. Keeps frequently used entries when a large scan, such as an index
+     * rebuild or a deep listing, streams many entities through the region only once.
+     */
+    W_TINY_LFU,
+    /**
+     * Least recently used entry is evicted.
+     */
+    LRU
+}
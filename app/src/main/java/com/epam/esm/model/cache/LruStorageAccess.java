@@ -0,0 +1,102 @@
+package com.epam.esm.model.cache;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Region storage which evicts least recently used entry when it is full. Entries are kept in access ordered
+ * {@link LinkedHashMap}, so every access is made under the storage lock. Expired entries are removed lazily
+ * when they are read.
+ */
+class LruStorageAccess implements BoundedStorageAccess {
+    private final Map<Object, Entry> entries;
+    private final long timeToLiveNanos;
+    private final LongSupplier ticker;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    LruStorageAccess(long maximumSize, Duration timeToLive) {
+        this(maximumSize, timeToLive, System::nanoTime);
+    }
+
+    LruStorageAccess(long maximumSize, Duration timeToLive, LongSupplier ticker) {
+        this.timeToLiveNanos = timeToLive == null || timeToLive.isZero() ? Long.MAX_VALUE : timeToLive.toNanos();
+        this.ticker = ticker;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+                if (size() > maximumSize) {
+                    evictionCount++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public synchronized Object getFromCache(Object key, SharedSessionContractImplementor session) {
+        Entry entry = entries.get(key);
+        if (entry != null && isExpired(entry)) {
+            entries.remove(key);
+            evictionCount++;
+            entry = null;
+        }
+        if (entry == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        return entry.value;
+    }
+
+    @Override
+    public synchronized void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+        entries.put(key, new Entry(value, ticker.getAsLong()));
+    }
+
+    @Override
+    public synchronized boolean contains(Object key) {
+        Entry entry = entries.get(key);
+        return entry != null && !isExpired(entry);
+    }
+
+    @Override
+    public synchronized void evictData() {
+        entries.clear();
+    }
+
+    @Override
+    public synchronized void evictData(Object key) {
+        entries.remove(key);
+    }
+
+    @Override
+    public synchronized void release() {
+        entries.clear();
+    }
+
+    @Override
+    public synchronized CacheStatistics getStatistics() {
+        return new CacheStatistics(hitCount, missCount, evictionCount, entries.size());
+    }
+
+    private boolean isExpired(Entry entry) {
+        return ticker.getAsLong() - entry.writeTime >= timeToLiveNanos;
+    }
+
+    private static class Entry {
+        private final Object value;
+        private final long writeTime;
+
+        private Entry(Object value, long writeTime) {
+            this.value = value;
+            this.writeTime = writeTime;
+        }
+    }
+}
@@ -2,26 +2,45 @@ package com.epam.esm.model.dao;
 
 import com.epam.esm.model.dao.exception.DaoException;
 import com.epam.esm.model.dao.exception.EntityWithIdNotFoundException;
+import com.epam.esm.util.ValueConverter;
+import com.epam.esm.util.entity.SearchOperator;
 import com.epam.esm.util.entity.SearchUnit;
 import com.epam.esm.util.entity.SortUnit;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import javax.persistence.TypedQuery;
 import javax.persistence.criteria.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Repository
 @Transactional
 public abstract class AbstractDao<T> implements Dao<T> {
     private static final String FROM = "from ";
     private static final String PERCENT = "%";
+    private static final char LIKE_ESCAPE = '\\';
+    private static final String WHERE = " WHERE ";
+    private static final String AND = " AND ";
+    private static final String RANGE_FROM = "from";
+    private static final String RANGE_TO = "to";
     @PersistenceContext
     protected EntityManager entityManager;
     private Class<T> clazz;
+    @Value("${export.fetch-size:1000}")
+    private int fetchSize;
 
     public void setClazz(Class<T> clazzToSet) {
         clazz = clazzToSet;
@@ -53,6 +72,7 @@ public abstract class AbstractDao<T> implements Dao<T> {
         Root<T> root = criteriaQuery.from(clazz);
         criteriaQuery.select(root);
         List<Predicate> predicates = extractPredicates(searchCriteria, criteriaBuilder, root);
+        predicates.addAll(extractIndexPredicates(searchCriteria, criteriaBuilder, root));
         criteriaQuery.where(criteriaBuilder.and(predicates.toArray(new Predicate[0])));
         List<Order> orderList = extractOrderList(sortCriteria, criteriaBuilder, root);
         criteriaQuery.orderBy(orderList);
@@ -62,6 +82,26 @@ public abstract class AbstractDao<T> implements Dao<T> {
                 .getResultList();
     }
 
+    @Override
+    public List<T> findAll(List<SearchUnit> searchCriteria,
+                           List<SortUnit> sortCriteria,
+                           List<String> afterSortKeys,
+                           int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> criteriaQuery = criteriaBuilder.createQuery(clazz);
+        Root<T> root = criteriaQuery.from(clazz);
+        criteriaQuery.select(root);
+        List<Predicate> predicates = extractPredicates(searchCriteria, criteriaBuilder, root);
+        predicates.addAll(extractIndexPredicates(searchCriteria, criteriaBuilder, root));
+        predicates.add(extractSeekPredicate(sortCriteria, afterSortKeys, criteriaBuilder, root));
+        criteriaQuery.where(criteriaBuilder.and(predicates.toArray(new Predicate[0])));
+        List<Order> orderList = extractOrderList(sortCriteria, criteriaBuilder, root);
+        criteriaQuery.orderBy(orderList);
+        return entityManager.createQuery(criteriaQuery)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
     @Override
     public T update(T entity) {
         return entityManager.merge(entity);
@@ -93,19 +133,218 @@ public abstract class AbstractDao<T> implements Dao<T> {
         return orderList;
     }
 
+    /**
+     * Creates additional predicates which narrow search down with help of in-memory index. Found records must
+     * still match predicates created by {@link #extractPredicates(List, CriteriaBuilder, Root)}.
+     *
+     * @param searchCriteria  describes data to search by
+     * @param criteriaBuilder criteria builder
+     * @param root            query root
+     * @return list of predicates, empty by default
+     */
+    protected List<Predicate> extractIndexPredicates(List<SearchUnit> searchCriteria,
+                                                     CriteriaBuilder criteriaBuilder,
+                                                     Root<T> root) {
+        return new ArrayList<>();
+    }
+
+    /**
+     * Creates predicates of search criteria. Search expressions are converted to the java type of the attribute
+     * and bound as typed parameters, so only {@link SearchOperator#CONTAINS} on text attribute prevents
+     * database from using index of the attribute.
+     *
+     * @param searchCriteria  describes data to search by
+     * @param criteriaBuilder criteria builder
+     * @param root            query root
+     * @param <T>             the type of root entity
+     * @return list of predicates
+     * @throws IllegalArgumentException if search expression can't be converted to type of the attribute or
+     *                                  operator can't be applied to it
+     */
     protected static <T> List<Predicate> extractPredicates(List<SearchUnit> searchCriteria,
                                                            CriteriaBuilder criteriaBuilder,
                                                            Root<T> root) {
         List<Predicate> predicates = new ArrayList<>();
         if (searchCriteria != null) {
             for (SearchUnit searchCriterion : searchCriteria) {
-                predicates.add(criteriaBuilder.like(root.get(searchCriterion.getSearchFieldName()),
-                        PERCENT + searchCriterion.getSearchExpression() + PERCENT));
+                predicates.add(extractPredicate(searchCriterion, criteriaBuilder,
+                        root.get(searchCriterion.getSearchFieldName())));
             }
         }
         return predicates;
     }
 
+    @SuppressWarnings("unchecked")
+    private static Predicate extractPredicate(SearchUnit searchUnit,
+                                              CriteriaBuilder criteriaBuilder,
+                                              Path<Comparable<Object>> path) {
+        Class<?> javaType = path.getJavaType();
+        String expression = searchUnit.getSearchExpression();
+        switch (searchUnit.getOperator()) {
+            case CONTAINS:
+                if (String.class.equals(javaType)) {
+                    return criteriaBuilder.like((Path<String>) (Path<?>) path, PERCENT + expression + PERCENT);
+                }
+                return criteriaBuilder.equal(path, toComparable(expression, javaType));
+            case PREFIX:
+                if (!String.class.equals(javaType)) {
+                    throw new IllegalArgumentException("Search operator prefix requires text attribute");
+                }
+                return criteriaBuilder.like((Path<String>) (Path<?>) path, escapeLike(expression) + PERCENT,
+                        LIKE_ESCAPE);
+            case EQ:
+                return criteriaBuilder.equal(path, toComparable(expression, javaType));
+            case NE:
+                return criteriaBuilder.notEqual(path, toComparable(expression, javaType));
+            case LT:
+                return criteriaBuilder.lessThan(path, toComparable(expression, javaType));
+            case LTE:
+                return criteriaBuilder.lessThanOrEqualTo(path, toComparable(expression, javaType));
+            case GT:
+                return criteriaBuilder.greaterThan(path, toComparable(expression, javaType));
+            case GTE:
+                return criteriaBuilder.greaterThanOrEqualTo(path, toComparable(expression, javaType));
+            case BETWEEN:
+                List<String> bounds = searchUnit.getSearchValues();
+                return criteriaBuilder.between(path, toComparable(bounds.get(0), javaType),
+                        toComparable(bounds.get(1), javaType));
+            case IN:
+                return path.in(searchUnit.getSearchValues().stream()
+                        .map(value -> toComparable(value, javaType))
+                        .distinct()
+                        .collect(Collectors.toList()));
+            default:
+                throw new IllegalArgumentException("Search operator " + searchUnit.getOperator() + " is not supported");
+        }
+    }
+
+    private static String escapeLike(String expression) {
+        StringBuilder escaped = new StringBuilder(expression.length());
+        for (int i = 0; i < expression.length(); i++) {
+            char c = expression.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Creates predicate which matches records placed after the record with provided sort key values.
+     * For sort fields f1..fn and values v1..vn predicate is
+     * {@code (f1 > v1) or (f1 = v1 and f2 > v2) or ... or (f1 = v1 and ... and fn > vn)},
+     * where comparison is inverted for descending fields. Null values are considered lower than any other
+     * value, as both MySQL and H2 sort them.
+     *
+     * @param sortCriteria    sort criteria, last sort field must be unique
+     * @param afterSortKeys   sort key values of the last fetched record, empty list for the first page
+     * @param criteriaBuilder criteria builder
+     * @param root            query root
+     * @param <T>             the type of root entity
+     * @return seek predicate
+     */
+    protected static <T> Predicate extractSeekPredicate(List<SortUnit> sortCriteria,
+                                                        List<String> afterSortKeys,
+                                                        CriteriaBuilder criteriaBuilder,
+                                                        Root<T> root) {
+        if (afterSortKeys == null || afterSortKeys.isEmpty()) {
+            return criteriaBuilder.conjunction();
+        }
+        if (afterSortKeys.size() != sortCriteria.size()) {
+            throw new IllegalArgumentException("Sort key values don't match sort criteria");
+        }
+        List<Predicate> alternatives = new ArrayList<>();
+        List<Predicate> equalities = new ArrayList<>();
+        for (int i = 0; i < sortCriteria.size(); i++) {
+            SortUnit sortUnit = sortCriteria.get(i);
+            Path<Comparable<Object>> path = root.get(sortUnit.getSortField());
+            Comparable<Object> value = toComparable(afterSortKeys.get(i), path.getJavaType());
+            List<Predicate> alternative = new ArrayList<>(equalities);
+            alternative.add(beyond(path, value, sortUnit.isAscending(), criteriaBuilder));
+            alternatives.add(criteriaBuilder.and(alternative.toArray(new Predicate[0])));
+            equalities.add(value == null ? criteriaBuilder.isNull(path) : criteriaBuilder.equal(path, value));
+        }
+        return criteriaBuilder.or(alternatives.toArray(new Predicate[0]));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> toComparable(String value, Class<?> javaType) {
+        return (Comparable<Object>) ValueConverter.fromString(value, javaType);
+    }
+
+    private static Predicate beyond(Path<Comparable<Object>> path,
+                                    Comparable<Object> value,
+                                    boolean isAscending,
+                                    CriteriaBuilder criteriaBuilder) {
+        if (value == null) {
+            return isAscending ? criteriaBuilder.isNotNull(path) : criteriaBuilder.disjunction();
+        }
+        if (isAscending) {
+            return criteriaBuilder.greaterThan(path, value);
+        }
+        return criteriaBuilder.or(criteriaBuilder.lessThan(path, value), criteriaBuilder.isNull(path));
+    }
+
+    /**
+     * Appends condition that the field is in range of dates. Bounds are bound by
+     * {@link #setRangeParameters(Query, LocalDateTime, LocalDateTime)}.
+     *
+     * @param query query to append condition to
+     * @param field path of the field, for example {@code c.lastUpdateDate}
+     * @param from  start of range inclusive, unbounded if null
+     * @param to    end of range exclusive, unbounded if null
+     * @return query with condition
+     */
+    protected static String appendRangeCondition(String query, String field, LocalDateTime from, LocalDateTime to) {
+        StringBuilder builder = new StringBuilder(query);
+        String keyword = WHERE;
+        if (from != null) {
+            builder.append(keyword).append(field).append(" >= :").append(RANGE_FROM);
+            keyword = AND;
+        }
+        if (to != null) {
+            builder.append(keyword).append(field).append(" < :").append(RANGE_TO);
+        }
+        return builder.toString();
+    }
+
+    protected static void setRangeParameters(Query query, LocalDateTime from, LocalDateTime to) {
+        if (from != null) {
+            query.setParameter(RANGE_FROM, from);
+        }
+        if (to != null) {
+            query.setParameter(RANGE_TO, to);
+        }
+    }
+
+    /**
+     * Passes results of the query to the consumer one by one reading them with forward-only cursor. Results
+     * are not put into second-level cache and entities are evicted from persistence context after they are
+     * consumed, so memory usage doesn't depend on count of results.
+     *
+     * @param query    query to execute
+     * @param consumer consumer of results
+     * @param <R>      the type of results
+     */
+    @SuppressWarnings("unchecked")
+    protected <R> void scroll(TypedQuery<R> query, Consumer<R> consumer) {
+        Session session = entityManager.unwrap(Session.class);
+        org.hibernate.query.Query<R> hibernateQuery = query.unwrap(org.hibernate.query.Query.class)
+                .setReadOnly(true)
+                .setCacheMode(CacheMode.IGNORE)
+                .setFetchSize(fetchSize);
+        try (ScrollableResults results = hibernateQuery.scroll(ScrollMode.FORWARD_ONLY)) {
+            while (results.next()) {
+                R result = (R) results.get(0);
+                consumer.accept(result);
+                if (clazz.isInstance(result)) {
+                    session.evict(result);
+                }
+            }
+        }
+    }
+
     private void delete(T entity) {
         entityManager.remove(entity);
     }
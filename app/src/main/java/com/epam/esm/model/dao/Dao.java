@@ -54,6 +54,23 @@ public interface Dao<T> {
      */
     List<T> findAll(List<SearchUnit> searchCriteria, List<SortUnit> sortCriteria, int offset, int limit) throws DaoException;
 
+    /**
+     * Finds generic type objects in the repository which are placed after the record with provided sort key
+     * values (keyset pagination). Unlike offset pagination skipped records are not read from the data source,
+     * so latency doesn't depend on the page depth.
+     *
+     * @param searchCriteria describes data to search by
+     * @param sortCriteria   describes how to sort fetched data, last sort field must be unique
+     * @param afterSortKeys  sort key values of the last record of previous page, empty list for the first page
+     * @param limit          maximum count of records to return
+     * @return list of objects from data source
+     * @throws DaoException if error occurs while finding objects in the data source
+     */
+    List<T> findAll(List<SearchUnit> searchCriteria,
+                    List<SortUnit> sortCriteria,
+                    List<String> afterSortKeys,
+                    int limit) throws DaoException;
+
     /**
      * Updates object in the data source with provided id to new values from provided generic type object.
      * If provided object field value is null this field will not be updated.
@@ -4,8 +4,12 @@ import com.epam.esm.entity.GiftCertificate;
 import com.epam.esm.model.dao.exception.DaoException;
 import com.epam.esm.util.entity.SearchUnit;
 import com.epam.esm.util.entity.SortUnit;
+import com.epam.esm.util.entity.TagFilter;
+import org.springframework.dao.OptimisticLockingFailureException;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * The interface Gift certificate dao extended from {@code Dao<T>} interface.
@@ -16,9 +20,9 @@ import java.util.List;
  */
 public interface GiftCertificateDao extends Dao<GiftCertificate> {
     /**
-     * Finds {@code GiftCertificate} objects by tag name and returns list.
+     * Finds {@code GiftCertificate} objects by tag expression and returns list.
      *
-     * @param tagName        tag name to search by
+     * @param tagFilter      tag expression to search by
      * @param searchCriteria describes data to search by
      * @param sortCriteria   describes how to sort fetched data
      * @param offset         count of records to skip
@@ -27,9 +31,85 @@ public interface GiftCertificateDao extends Dao<GiftCertificate> {
      * @throws DaoException if error occurs while finding {@code GiftCertificate} objects
      *                      by tag name
      */
-    List<GiftCertificate> findByTagName(List<String> tagName,
+    List<GiftCertificate> findByTagName(TagFilter tagFilter,
                                         List<SearchUnit> searchCriteria,
                                         List<SortUnit> sortCriteria,
                                         int offset,
                                         int limit) throws DaoException;
+
+    /**
+     * Finds {@code GiftCertificate} objects by tag expression which are placed after the record with provided
+     * sort key values (keyset pagination).
+     *
+     * @param tagFilter      tag expression to search by
+     * @param searchCriteria describes data to search by
+     * @param sortCriteria   describes how to sort fetched data, last sort field must be unique
+     * @param afterSortKeys  sort key values of the last record of previous page, empty list for the first page
+     * @param limit          maximum count of records to return
+     * @return list of found {@code GiftCertificate} objects
+     * @throws DaoException if error occurs while finding {@code GiftCertificate} objects
+     *                      by tag name
+     */
+    List<GiftCertificate> findByTagName(TagFilter tagFilter,
+                                        List<SearchUnit> searchCriteria,
+                                        List<SortUnit> sortCriteria,
+                                        List<String> afterSortKeys,
+                                        int limit) throws DaoException;
+
+    /**
+     * Finds tags of {@code GiftCertificate} objects with id greater than provided one. Returned objects
+     * contain only id and tags, they are ordered by id.
+     *
+     * @param afterId id of the last object of previous batch, 0 for the first batch
+     * @param limit   maximum count of objects to return
+     * @return list of {@code GiftCertificate} objects with id and tags
+     * @throws DaoException if error occurs while finding tags of {@code GiftCertificate} objects
+     */
+    List<GiftCertificate> findTagsOfGiftCertificates(long afterId, int limit) throws DaoException;
+
+    /**
+     * Adds all provided {@code GiftCertificate} objects in a single transaction. Tags with id must exist,
+     * tags without id are added. Persistence context is flushed and cleared after every JDBC batch, so it
+     * doesn't grow with amount of added objects.
+     *
+     * @param giftCertificates gift certificates to add
+     * @return added gift certificates with assigned ids
+     * @throws DaoException if error occurs while adding {@code GiftCertificate} objects
+     */
+    List<GiftCertificate> addAll(List<GiftCertificate> giftCertificates) throws DaoException;
+
+    /**
+     * Updates {@code GiftCertificate} object only if its version in the data source equals provided one. Version
+     * is checked again by the update statement, so a change committed after the check is detected too.
+     *
+     * @param giftCertificate object with values to be updated
+     * @param expectedVersion version the object was read with
+     * @return updated object with incremented version
+     * @throws DaoException                      if error occurs while updating object in the data source
+     * @throws OptimisticLockingFailureException if version of the object in the data source differs
+     */
+    GiftCertificate update(GiftCertificate giftCertificate, long expectedVersion) throws DaoException;
+
+    /**
+     * Deletes {@code GiftCertificate} object with provided id only if its version in the data source equals
+     * provided one. Version is checked again by the delete statement.
+     *
+     * @param id              id of object to be deleted
+     * @param expectedVersion version the object was read with
+     * @return deleted object
+     * @throws DaoException                      if error occurs while deleting object from the data source
+     * @throws OptimisticLockingFailureException if version of the object in the data source differs
+     */
+    GiftCertificate delete(long id, long expectedVersion) throws DaoException;
+
+    /**
+     * Passes gift certificates with tags, which were last updated in provided range, to the consumer in
+     * order of id. Gift certificates are read with forward-only cursor and detached after they are consumed.
+     *
+     * @param from     start of range inclusive, unbounded if null
+     * @param to       end of range exclusive, unbounded if null
+     * @param consumer consumer of gift certificates
+     * @throws DaoException if error occurs while reading {@code GiftCertificate} objects
+     */
+    void scrollAll(LocalDateTime from, LocalDateTime to, Consumer<GiftCertificate> consumer) throws DaoException;
 }
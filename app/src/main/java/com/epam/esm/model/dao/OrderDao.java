@@ -1,6 +1,14 @@
 package com.epam.esm.model.dao;
 
 import com.epam.esm.entity.Order;
+import com.epam.esm.model.dao.exception.DaoException;
+import com.epam.esm.util.entity.OrderExportRow;
+import com.epam.esm.util.entity.UserTagUsage;
+import com.epam.esm.util.entity.UserTotalCost;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * The interface Order dao extended from {@code Dao<T>} interface.
@@ -10,4 +18,39 @@ import com.epam.esm.entity.Order;
  * @see Dao
  */
 public interface OrderDao extends Dao<Order> {
+    /**
+     * Finds which of provided ids belong to {@code Order} objects in the data source.
+     *
+     * @param ids ids of orders
+     * @return list of ids of existing orders
+     * @throws DaoException if error occurs while finding ids
+     */
+    List<Long> findExistingIds(List<Long> ids) throws DaoException;
+
+    /**
+     * Finds total cost of orders of every user.
+     *
+     * @return list of total costs of users which have orders
+     * @throws DaoException if error occurs while counting total costs
+     */
+    List<UserTotalCost> findTotalCostOfUsers() throws DaoException;
+
+    /**
+     * Finds how many times every user ordered gift certificates with every tag.
+     *
+     * @return list of tag usage counts
+     * @throws DaoException if error occurs while counting tag usage
+     */
+    List<UserTagUsage> findTagUsageOfUsers() throws DaoException;
+
+    /**
+     * Passes orders, which were made in provided range, to the consumer in order of id. Orders are read
+     * with forward-only cursor as rows with ids of user and gift certificate, so no entities are loaded.
+     *
+     * @param from     start of range inclusive, unbounded if null
+     * @param to       end of range exclusive, unbounded if null
+     * @param consumer consumer of orders
+     * @throws DaoException if error occurs while reading orders
+     */
+    void scrollAll(LocalDateTime from, LocalDateTime to, Consumer<OrderExportRow> consumer) throws DaoException;
 }
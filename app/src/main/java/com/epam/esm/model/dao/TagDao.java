@@ -3,6 +3,9 @@ package com.epam.esm.model.dao;
 import com.epam.esm.entity.Tag;
 import com.epam.esm.model.dao.exception.DaoException;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * The interface Tag dao extended from {@code Dao<T>} interface.
  * Provides additional methods to work with {@code Tag} objects from data source.
@@ -18,4 +21,13 @@ public interface TagDao extends Dao<Tag> {
      * @throws DaoException if error occurs while finding most used {@code Tag} object
      */
     Tag findMostUsedTag() throws DaoException;
+
+    /**
+     * Finds all tags with provided ids in a single query. Ids without tag are skipped.
+     *
+     * @param ids ids to search by
+     * @return found tags
+     * @throws DaoException if error occurs while finding {@code Tag} objects
+     */
+    List<Tag> findAllByIds(Collection<Long> ids) throws DaoException;
 }
@@ -1,8 +1,10 @@
 package com.epam.esm.model.dao;
 
-import com.epam.esm.entity.Order;
 import com.epam.esm.entity.User;
 import com.epam.esm.model.dao.exception.DaoException;
+import com.epam.esm.util.entity.OrderSummary;
+import com.epam.esm.util.entity.SearchUnit;
+import com.epam.esm.util.entity.SortUnit;
 
 import java.util.List;
 import java.util.Optional;
@@ -16,15 +18,35 @@ import java.util.Optional;
  */
 public interface UserDao extends Dao<User> {
     /**
-     * Find orders of user.
+     * Find orders of user ordered by id. Orders are read as {@link OrderSummary} rows, so neither user nor
+     * gift certificates are loaded.
      *
-     * @param id     id to search user by
-     * @param offset count of records to skip
-     * @param limit  maximum count of records to return
-     * @return list of found {@link Order} objects
-     * @throws DaoException if error occurs while finding {@link User} objects
+     * @param id             id to search user by
+     * @param searchCriteria describes orders to search by, for example range of {@code orderDate}
+     * @param offset         count of records to skip
+     * @param limit          maximum count of records to return
+     * @return list of found orders
+     * @throws DaoException if error occurs while finding {@link User} objects or user doesn't exist
      */
-    List<Order> findOrdersOfUser(long id, int offset, int limit) throws DaoException;
+    List<OrderSummary> findOrdersOfUser(long id, List<SearchUnit> searchCriteria, int offset, int limit)
+            throws DaoException;
+
+    /**
+     * Find orders of user which are placed after the order with provided sort key values (keyset pagination).
+     *
+     * @param id             id to search user by
+     * @param searchCriteria describes orders to search by, for example range of {@code orderDate}
+     * @param sortCriteria   describes how to sort fetched data, last sort field must be unique
+     * @param afterSortKeys  sort key values of the last order of previous page, empty list for the first page
+     * @param limit          maximum count of records to return
+     * @return list of found orders
+     * @throws DaoException if error occurs while finding {@link User} objects or user doesn't exist
+     */
+    List<OrderSummary> findOrdersOfUser(long id,
+                                        List<SearchUnit> searchCriteria,
+                                        List<SortUnit> sortCriteria,
+                                        List<String> afterSortKeys,
+                                        int limit) throws DaoException;
 
     /**
      * Find user by email.
@@ -0,0 +1,53 @@
+package com.epam.esm.model.dao.id;
+
+import lombok.extern.log4j.Log4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Moves sequence tables of {@link PooledIdGenerator} past the greatest id stored in entity tables. Ids used to
+ * be taken from a sequence shared by all entities, so a sequence table created for existing data would hand
+ * out ids which are already taken. Sequence value is only ever increased, so it is safe to run on every node.
+ */
+@Log4j
+@Component
+public class IdSequenceAligner {
+    private static final String FIND_NEXT_ID_QUERY = "SELECT COALESCE(MAX(%s), 0) + 1 FROM %s";
+    private static final String ALIGN_SEQUENCE_QUERY = "UPDATE %1$s SET %2$s = ? WHERE %2$s < ?";
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdSequenceAligner(EntityManagerFactory entityManagerFactory, JdbcTemplate jdbcTemplate) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void align() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        for (EntityPersister persister : sessionFactory.getMetamodel().entityPersisters().values()) {
+            if (persister.getIdentifierGenerator() instanceof PooledIdGenerator
+                    && persister instanceof AbstractEntityPersister) {
+                align((AbstractEntityPersister) persister, (PooledIdGenerator) persister.getIdentifierGenerator());
+            }
+        }
+    }
+
+    private void align(AbstractEntityPersister persister, PooledIdGenerator generator) {
+        String sequenceTable = generator.getDatabaseStructure().getName();
+        Long nextId = jdbcTemplate.queryForObject(String.format(FIND_NEXT_ID_QUERY,
+                persister.getIdentifierColumnNames()[0], persister.getTableName()), Long.class);
+        int updated = jdbcTemplate.update(String.format(ALIGN_SEQUENCE_QUERY, sequenceTable,
+                SequenceStyleGenerator.DEF_VALUE_COLUMN), nextId, nextId);
+        if (updated > 0) {
+            log.info("Sequence " + sequenceTable + " is moved to " + nextId);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.epam.esm.model.dao.id;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Generates ids of an entity from its own sequence table, allocating them in blocks. A node reserves a whole
+ * block with single update of the table and then hands ids out from memory with pooled-lo optimizer, so
+ * inserts of different entities don't contend on a shared sequence and inserts of the same entity touch the
+ * table once per block. Blocks are reserved by a locking update, so every node gets distinct ids.
+ * <p>
+ * Block size is read from {@value #BLOCK_SIZE_SETTING}{@code .<sequence name>} setting, falling back to
+ * {@value #DEFAULT_BLOCK_SIZE_SETTING} setting. Sequence table is used on every database, including ones
+ * supporting sequences, so it can be aligned the same way by {@link IdSequenceAligner}.
+ */
+public class PooledIdGenerator extends SequenceStyleGenerator {
+    public static final String BLOCK_SIZE_SETTING = "id.block-size";
+    public static final String DEFAULT_BLOCK_SIZE_SETTING = "id.default-block-size";
+    private static final int DEFAULT_BLOCK_SIZE = 50;
+    private static final String SETTING_SEPARATOR = ".";
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        Map<?, ?> settings = serviceRegistry.getService(ConfigurationService.class).getSettings();
+        String sequenceName = params.getProperty(SEQUENCE_PARAM);
+        int defaultBlockSize = ConfigurationHelper.getInt(DEFAULT_BLOCK_SIZE_SETTING, settings, DEFAULT_BLOCK_SIZE);
+        int blockSize = ConfigurationHelper.getInt(BLOCK_SIZE_SETTING + SETTING_SEPARATOR + sequenceName, settings,
+                defaultBlockSize);
+        if (blockSize < 1) {
+            throw new MappingException("Id block size of sequence " + sequenceName + " must be positive");
+        }
+        params.setProperty(INCREMENT_PARAM, Integer.toString(blockSize));
+        params.setProperty(OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+        params.setProperty(FORCE_TBL_PARAM, Boolean.TRUE.toString());
+        super.configure(type, params, serviceRegistry);
+    }
+}
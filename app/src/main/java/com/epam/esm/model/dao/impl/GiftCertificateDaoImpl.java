@@ -4,52 +4,312 @@ import com.epam.esm.entity.GiftCertificate;
 import com.epam.esm.entity.Tag;
 import com.epam.esm.model.dao.AbstractDao;
 import com.epam.esm.model.dao.GiftCertificateDao;
+import com.epam.esm.model.dao.exception.DaoException;
+import com.epam.esm.model.dao.exception.EntityWithIdNotFoundException;
+import com.epam.esm.model.index.GiftCertificateTagIndex;
+import com.epam.esm.model.index.GiftCertificateTextIndex;
 import com.epam.esm.util.entity.SearchUnit;
 import com.epam.esm.util.entity.SortUnit;
+import com.epam.esm.util.entity.TagFilter;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.OptimisticLockException;
+import javax.persistence.TypedQuery;
 import javax.persistence.criteria.*;
-import java.util.List;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Repository
 @Transactional
 public class GiftCertificateDaoImpl extends AbstractDao<GiftCertificate> implements GiftCertificateDao {
     private static final String TAGS = "tags";
     private static final String NAME = "name";
+    private static final String ID = "id";
+    private static final String IDS = "ids";
+    private static final String FIND_IDS_AFTER_ID_QUERY =
+            "SELECT c.id FROM GiftCertificate c WHERE c.id > :id ORDER BY c.id";
+    private static final String FIND_TAGS_BY_IDS_QUERY =
+            "SELECT c.id, t.id, t.name FROM GiftCertificate c JOIN c.tags t WHERE c.id IN :ids";
+    private static final String FIND_ALL_WITH_TAGS_BY_IDS_QUERY =
+            "SELECT DISTINCT c FROM GiftCertificate c LEFT JOIN FETCH c.tags WHERE c.id IN :ids";
+    private static final String SCROLL_QUERY = "SELECT c FROM GiftCertificate c LEFT JOIN FETCH c.tags";
+    private static final String LAST_UPDATE_DATE = "c.lastUpdateDate";
+    private static final String ORDER_BY_ID = " ORDER BY c.id";
+    private final GiftCertificateTextIndex textIndex;
+    private final GiftCertificateTagIndex tagIndex;
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
 
-    public GiftCertificateDaoImpl() {
+    public GiftCertificateDaoImpl(GiftCertificateTextIndex textIndex, GiftCertificateTagIndex tagIndex) {
+        this.textIndex = textIndex;
+        this.tagIndex = tagIndex;
         setClazz(GiftCertificate.class);
     }
 
     @Override
-    public List<GiftCertificate> findByTagName(List<String> tagNames,
+    protected List<Predicate> extractIndexPredicates(List<SearchUnit> searchCriteria,
+                                                     CriteriaBuilder criteriaBuilder,
+                                                     Root<GiftCertificate> root) {
+        List<Predicate> predicates = new ArrayList<>();
+        textIndex.findCandidateIds(searchCriteria).ifPresent(candidateIds ->
+                predicates.add(extractIdPredicate(candidateIds, criteriaBuilder, root)));
+        return predicates;
+    }
+
+    @Override
+    public List<GiftCertificate> findAll(List<SearchUnit> searchCriteria,
+                                         List<SortUnit> sortCriteria,
+                                         int offset,
+                                         int limit) {
+        List<Long> ids = entityManager.createQuery(createFindIdsQuery(null, searchCriteria, sortCriteria, null))
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+        return findAllWithTags(ids);
+    }
+
+    @Override
+    public List<GiftCertificate> findAll(List<SearchUnit> searchCriteria,
+                                         List<SortUnit> sortCriteria,
+                                         List<String> afterSortKeys,
+                                         int limit) {
+        CriteriaQuery<Long> idsQuery = createFindIdsQuery(null, searchCriteria, sortCriteria, afterSortKeys);
+        List<Long> ids = entityManager.createQuery(idsQuery)
+                .setMaxResults(limit)
+                .getResultList();
+        return findAllWithTags(ids);
+    }
+
+    @Override
+    public List<GiftCertificate> findByTagName(TagFilter tagFilter,
                                                List<SearchUnit> searchCriteria,
                                                List<SortUnit> sortCriteria,
                                                int offset,
                                                int limit) {
+        List<Long> ids = entityManager.createQuery(createFindIdsQuery(tagFilter, searchCriteria, sortCriteria, null))
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+        return findAllWithTags(ids);
+    }
+
+    @Override
+    public List<GiftCertificate> findByTagName(TagFilter tagFilter,
+                                               List<SearchUnit> searchCriteria,
+                                               List<SortUnit> sortCriteria,
+                                               List<String> afterSortKeys,
+                                               int limit) {
+        CriteriaQuery<Long> idsQuery = createFindIdsQuery(tagFilter, searchCriteria, sortCriteria, afterSortKeys);
+        List<Long> ids = entityManager.createQuery(idsQuery)
+                .setMaxResults(limit)
+                .getResultList();
+        return findAllWithTags(ids);
+    }
+
+    @Override
+    public List<GiftCertificate> addAll(List<GiftCertificate> giftCertificates) {
+        List<List<Tag>> originalTags = new ArrayList<>(giftCertificates.size());
+        for (int i = 0; i < giftCertificates.size(); i++) {
+            GiftCertificate giftCertificate = giftCertificates.get(i);
+            originalTags.add(giftCertificate.getTags());
+            giftCertificate.setTags(giftCertificate.getTags().stream()
+                    .map(this::toManagedTag)
+                    .collect(Collectors.toList()));
+            entityManager.persist(giftCertificate);
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        for (int i = 0; i < giftCertificates.size(); i++) {
+            giftCertificates.get(i).setTags(originalTags.get(i));
+        }
+        return giftCertificates;
+    }
+
+    @Override
+    public GiftCertificate update(GiftCertificate giftCertificate, long expectedVersion) throws DaoException {
+        checkVersion(giftCertificate.getId(), expectedVersion);
+        return update(giftCertificate);
+    }
+
+    @Override
+    public GiftCertificate delete(long id, long expectedVersion) throws DaoException {
+        checkVersion(id, expectedVersion);
+        return delete(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void scrollAll(LocalDateTime from, LocalDateTime to, Consumer<GiftCertificate> consumer) {
+        String query = appendRangeCondition(SCROLL_QUERY, LAST_UPDATE_DATE, from, to) + ORDER_BY_ID;
+        TypedQuery<GiftCertificate> typedQuery = entityManager.createQuery(query, GiftCertificate.class);
+        setRangeParameters(typedQuery, from, to);
+        scroll(typedQuery, consumer);
+    }
+
+    @Override
+    public List<GiftCertificate> findTagsOfGiftCertificates(long afterId, int limit) {
+        List<Long> ids = entityManager.createQuery(FIND_IDS_AFTER_ID_QUERY, Long.class)
+                .setParameter(ID, afterId)
+                .setMaxResults(limit)
+                .getResultList();
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, GiftCertificate> giftCertificates = new LinkedHashMap<>();
+        for (Long id : ids) {
+            giftCertificates.put(id, GiftCertificate.builder().id(id).tags(new ArrayList<>()).build());
+        }
+        List<Object[]> rows = entityManager.createQuery(FIND_TAGS_BY_IDS_QUERY, Object[].class)
+                .setParameter(IDS, ids)
+                .getResultList();
+        for (Object[] row : rows) {
+            Tag tag = Tag.builder().id((Long) row[1]).name((String) row[2]).build();
+            giftCertificates.get((Long) row[0]).getTags().add(tag);
+        }
+        return new ArrayList<>(giftCertificates.values());
+    }
+
+    /**
+     * Creates query which selects ordered ids of gift certificates. Page of gift certificates is fetched in two
+     * queries: ids of the page are selected first and then gift certificates are fetched with tags by ids, because
+     * fetching of tags together with the page can't be limited in database and fetching them lazily takes a query
+     * per gift certificate.
+     */
+    private CriteriaQuery<Long> createFindIdsQuery(TagFilter tagFilter,
+                                                   List<SearchUnit> searchCriteria,
+                                                   List<SortUnit> sortCriteria,
+                                                   List<String> afterSortKeys) {
         CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
-        CriteriaQuery<GiftCertificate> criteriaQuery = criteriaBuilder.createQuery(GiftCertificate.class);
+        CriteriaQuery<Long> criteriaQuery = criteriaBuilder.createQuery(Long.class);
         Root<GiftCertificate> root = criteriaQuery.from(GiftCertificate.class);
-        ListJoin<GiftCertificate, Tag> tagsJoin = root.joinList(TAGS);
-        criteriaQuery.select(root);
+        criteriaQuery.select(root.get(ID));
         List<Predicate> predicates = extractPredicates(searchCriteria, criteriaBuilder, root);
+        predicates.addAll(extractIndexPredicates(searchCriteria, criteriaBuilder, root));
+        predicates.add(extractSeekPredicate(sortCriteria, afterSortKeys, criteriaBuilder, root));
+        if (tagFilter != null) {
+            Optional<long[]> ids = tagIndex.findIds(tagFilter);
+            if (ids.isPresent()) {
+                predicates.add(extractIdPredicate(ids.get(), criteriaBuilder, root));
+            } else {
+                predicates.addAll(extractTagPredicates(tagFilter, criteriaQuery, criteriaBuilder, root));
+            }
+        }
         List<Order> orderList = extractOrderList(sortCriteria, criteriaBuilder, root);
-        criteriaQuery.where(criteriaBuilder.and(
-                tagsJoin.get(NAME).in(tagNames),
-                criteriaBuilder.and(predicates.toArray(new Predicate[0]))
-        ));
-        criteriaQuery.groupBy(root);
-        criteriaQuery.having(
-                criteriaBuilder.equal(
-                        criteriaBuilder.countDistinct(tagsJoin.get(NAME)),
-                        tagNames.stream().distinct().toArray().length
-                )
-        );
+        criteriaQuery.where(criteriaBuilder.and(predicates.toArray(new Predicate[0])));
         criteriaQuery.orderBy(orderList);
-        return entityManager.createQuery(criteriaQuery)
-                .setFirstResult(offset)
-                .setMaxResults(limit)
-                .getResultList();
+        return criteriaQuery;
+    }
+
+    private List<GiftCertificate> findAllWithTags(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, GiftCertificate> giftCertificates = entityManager
+                .createQuery(FIND_ALL_WITH_TAGS_BY_IDS_QUERY, GiftCertificate.class)
+                .setParameter(IDS, ids)
+                .setHint(QueryHints.HINT_PASS_DISTINCT_THROUGH, false)
+                .getResultStream()
+                .collect(Collectors.toMap(GiftCertificate::getId, Function.identity()));
+        return ids.stream()
+                .map(giftCertificates::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private static List<Predicate> extractTagPredicates(TagFilter tagFilter,
+                                                        CriteriaQuery<?> criteriaQuery,
+                                                        CriteriaBuilder criteriaBuilder,
+                                                        Root<GiftCertificate> root) {
+        List<Predicate> predicates = new ArrayList<>();
+        List<String> allOf = distinct(tagFilter.getAllOf());
+        if (!allOf.isEmpty()) {
+            predicates.add(root.get(ID).in(createWithAllTagsSubquery(allOf, criteriaQuery, criteriaBuilder)));
+        }
+        List<String> anyOf = distinct(tagFilter.getAnyOf());
+        if (!anyOf.isEmpty()) {
+            predicates.add(root.get(ID).in(createWithTagSubquery(anyOf, criteriaQuery)));
+        }
+        List<String> noneOf = distinct(tagFilter.getNoneOf());
+        if (!noneOf.isEmpty()) {
+            predicates.add(criteriaBuilder.not(root.get(ID).in(createWithTagSubquery(noneOf, criteriaQuery))));
+        }
+        return predicates;
+    }
+
+    private static Subquery<Long> createWithAllTagsSubquery(List<String> tagNames,
+                                                            CriteriaQuery<?> criteriaQuery,
+                                                            CriteriaBuilder criteriaBuilder) {
+        Subquery<Long> subquery = criteriaQuery.subquery(Long.class);
+        Root<GiftCertificate> subqueryRoot = subquery.from(GiftCertificate.class);
+        ListJoin<GiftCertificate, Tag> tagsJoin = subqueryRoot.joinList(TAGS);
+        subquery.select(subqueryRoot.get(ID))
+                .where(tagsJoin.get(NAME).in(tagNames))
+                .groupBy(subqueryRoot.get(ID))
+                .having(criteriaBuilder.equal(criteriaBuilder.countDistinct(tagsJoin.get(NAME)), tagNames.size()));
+        return subquery;
+    }
+
+    private static Subquery<Long> createWithTagSubquery(List<String> tagNames,
+                                                        CriteriaQuery<?> criteriaQuery) {
+        Subquery<Long> subquery = criteriaQuery.subquery(Long.class);
+        Root<GiftCertificate> subqueryRoot = subquery.from(GiftCertificate.class);
+        ListJoin<GiftCertificate, Tag> tagsJoin = subqueryRoot.joinList(TAGS);
+        subquery.select(subqueryRoot.get(ID)).where(tagsJoin.get(NAME).in(tagNames));
+        return subquery;
+    }
+
+    private static Predicate extractIdPredicate(long[] ids,
+                                                CriteriaBuilder criteriaBuilder,
+                                                Root<GiftCertificate> root) {
+        if (ids.length == 0) {
+            return criteriaBuilder.disjunction();
+        }
+        return root.get(ID).in(Arrays.stream(ids).boxed().collect(Collectors.toList()));
+    }
+
+    /**
+     * Removes tag names repeated in another case. Tag names are compared by case-insensitive collation, so a
+     * repeated name matches the same tag and would never let count of matched names reach count of requested.
+     */
+    private static List<String> distinct(List<String> tagNames) {
+        if (tagNames == null) {
+            return new ArrayList<>();
+        }
+        Map<String, String> distinctNames = new LinkedHashMap<>();
+        for (String tagName : tagNames) {
+            distinctNames.putIfAbsent(tagName.toLowerCase(Locale.ROOT), tagName);
+        }
+        return new ArrayList<>(distinctNames.values());
+    }
+
+    /**
+     * Replaces tag which has id with a reference, so tags detached by clearing of persistence context
+     * are not persisted again by cascade. References are not loaded from the database, so original
+     * tags are returned to gift certificates after they are stored.
+     */
+    private Tag toManagedTag(Tag tag) {
+        return tag.getId() == null ? tag : entityManager.getReference(Tag.class, tag.getId());
+    }
+
+    /**
+     * Fails if stored gift certificate has another version than the client has read, so a conditional change
+     * doesn't overwrite a concurrent one.
+     */
+    private void checkVersion(long id, long expectedVersion) throws DaoException {
+        GiftCertificate current = findById(id).orElseThrow(() ->
+                new EntityWithIdNotFoundException(id, "message.exception.dao.not_found"));
+        if (current.getVersion() != expectedVersion) {
+            throw new OptimisticLockException(current);
+        }
     }
 }
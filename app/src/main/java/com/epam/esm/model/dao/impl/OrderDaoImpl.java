@@ -3,13 +3,72 @@ package com.epam.esm.model.dao.impl;
 import com.epam.esm.entity.Order;
 import com.epam.esm.model.dao.AbstractDao;
 import com.epam.esm.model.dao.OrderDao;
+import com.epam.esm.util.entity.OrderExportRow;
+import com.epam.esm.util.entity.UserTagUsage;
+import com.epam.esm.util.entity.UserTotalCost;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.TypedQuery;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
 @Repository
 @Transactional
 public class OrderDaoImpl extends AbstractDao<Order> implements OrderDao {
+    private static final String IDS = "ids";
+    private static final String FIND_EXISTING_IDS_QUERY = "SELECT o.id FROM Order o WHERE o.id IN :ids";
+    private static final String FIND_TOTAL_COST_OF_USERS_QUERY = """
+            SELECT new com.epam.esm.util.entity.UserTotalCost(o.user.id, sum(o.cost))
+            FROM Order o
+            GROUP BY o.user.id
+            """;
+    private static final String FIND_TAG_USAGE_OF_USERS_QUERY = """
+            SELECT new com.epam.esm.util.entity.UserTagUsage(o.user.id, t.id, count(o))
+            FROM Order o
+                     JOIN o.giftCertificate c
+                     JOIN c.tags t
+            GROUP BY o.user.id, t.id
+            """;
+
+    private static final String SCROLL_QUERY = """
+            SELECT new com.epam.esm.util.entity.OrderExportRow(o.id, o.user.id, o.giftCertificate.id, o.cost,
+                   o.orderDate)
+            FROM Order o""";
+    private static final String ORDER_DATE = "o.orderDate";
+    private static final String ORDER_BY_ID = " ORDER BY o.id";
+
     public OrderDaoImpl() {
         setClazz(Order.class);
     }
+
+    @Override
+    public List<Long> findExistingIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return entityManager.createQuery(FIND_EXISTING_IDS_QUERY, Long.class)
+                .setParameter(IDS, ids)
+                .getResultList();
+    }
+
+    @Override
+    public List<UserTotalCost> findTotalCostOfUsers() {
+        return entityManager.createQuery(FIND_TOTAL_COST_OF_USERS_QUERY, UserTotalCost.class).getResultList();
+    }
+
+    @Override
+    public List<UserTagUsage> findTagUsageOfUsers() {
+        return entityManager.createQuery(FIND_TAG_USAGE_OF_USERS_QUERY, UserTagUsage.class).getResultList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void scrollAll(LocalDateTime from, LocalDateTime to, Consumer<OrderExportRow> consumer) {
+        String query = appendRangeCondition(SCROLL_QUERY, ORDER_DATE, from, to) + ORDER_BY_ID;
+        TypedQuery<OrderExportRow> typedQuery = entityManager.createQuery(query, OrderExportRow.class);
+        setRangeParameters(typedQuery, from, to);
+        scroll(typedQuery, consumer);
+    }
 }
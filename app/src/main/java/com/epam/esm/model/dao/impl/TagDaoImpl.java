@@ -8,7 +8,9 @@ import com.epam.esm.model.dao.exception.EntityWithIdNotFoundException;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -21,11 +23,13 @@ public class TagDaoImpl extends AbstractDao<Tag> implements TagDao {
                              JOIN `order` o on u.id = o.user_id
                     WHERE u.id = user.id) as total
             FROM user
-            ORDER BY total DESC
+            ORDER BY total DESC, id
             LIMIT 1
             """;
     private static final String USER_ID = "user_id";
     private static final int ZERO = 0;
+    private static final String IDS = "ids";
+    private static final String FIND_ALL_BY_IDS_QUERY = "SELECT t FROM Tag t WHERE t.id IN :ids";
     private static final String FIND_MOST_USED_TAG_BY_USER_ID_QUERY = """
             SELECT distinct tag.id, count(*) as magnitude
             FROM tag
@@ -34,7 +38,7 @@ public class TagDaoImpl extends AbstractDao<Tag> implements TagDao {
                      INNER JOIN `order` o on gc.id = o.gift_certificate_id
             WHERE user_id = :user_id
             GROUP BY tag.id
-            ORDER BY magnitude DESC
+            ORDER BY magnitude DESC, tag.id
             LIMIT 1
             """;
 
@@ -46,12 +50,22 @@ public class TagDaoImpl extends AbstractDao<Tag> implements TagDao {
     public Tag findMostUsedTag() throws DaoException {
         Object[] result = (Object[]) entityManager.createNativeQuery(FIND_USER_WITH_HIGHEST_ORDER_COST)
                 .getSingleResult();
-        long userId = ((BigInteger) result[ZERO]).longValue();
+        long userId = ((Number) result[ZERO]).longValue();
         result = (Object[]) entityManager.createNativeQuery(FIND_MOST_USED_TAG_BY_USER_ID_QUERY)
                 .setParameter(USER_ID, userId).getSingleResult();
-        long mostUsedTagId = ((BigInteger) result[ZERO]).longValue();
+        long mostUsedTagId = ((Number) result[ZERO]).longValue();
         Optional<Tag> tagOptional = findById(mostUsedTagId);
         return tagOptional.orElseThrow(() ->
                 new EntityWithIdNotFoundException(mostUsedTagId, "message.exception.dao.not_found"));
     }
+
+    @Override
+    public List<Tag> findAllByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return entityManager.createQuery(FIND_ALL_BY_IDS_QUERY, Tag.class)
+                .setParameter(IDS, ids)
+                .getResultList();
+    }
 }
@@ -1,27 +1,38 @@
 package com.epam.esm.model.dao.impl;
 
+import com.epam.esm.entity.GiftCertificate;
 import com.epam.esm.entity.Order;
 import com.epam.esm.entity.User;
 import com.epam.esm.model.dao.AbstractDao;
 import com.epam.esm.model.dao.UserDao;
 import com.epam.esm.model.dao.exception.DaoException;
 import com.epam.esm.model.dao.exception.EntityWithIdNotFoundException;
+import com.epam.esm.util.entity.OrderSummary;
+import com.epam.esm.util.entity.SearchUnit;
+import com.epam.esm.util.entity.SortUnit;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.NoResultException;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 @Transactional
 public class UserDaoImpl extends AbstractDao<User> implements UserDao {
-    private static final String FIND_ORDERS_OF_USER_QUERY = """
-            select o 
-            from Order o 
-            where o.user.id = :id
-            """;
+    private static final String EXISTS_QUERY = "select count(u.id) from User u where u.id = :id";
     private static final String ID = "id";
+    private static final String USER = "user";
+    private static final String GIFT_CERTIFICATE = "giftCertificate";
+    private static final String NAME = "name";
+    private static final String COST = "cost";
+    private static final String ORDER_DATE = "orderDate";
     private static final String FIND_USER_BY_EMAIL_QUERY = "select u from User u where u.email = :email";
 
     public UserDaoImpl() {
@@ -29,14 +40,28 @@ public class UserDaoImpl extends AbstractDao<User> implements UserDao {
     }
 
     @Override
-    public List<Order> findOrdersOfUser(long id, int offset, int limit) throws DaoException {
-        Optional<User> optionalUser = findById(id);
-        optionalUser.orElseThrow(() -> new EntityWithIdNotFoundException(id, "message.exception.dao.not_found"));
-        return entityManager.createQuery(FIND_ORDERS_OF_USER_QUERY, Order.class)
-                .setParameter(ID, id)
+    public List<OrderSummary> findOrdersOfUser(long id, List<SearchUnit> searchCriteria, int offset, int limit)
+            throws DaoException {
+        List<SortUnit> sortCriteria = List.of(new SortUnit(ID, true));
+        List<OrderSummary> orders = entityManager
+                .createQuery(createFindOrdersOfUserQuery(id, searchCriteria, sortCriteria, null))
                 .setFirstResult(offset)
                 .setMaxResults(limit)
                 .getResultList();
+        return checkUserExists(id, orders);
+    }
+
+    @Override
+    public List<OrderSummary> findOrdersOfUser(long id,
+                                               List<SearchUnit> searchCriteria,
+                                               List<SortUnit> sortCriteria,
+                                               List<String> afterSortKeys,
+                                               int limit) throws DaoException {
+        List<OrderSummary> orders = entityManager
+                .createQuery(createFindOrdersOfUserQuery(id, searchCriteria, sortCriteria, afterSortKeys))
+                .setMaxResults(limit)
+                .getResultList();
+        return checkUserExists(id, orders);
     }
 
     @Override
@@ -51,4 +76,41 @@ public class UserDaoImpl extends AbstractDao<User> implements UserDao {
         }
         return optionalUser;
     }
+
+    /**
+     * Creates projection query of orders of user, so neither user nor gift certificates are loaded. Search
+     * criteria apply to attributes of {@link Order}.
+     */
+    private CriteriaQuery<OrderSummary> createFindOrdersOfUserQuery(long id,
+                                                                    List<SearchUnit> searchCriteria,
+                                                                    List<SortUnit> sortCriteria,
+                                                                    List<String> afterSortKeys) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OrderSummary> criteriaQuery = criteriaBuilder.createQuery(OrderSummary.class);
+        Root<Order> root = criteriaQuery.from(Order.class);
+        Join<Order, GiftCertificate> giftCertificate = root.join(GIFT_CERTIFICATE);
+        criteriaQuery.select(criteriaBuilder.construct(OrderSummary.class, root.get(ID), giftCertificate.get(ID),
+                giftCertificate.get(NAME), root.get(COST), root.get(ORDER_DATE)));
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(criteriaBuilder.equal(root.get(USER).get(ID), id));
+        predicates.addAll(extractPredicates(searchCriteria, criteriaBuilder, root));
+        predicates.add(extractSeekPredicate(sortCriteria, afterSortKeys, criteriaBuilder, root));
+        criteriaQuery.where(predicates.toArray(new Predicate[0]));
+        criteriaQuery.orderBy(extractOrderList(sortCriteria, criteriaBuilder, root));
+        return criteriaQuery;
+    }
+
+    /**
+     * Found order proves that its user exists, so existence of user is checked by separate query only if
+     * no orders are found. The check isn't folded into page query by left join from user, because a page
+     * after the last order would skip the only row of user and still be empty.
+     */
+    private List<OrderSummary> checkUserExists(long id, List<OrderSummary> orders) throws DaoException {
+        if (orders.isEmpty() && entityManager.createQuery(EXISTS_QUERY, Long.class)
+                .setParameter(ID, id)
+                .getSingleResult() == 0) {
+            throw new EntityWithIdNotFoundException(id, "message.exception.dao.not_found");
+        }
+        return orders;
+    }
 }
@@ -0,0 +1,167 @@
+package com.epam.esm.model.dao.metrics;
+
+import com.epam.esm.timing.RequestPhase;
+import com.epam.esm.timing.RequestTimings;
+import io.micrometer.core.instrument.*;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Records duration, returned row count and errors of every public DAO method call, tagged by DAO class, method
+ * name and {@link QueryShape}. Meters of a call are looked up in maps by class, method and shape, so only the
+ * first call of a shape registers meters. Count of shapes per method is limited, further shapes are recorded
+ * as {@code other}, because shapes come from request parameters. Rows are elements of returned collection,
+ * presence of returned optional or object, or results passed to consumer argument of scrolling methods.
+ * The aspect wraps the transaction, so connection acquisition and commit are included in duration. Duration
+ * is also added to the database phase of {@link RequestTimings} of the current request.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class DaoMetricsAspect {
+    public static final String QUERY_TIMER = "dao.query";
+    public static final String QUERY_ROWS = "dao.query.rows";
+    public static final String QUERY_ERRORS = "dao.query.errors";
+    public static final String DAO_TAG = "dao";
+    public static final String METHOD_TAG = "method";
+    public static final String SHAPE_TAG = "shape";
+    public static final String EXCEPTION_TAG = "exception";
+    public static final String OTHER_SHAPE = "other";
+    private static final int DEFAULT_MAX_SHAPES_PER_METHOD = 100;
+    private static final Duration MINIMUM_EXPECTED_DURATION = Duration.ofNanos(100_000);
+    private static final Duration MAXIMUM_EXPECTED_DURATION = Duration.ofSeconds(30);
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<Class<?>, ConcurrentMap<Method, MethodMeters>> meters = new ConcurrentHashMap<>();
+    @Value("${metrics.dao.max-shapes-per-method:100}")
+    private int maxShapesPerMethod = DEFAULT_MAX_SHAPES_PER_METHOD;
+
+    public DaoMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.epam.esm.model.dao.Dao+.*(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        Object[] args = joinPoint.getArgs();
+        QueryMeters queryMeters = findMethodMeters(joinPoint).findQueryMeters(args);
+        RowCountingConsumer rowCountingConsumer = wrapConsumer(args);
+        RequestTimings requestTimings = RequestTimings.current();
+        requestTimings.enter(RequestPhase.DATABASE);
+        long start = System.nanoTime();
+        try {
+            Object result = rowCountingConsumer == null ? joinPoint.proceed() : joinPoint.proceed(args);
+            queryMeters.timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            queryMeters.rows.record(rowCountingConsumer == null ? countRows(result) : rowCountingConsumer.rows);
+            return result;
+        } catch (Throwable e) {
+            queryMeters.timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            meterRegistry.counter(QUERY_ERRORS, queryMeters.tags.and(EXCEPTION_TAG, e.getClass().getSimpleName()))
+                    .increment();
+            throw e;
+        } finally {
+            requestTimings.exit(RequestPhase.DATABASE, start);
+        }
+    }
+
+    private MethodMeters findMethodMeters(ProceedingJoinPoint joinPoint) {
+        Class<?> daoClass = joinPoint.getTarget().getClass();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        return meters.computeIfAbsent(daoClass, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(method, key -> new MethodMeters(daoClass.getSimpleName(), method.getName()));
+    }
+
+    private static RowCountingConsumer wrapConsumer(Object[] args) {
+        for (int i = 0; i < args.length; i++) {
+            if (args[i] instanceof Consumer) {
+                @SuppressWarnings("unchecked")
+                RowCountingConsumer rowCountingConsumer = new RowCountingConsumer((Consumer<Object>) args[i]);
+                args[i] = rowCountingConsumer;
+                return rowCountingConsumer;
+            }
+        }
+        return null;
+    }
+
+    private static long countRows(Object result) {
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Optional) {
+            return ((Optional<?>) result).isPresent() ? 1 : 0;
+        }
+        return result == null ? 0 : 1;
+    }
+
+    private class MethodMeters {
+        private final String daoName;
+        private final String methodName;
+        private final ConcurrentMap<String, QueryMeters> shapes = new ConcurrentHashMap<>();
+
+        MethodMeters(String daoName, String methodName) {
+            this.daoName = daoName;
+            this.methodName = methodName;
+        }
+
+        QueryMeters findQueryMeters(Object[] args) {
+            String shape = QueryShape.of(args);
+            QueryMeters queryMeters = shapes.get(shape);
+            if (queryMeters != null) {
+                return queryMeters;
+            }
+            if (shapes.size() >= maxShapesPerMethod) {
+                shape = OTHER_SHAPE;
+            }
+            return shapes.computeIfAbsent(shape, key -> new QueryMeters(Tags.of(DAO_TAG, daoName,
+                    METHOD_TAG, methodName, SHAPE_TAG, key)));
+        }
+    }
+
+    private class QueryMeters {
+        private final Tags tags;
+        private final Timer timer;
+        private final DistributionSummary rows;
+
+        QueryMeters(Tags tags) {
+            this.tags = tags;
+            this.timer = Timer.builder(QUERY_TIMER)
+                    .tags(tags)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(MINIMUM_EXPECTED_DURATION)
+                    .maximumExpectedValue(MAXIMUM_EXPECTED_DURATION)
+                    .register(meterRegistry);
+            this.rows = DistributionSummary.builder(QUERY_ROWS)
+                    .tags(tags)
+                    .baseUnit("rows")
+                    .register(meterRegistry);
+        }
+    }
+
+    private static class RowCountingConsumer implements Consumer<Object> {
+        private final Consumer<Object> consumer;
+        private long rows;
+
+        RowCountingConsumer(Consumer<Object> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void accept(Object result) {
+            rows++;
+            consumer.accept(result);
+        }
+    }
+}
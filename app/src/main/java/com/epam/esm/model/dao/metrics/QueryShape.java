@@ -0,0 +1,109 @@
+package com.epam.esm.model.dao.metrics;
+
+import com.epam.esm.util.entity.SearchOperator;
+import com.epam.esm.util.entity.SearchUnit;
+import com.epam.esm.util.entity.SortUnit;
+import com.epam.esm.util.entity.TagFilter;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Describes which search and sort fields a DAO call uses without their values, for example
+ * {@code search=name;sort=-createDate,id} for search by name sorted by create date descending and id. Calls of
+ * the same shape produce the same SQL, so their latency is comparable. Search operators other than contains
+ * follow the field, for example {@code search=price:between}.
+ */
+public final class QueryShape {
+    public static final String NONE = "none";
+    private static final String SEARCH = "search=";
+    private static final String SORT = "sort=";
+    private static final String TAGS = "tags=";
+    private static final char PART_SEPARATOR = ';';
+    private static final char VALUE_SEPARATOR = ',';
+    private static final char DESCENDING = '-';
+    private static final char OPERATOR_SEPARATOR = ':';
+
+    private QueryShape() {
+    }
+
+    /**
+     * Builds shape of DAO method arguments. Lists of {@link SearchUnit} give search field names, lists of
+     * {@link SortUnit} give sort field names prefixed by {@code -} if descending, {@link TagFilter} gives
+     * names of its non-empty groups. Other arguments don't affect the shape.
+     *
+     * @param args arguments of DAO method
+     * @return shape, {@link #NONE} if arguments have no search or sort criteria
+     */
+    public static String of(Object[] args) {
+        StringBuilder shape = null;
+        for (Object arg : args) {
+            if (arg instanceof List && !((List<?>) arg).isEmpty()) {
+                Object first = ((List<?>) arg).get(0);
+                if (first instanceof SearchUnit) {
+                    shape = appendSearch(start(shape, SEARCH), (List<?>) arg);
+                } else if (first instanceof SortUnit) {
+                    shape = appendSort(start(shape, SORT), (List<?>) arg);
+                }
+            } else if (arg instanceof TagFilter) {
+                shape = appendTagFilter(shape, (TagFilter) arg);
+            }
+        }
+        return shape == null ? NONE : shape.toString();
+    }
+
+    private static StringBuilder start(StringBuilder shape, String part) {
+        if (shape == null) {
+            return new StringBuilder(part);
+        }
+        return shape.append(PART_SEPARATOR).append(part);
+    }
+
+    private static StringBuilder appendSearch(StringBuilder shape, List<?> searchUnits) {
+        for (int i = 0; i < searchUnits.size(); i++) {
+            if (i > 0) {
+                shape.append(VALUE_SEPARATOR);
+            }
+            SearchUnit searchUnit = (SearchUnit) searchUnits.get(i);
+            shape.append(searchUnit.getSearchFieldName());
+            if (searchUnit.getOperator() != SearchOperator.CONTAINS) {
+                shape.append(OPERATOR_SEPARATOR).append(searchUnit.getOperator().name().toLowerCase(Locale.ROOT));
+            }
+        }
+        return shape;
+    }
+
+    private static StringBuilder appendSort(StringBuilder shape, List<?> sortUnits) {
+        for (int i = 0; i < sortUnits.size(); i++) {
+            SortUnit sortUnit = (SortUnit) sortUnits.get(i);
+            if (i > 0) {
+                shape.append(VALUE_SEPARATOR);
+            }
+            if (!sortUnit.isAscending()) {
+                shape.append(DESCENDING);
+            }
+            shape.append(sortUnit.getSortField());
+        }
+        return shape;
+    }
+
+    private static StringBuilder appendTagFilter(StringBuilder shape, TagFilter tagFilter) {
+        StringBuilder groups = new StringBuilder();
+        appendGroup(groups, "allOf", tagFilter.getAllOf());
+        appendGroup(groups, "anyOf", tagFilter.getAnyOf());
+        appendGroup(groups, "noneOf", tagFilter.getNoneOf());
+        if (groups.length() == 0) {
+            return shape;
+        }
+        return start(shape, TAGS).append(groups);
+    }
+
+    private static void appendGroup(StringBuilder groups, String name, List<String> tags) {
+        if (tags != null && !tags.isEmpty()) {
+            if (groups.length() > 0) {
+                groups.append(VALUE_SEPARATOR);
+            }
+            groups.append(name);
+        }
+    }
+}
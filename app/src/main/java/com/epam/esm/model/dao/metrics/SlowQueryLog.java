@@ -0,0 +1,223 @@
+package com.epam.esm.model.dao.metrics;
+
+import com.epam.esm.util.entity.SlowQuerySummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.log4j.Log4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Log of JDBC statements slower than the threshold, aggregated by {@link SqlShape normalized SQL}. Every
+ * statement is recorded to a timer, a slow one is logged with its duration and types of bind parameters, and
+ * the first slow execution of every shape is explained by {@code EXPLAIN} with the same parameter values.
+ * Only queries are explained, the plan is logged as returned by the database: a single plan column on H2, one
+ * line of {@code column=value} pairs per table on MySQL. Count of shapes is limited, further slow shapes are
+ * logged but not aggregated.
+ */
+@Log4j
+@Component
+public class SlowQueryLog {
+    public static final String STATEMENT_TIMER = "jdbc.statement";
+    private static final Duration DEFAULT_THRESHOLD = Duration.ofMillis(100);
+    private static final int DEFAULT_MAX_SHAPES = 1000;
+    private static final int DEFAULT_REPORT_SIZE = 20;
+    private static final Duration MINIMUM_EXPECTED_DURATION = Duration.ofNanos(10_000);
+    private static final Duration MAXIMUM_EXPECTED_DURATION = Duration.ofSeconds(30);
+    private static final String EXPLAIN = "EXPLAIN ";
+    private static final String SELECT = "select";
+    private static final String WITH = "with";
+    private static final String NOT_EXPLAINED = "not explained, only queries are explained";
+    private static final String EXPLAIN_FAILED = "EXPLAIN failed: ";
+    private static final String COLUMN_SEPARATOR = ", ";
+    private static final String VALUE_SEPARATOR = "=";
+    private static final String ROW_SEPARATOR = "\n";
+    private static final double NANOS_IN_MILLI = 1_000_000.0;
+    private final Timer statementTimer;
+    private final ConcurrentMap<String, SlowQueryShape> shapes = new ConcurrentHashMap<>();
+    @Value("${metrics.slow-query.threshold:PT0.1S}")
+    private Duration threshold = DEFAULT_THRESHOLD;
+    @Value("${metrics.slow-query.max-shapes:1000}")
+    private int maxShapes = DEFAULT_MAX_SHAPES;
+    @Value("${metrics.slow-query.report-size:20}")
+    private int reportSize = DEFAULT_REPORT_SIZE;
+
+    public SlowQueryLog(MeterRegistry meterRegistry) {
+        this.statementTimer = Timer.builder(STATEMENT_TIMER)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(MINIMUM_EXPECTED_DURATION)
+                .maximumExpectedValue(MAXIMUM_EXPECTED_DURATION)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records execution of the statement, logs and aggregates it if it is slow.
+     *
+     * @param sql            executed SQL
+     * @param parameters     values of bind parameters by index starting from 0
+     * @param parameterCount count of bound parameters
+     * @param nanos          duration of execution in nanoseconds
+     * @return shape of the statement if it is slow and its plan should be captured, {@code null} otherwise
+     */
+    SlowQueryShape record(String sql, Object[] parameters, int parameterCount, long nanos) {
+        statementTimer.record(nanos, TimeUnit.NANOSECONDS);
+        if (sql == null || nanos < threshold.toNanos()) {
+            return null;
+        }
+        String normalizedSql = SqlShape.normalize(sql);
+        String parameterTypes = SqlShape.describeParameters(parameters, parameterCount);
+        log.warn(String.format(Locale.ROOT, "Slow query took %.1f ms: %s, parameters: [%s]",
+                nanos / NANOS_IN_MILLI, normalizedSql, parameterTypes));
+        SlowQueryShape shape = shapes.get(normalizedSql);
+        if (shape == null) {
+            if (shapes.size() >= maxShapes) {
+                return null;
+            }
+            shape = shapes.computeIfAbsent(normalizedSql, SlowQueryShape::new);
+        }
+        shape.add(nanos, parameterTypes);
+        return shape.claimPlan() ? shape : null;
+    }
+
+    /**
+     * Captures plan of the slow statement by running {@code EXPLAIN} with the same parameters on its connection.
+     *
+     * @param shape      shape of the statement
+     * @param connection connection which executed the statement
+     * @param sql        executed SQL
+     * @param parameters values of bind parameters by index starting from 0
+     */
+    void explain(SlowQueryShape shape, Connection connection, String sql, Object[] parameters) {
+        String plan;
+        if (!isQuery(sql)) {
+            plan = NOT_EXPLAINED;
+        } else {
+            try (PreparedStatement statement = connection.prepareStatement(EXPLAIN + sql)) {
+                for (int i = 0; i < parameters.length; i++) {
+                    if (parameters[i] instanceof StatementTimingDataSource.NullParameter) {
+                        statement.setNull(i + 1,
+                                ((StatementTimingDataSource.NullParameter) parameters[i]).getSqlType());
+                    } else {
+                        statement.setObject(i + 1, parameters[i]);
+                    }
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    plan = formatPlan(resultSet);
+                }
+            } catch (SQLException e) {
+                plan = EXPLAIN_FAILED + e.getLocalizedMessage();
+            }
+        }
+        shape.plan = plan;
+        log.warn("Plan of slow query " + shape.sql + ":" + ROW_SEPARATOR + plan);
+    }
+
+    /**
+     * Returns slow query shapes with the highest total duration.
+     *
+     * @param limit maximum count of shapes, configured report size if {@code null}
+     * @return shapes in descending order of total duration
+     */
+    public List<SlowQuerySummary> findSlowest(Integer limit) {
+        return shapes.values().stream()
+                .map(SlowQueryShape::toSummary)
+                .sorted(Comparator.comparingDouble(SlowQuerySummary::getTotalMillis).reversed())
+                .limit(limit != null ? limit : reportSize)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Forgets all slow query shapes, so plans are captured again.
+     */
+    public void reset() {
+        shapes.clear();
+    }
+
+    private static boolean isQuery(String sql) {
+        String statement = sql.stripLeading().toLowerCase(Locale.ROOT);
+        return statement.startsWith(SELECT) || statement.startsWith(WITH);
+    }
+
+    private static String formatPlan(ResultSet resultSet) throws SQLException {
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        StringBuilder plan = new StringBuilder();
+        while (resultSet.next()) {
+            if (plan.length() > 0) {
+                plan.append(ROW_SEPARATOR);
+            }
+            if (columnCount == 1) {
+                plan.append(resultSet.getString(1));
+                continue;
+            }
+            for (int i = 1; i <= columnCount; i++) {
+                if (i > 1) {
+                    plan.append(COLUMN_SEPARATOR);
+                }
+                plan.append(metaData.getColumnLabel(i)).append(VALUE_SEPARATOR).append(resultSet.getString(i));
+            }
+        }
+        return plan.toString();
+    }
+
+    /**
+     * Aggregated executions of one normalized statement.
+     */
+    static class SlowQueryShape {
+        private final String sql;
+        private final AtomicBoolean planClaimed = new AtomicBoolean();
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+        private String parameterTypes;
+        private LocalDateTime lastSeen;
+        private volatile String plan;
+
+        SlowQueryShape(String sql) {
+            this.sql = sql;
+        }
+
+        synchronized void add(long nanos, String parameterTypes) {
+            count++;
+            totalNanos += nanos;
+            if (nanos >= maxNanos) {
+                maxNanos = nanos;
+                this.parameterTypes = parameterTypes;
+            }
+            lastSeen = LocalDateTime.now();
+        }
+
+        boolean claimPlan() {
+            return planClaimed.compareAndSet(false, true);
+        }
+
+        synchronized SlowQuerySummary toSummary() {
+            return SlowQuerySummary.builder()
+                    .sql(sql)
+                    .parameterTypes(parameterTypes)
+                    .count(count)
+                    .totalMillis(totalNanos / NANOS_IN_MILLI)
+                    .meanMillis(totalNanos / NANOS_IN_MILLI / count)
+                    .maxMillis(maxNanos / NANOS_IN_MILLI)
+                    .plan(plan)
+                    .lastSeen(lastSeen)
+                    .build();
+        }
+    }
+}
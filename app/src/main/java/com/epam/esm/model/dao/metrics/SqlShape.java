@@ -0,0 +1,83 @@
+package com.epam.esm.model.dao.metrics;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Normalized form of SQL statement and types of its bind parameters. Literals are replaced by {@code ?},
+ * lists of parameters by {@code (?, ...)}, because padded {@code IN} lists differ only in length, and
+ * whitespace is collapsed, so statements built by the same criteria with different values have one shape.
+ */
+public final class SqlShape {
+    public static final String NULL_TYPE = "null";
+    public static final String PARAMETER_LIST = "(?, ...)";
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMERIC_LITERAL = Pattern.compile("(?<![\\w.])\\d+(?:\\.\\d+)?(?!\\w)");
+    private static final Pattern PARAMETER_LIST_PATTERN = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final String PARAMETER = "?";
+    private static final String SEPARATOR = ", ";
+    private static final String REPEAT = " x";
+
+    private SqlShape() {
+    }
+
+    /**
+     * Normalizes SQL statement.
+     *
+     * @param sql SQL statement
+     * @return statement with literals and parameter lists replaced
+     */
+    public static String normalize(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll(PARAMETER);
+        normalized = NUMERIC_LITERAL.matcher(normalized).replaceAll(PARAMETER);
+        normalized = PARAMETER_LIST_PATTERN.matcher(normalized).replaceAll(Matcher.quoteReplacement(PARAMETER_LIST));
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+    }
+
+    /**
+     * Describes types of bind parameters, repeated types are collapsed, for example
+     * {@code String, Long x4, Integer}.
+     *
+     * @param parameters     values of parameters by index starting from 0
+     * @param parameterCount count of bound parameters
+     * @return simple class names of parameters
+     */
+    public static String describeParameters(Object[] parameters, int parameterCount) {
+        StringBuilder description = new StringBuilder();
+        String previousType = null;
+        int repeats = 0;
+        for (int i = 0; i < parameterCount; i++) {
+            String type = typeOf(parameters[i]);
+            if (type.equals(previousType)) {
+                repeats++;
+                continue;
+            }
+            appendType(description, previousType, repeats);
+            previousType = type;
+            repeats = 1;
+        }
+        appendType(description, previousType, repeats);
+        return description.toString();
+    }
+
+    private static String typeOf(Object parameter) {
+        if (parameter == null || parameter instanceof StatementTimingDataSource.NullParameter) {
+            return NULL_TYPE;
+        }
+        return parameter.getClass().getSimpleName();
+    }
+
+    private static void appendType(StringBuilder description, String type, int repeats) {
+        if (type == null) {
+            return;
+        }
+        if (description.length() > 0) {
+            description.append(SEPARATOR);
+        }
+        description.append(type);
+        if (repeats > 1) {
+            description.append(REPEAT).append(repeats);
+        }
+    }
+}
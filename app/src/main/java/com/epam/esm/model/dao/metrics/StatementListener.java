@@ -0,0 +1,16 @@
+package com.epam.esm.model.dao.metrics;
+
+/**
+ * Receives every JDBC statement executed through {@link StatementTimingDataSource}, for example to count
+ * statements of an operation. Listeners are called on the thread which executed the statement.
+ */
+public interface StatementListener {
+
+    /**
+     * Called after the statement is executed, successfully or not.
+     *
+     * @param sql   executed SQL, {@code null} for batch of plain statements
+     * @param nanos duration of execution in nanoseconds
+     */
+    void statementExecuted(String sql, long nanos);
+}
@@ -0,0 +1,179 @@
+package com.epam.esm.model.dao.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Data source which times execution of every JDBC statement and reports it to {@link SlowQueryLog} and
+ * {@link StatementListener listeners}. Connections and statements are wrapped in dynamic proxies, prepared
+ * statements remember values of bind parameters. A statement which is slow for the first time is explained when
+ * it is closed, because its result set may still be read from the connection right after execution.
+ */
+public class StatementTimingDataSource extends DelegatingDataSource {
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+    private static final String SET_PREFIX = "set";
+    private static final String SET_NULL = "setNull";
+    private static final String CLEAR_PARAMETERS = "clearParameters";
+    private static final String CLOSE = "close";
+    private static final int INITIAL_PARAMETERS = 8;
+    private final SlowQueryLog slowQueryLog;
+    private final List<StatementListener> listeners;
+
+    public StatementTimingDataSource(DataSource targetDataSource,
+                                     SlowQueryLog slowQueryLog,
+                                     List<StatementListener> listeners) {
+        super(targetDataSource);
+        this.slowQueryLog = slowQueryLog;
+        this.listeners = listeners;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    /**
+     * Value of parameter bound by {@code setNull}, keeps its SQL type to bind it again for EXPLAIN.
+     */
+    static class NullParameter {
+        private final int sqlType;
+
+        NullParameter(int sqlType) {
+            this.sqlType = sqlType;
+        }
+
+        int getSqlType() {
+            return sqlType;
+        }
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+        private final Connection connection;
+
+        ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = StatementTimingDataSource.invoke(connection, method, args);
+            if (!(result instanceof Statement)) {
+                return result;
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+            Class<?> statementType = result instanceof CallableStatement ? CallableStatement.class
+                    : result instanceof PreparedStatement ? PreparedStatement.class
+                    : Statement.class;
+            return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{statementType},
+                    new StatementHandler(connection, (Statement) result, sql));
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+        private final Connection connection;
+        private final Statement statement;
+        private final String preparedSql;
+        private Object[] parameters = new Object[INITIAL_PARAMETERS];
+        private int parameterCount;
+        private SlowQueryLog.SlowQueryShape unexplained;
+        private String unexplainedSql;
+        private Object[] unexplainedParameters;
+
+        StatementHandler(Connection connection, Statement statement, String preparedSql) {
+            this.connection = connection;
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (EXECUTE_METHODS.contains(name)) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String
+                        ? (String) args[0]
+                        : preparedSql;
+                return execute(method, args, sql);
+            }
+            if (preparedSql != null && name.startsWith(SET_PREFIX) && args != null && args.length >= 2
+                    && args[0] instanceof Integer) {
+                bind((Integer) args[0], name.equals(SET_NULL) ? new NullParameter((Integer) args[1]) : args[1]);
+            } else if (name.equals(CLEAR_PARAMETERS)) {
+                Arrays.fill(parameters, 0, parameterCount, null);
+                parameterCount = 0;
+            } else if (name.equals(CLOSE)) {
+                explain();
+            }
+            return StatementTimingDataSource.invoke(statement, method, args);
+        }
+
+        private Object execute(Method method, Object[] args, String sql) throws Throwable {
+            long start = System.nanoTime();
+            try {
+                return StatementTimingDataSource.invoke(statement, method, args);
+            } finally {
+                long nanos = System.nanoTime() - start;
+                for (StatementListener listener : listeners) {
+                    listener.statementExecuted(sql, nanos);
+                }
+                SlowQueryLog.SlowQueryShape shape = slowQueryLog.record(sql, parameters, parameterCount, nanos);
+                if (shape != null && unexplained == null) {
+                    unexplained = shape;
+                    unexplainedSql = sql;
+                    unexplainedParameters = Arrays.copyOf(parameters, parameterCount);
+                }
+            }
+        }
+
+        private void bind(int index, Object value) {
+            if (index < 1) {
+                return;
+            }
+            if (index > parameters.length) {
+                parameters = Arrays.copyOf(parameters, Math.max(index, parameters.length * 2));
+            }
+            parameters[index - 1] = value;
+            parameterCount = Math.max(parameterCount, index);
+        }
+
+        private void explain() {
+            if (unexplained != null) {
+                slowQueryLog.explain(unexplained, connection, unexplainedSql, unexplainedParameters);
+                unexplained = null;
+                unexplainedSql = null;
+                unexplainedParameters = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.epam.esm.model.dao.metrics;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.stream.Collectors;
+
+/**
+ * Wraps data sources into {@link StatementTimingDataSource}. {@link SlowQueryLog} and {@link StatementListener}
+ * beans are resolved when the first data source is wrapped, not when the post processor is created, so they are
+ * still processed by other post processors.
+ */
+@Component
+public class StatementTimingPostProcessor implements BeanPostProcessor {
+    private final ObjectProvider<SlowQueryLog> slowQueryLog;
+    private final ObjectProvider<StatementListener> listeners;
+    @Value("${metrics.slow-query.enabled:true}")
+    private boolean enabled;
+
+    public StatementTimingPostProcessor(ObjectProvider<SlowQueryLog> slowQueryLog,
+                                        ObjectProvider<StatementListener> listeners) {
+        this.slowQueryLog = slowQueryLog;
+        this.listeners = listeners;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (enabled && bean instanceof DataSource && !(bean instanceof StatementTimingDataSource)) {
+            return new StatementTimingDataSource((DataSource) bean, slowQueryLog.getObject(),
+                    listeners.orderedStream().collect(Collectors.toList()));
+        }
+        return bean;
+    }
+}
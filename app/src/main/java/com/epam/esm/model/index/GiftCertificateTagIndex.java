@@ -0,0 +1,306 @@
+package com.epam.esm.model.index;
+
+import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.entity.Tag;
+import com.epam.esm.util.entity.TagFilter;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of {@link GiftCertificate} tags. Every tag id refers to the compressed bitmap of ids of
+ * certificates which have this tag, so tag expressions are evaluated as intersection, union and difference
+ * of bitmaps instead of joining {@code gift_certificate_has_tag} table. Tag names are matched ignoring case,
+ * as the case-insensitive collation of tag names does in the database.
+ * <p>
+ * Index is not ready until it's built by {@link GiftCertificateTagIndexLoader}, in this case search falls
+ * back to the data source.
+ */
+@Component
+public class GiftCertificateTagIndex {
+    private static final int DEFAULT_MAX_CANDIDATES = 10000;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    @Value("${index.certificate-tag.max-candidates:10000}")
+    private int maxCandidates = DEFAULT_MAX_CANDIDATES;
+    private Bitmaps current = new Bitmaps();
+    private Bitmaps rebuilding;
+    private PostingList changedDuringRebuild;
+    private boolean rebuildInvalidated;
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Finds ids of certificates which match tag filter.
+     *
+     * @param tagFilter tag expression
+     * @return sorted ids of matching certificates or empty optional if index can't be used for this search.
+     * Index can't be used if it's not ready or count of found ids exceeds configured maximum
+     */
+    public Optional<long[]> findIds(TagFilter tagFilter) {
+        if (!ready || tagFilter == null) {
+            return Optional.empty();
+        }
+        Roaring64NavigableMap result;
+        lock.readLock().lock();
+        try {
+            result = current.evaluate(tagFilter);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (result.getLongCardinality() > maxCandidates) {
+            return Optional.empty();
+        }
+        return Optional.of(result.toArray());
+    }
+
+    public void add(GiftCertificate giftCertificate) {
+        lock.writeLock().lock();
+        try {
+            current.add(giftCertificate);
+            if (rebuilding != null) {
+                rebuilding.add(giftCertificate);
+                changedDuringRebuild.add(giftCertificate.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces indexed tags of certificate.
+     *
+     * @param giftCertificate certificate with tags after update
+     */
+    public void update(GiftCertificate giftCertificate) {
+        lock.writeLock().lock();
+        try {
+            current.remove(giftCertificate.getId());
+            current.add(giftCertificate);
+            if (rebuilding != null) {
+                rebuilding.remove(giftCertificate.getId());
+                rebuilding.add(giftCertificate);
+                changedDuringRebuild.add(giftCertificate.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(GiftCertificate giftCertificate) {
+        lock.writeLock().lock();
+        try {
+            current.remove(giftCertificate.getId());
+            if (rebuilding != null) {
+                rebuilding.remove(giftCertificate.getId());
+                changedDuringRebuild.add(giftCertificate.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeTag(long tagId) {
+        lock.writeLock().lock();
+        try {
+            current.removeTag(tagId);
+            if (rebuilding != null) {
+                rebuilding.removeTag(tagId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Starts building of new index. Current index is still used for search until rebuild is finished,
+     * changes made during rebuild are applied to both indexes. Certificates changed during rebuild are not
+     * taken from loaded batches because batch may be read before the change.
+     */
+    void startRebuild() {
+        lock.writeLock().lock();
+        try {
+            rebuilding = new Bitmaps();
+            changedDuringRebuild = new PostingList();
+            rebuildInvalidated = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void addToRebuild(List<GiftCertificate> giftCertificates) {
+        lock.writeLock().lock();
+        try {
+            for (GiftCertificate giftCertificate : giftCertificates) {
+                if (!changedDuringRebuild.contains(giftCertificate.getId())) {
+                    rebuilding.add(giftCertificate);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void finishRebuild() {
+        lock.writeLock().lock();
+        try {
+            rebuilding.optimize();
+            current = rebuilding;
+            rebuilding = null;
+            changedDuringRebuild = null;
+            ready = !rebuildInvalidated;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Stops using of the index after a change couldn't be applied to it. Search falls back to the data source
+     * until a rebuild started after this call is finished, a rebuild in progress may miss the change.
+     */
+    public void invalidate() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            rebuildInvalidated = rebuilding != null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void abortRebuild() {
+        lock.writeLock().lock();
+        try {
+            rebuilding = null;
+            changedDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static class Bitmaps {
+        private final Roaring64NavigableMap all = new Roaring64NavigableMap();
+        private final LongObjectMap<Roaring64NavigableMap> byTagId = new LongObjectMap<>();
+        private final Map<String, PostingList> tagIdsByName = new HashMap<>();
+
+        private Roaring64NavigableMap evaluate(TagFilter tagFilter) {
+            Roaring64NavigableMap result = new Roaring64NavigableMap();
+            List<String> allOf = distinct(tagFilter.getAllOf());
+            List<String> anyOf = distinct(tagFilter.getAnyOf());
+            if (!allOf.isEmpty()) {
+                result.or(withTag(allOf.get(0)));
+                for (int i = 1; i < allOf.size() && !result.isEmpty(); i++) {
+                    result.and(withTag(allOf.get(i)));
+                }
+            } else if (anyOf.isEmpty()) {
+                result.or(all);
+            }
+            if (!anyOf.isEmpty()) {
+                Roaring64NavigableMap withAny = withAnyTag(anyOf);
+                if (allOf.isEmpty()) {
+                    result = withAny;
+                } else {
+                    result.and(withAny);
+                }
+            }
+            List<String> noneOf = distinct(tagFilter.getNoneOf());
+            if (!noneOf.isEmpty() && !result.isEmpty()) {
+                result.andNot(withAnyTag(noneOf));
+            }
+            return result;
+        }
+
+        private Roaring64NavigableMap withAnyTag(List<String> tagNames) {
+            Roaring64NavigableMap result = new Roaring64NavigableMap();
+            for (String tagName : tagNames) {
+                result.or(withTag(tagName));
+            }
+            return result;
+        }
+
+        private Roaring64NavigableMap withTag(String tagName) {
+            Roaring64NavigableMap result = new Roaring64NavigableMap();
+            PostingList tagIds = tagIdsByName.get(normalize(tagName));
+            if (tagIds != null) {
+                for (long tagId : tagIds.toArray()) {
+                    Roaring64NavigableMap certificateIds = byTagId.get(tagId);
+                    if (certificateIds != null) {
+                        result.or(certificateIds);
+                    }
+                }
+            }
+            return result;
+        }
+
+        private void add(GiftCertificate giftCertificate) {
+            Long id = giftCertificate.getId();
+            if (id == null) {
+                return;
+            }
+            all.addLong(id);
+            List<Tag> tags = giftCertificate.getTags();
+            if (tags == null) {
+                return;
+            }
+            for (Tag tag : tags) {
+                if (tag.getId() == null) {
+                    continue;
+                }
+                Roaring64NavigableMap certificateIds = byTagId.get(tag.getId());
+                if (certificateIds == null) {
+                    certificateIds = new Roaring64NavigableMap();
+                    byTagId.put(tag.getId(), certificateIds);
+                    tagIdsByName.computeIfAbsent(normalize(tag.getName()), key -> new PostingList())
+                            .add(tag.getId());
+                }
+                certificateIds.addLong(id);
+            }
+        }
+
+        private void remove(Long id) {
+            if (id == null) {
+                return;
+            }
+            all.removeLong(id);
+            byTagId.forEachValue(certificateIds -> certificateIds.removeLong(id));
+        }
+
+        private void removeTag(long tagId) {
+            byTagId.remove(tagId);
+            Iterator<PostingList> iterator = tagIdsByName.values().iterator();
+            while (iterator.hasNext()) {
+                PostingList tagIds = iterator.next();
+                tagIds.remove(tagId);
+                if (tagIds.isEmpty()) {
+                    iterator.remove();
+                }
+            }
+        }
+
+        private void optimize() {
+            all.runOptimize();
+            byTagId.forEachValue(Roaring64NavigableMap::runOptimize);
+        }
+
+        private static List<String> distinct(List<String> tagNames) {
+            if (tagNames == null) {
+                return List.of();
+            }
+            Set<String> distinctNames = new LinkedHashSet<>();
+            for (String tagName : tagNames) {
+                distinctNames.add(normalize(tagName));
+            }
+            return new ArrayList<>(distinctNames);
+        }
+
+        private static String normalize(String tagName) {
+            return tagName == null ? null : tagName.toLowerCase(Locale.ROOT);
+        }
+    }
+}
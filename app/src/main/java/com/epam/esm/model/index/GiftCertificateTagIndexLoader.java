@@ -0,0 +1,54 @@
+package com.epam.esm.model.index;
+
+import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.model.dao.GiftCertificateDao;
+import com.epam.esm.model.dao.exception.DaoException;
+import lombok.extern.log4j.Log4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Builds {@link GiftCertificateTagIndex} on application startup and rebuilds it periodically, so changes
+ * made by other application nodes are picked up. Tags of certificates are read in batches ordered by id.
+ */
+@Log4j
+@Component
+public class GiftCertificateTagIndexLoader {
+    private final GiftCertificateDao giftCertificateDao;
+    private final GiftCertificateTagIndex tagIndex;
+    @Value("${index.certificate-tag.enabled:true}")
+    private boolean enabled;
+    @Value("${index.certificate-tag.batch-size:1000}")
+    private int batchSize;
+
+    public GiftCertificateTagIndexLoader(GiftCertificateDao giftCertificateDao, GiftCertificateTagIndex tagIndex) {
+        this.giftCertificateDao = giftCertificateDao;
+        this.tagIndex = tagIndex;
+    }
+
+    @Scheduled(fixedDelayString = "${index.certificate-tag.rebuild-delay:PT1H}")
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long afterId = 0;
+        tagIndex.startRebuild();
+        try {
+            List<GiftCertificate> batch;
+            do {
+                batch = giftCertificateDao.findTagsOfGiftCertificates(afterId, batchSize);
+                tagIndex.addToRebuild(batch);
+                if (!batch.isEmpty()) {
+                    afterId = batch.get(batch.size() - 1).getId();
+                }
+            } while (batch.size() == batchSize);
+            tagIndex.finishRebuild();
+        } catch (DaoException | RuntimeException e) {
+            tagIndex.abortRebuild();
+            log.error("Gift certificate tag index rebuild failed", e);
+        }
+    }
+}
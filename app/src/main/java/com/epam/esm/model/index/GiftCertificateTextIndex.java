@@ -0,0 +1,393 @@
+package com.epam.esm.model.index;
+
+import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.util.entity.SearchOperator;
+import com.epam.esm.util.entity.SearchUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over {@link GiftCertificate} name and description. Every field is split to
+ * tokens and each token refers to the posting list of ids of certificates which contain it.
+ * <p>
+ * Search by {@code LIKE '%expression%'} is answered with a superset of matching ids: every alphanumeric
+ * part of the expression must be a substring of some token of the field, so data source has to check
+ * only candidate rows instead of scanning the whole table. Index is not ready until it's built by
+ * {@link GiftCertificateTextIndexLoader}, in this case search falls back to the data source.
+ */
+@Component
+public class GiftCertificateTextIndex {
+    private static final String NAME = "name";
+    private static final String DESCRIPTION = "description";
+    private static final Set<SearchOperator> INDEXED_OPERATORS = EnumSet.of(SearchOperator.CONTAINS,
+            SearchOperator.PREFIX, SearchOperator.EQ);
+    private static final Pattern DIACRITICAL_MARKS = Pattern.compile("\\p{M}+");
+    private static final int DEFAULT_MAX_CANDIDATES = 10000;
+    private static final int MAX_GRAM_LENGTH = 3;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    @Value("${index.certificate-text.max-candidates:10000}")
+    private int maxCandidates = DEFAULT_MAX_CANDIDATES;
+    private Postings current = new Postings();
+    private Postings rebuilding;
+    private PostingList changedDuringRebuild;
+    private boolean rebuildInvalidated;
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Finds ids of certificates which may match all text search criteria. Only criteria whose operator
+     * implies that the field contains the expression, that is contains, prefix and equality, narrow the search.
+     *
+     * @param searchCriteria search criteria
+     * @return sorted candidate ids or empty optional if index can't be used for this search. Index can't be
+     * used if it's not ready, there are no search criteria by indexed fields or count of candidates exceeds
+     * configured maximum
+     */
+    public Optional<long[]> findCandidateIds(List<SearchUnit> searchCriteria) {
+        if (!ready || searchCriteria == null) {
+            return Optional.empty();
+        }
+        long[] candidates = null;
+        lock.readLock().lock();
+        try {
+            for (SearchUnit searchUnit : searchCriteria) {
+                Field field = current.field(searchUnit.getSearchFieldName());
+                List<String> tokens = tokenize(searchUnit.getSearchExpression());
+                if (field == null || tokens.isEmpty() || !INDEXED_OPERATORS.contains(searchUnit.getOperator())) {
+                    continue;
+                }
+                for (String token : tokens) {
+                    long[] matched = findContaining(field, token);
+                    candidates = candidates == null ? matched : intersect(candidates, matched);
+                    if (candidates.length == 0) {
+                        return Optional.of(candidates);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (candidates == null || candidates.length > maxCandidates) {
+            return Optional.empty();
+        }
+        return Optional.of(candidates);
+    }
+
+    public void add(GiftCertificate giftCertificate) {
+        lock.writeLock().lock();
+        try {
+            current.add(giftCertificate);
+            if (rebuilding != null) {
+                rebuilding.add(giftCertificate);
+                changedDuringRebuild.add(giftCertificate.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces indexed values of certificate.
+     *
+     * @param previous certificate with values before update
+     * @param updated  certificate with values after update
+     */
+    public void update(GiftCertificate previous, GiftCertificate updated) {
+        lock.writeLock().lock();
+        try {
+            current.remove(previous);
+            current.add(updated);
+            if (rebuilding != null) {
+                rebuilding.remove(previous);
+                rebuilding.add(updated);
+                changedDuringRebuild.add(updated.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(GiftCertificate giftCertificate) {
+        lock.writeLock().lock();
+        try {
+            current.remove(giftCertificate);
+            if (rebuilding != null) {
+                rebuilding.remove(giftCertificate);
+                changedDuringRebuild.add(giftCertificate.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Starts building of new index. Current index is still used for search until rebuild is finished,
+     * changes made during rebuild are applied to both indexes. Certificates changed during rebuild are not
+     * taken from loaded batches because batch may be read before the change.
+     */
+    void startRebuild() {
+        lock.writeLock().lock();
+        try {
+            rebuilding = new Postings();
+            changedDuringRebuild = new PostingList();
+            rebuildInvalidated = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void addToRebuild(List<GiftCertificate> giftCertificates) {
+        lock.writeLock().lock();
+        try {
+            for (GiftCertificate giftCertificate : giftCertificates) {
+                if (!changedDuringRebuild.contains(giftCertificate.getId())) {
+                    rebuilding.add(giftCertificate);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void finishRebuild() {
+        lock.writeLock().lock();
+        try {
+            current = rebuilding;
+            rebuilding = null;
+            changedDuringRebuild = null;
+            ready = !rebuildInvalidated;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Stops using of the index after a change couldn't be applied to it. Search falls back to the data source
+     * until a rebuild started after this call is finished, a rebuild in progress may miss the change.
+     */
+    public void invalidate() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            rebuildInvalidated = rebuilding != null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void abortRebuild() {
+        lock.writeLock().lock();
+        try {
+            rebuilding = null;
+            changedDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String normalized = DIACRITICAL_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean isTokenChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (isTokenChar && start < 0) {
+                start = i;
+            } else if (!isTokenChar && start >= 0) {
+                tokens.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static long[] findContaining(Field field, String token) {
+        List<PostingList> matched = field.findContaining(token);
+        if (matched.size() == 1) {
+            return matched.get(0).toArray();
+        }
+        int size = 0;
+        for (PostingList postingList : matched) {
+            size += postingList.size();
+        }
+        long[] union = new long[size];
+        int position = 0;
+        for (PostingList postingList : matched) {
+            postingList.copyTo(union, position);
+            position += postingList.size();
+        }
+        Arrays.sort(union);
+        return distinct(union);
+    }
+
+    private static long[] distinct(long[] sorted) {
+        if (sorted.length == 0) {
+            return sorted;
+        }
+        int size = 1;
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] != sorted[size - 1]) {
+                sorted[size++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, size);
+    }
+
+    private static long[] intersect(long[] first, long[] second) {
+        long[] result = new long[Math.min(first.length, second.length)];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < first.length && j < second.length) {
+            if (first[i] < second[j]) {
+                i++;
+            } else if (first[i] > second[j]) {
+                j++;
+            } else {
+                result[size++] = first[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static class Postings {
+        private final Field names = new Field();
+        private final Field descriptions = new Field();
+
+        private Field field(String fieldName) {
+            if (NAME.equals(fieldName)) {
+                return names;
+            }
+            if (DESCRIPTION.equals(fieldName)) {
+                return descriptions;
+            }
+            return null;
+        }
+
+        private void add(GiftCertificate giftCertificate) {
+            Long id = giftCertificate.getId();
+            if (id == null) {
+                return;
+            }
+            addTokens(names, giftCertificate.getName(), id);
+            addTokens(descriptions, giftCertificate.getDescription(), id);
+        }
+
+        private void remove(GiftCertificate giftCertificate) {
+            Long id = giftCertificate.getId();
+            if (id == null) {
+                return;
+            }
+            removeTokens(names, giftCertificate.getName(), id);
+            removeTokens(descriptions, giftCertificate.getDescription(), id);
+        }
+
+        private static void addTokens(Field field, String text, long id) {
+            for (String token : tokenize(text)) {
+                field.add(token, id);
+            }
+        }
+
+        private static void removeTokens(Field field, String text, long id) {
+            for (String token : tokenize(text)) {
+                field.remove(token, id);
+            }
+        }
+    }
+
+    /**
+     * Tokens of one field with their posting lists. Every token is also referenced by each its substring of at
+     * most {@link #MAX_GRAM_LENGTH} characters, so tokens containing a part of expression are found through its
+     * rarest gram instead of scanning the whole vocabulary of the field.
+     */
+    private static class Field {
+        private final Map<String, PostingList> tokens = new HashMap<>();
+        private final Map<String, Set<String>> grams = new HashMap<>();
+
+        private void add(String token, long id) {
+            PostingList postingList = tokens.get(token);
+            if (postingList == null) {
+                postingList = new PostingList();
+                tokens.put(token, postingList);
+                for (String gram : grams(token)) {
+                    grams.computeIfAbsent(gram, key -> new HashSet<>()).add(token);
+                }
+            }
+            postingList.add(id);
+        }
+
+        private void remove(String token, long id) {
+            PostingList postingList = tokens.get(token);
+            if (postingList == null) {
+                return;
+            }
+            postingList.remove(id);
+            if (postingList.isEmpty()) {
+                tokens.remove(token);
+                for (String gram : grams(token)) {
+                    Set<String> gramTokens = grams.get(gram);
+                    gramTokens.remove(token);
+                    if (gramTokens.isEmpty()) {
+                        grams.remove(gram);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Finds posting lists of tokens which contain the part. Part which isn't longer than a gram is looked up
+         * directly, longer part is checked only against tokens of its rarest gram.
+         */
+        private List<PostingList> findContaining(String part) {
+            List<PostingList> matched = new ArrayList<>();
+            if (part.length() <= MAX_GRAM_LENGTH) {
+                for (String token : grams.getOrDefault(part, Collections.emptySet())) {
+                    matched.add(tokens.get(token));
+                }
+                return matched;
+            }
+            Set<String> rarest = null;
+            for (int i = 0; i + MAX_GRAM_LENGTH <= part.length(); i++) {
+                Set<String> gramTokens = grams.get(part.substring(i, i + MAX_GRAM_LENGTH));
+                if (gramTokens == null) {
+                    return matched;
+                }
+                if (rarest == null || gramTokens.size() < rarest.size()) {
+                    rarest = gramTokens;
+                }
+            }
+            for (String token : rarest) {
+                if (token.contains(part)) {
+                    matched.add(tokens.get(token));
+                }
+            }
+            return matched;
+        }
+
+        private static Set<String> grams(String token) {
+            Set<String> grams = new HashSet<>();
+            for (int length = 1; length <= MAX_GRAM_LENGTH; length++) {
+                for (int i = 0; i + length <= token.length(); i++) {
+                    grams.add(token.substring(i, i + length));
+                }
+            }
+            return grams;
+        }
+    }
+}
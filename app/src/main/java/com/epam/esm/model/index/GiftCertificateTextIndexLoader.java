@@ -0,0 +1,58 @@
+package com.epam.esm.model.index;
+
+import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.model.dao.GiftCertificateDao;
+import com.epam.esm.model.dao.exception.DaoException;
+import com.epam.esm.util.CriteriaConstructor;
+import com.epam.esm.util.entity.SortUnit;
+import lombok.extern.log4j.Log4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds {@link GiftCertificateTextIndex} on application startup and rebuilds it periodically, so changes
+ * made by other application nodes are picked up. Certificates are read in batches ordered by id.
+ */
+@Log4j
+@Component
+public class GiftCertificateTextIndexLoader {
+    private final GiftCertificateDao giftCertificateDao;
+    private final GiftCertificateTextIndex textIndex;
+    @Value("${index.certificate-text.enabled:true}")
+    private boolean enabled;
+    @Value("${index.certificate-text.batch-size:1000}")
+    private int batchSize;
+
+    public GiftCertificateTextIndexLoader(GiftCertificateDao giftCertificateDao, GiftCertificateTextIndex textIndex) {
+        this.giftCertificateDao = giftCertificateDao;
+        this.textIndex = textIndex;
+    }
+
+    @Scheduled(fixedDelayString = "${index.certificate-text.rebuild-delay:PT1H}")
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        List<SortUnit> sortCriteria = CriteriaConstructor.appendIdTiebreaker(new ArrayList<>());
+        List<String> afterSortKeys = new ArrayList<>();
+        textIndex.startRebuild();
+        try {
+            List<GiftCertificate> batch;
+            do {
+                batch = giftCertificateDao.findAll(null, sortCriteria, afterSortKeys, batchSize);
+                textIndex.addToRebuild(batch);
+                if (!batch.isEmpty()) {
+                    afterSortKeys = List.of(String.valueOf(batch.get(batch.size() - 1).getId()));
+                }
+            } while (batch.size() == batchSize);
+            textIndex.finishRebuild();
+        } catch (DaoException | RuntimeException e) {
+            textIndex.abortRebuild();
+            log.error("Gift certificate text index rebuild failed", e);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.epam.esm.model.index;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Hash map with primitive {@code long} keys and open addressing, so keys are not boxed and no entry
+ * objects are allocated.
+ *
+ * @param <V> the type of values
+ */
+class LongObjectMap<V> {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.5f;
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private Object[] values = new Object[INITIAL_CAPACITY];
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        int index = indexOf(key);
+        return index < 0 ? null : (V) values[index];
+    }
+
+    void put(long key, V value) {
+        int index = slot(key, keys.length);
+        while (values[index] != null) {
+            if (keys[index] == key) {
+                values[index] = value;
+                return;
+            }
+            index = (index + 1) & (keys.length - 1);
+        }
+        keys[index] = key;
+        values[index] = value;
+        size++;
+        if (size > keys.length * LOAD_FACTOR) {
+            resize();
+        }
+    }
+
+    void remove(long key) {
+        int index = indexOf(key);
+        if (index < 0) {
+            return;
+        }
+        int mask = keys.length - 1;
+        int next = (index + 1) & mask;
+        while (values[next] != null) {
+            int desired = slot(keys[next], keys.length);
+            if (((next - desired) & mask) >= ((next - index) & mask)) {
+                keys[index] = keys[next];
+                values[index] = values[next];
+                index = next;
+            }
+            next = (next + 1) & mask;
+        }
+        values[index] = null;
+        size--;
+    }
+
+    int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    void forEachValue(Consumer<V> action) {
+        for (Object value : values) {
+            if (value != null) {
+                action.accept((V) value);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    void forEachKeyValue(KeyValueConsumer<V> action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (values[i] != null) {
+                action.accept(keys[i], (V) values[i]);
+            }
+        }
+    }
+
+    private int indexOf(long key) {
+        int index = slot(key, keys.length);
+        while (values[index] != null) {
+            if (keys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & (keys.length - 1);
+        }
+        return -1;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new Object[oldValues.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                int index = slot(oldKeys[i], keys.length);
+                while (values[index] != null) {
+                    index = (index + 1) & (keys.length - 1);
+                }
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+        Arrays.fill(oldValues, null);
+    }
+
+    private static int slot(long key, int capacity) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & (capacity - 1);
+    }
+
+    interface KeyValueConsumer<V> {
+        void accept(long key, V value);
+    }
+}
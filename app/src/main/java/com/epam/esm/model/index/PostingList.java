@@ -0,0 +1,64 @@
+package com.epam.esm.model.index;
+
+import java.util.Arrays;
+
+/**
+ * Sorted list of unique entity ids stored in primitive array. Ids are generated in ascending order,
+ * so adding new id is usually appending to the end of the list.
+ */
+class PostingList {
+    private static final int INITIAL_CAPACITY = 4;
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int size;
+
+    void add(long id) {
+        if (size == 0 || ids[size - 1] < id) {
+            ensureCapacity();
+            ids[size++] = id;
+            return;
+        }
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index >= 0) {
+            return;
+        }
+        int insertionPoint = -index - 1;
+        ensureCapacity();
+        System.arraycopy(ids, insertionPoint, ids, insertionPoint + 1, size - insertionPoint);
+        ids[insertionPoint] = id;
+        size++;
+    }
+
+    void remove(long id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index >= 0) {
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+        }
+    }
+
+    boolean contains(long id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    void copyTo(long[] target, int position) {
+        System.arraycopy(ids, 0, target, position, size);
+    }
+
+    private void ensureCapacity() {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+        }
+    }
+}
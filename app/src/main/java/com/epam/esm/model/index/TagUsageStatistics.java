@@ -0,0 +1,218 @@
+package com.epam.esm.model.index;
+
+import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.entity.Order;
+import com.epam.esm.entity.Tag;
+import com.epam.esm.util.entity.UserTagUsage;
+import com.epam.esm.util.entity.UserTotalCost;
+import lombok.extern.log4j.Log4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.Set;
+
+/**
+ * In-memory statistics of orders used to find the most used tag of the user with the highest cost of all
+ * orders. Total cost of orders and count of ordered tags of every user are updated when order is made,
+ * the user with the highest cost and the most used tag of every user are tracked on every update, so the
+ * most used tag is read without querying the data source.
+ * <p>
+ * Statistics are not ready until they are built by {@link TagUsageStatisticsLoader} and after an order
+ * failed to be recorded, in this case the most used tag is found by the data source.
+ */
+@Log4j
+@Component
+public class TagUsageStatistics {
+    private Counters current = new Counters();
+    private List<RecordedOrder> recordedDuringRebuild;
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Finds id of the most used tag of the user with the highest cost of all orders.
+     *
+     * @return tag id or empty optional if statistics are not ready or the user hasn't ordered tags
+     */
+    public synchronized OptionalLong findMostUsedTagId() {
+        if (!ready || current.leader == null || current.leader.mostUsedTagCount == 0) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(current.leader.mostUsedTagId);
+    }
+
+    /**
+     * Adds made order to statistics. If order can't be recorded statistics stay not ready until next rebuild.
+     *
+     * @param order made order with user and gift certificate
+     */
+    public synchronized void record(Order order) {
+        RecordedOrder recordedOrder;
+        try {
+            recordedOrder = new RecordedOrder(order);
+        } catch (RuntimeException e) {
+            ready = false;
+            log.warn("Order can't be added to tag usage statistics, statistics are disabled until rebuild", e);
+            return;
+        }
+        current.add(recordedOrder);
+        if (recordedDuringRebuild != null) {
+            recordedDuringRebuild.add(recordedOrder);
+        }
+    }
+
+    synchronized void startRebuild() {
+        recordedDuringRebuild = new ArrayList<>();
+    }
+
+    /**
+     * Finds ids of orders recorded during rebuild which aren't checked against the data source yet.
+     *
+     * @param checkedOrderIds ids of orders already checked
+     * @return list of ids of orders to check
+     */
+    synchronized List<Long> findUncheckedOrderIds(Set<Long> checkedOrderIds) {
+        List<Long> uncheckedOrderIds = new ArrayList<>();
+        for (RecordedOrder recordedOrder : recordedDuringRebuild) {
+            if (!checkedOrderIds.contains(recordedOrder.id)) {
+                uncheckedOrderIds.add(recordedOrder.id);
+            }
+        }
+        return uncheckedOrderIds;
+    }
+
+    /**
+     * Replaces statistics with counters loaded from the data source. Orders recorded during rebuild are
+     * checked against the same snapshot of the data source as counters, the ones which the snapshot didn't
+     * contain are added again. Ids are not committed in order, so the snapshot may miss orders with lower
+     * ids and contain orders with greater ids than ones it missed.
+     *
+     * @param totalCosts      total costs of users
+     * @param tagUsages       counts of ordered tags of users
+     * @param checkedOrderIds ids of orders recorded during rebuild which were checked against the snapshot
+     * @param countedOrderIds ids of checked orders which the snapshot contains
+     * @return true if statistics are replaced, false if some of orders recorded during rebuild aren't checked
+     */
+    synchronized boolean finishRebuild(List<UserTotalCost> totalCosts, List<UserTagUsage> tagUsages,
+                                       Set<Long> checkedOrderIds, Set<Long> countedOrderIds) {
+        if (!findUncheckedOrderIds(checkedOrderIds).isEmpty()) {
+            return false;
+        }
+        Counters counters = new Counters();
+        for (UserTotalCost totalCost : totalCosts) {
+            counters.user(totalCost.getUserId()).totalCost = totalCost.getTotalCost();
+        }
+        for (UserTagUsage tagUsage : tagUsages) {
+            counters.user(tagUsage.getUserId()).tagCounts.put(tagUsage.getTagId(), new long[]{tagUsage.getCount()});
+        }
+        counters.elect();
+        for (RecordedOrder recordedOrder : recordedDuringRebuild) {
+            if (!countedOrderIds.contains(recordedOrder.id)) {
+                counters.add(recordedOrder);
+            }
+        }
+        current = counters;
+        recordedDuringRebuild = null;
+        ready = true;
+        return true;
+    }
+
+    synchronized void abortRebuild() {
+        recordedDuringRebuild = null;
+    }
+
+    private static class RecordedOrder {
+        private final long id;
+        private final long userId;
+        private final BigDecimal cost;
+        private final long[] tagIds;
+
+        private RecordedOrder(Order order) {
+            id = order.getId();
+            userId = order.getUser().getId();
+            cost = order.getCost() == null ? BigDecimal.ZERO : order.getCost();
+            GiftCertificate giftCertificate = order.getGiftCertificate();
+            List<Tag> tags = giftCertificate.getTags() == null ? List.of() : giftCertificate.getTags();
+            tagIds = tags.stream().mapToLong(Tag::getId).distinct().toArray();
+        }
+    }
+
+    private static class UserCounters {
+        private final long userId;
+        private final LongObjectMap<long[]> tagCounts = new LongObjectMap<>();
+        private BigDecimal totalCost = BigDecimal.ZERO;
+        private long mostUsedTagId;
+        private long mostUsedTagCount;
+
+        private UserCounters(long userId) {
+            this.userId = userId;
+        }
+    }
+
+    private static class Counters {
+        private final LongObjectMap<UserCounters> users = new LongObjectMap<>();
+        private UserCounters leader;
+
+        private UserCounters user(long userId) {
+            UserCounters userCounters = users.get(userId);
+            if (userCounters == null) {
+                userCounters = new UserCounters(userId);
+                users.put(userId, userCounters);
+            }
+            return userCounters;
+        }
+
+        private void add(RecordedOrder order) {
+            UserCounters userCounters = user(order.userId);
+            userCounters.totalCost = userCounters.totalCost.add(order.cost);
+            for (long tagId : order.tagIds) {
+                long[] count = userCounters.tagCounts.get(tagId);
+                if (count == null) {
+                    count = new long[1];
+                    userCounters.tagCounts.put(tagId, count);
+                }
+                count[0]++;
+                compareTag(userCounters, tagId, count[0]);
+            }
+            compareUser(userCounters);
+        }
+
+        private void elect() {
+            users.forEachValue(userCounters -> {
+                userCounters.tagCounts.forEachKeyValue((tagId, count) -> compareTag(userCounters, tagId, count[0]));
+                compareUser(userCounters);
+            });
+        }
+
+        /**
+         * Makes the tag the most used one of the user if it is ordered more times or as many times and has
+         * lower id, so incremental updates and rebuild pick the same tag.
+         */
+        private static void compareTag(UserCounters userCounters, long tagId, long count) {
+            if (count > userCounters.mostUsedTagCount || count == userCounters.mostUsedTagCount
+                    && tagId < userCounters.mostUsedTagId) {
+                userCounters.mostUsedTagId = tagId;
+                userCounters.mostUsedTagCount = count;
+            }
+        }
+
+        /**
+         * Makes the user the leader if total cost of the user is higher or the same and id is lower.
+         */
+        private void compareUser(UserCounters userCounters) {
+            if (leader == null) {
+                leader = userCounters;
+                return;
+            }
+            int comparison = userCounters.totalCost.compareTo(leader.totalCost);
+            if (comparison > 0 || comparison == 0 && userCounters.userId < leader.userId) {
+                leader = userCounters;
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.epam.esm.model.index;
+
+import com.epam.esm.model.dao.OrderDao;
+import com.epam.esm.model.dao.exception.DaoException;
+import com.epam.esm.util.entity.UserTagUsage;
+import com.epam.esm.util.entity.UserTotalCost;
+import lombok.extern.log4j.Log4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Builds {@link TagUsageStatistics} from orders on application startup and reconciles it periodically, so
+ * orders made by other application nodes and changes of gift certificate tags are picked up. Counters and
+ * orders recorded during rebuild are read in one repeatable read transaction, so they are checked against
+ * the same snapshot of orders.
+ */
+@Log4j
+@Component
+public class TagUsageStatisticsLoader {
+    private final OrderDao orderDao;
+    private final TagUsageStatistics tagUsageStatistics;
+    private final TransactionTemplate transactionTemplate;
+    @Value("${index.tag-usage.enabled:true}")
+    private boolean enabled;
+
+    public TagUsageStatisticsLoader(OrderDao orderDao, TagUsageStatistics tagUsageStatistics,
+                                    PlatformTransactionManager transactionManager) {
+        this.orderDao = orderDao;
+        this.tagUsageStatistics = tagUsageStatistics;
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        transactionTemplate.setReadOnly(true);
+    }
+
+    @Scheduled(fixedDelayString = "${index.tag-usage.rebuild-delay:PT1H}")
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        tagUsageStatistics.startRebuild();
+        try {
+            transactionTemplate.executeWithoutResult(status -> loadSnapshot());
+        } catch (RuntimeException e) {
+            tagUsageStatistics.abortRebuild();
+            log.error("Tag usage statistics rebuild failed", e);
+        }
+    }
+
+    private void loadSnapshot() {
+        try {
+            List<UserTotalCost> totalCosts = orderDao.findTotalCostOfUsers();
+            List<UserTagUsage> tagUsages = orderDao.findTagUsageOfUsers();
+            Set<Long> checkedOrderIds = new HashSet<>();
+            Set<Long> countedOrderIds = new HashSet<>();
+            while (!tagUsageStatistics.finishRebuild(totalCosts, tagUsages, checkedOrderIds, countedOrderIds)) {
+                List<Long> uncheckedOrderIds = tagUsageStatistics.findUncheckedOrderIds(checkedOrderIds);
+                countedOrderIds.addAll(orderDao.findExistingIds(uncheckedOrderIds));
+                checkedOrderIds.addAll(uncheckedOrderIds);
+            }
+        } catch (DaoException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.epam.esm.model.service;
+
+import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.entity.Order;
+import com.epam.esm.util.entity.ExportFormat;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+/**
+ * The interface Export service provides methods for streaming export of {@link GiftCertificate} and
+ * {@link Order} objects. Records are written as they are read from repository, so memory usage doesn't
+ * depend on count of exported records.
+ */
+public interface ExportService {
+    /**
+     * Writes {@link GiftCertificate} objects with tags, which were last updated in provided range, to the
+     * output stream in order of id.
+     *
+     * @param from   start of range inclusive, unbounded if null
+     * @param to     end of range exclusive, unbounded if null
+     * @param format format of records
+     * @param out    output stream to write to, it isn't closed
+     * @throws ServiceException         if error occurs while reading or writing records
+     * @throws IllegalArgumentException if format is null or range is empty
+     */
+    void exportGiftCertificates(LocalDateTime from, LocalDateTime to, ExportFormat format, OutputStream out)
+            throws ServiceException;
+
+    /**
+     * Writes {@link Order} objects, which were made in provided range, to the output stream in order of id.
+     * Orders are written with ids of user and gift certificate.
+     *
+     * @param from   start of range inclusive, unbounded if null
+     * @param to     end of range exclusive, unbounded if null
+     * @param format format of records
+     * @param out    output stream to write to, it isn't closed
+     * @throws ServiceException         if error occurs while reading or writing records
+     * @throws IllegalArgumentException if format is null or range is empty
+     */
+    void exportOrders(LocalDateTime from, LocalDateTime to, ExportFormat format, OutputStream out)
+            throws ServiceException;
+}
@@ -0,0 +1,23 @@
+package com.epam.esm.model.service;
+
+import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.util.entity.ImportResult;
+
+import java.io.Reader;
+
+/**
+ * The interface Gift certificate import service provides bulk import of {@link GiftCertificate} objects.
+ */
+public interface GiftCertificateImportService {
+    /**
+     * Imports {@link GiftCertificate} objects from newline delimited JSON, one object per line. Lines are
+     * read as a stream and stored in chunks, each chunk in its own transaction. Malformed or invalid
+     * lines are rejected without affecting other lines. If a chunk can't be stored, all its lines are
+     * marked as failed and import continues with the next chunk.
+     *
+     * @param reader source of newline delimited JSON
+     * @return result of every non-blank line
+     * @throws ServiceException if error occurs while reading the source
+     */
+    ImportResult importAll(Reader reader) throws ServiceException;
+}
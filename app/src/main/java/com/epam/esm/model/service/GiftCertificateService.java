@@ -1,6 +1,8 @@
 package com.epam.esm.model.service;
 
 import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.util.entity.CursorPage;
+import org.springframework.dao.OptimisticLockingFailureException;
 
 import java.util.List;
 import java.util.Optional;
@@ -53,6 +55,27 @@ public interface GiftCertificateService {
                                   int offset,
                                   int limit) throws ServiceException;
 
+    /**
+     * Finds page of {@link GiftCertificate} objects using keyset pagination. Records are sorted by provided
+     * sort fields and by id as a tiebreaker, next page is fetched by cursor of the previous page.
+     *
+     * @param sortField        list of field names to sort
+     * @param sortType         list of sort types
+     * @param searchField      list of field names to search by
+     * @param searchExpression list of search expressions
+     * @param cursor           continuation token of previous page, null for the first page
+     * @param limit            maximum count of records to return
+     * @return page of found {@link GiftCertificate} objects with cursor of the next page
+     * @throws ServiceException         if error occurs while finding {@link GiftCertificate} objects
+     * @throws IllegalArgumentException if cursor or limit are invalid
+     */
+    CursorPage<GiftCertificate> findAll(List<String> sortField,
+                                        List<String> sortType,
+                                        List<String> searchField,
+                                        List<String> searchExpression,
+                                        String cursor,
+                                        int limit) throws ServiceException;
+
     /**
      * Updates {@link GiftCertificate} object with provided id in the repository with {@link GiftCertificate}
      * object values. If value of provided {@link GiftCertificate} is null, field will not be updated.
@@ -67,6 +90,20 @@ public interface GiftCertificateService {
      */
     GiftCertificate update(long id, GiftCertificate giftCertificate) throws ServiceException;
 
+    /**
+     * Updates {@link GiftCertificate} object with provided id like {@link #update(long, GiftCertificate)} only if
+     * its current version equals provided one, without locking it.
+     *
+     * @param id              id of object to be updated
+     * @param giftCertificate gift certificate object with new field values
+     * @param expectedVersion version the client has read
+     * @return updated {@link GiftCertificate} with incremented version
+     * @throws ServiceException                  if error occurs while updating {@link GiftCertificate} to repository
+     * @throws OptimisticLockingFailureException if object was changed since provided version
+     * @throws IllegalArgumentException          if provided object is null or parameters doesn't pass validation
+     */
+    GiftCertificate update(long id, GiftCertificate giftCertificate, long expectedVersion) throws ServiceException;
+
     /**
      * Deletes {@link GiftCertificate} object with provided id from repository.
      *
@@ -78,11 +115,27 @@ public interface GiftCertificateService {
      */
     GiftCertificate delete(long id) throws ServiceException;
 
+    /**
+     * Deletes {@link GiftCertificate} object with provided id from repository only if its current version equals
+     * provided one, without locking it.
+     *
+     * @param id              id of object to be deleted
+     * @param expectedVersion version the client has read
+     * @return deleted {@link GiftCertificate}
+     * @throws ServiceException                  if error occurs while deleting {@link GiftCertificate} from repository
+     * @throws OptimisticLockingFailureException if object was changed since provided version
+     * @throws IllegalArgumentException          if provided id doesn't pass validation
+     */
+    GiftCertificate delete(long id, long expectedVersion) throws ServiceException;
+
     /**
      * Finds {@link GiftCertificate} objects by tag name and returns list. Order and content of list depends on lists of field names,
-     * types of order and search expressions provided to the method.
+     * types of order and search expressions provided to the method. Found gift certificates have all tags from
+     * {@code tagName}, at least one tag from {@code anyTagName} and none of tags from {@code excludedTagName}.
      *
-     * @param tagName          name of tag to search gift certificate by
+     * @param tagName          names of tags which gift certificate must have
+     * @param anyTagName       names of tags at least one of which gift certificate must have
+     * @param excludedTagName  names of tags which gift certificate must not have
      * @param sortField        list of field names to sort
      * @param sortType         list of sort types
      * @param searchField      list of field names to search by
@@ -91,13 +144,42 @@ public interface GiftCertificateService {
      * @param limit            maximum count of records to return
      * @return list of found {@link GiftCertificate} objects
      * @throws ServiceException         if error occurs while finding {@link GiftCertificate} objects by tag name
-     * @throws IllegalArgumentException if tag name, offset or limit are invalid
+     * @throws IllegalArgumentException if tag names, offset or limit are invalid
      */
     List<GiftCertificate> findByTagName(List<String> tagName,
+                                        List<String> anyTagName,
+                                        List<String> excludedTagName,
                                         List<String> sortField,
                                         List<String> sortType,
                                         List<String> searchField,
                                         List<String> searchExpression,
                                         int offset,
                                         int limit) throws ServiceException;
+
+    /**
+     * Finds page of {@link GiftCertificate} objects by tag name using keyset pagination. Records are sorted
+     * by provided sort fields and by id as a tiebreaker, next page is fetched by cursor of the previous page.
+     *
+     * @param tagName          names of tags which gift certificate must have
+     * @param anyTagName       names of tags at least one of which gift certificate must have
+     * @param excludedTagName  names of tags which gift certificate must not have
+     * @param sortField        list of field names to sort
+     * @param sortType         list of sort types
+     * @param searchField      list of field names to search by
+     * @param searchExpression list of search expressions
+     * @param cursor           continuation token of previous page, null for the first page
+     * @param limit            maximum count of records to return
+     * @return page of found {@link GiftCertificate} objects with cursor of the next page
+     * @throws ServiceException         if error occurs while finding {@link GiftCertificate} objects by tag name
+     * @throws IllegalArgumentException if tag names, cursor or limit are invalid
+     */
+    CursorPage<GiftCertificate> findByTagName(List<String> tagName,
+                                              List<String> anyTagName,
+                                              List<String> excludedTagName,
+                                              List<String> sortField,
+                                              List<String> sortType,
+                                              List<String> searchField,
+                                              List<String> searchExpression,
+                                              String cursor,
+                                              int limit) throws ServiceException;
 }
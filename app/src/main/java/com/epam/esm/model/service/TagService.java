@@ -1,6 +1,7 @@
 package com.epam.esm.model.service;
 
 import com.epam.esm.entity.Tag;
+import com.epam.esm.util.entity.CursorPage;
 
 import java.util.List;
 import java.util.Optional;
@@ -53,6 +54,27 @@ public interface TagService {
                       int offset,
                       int limit) throws ServiceException;
 
+    /**
+     * Finds page of {@link Tag} objects using keyset pagination. Records are sorted by provided
+     * sort fields and by id as a tiebreaker, next page is fetched by cursor of the previous page.
+     *
+     * @param sortField        list of field names to sort
+     * @param sortType         list of sort types
+     * @param searchField      list of field names to search by
+     * @param searchExpression list of search expressions
+     * @param cursor           continuation token of previous page, null for the first page
+     * @param limit            maximum count of records to return
+     * @return page of found {@link Tag} objects with cursor of the next page
+     * @throws ServiceException         if error occurs while finding {@link Tag} objects
+     * @throws IllegalArgumentException if cursor or limit are invalid
+     */
+    CursorPage<Tag> findAll(List<String> sortField,
+                            List<String> sortType,
+                            List<String> searchField,
+                            List<String> searchExpression,
+                            String cursor,
+                            int limit) throws ServiceException;
+
     /**
      * Deletes {@link Tag} object with provided id from repository.
      *
@@ -2,6 +2,8 @@ package com.epam.esm.model.service;
 
 import com.epam.esm.entity.Order;
 import com.epam.esm.entity.User;
+import com.epam.esm.util.entity.CursorPage;
+import com.epam.esm.util.entity.OrderSummary;
 
 import java.util.List;
 import java.util.Optional;
@@ -39,17 +41,62 @@ public interface UserService {
                        int offset,
                        int limit) throws ServiceException;
 
+    /**
+     * Finds page of {@link User} objects using keyset pagination. Records are sorted by provided
+     * sort fields and by id as a tiebreaker, next page is fetched by cursor of the previous page.
+     *
+     * @param sortField        list of field names to sort
+     * @param sortType         list of sort types
+     * @param searchField      list of field names to search by
+     * @param searchExpression list of search expressions
+     * @param cursor           continuation token of previous page, null for the first page
+     * @param limit            maximum count of records to return
+     * @return page of found {@link User} objects with cursor of the next page
+     * @throws ServiceException         if error occurs while finding {@link User} objects
+     * @throws IllegalArgumentException if cursor or limit are invalid
+     */
+    CursorPage<User> findAll(List<String> sortField,
+                             List<String> sortType,
+                             List<String> searchField,
+                             List<String> searchExpression,
+                             String cursor,
+                             int limit) throws ServiceException;
+
     /**
      * Find orders of user.
      *
-     * @param id     id to search user by
-     * @param offset count of records to skip
-     * @param limit  maximum count of records to return
-     * @return list of found {@link Order} objects
+     * @param id               id to search user by
+     * @param searchField      list of order field names to search by, for example {@code orderDate:between}
+     * @param searchExpression list of search expressions
+     * @param offset           count of records to skip
+     * @param limit            maximum count of records to return
+     * @return list of found orders
+     * @throws ServiceException         if error occurs while finding {@link User} objects
+     * @throws IllegalArgumentException if id, search criteria, offset or limit are invalid
+     */
+    List<OrderSummary> findOrdersOfUser(long id,
+                                        List<String> searchField,
+                                        List<String> searchExpression,
+                                        int offset,
+                                        int limit) throws ServiceException;
+
+    /**
+     * Find page of orders of user using keyset pagination. Orders are sorted by id.
+     *
+     * @param id               id to search user by
+     * @param searchField      list of order field names to search by, for example {@code orderDate:between}
+     * @param searchExpression list of search expressions
+     * @param cursor           continuation token of previous page, null for the first page
+     * @param limit            maximum count of records to return
+     * @return page of found orders with cursor of the next page
      * @throws ServiceException         if error occurs while finding {@link User} objects
-     * @throws IllegalArgumentException if id, offset or limit are invalid
+     * @throws IllegalArgumentException if id, search criteria, cursor or limit are invalid
      */
-    List<Order> findOrdersOfUser(long id, int offset, int limit) throws ServiceException;
+    CursorPage<OrderSummary> findOrdersOfUser(long id,
+                                              List<String> searchField,
+                                              List<String> searchExpression,
+                                              String cursor,
+                                              int limit) throws ServiceException;
 
     /**
      * Make order on gift certificate.
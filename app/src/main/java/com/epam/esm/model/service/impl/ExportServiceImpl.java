@@ -0,0 +1,143 @@
+package com.epam.esm.model.service.impl;
+
+import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.entity.Tag;
+import com.epam.esm.model.dao.GiftCertificateDao;
+import com.epam.esm.model.dao.OrderDao;
+import com.epam.esm.model.dao.exception.DaoException;
+import com.epam.esm.model.service.ExportService;
+import com.epam.esm.model.service.ServiceException;
+import com.epam.esm.util.CsvWriter;
+import com.epam.esm.util.entity.ExportFormat;
+import com.epam.esm.util.entity.OrderExportRow;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+@Service
+public class ExportServiceImpl implements ExportService {
+    private static final char LINE_BREAK = '\n';
+    private static final String TAG_DELIMITER = "|";
+    private static final Object[] GIFT_CERTIFICATE_HEADER = {"id", "name", "description", "price",
+            "duration_in_days", "create_date", "last_update_date", "tags"};
+    private static final Object[] ORDER_HEADER = {"id", "user_id", "gift_certificate_id", "cost", "order_date"};
+    private final GiftCertificateDao giftCertificateDao;
+    private final OrderDao orderDao;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter objectWriter;
+
+    public ExportServiceImpl(GiftCertificateDao giftCertificateDao, OrderDao orderDao, ObjectMapper objectMapper) {
+        this.giftCertificateDao = giftCertificateDao;
+        this.orderDao = orderDao;
+        this.objectMapper = objectMapper;
+        this.objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    public void exportGiftCertificates(LocalDateTime from, LocalDateTime to, ExportFormat format, OutputStream out)
+            throws ServiceException {
+        checkArguments(from, to, format);
+        export(out, writer -> {
+            Consumer<GiftCertificate> consumer = switch (format) {
+                case NDJSON -> ndjsonConsumer(writer);
+                case CSV -> {
+                    CsvWriter csvWriter = writeHeader(writer, GIFT_CERTIFICATE_HEADER);
+                    yield giftCertificate -> writeRow(csvWriter, giftCertificate.getId(), giftCertificate.getName(),
+                            giftCertificate.getDescription(), giftCertificate.getPrice(),
+                            giftCertificate.getDurationInDays(), giftCertificate.getCreateDate(),
+                            giftCertificate.getLastUpdateDate(), giftCertificate.getTags().stream()
+                                    .map(Tag::getName)
+                                    .collect(Collectors.joining(TAG_DELIMITER)));
+                }
+            };
+            giftCertificateDao.scrollAll(from, to, consumer);
+        });
+    }
+
+    @Override
+    public void exportOrders(LocalDateTime from, LocalDateTime to, ExportFormat format, OutputStream out)
+            throws ServiceException {
+        checkArguments(from, to, format);
+        export(out, writer -> {
+            Consumer<OrderExportRow> consumer = switch (format) {
+                case NDJSON -> ndjsonConsumer(writer);
+                case CSV -> {
+                    CsvWriter csvWriter = writeHeader(writer, ORDER_HEADER);
+                    yield order -> writeRow(csvWriter, order.getId(), order.getUserId(),
+                            order.getGiftCertificateId(), order.getCost(), order.getOrderDate());
+                }
+            };
+            orderDao.scrollAll(from, to, consumer);
+        });
+    }
+
+    private static void checkArguments(LocalDateTime from, LocalDateTime to, ExportFormat format) {
+        if (format == null) {
+            throw new IllegalArgumentException("The supplied export format is required and must not be null");
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("Start of range must be before its end");
+        }
+    }
+
+    /**
+     * Runs export with buffered writer and converts errors of writing, which are thrown by consumers
+     * as {@link UncheckedIOException}, to {@link ServiceException}.
+     */
+    private void export(OutputStream out, ExportTask task) throws ServiceException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try {
+            task.run(writer);
+            writer.flush();
+        } catch (DaoException e) {
+            throw new ServiceException(e.getLocalizedMessage(), e);
+        } catch (IOException e) {
+            throw new ServiceException("Unable to write exported records", e);
+        } catch (UncheckedIOException e) {
+            throw new ServiceException("Unable to write exported records", e.getCause());
+        }
+    }
+
+    private <R> Consumer<R> ndjsonConsumer(Writer writer) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        generator.setRootValueSeparator(null);
+        return record -> {
+            try {
+                objectWriter.writeValue(generator, record);
+                generator.writeRaw(LINE_BREAK);
+                generator.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    private static CsvWriter writeHeader(Writer writer, Object[] header) throws IOException {
+        CsvWriter csvWriter = new CsvWriter(writer);
+        csvWriter.writeRow(header);
+        return csvWriter;
+    }
+
+    private static void writeRow(CsvWriter csvWriter, Object... values) {
+        try {
+            csvWriter.writeRow(values);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ExportTask {
+        void run(Writer writer) throws DaoException, IOException;
+    }
+}
@@ -0,0 +1,224 @@
+package com.epam.esm.model.service.impl;
+
+import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.entity.Tag;
+import com.epam.esm.model.cache.CatalogVersion;
+import com.epam.esm.model.dao.GiftCertificateDao;
+import com.epam.esm.model.dao.TagDao;
+import com.epam.esm.model.dao.exception.DaoException;
+import com.epam.esm.model.index.GiftCertificateTagIndex;
+import com.epam.esm.model.index.GiftCertificateTextIndex;
+import com.epam.esm.model.service.GiftCertificateImportService;
+import com.epam.esm.model.service.ServiceException;
+import com.epam.esm.model.validator.ProxyGiftCertificateValidator;
+import com.epam.esm.model.validator.ProxyTagValidator;
+import com.epam.esm.util.entity.ImportLineResult;
+import com.epam.esm.util.entity.ImportResult;
+import com.epam.esm.util.entity.ImportStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.log4j.Log4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.DataBinder;
+import org.springframework.validation.Validator;
+
+import javax.annotation.PostConstruct;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@Log4j
+@Service
+public class GiftCertificateImportServiceImpl implements GiftCertificateImportService {
+    private final GiftCertificateDao giftCertificateDao;
+    private final TagDao tagDao;
+    private final GiftCertificateTextIndex textIndex;
+    private final GiftCertificateTagIndex tagIndex;
+    private final CatalogVersion catalogVersion;
+    private final ObjectReader giftCertificateReader;
+    private final Validator proxyGiftCertificateValidator = new ProxyGiftCertificateValidator(new ProxyTagValidator());
+    @Value("${import.gift-certificate.chunk-size:1000}")
+    private int chunkSize;
+
+    public GiftCertificateImportServiceImpl(GiftCertificateDao giftCertificateDao,
+                                            TagDao tagDao,
+                                            GiftCertificateTextIndex textIndex,
+                                            GiftCertificateTagIndex tagIndex,
+                                            CatalogVersion catalogVersion,
+                                            ObjectMapper objectMapper) {
+        this.giftCertificateDao = giftCertificateDao;
+        this.tagDao = tagDao;
+        this.textIndex = textIndex;
+        this.tagIndex = tagIndex;
+        this.catalogVersion = catalogVersion;
+        this.giftCertificateReader = objectMapper.readerFor(GiftCertificate.class);
+    }
+
+    @PostConstruct
+    protected void init() {
+        if (chunkSize <= 0) {
+            throw new IllegalStateException("Import chunk size must be positive");
+        }
+    }
+
+    @Override
+    public ImportResult importAll(Reader reader) throws ServiceException {
+        ImportResult result = new ImportResult();
+        BufferedReader bufferedReader = new BufferedReader(reader);
+        List<String> chunk = new ArrayList<>(chunkSize);
+        List<Long> chunkLineNumbers = new ArrayList<>(chunkSize);
+        long lineNumber = 0;
+        try {
+            String line;
+            while ((line = bufferedReader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                chunk.add(line);
+                chunkLineNumbers.add(lineNumber);
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, chunkLineNumbers, result);
+                    chunk.clear();
+                    chunkLineNumbers.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new ServiceException("Unable to read import source at line " + (lineNumber + 1), e);
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, chunkLineNumbers, result);
+        }
+        return result;
+    }
+
+    /**
+     * Parses and validates lines in parallel, resolves tags of the whole chunk with one query and stores
+     * valid gift certificates in one transaction.
+     */
+    private void importChunk(List<String> lines, List<Long> lineNumbers, ImportResult result) {
+        ImportLineResult[] lineResults = new ImportLineResult[lines.size()];
+        GiftCertificate[] parsed = new GiftCertificate[lines.size()];
+        IntStream.range(0, lines.size()).parallel().forEach(i -> {
+            try {
+                parsed[i] = parse(lines.get(i));
+            } catch (IllegalArgumentException e) {
+                lineResults[i] = new ImportLineResult(lineNumbers.get(i), ImportStatus.REJECTED, null,
+                        e.getLocalizedMessage());
+            }
+        });
+        List<GiftCertificate> giftCertificates = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < parsed.length; i++) {
+            if (parsed[i] != null) {
+                giftCertificates.add(parsed[i]);
+                positions.add(i);
+            }
+        }
+        boolean stored = false;
+        try {
+            resolveTags(giftCertificates);
+            giftCertificateDao.addAll(giftCertificates);
+            stored = true;
+        } catch (DaoException | RuntimeException e) {
+            log.error("Unable to import chunk starting at line " + lineNumbers.get(0), e);
+            for (int position : positions) {
+                lineResults[position] = new ImportLineResult(lineNumbers.get(position), ImportStatus.FAILED, null,
+                        e.getLocalizedMessage());
+            }
+        }
+        if (stored && !giftCertificates.isEmpty()) {
+            catalogVersion.increment();
+            for (int i = 0; i < giftCertificates.size(); i++) {
+                int position = positions.get(i);
+                lineResults[position] = new ImportLineResult(lineNumbers.get(position), ImportStatus.CREATED,
+                        giftCertificates.get(i).getId(), null);
+            }
+            addToIndexes(giftCertificates);
+        }
+        for (ImportLineResult lineResult : lineResults) {
+            result.add(lineResult);
+        }
+    }
+
+    /**
+     * Adds stored gift certificates to in-memory indexes. Certificates are already committed, so if an index
+     * can't be updated it is invalidated and searches use the data source until the next rebuild, instead of
+     * reporting stored lines as failed.
+     */
+    private void addToIndexes(List<GiftCertificate> giftCertificates) {
+        try {
+            for (GiftCertificate giftCertificate : giftCertificates) {
+                textIndex.add(giftCertificate);
+                tagIndex.add(giftCertificate);
+            }
+        } catch (RuntimeException e) {
+            log.error("Unable to index imported gift certificates, indexes are disabled until rebuild", e);
+            textIndex.invalidate();
+            tagIndex.invalidate();
+        }
+    }
+
+    private GiftCertificate parse(String line) {
+        GiftCertificate giftCertificate;
+        try {
+            giftCertificate = giftCertificateReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("The supplied line is not a valid [GiftCertificate]");
+        }
+        if (giftCertificate == null) {
+            throw new IllegalArgumentException("The supplied [GiftCertificate] is required and must not be null");
+        }
+        DataBinder dataBinder = new DataBinder(giftCertificate);
+        dataBinder.addValidators(proxyGiftCertificateValidator);
+        dataBinder.validate();
+        BindingResult bindingResult = dataBinder.getBindingResult();
+        if (bindingResult.hasErrors()) {
+            throw new IllegalArgumentException("The supplied [GiftCertificate] has invalid field '"
+                    + bindingResult.getFieldError().getField() + "'");
+        }
+        if (giftCertificate.getTags() == null) {
+            giftCertificate.setTags(new ArrayList<>());
+        }
+        LocalDateTime now = LocalDateTime.now();
+        giftCertificate.setCreateDate(now);
+        giftCertificate.setLastUpdateDate(now);
+        giftCertificate.setId(null);
+        return giftCertificate;
+    }
+
+    /**
+     * Replaces tags with existing ones found by id. As in {@link GiftCertificateServiceImpl#add} tags with
+     * unknown id are added as new, new tags with equal names are shared inside of a chunk.
+     */
+    private void resolveTags(List<GiftCertificate> giftCertificates) throws DaoException {
+        Set<Long> ids = giftCertificates.stream()
+                .flatMap(giftCertificate -> giftCertificate.getTags().stream())
+                .map(Tag::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Tag> existingTags = tagDao.findAllByIds(ids).stream()
+                .collect(Collectors.toMap(Tag::getId, Function.identity()));
+        Map<String, Tag> newTags = new HashMap<>();
+        for (GiftCertificate giftCertificate : giftCertificates) {
+            List<Tag> tags = new ArrayList<>();
+            for (Tag tag : giftCertificate.getTags()) {
+                Tag existingTag = tag.getId() == null ? null : existingTags.get(tag.getId());
+                Tag resolvedTag = existingTag != null ? existingTag : newTags.computeIfAbsent(tag.getName(),
+                        name -> Tag.builder().name(name).build());
+                if (!tags.contains(resolvedTag)) {
+                    tags.add(resolvedTag);
+                }
+            }
+            giftCertificate.setTags(tags);
+        }
+    }
+}
@@ -4,13 +4,19 @@ import com.epam.esm.entity.GiftCertificate;
 import com.epam.esm.entity.Tag;
 import com.epam.esm.model.dao.GiftCertificateDao;
 import com.epam.esm.model.dao.TagDao;
+import com.epam.esm.model.cache.CatalogVersion;
 import com.epam.esm.model.dao.exception.DaoException;
+import com.epam.esm.model.index.GiftCertificateTagIndex;
+import com.epam.esm.model.index.GiftCertificateTextIndex;
 import com.epam.esm.model.service.GiftCertificateService;
 import com.epam.esm.model.service.ServiceException;
 import com.epam.esm.model.validator.*;
 import com.epam.esm.util.CriteriaConstructor;
+import com.epam.esm.util.CursorConverter;
+import com.epam.esm.util.entity.CursorPage;
 import com.epam.esm.util.entity.SearchUnit;
 import com.epam.esm.util.entity.SortUnit;
+import com.epam.esm.util.entity.TagFilter;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.DataBinder;
@@ -20,17 +26,28 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 
 @Service
 public class GiftCertificateServiceImpl implements GiftCertificateService {
     private final GiftCertificateDao giftCertificateDao;
     private final TagDao tagDao;
+    private final GiftCertificateTextIndex textIndex;
+    private final GiftCertificateTagIndex tagIndex;
+    private final CatalogVersion catalogVersion;
     private final Validator giftCertificateValidator = new GiftCertificateValidator(new TagValidator());
     private final Validator proxyGiftCertificateValidator = new ProxyGiftCertificateValidator(new ProxyTagValidator());
 
-    public GiftCertificateServiceImpl(GiftCertificateDao giftCertificateDao, TagDao tagDao) {
+    public GiftCertificateServiceImpl(GiftCertificateDao giftCertificateDao,
+                                      TagDao tagDao,
+                                      GiftCertificateTextIndex textIndex,
+                                      GiftCertificateTagIndex tagIndex,
+                                      CatalogVersion catalogVersion) {
         this.giftCertificateDao = giftCertificateDao;
         this.tagDao = tagDao;
+        this.textIndex = textIndex;
+        this.tagIndex = tagIndex;
+        this.catalogVersion = catalogVersion;
     }
 
     @Override
@@ -75,7 +92,11 @@ public class GiftCertificateServiceImpl implements GiftCertificateService {
         giftCertificate.setLastUpdateDate(LocalDateTime.now());
         giftCertificate.setId(null);
         try {
-            return giftCertificateDao.add(giftCertificate);
+            GiftCertificate addedGiftCertificate = giftCertificateDao.add(giftCertificate);
+            catalogVersion.increment();
+            textIndex.add(addedGiftCertificate);
+            tagIndex.add(addedGiftCertificate);
+            return addedGiftCertificate;
         } catch (DaoException e) {
             throw new ServiceException(e.getLocalizedMessage(), e);
         }
@@ -112,8 +133,40 @@ public class GiftCertificateServiceImpl implements GiftCertificateService {
         }
     }
 
+    @Override
+    public CursorPage<GiftCertificate> findAll(List<String> sortField,
+                                        List<String> sortType,
+                                        List<String> searchField,
+                                        List<String> searchExpression,
+                                        String cursor,
+                                        int limit) throws ServiceException {
+        if (!QueryParameterValidator.isLimitValid(limit)) {
+            throw new IllegalArgumentException("Query parameter limit is incorrect");
+        }
+        List<SearchUnit> searchCriteria = CriteriaConstructor.convertListsToSearchCriteria(searchField, searchExpression);
+        List<SortUnit> sortCriteria = CriteriaConstructor.appendIdTiebreaker(
+                CriteriaConstructor.convertListsToSortCriteria(sortField, sortType));
+        List<String> afterSortKeys = CursorConverter.decode(cursor, sortCriteria);
+        try {
+            List<GiftCertificate> content = giftCertificateDao.findAll(searchCriteria, sortCriteria, afterSortKeys, limit);
+            return CursorConverter.toPage(content, sortCriteria, limit);
+        } catch (DaoException e) {
+            throw new ServiceException(e.getLocalizedMessage(), e);
+        }
+    }
+
     @Override
     public GiftCertificate update(long id, GiftCertificate patch) throws ServiceException {
+        return update(id, patch, OptionalLong.empty());
+    }
+
+    @Override
+    public GiftCertificate update(long id, GiftCertificate patch, long expectedVersion) throws ServiceException {
+        return update(id, patch, OptionalLong.of(expectedVersion));
+    }
+
+    private GiftCertificate update(long id, GiftCertificate patch, OptionalLong expectedVersion)
+            throws ServiceException {
         if (!EntityValidator.isIdValid(id)) {
             throw new IllegalArgumentException("Id must be positive");
         }
@@ -140,6 +193,11 @@ public class GiftCertificateServiceImpl implements GiftCertificateService {
         Optional<GiftCertificate> optionalGiftCertificate = findById(id);
         if (optionalGiftCertificate.isPresent()) {
             GiftCertificate giftCertificate = optionalGiftCertificate.get();
+            GiftCertificate previous = GiftCertificate.builder()
+                    .id(giftCertificate.getId())
+                    .name(giftCertificate.getName())
+                    .description(giftCertificate.getDescription())
+                    .build();
             Optional.ofNullable(patch.getName()).ifPresent(giftCertificate::setName);
             Optional.ofNullable(patch.getDescription()).ifPresent(giftCertificate::setDescription);
             Optional.ofNullable(patch.getPrice()).ifPresent(giftCertificate::setPrice);
@@ -149,7 +207,13 @@ public class GiftCertificateServiceImpl implements GiftCertificateService {
                     () -> giftCertificate.setLastUpdateDate(LocalDateTime.now()));
             giftCertificate.setTags(newTags);
             try {
-                return giftCertificateDao.update(giftCertificate);
+                GiftCertificate updatedGiftCertificate = expectedVersion.isPresent()
+                        ? giftCertificateDao.update(giftCertificate, expectedVersion.getAsLong())
+                        : giftCertificateDao.update(giftCertificate);
+                catalogVersion.increment();
+                textIndex.update(previous, updatedGiftCertificate);
+                tagIndex.update(updatedGiftCertificate);
+                return updatedGiftCertificate;
             } catch (DaoException e) {
                 throw new ServiceException(e.getLocalizedMessage(), e);
             }
@@ -160,11 +224,26 @@ public class GiftCertificateServiceImpl implements GiftCertificateService {
 
     @Override
     public GiftCertificate delete(long id) throws ServiceException {
+        return delete(id, OptionalLong.empty());
+    }
+
+    @Override
+    public GiftCertificate delete(long id, long expectedVersion) throws ServiceException {
+        return delete(id, OptionalLong.of(expectedVersion));
+    }
+
+    private GiftCertificate delete(long id, OptionalLong expectedVersion) throws ServiceException {
         if (!EntityValidator.isIdValid(id)) {
             throw new IllegalArgumentException("Id must be positive");
         }
         try {
-            return giftCertificateDao.delete(id);
+            GiftCertificate deletedGiftCertificate = expectedVersion.isPresent()
+                    ? giftCertificateDao.delete(id, expectedVersion.getAsLong())
+                    : giftCertificateDao.delete(id);
+            catalogVersion.increment();
+            textIndex.remove(deletedGiftCertificate);
+            tagIndex.remove(deletedGiftCertificate);
+            return deletedGiftCertificate;
         } catch (DaoException e) {
             throw new ServiceException(e.getLocalizedMessage(), e);
         }
@@ -172,13 +251,15 @@ public class GiftCertificateServiceImpl implements GiftCertificateService {
 
     @Override
     public List<GiftCertificate> findByTagName(List<String> tagName,
+                                               List<String> anyTagName,
+                                               List<String> excludedTagName,
                                                List<String> sortField,
                                                List<String> sortType,
                                                List<String> searchField,
                                                List<String> searchExpression,
                                                int offset,
                                                int limit) throws ServiceException {
-        if (tagName == null) {
+        if (tagName == null && anyTagName == null && excludedTagName == null) {
             throw new IllegalArgumentException("The supplied tag names is required and must not be null");
         }
         if (!QueryParameterValidator.isOffsetValid(offset) || !QueryParameterValidator.isLimitValid(limit)) {
@@ -186,8 +267,39 @@ public class GiftCertificateServiceImpl implements GiftCertificateService {
         }
         List<SearchUnit> searchCriteria = CriteriaConstructor.convertListsToSearchCriteria(searchField, searchExpression);
         List<SortUnit> sortCriteria = CriteriaConstructor.convertListsToSortCriteria(sortField, sortType);
+        TagFilter tagFilter = new TagFilter(tagName, anyTagName, excludedTagName);
+        try {
+            return giftCertificateDao.findByTagName(tagFilter, searchCriteria, sortCriteria, offset, limit);
+        } catch (DaoException e) {
+            throw new ServiceException(e.getLocalizedMessage(), e);
+        }
+    }
+
+    @Override
+    public CursorPage<GiftCertificate> findByTagName(List<String> tagName,
+                                                     List<String> anyTagName,
+                                                     List<String> excludedTagName,
+                                                     List<String> sortField,
+                                                     List<String> sortType,
+                                                     List<String> searchField,
+                                                     List<String> searchExpression,
+                                                     String cursor,
+                                                     int limit) throws ServiceException {
+        if (tagName == null && anyTagName == null && excludedTagName == null) {
+            throw new IllegalArgumentException("The supplied tag names is required and must not be null");
+        }
+        if (!QueryParameterValidator.isLimitValid(limit)) {
+            throw new IllegalArgumentException("Query parameter limit is incorrect");
+        }
+        List<SearchUnit> searchCriteria = CriteriaConstructor.convertListsToSearchCriteria(searchField, searchExpression);
+        List<SortUnit> sortCriteria = CriteriaConstructor.appendIdTiebreaker(
+                CriteriaConstructor.convertListsToSortCriteria(sortField, sortType));
+        List<String> afterSortKeys = CursorConverter.decode(cursor, sortCriteria);
+        TagFilter tagFilter = new TagFilter(tagName, anyTagName, excludedTagName);
         try {
-            return giftCertificateDao.findByTagName(tagName, searchCriteria, sortCriteria, offset, limit);
+            List<GiftCertificate> content = giftCertificateDao.findByTagName(tagFilter, searchCriteria, sortCriteria,
+                    afterSortKeys, limit);
+            return CursorConverter.toPage(content, sortCriteria, limit);
         } catch (DaoException e) {
             throw new ServiceException(e.getLocalizedMessage(), e);
         }
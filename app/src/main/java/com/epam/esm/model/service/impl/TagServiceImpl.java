@@ -1,14 +1,19 @@
 package com.epam.esm.model.service.impl;
 
 import com.epam.esm.entity.Tag;
+import com.epam.esm.model.cache.CatalogVersion;
 import com.epam.esm.model.dao.TagDao;
 import com.epam.esm.model.dao.exception.DaoException;
+import com.epam.esm.model.index.GiftCertificateTagIndex;
+import com.epam.esm.model.index.TagUsageStatistics;
 import com.epam.esm.model.service.ServiceException;
 import com.epam.esm.model.service.TagService;
 import com.epam.esm.model.validator.EntityValidator;
 import com.epam.esm.model.validator.ProxyTagValidator;
 import com.epam.esm.model.validator.QueryParameterValidator;
 import com.epam.esm.util.CriteriaConstructor;
+import com.epam.esm.util.CursorConverter;
+import com.epam.esm.util.entity.CursorPage;
 import com.epam.esm.util.entity.SearchUnit;
 import com.epam.esm.util.entity.SortUnit;
 import org.springframework.stereotype.Service;
@@ -18,14 +23,24 @@ import org.springframework.validation.Validator;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 
 @Service
 public class TagServiceImpl implements TagService {
     private final TagDao tagDao;
+    private final GiftCertificateTagIndex tagIndex;
+    private final TagUsageStatistics tagUsageStatistics;
+    private final CatalogVersion catalogVersion;
     private final Validator tagValidator = new ProxyTagValidator();
 
-    public TagServiceImpl(TagDao tagDao) {
+    public TagServiceImpl(TagDao tagDao,
+                          GiftCertificateTagIndex tagIndex,
+                          TagUsageStatistics tagUsageStatistics,
+                          CatalogVersion catalogVersion) {
         this.tagDao = tagDao;
+        this.tagIndex = tagIndex;
+        this.tagUsageStatistics = tagUsageStatistics;
+        this.catalogVersion = catalogVersion;
     }
 
     @Override
@@ -44,7 +59,9 @@ public class TagServiceImpl implements TagService {
         }
         tag.setId(null);
         try {
-            return tagDao.add(tag);
+            Tag addedTag = tagDao.add(tag);
+            catalogVersion.increment();
+            return addedTag;
         } catch (DaoException e) {
             throw new ServiceException(e.getLocalizedMessage(), e);
         }
@@ -81,13 +98,38 @@ public class TagServiceImpl implements TagService {
         }
     }
 
+    @Override
+    public CursorPage<Tag> findAll(List<String> sortField,
+                            List<String> sortType,
+                            List<String> searchField,
+                            List<String> searchExpression,
+                            String cursor,
+                            int limit) throws ServiceException {
+        if (!QueryParameterValidator.isLimitValid(limit)) {
+            throw new IllegalArgumentException("Query parameter limit is incorrect");
+        }
+        List<SearchUnit> searchCriteria = CriteriaConstructor.convertListsToSearchCriteria(searchField, searchExpression);
+        List<SortUnit> sortCriteria = CriteriaConstructor.appendIdTiebreaker(
+                CriteriaConstructor.convertListsToSortCriteria(sortField, sortType));
+        List<String> afterSortKeys = CursorConverter.decode(cursor, sortCriteria);
+        try {
+            List<Tag> content = tagDao.findAll(searchCriteria, sortCriteria, afterSortKeys, limit);
+            return CursorConverter.toPage(content, sortCriteria, limit);
+        } catch (DaoException e) {
+            throw new ServiceException(e.getLocalizedMessage(), e);
+        }
+    }
+
     @Override
     public Tag delete(long id) throws ServiceException {
         if (!EntityValidator.isIdValid(id)) {
             throw new IllegalArgumentException("Id must be positive");
         }
         try {
-            return tagDao.delete(id);
+            Tag deletedTag = tagDao.delete(id);
+            catalogVersion.increment();
+            tagIndex.removeTag(id);
+            return deletedTag;
         } catch (DaoException e) {
             throw new ServiceException(e.getLocalizedMessage(), e);
         }
@@ -96,6 +138,13 @@ public class TagServiceImpl implements TagService {
     @Override
     public Tag findMostUsedTag() throws ServiceException {
         try {
+            OptionalLong mostUsedTagId = tagUsageStatistics.findMostUsedTagId();
+            if (mostUsedTagId.isPresent()) {
+                Optional<Tag> mostUsedTag = tagDao.findById(mostUsedTagId.getAsLong());
+                if (mostUsedTag.isPresent()) {
+                    return mostUsedTag.get();
+                }
+            }
             return tagDao.findMostUsedTag();
         } catch (DaoException e) {
             throw new ServiceException(e.getLocalizedMessage(), e);
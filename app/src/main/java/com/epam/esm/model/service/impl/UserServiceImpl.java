@@ -5,12 +5,16 @@ import com.epam.esm.model.dao.GiftCertificateDao;
 import com.epam.esm.model.dao.OrderDao;
 import com.epam.esm.model.dao.UserDao;
 import com.epam.esm.model.dao.exception.DaoException;
+import com.epam.esm.model.index.TagUsageStatistics;
 import com.epam.esm.model.service.ServiceException;
 import com.epam.esm.model.service.UserService;
 import com.epam.esm.model.validator.EntityValidator;
 import com.epam.esm.model.validator.QueryParameterValidator;
 import com.epam.esm.model.validator.UserValidator;
 import com.epam.esm.util.CriteriaConstructor;
+import com.epam.esm.util.CursorConverter;
+import com.epam.esm.util.entity.CursorPage;
+import com.epam.esm.util.entity.OrderSummary;
 import com.epam.esm.util.entity.SearchUnit;
 import com.epam.esm.util.entity.SortUnit;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -20,6 +24,7 @@ import org.springframework.validation.DataBinder;
 import org.springframework.validation.Validator;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,12 +35,18 @@ public class UserServiceImpl implements UserService {
     private final GiftCertificateDao giftCertificateDao;
     private final Validator userValidator = new UserValidator();
     private final PasswordEncoder passwordEncoder;
+    private final TagUsageStatistics tagUsageStatistics;
 
-    public UserServiceImpl(UserDao userDao, OrderDao orderDao, GiftCertificateDao giftCertificateDao, PasswordEncoder passwordEncoder) {
+    public UserServiceImpl(UserDao userDao,
+                           OrderDao orderDao,
+                           GiftCertificateDao giftCertificateDao,
+                           PasswordEncoder passwordEncoder,
+                           TagUsageStatistics tagUsageStatistics) {
         this.userDao = userDao;
         this.orderDao = orderDao;
         this.giftCertificateDao = giftCertificateDao;
         this.passwordEncoder = passwordEncoder;
+        this.tagUsageStatistics = tagUsageStatistics;
     }
 
     @Override
@@ -70,15 +81,66 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public List<Order> findOrdersOfUser(long id, int offset, int limit) throws ServiceException {
+    public CursorPage<User> findAll(List<String> sortField,
+                             List<String> sortType,
+                             List<String> searchField,
+                             List<String> searchExpression,
+                             String cursor,
+                             int limit) throws ServiceException {
+        if (!QueryParameterValidator.isLimitValid(limit)) {
+            throw new IllegalArgumentException("Query parameter limit is incorrect");
+        }
+        List<SearchUnit> searchCriteria = CriteriaConstructor.convertListsToSearchCriteria(searchField, searchExpression);
+        List<SortUnit> sortCriteria = CriteriaConstructor.appendIdTiebreaker(
+                CriteriaConstructor.convertListsToSortCriteria(sortField, sortType));
+        List<String> afterSortKeys = CursorConverter.decode(cursor, sortCriteria);
+        try {
+            List<User> content = userDao.findAll(searchCriteria, sortCriteria, afterSortKeys, limit);
+            return CursorConverter.toPage(content, sortCriteria, limit);
+        } catch (DaoException e) {
+            throw new ServiceException(e.getLocalizedMessage(), e);
+        }
+    }
+
+    @Override
+    public List<OrderSummary> findOrdersOfUser(long id,
+                                               List<String> searchField,
+                                               List<String> searchExpression,
+                                               int offset,
+                                               int limit) throws ServiceException {
         if (!EntityValidator.isIdValid(id)) {
             throw new IllegalArgumentException("Id must be positive");
         }
         if (!QueryParameterValidator.isOffsetValid(offset) || !QueryParameterValidator.isLimitValid(limit)) {
             throw new IllegalArgumentException("Query parameters such as offset or/and limit are incorrect");
         }
+        List<SearchUnit> searchCriteria = CriteriaConstructor.convertListsToSearchCriteria(searchField, searchExpression);
+        try {
+            return userDao.findOrdersOfUser(id, searchCriteria, offset, limit);
+        } catch (DaoException e) {
+            throw new ServiceException(e.getLocalizedMessage(), e);
+        }
+    }
+
+    @Override
+    public CursorPage<OrderSummary> findOrdersOfUser(long id,
+                                                     List<String> searchField,
+                                                     List<String> searchExpression,
+                                                     String cursor,
+                                                     int limit) throws ServiceException {
+        if (!EntityValidator.isIdValid(id)) {
+            throw new IllegalArgumentException("Id must be positive");
+        }
+        if (!QueryParameterValidator.isLimitValid(limit)) {
+            throw new IllegalArgumentException("Query parameter limit is incorrect");
+        }
+        List<SearchUnit> searchCriteria = CriteriaConstructor.convertListsToSearchCriteria(searchField, searchExpression);
+        List<SortUnit> sortCriteria = CriteriaConstructor.appendIdTiebreaker(new ArrayList<>());
+        List<String> afterSortKeys = CursorConverter.decode(cursor, sortCriteria);
         try {
-            return userDao.findOrdersOfUser(id, offset, limit);
+            List<OrderSummary> content = userDao.findOrdersOfUser(id, searchCriteria, sortCriteria, afterSortKeys,
+                    limit);
+            return CursorConverter.toPage(content, sortCriteria, limit);
         } catch (DaoException e) {
             throw new ServiceException(e.getLocalizedMessage(), e);
         }
@@ -110,7 +172,9 @@ public class UserServiceImpl implements UserService {
                 .cost(giftCertificate.getPrice())
                 .build();
         try {
-            return orderDao.add(order);
+            Order addedOrder = orderDao.add(order);
+            tagUsageStatistics.record(addedOrder);
+            return addedOrder;
         } catch (DaoException e) {
             throw new ServiceException(e.getLocalizedMessage(), e);
         }
@@ -0,0 +1,63 @@
+package com.epam.esm.security;
+
+import com.epam.esm.entity.Status;
+import com.epam.esm.entity.User;
+import com.epam.esm.model.dao.UserDao;
+import com.epam.esm.model.dao.exception.DaoException;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+
+/**
+ * Remembers whether user accounts are active. Used by stateless authentication, which trusts role from the
+ * token, so banned account is rejected at most re-check interval after it was banned. Status of every user
+ * is read from the database at most once per interval.
+ */
+@Component
+public class AccountStatusCache {
+    private final UserDao userDao;
+    @Value("${jwt.stateless.status-recheck-interval:PT1M}")
+    private Duration recheckInterval;
+    @Value("${jwt.stateless.status-cache-size:10000}")
+    private long maximumSize;
+    private LoadingCache<Long, Boolean> activeByUserId;
+
+    public AccountStatusCache(UserDao userDao) {
+        this.userDao = userDao;
+    }
+
+    @PostConstruct
+    protected void init() {
+        activeByUserId = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(recheckInterval)
+                .build(this::loadIsActive);
+    }
+
+    /**
+     * Checks if account of the user is active.
+     *
+     * @param userId user id
+     * @return {@code true} if user exists and is not banned
+     * @throws JwtAuthenticationException if status can't be read
+     */
+    public boolean isActive(long userId) {
+        return activeByUserId.get(userId);
+    }
+
+    private Boolean loadIsActive(Long userId) {
+        try {
+            return userDao.findById(userId)
+                    .map(User::getStatus)
+                    .map(Status.ACTIVE::equals)
+                    .orElse(false);
+        } catch (DaoException e) {
+            throw new JwtAuthenticationException("Unable to check user account status", HttpStatus.UNAUTHORIZED);
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.epam.esm.security;
 
+import com.epam.esm.timing.RequestPhase;
+import com.epam.esm.timing.RequestTimings;
+import io.jsonwebtoken.Claims;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
@@ -24,10 +27,12 @@ public class JwtTokenFilter extends GenericFilterBean {
 
     @Override
     public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain) throws IOException, ServletException {
+        long start = System.nanoTime();
         String token = jwtTokenProvider.resolveToken((HttpServletRequest) servletRequest);
         try {
-            if (token != null && jwtTokenProvider.validateToken(token)) {
-                Authentication authentication = jwtTokenProvider.getAuthentication(token);
+            if (token != null) {
+                Claims claims = jwtTokenProvider.getClaims(token);
+                Authentication authentication = jwtTokenProvider.getAuthentication(claims);
                 if (authentication != null) {
                     SecurityContextHolder.getContext().setAuthentication(authentication);
                 }
@@ -38,6 +43,8 @@ public class JwtTokenFilter extends GenericFilterBean {
             ((HttpServletResponse) servletResponse).setStatus(e.getHttpStatus().value());
             servletResponse.getOutputStream().println("{ \"errorMessage\": \"" + e.getLocalizedMessage() + "\", \"errorCode\": \"40103\" }");
             return;
+        } finally {
+            RequestTimings.record(RequestPhase.AUTHENTICATION, start);
         }
         filterChain.doFilter(servletRequest, servletResponse);
     }
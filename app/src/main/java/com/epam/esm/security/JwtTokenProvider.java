@@ -1,5 +1,7 @@
 package com.epam.esm.security;
 
+import com.epam.esm.entity.Role;
+import com.epam.esm.entity.Status;
 import io.jsonwebtoken.*;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
@@ -19,8 +21,11 @@ import java.util.Date;
 public class JwtTokenProvider {
     private static final String EMPTY_STRING = "";
     private static final String ROLE = "role";
+    private static final String ID = "id";
+    private static final String STATUS = "status";
     private static final int ONE_THOUSAND = 1000;
     private final UserDetailsService userDetailsService;
+    private final AccountStatusCache accountStatusCache;
 
     @Value("${jwt.secret}")
     private String secretKey;
@@ -28,19 +33,35 @@ public class JwtTokenProvider {
     private String authorizationHeader;
     @Value("${jwt.expiration}")
     private long validityInMilliseconds;
+    @Value("${jwt.stateless.enabled:true}")
+    private boolean stateless;
+    @Value("${jwt.cache.enabled:true}")
+    private boolean cacheEnabled;
+    @Value("${jwt.cache.maximum-size:10000}")
+    private long cacheMaximumSize;
+    private JwtParser jwtParser;
+    private VerifiedClaimsCache verifiedClaimsCache;
 
-    public JwtTokenProvider(@Qualifier("userDetailsServiceImpl") UserDetailsService userDetailsService) {
+    public JwtTokenProvider(@Qualifier("userDetailsServiceImpl") UserDetailsService userDetailsService,
+                            AccountStatusCache accountStatusCache) {
         this.userDetailsService = userDetailsService;
+        this.accountStatusCache = accountStatusCache;
     }
 
     @PostConstruct
     protected void init() {
         secretKey = Base64.getEncoder().encodeToString(secretKey.getBytes());
+        jwtParser = Jwts.parser().setSigningKey(secretKey);
+        if (cacheEnabled) {
+            verifiedClaimsCache = new VerifiedClaimsCache(cacheMaximumSize);
+        }
     }
 
-    public String createToken(String username, String role) {
-        Claims claims = Jwts.claims().setSubject(username);
-        claims.put(ROLE, role);
+    public String createToken(SecurityUser user) {
+        Claims claims = Jwts.claims().setSubject(user.getUsername());
+        claims.put(ID, user.getId());
+        claims.put(ROLE, user.getRole().name());
+        claims.put(STATUS, user.getStatus().name());
         Date now = new Date();
         Date validity = new Date(now.getTime() + validityInMilliseconds * ONE_THOUSAND);
         return Jwts.builder()
@@ -52,24 +73,82 @@ public class JwtTokenProvider {
     }
 
     public boolean validateToken(String token) {
+        Claims claims = getClaims(token);
+        return !claims.getExpiration().before(new Date());
+    }
+
+    /**
+     * Returns claims of the token. Signature of a token is verified only the first time the token is seen,
+     * then its claims are taken from the cache until the token expires.
+     *
+     * @param token compact JWT
+     * @return verified claims
+     * @throws JwtAuthenticationException if token is malformed, has invalid signature or is expired
+     */
+    public Claims getClaims(String token) {
         try {
-            Jws<Claims> claimsJws = Jwts.parser().setSigningKey(secretKey).parseClaimsJws(token);
-            return !claimsJws.getBody().getExpiration().before(new Date());
+            if (verifiedClaimsCache == null) {
+                return verify(token);
+            }
+            return verifiedClaimsCache.get(token, this::verify);
         } catch (JwtException | IllegalArgumentException e) {
             throw new JwtAuthenticationException("JWT token is expired or invalid", HttpStatus.UNAUTHORIZED);
         }
     }
 
     public Authentication getAuthentication(String token) {
-        UserDetails userDetails = this.userDetailsService.loadUserByUsername(getUsername(token));
+        return getAuthentication(getClaims(token));
+    }
+
+    /**
+     * Creates authentication of token owner. In stateless mode the principal is built from token claims and
+     * only account status is checked, which is remembered for re-check interval. Otherwise, or if token was
+     * issued without user id, the user is loaded by email.
+     *
+     * @param claims verified token claims
+     * @return authentication with {@link SecurityUser} principal
+     * @throws JwtAuthenticationException if account is disabled
+     */
+    public Authentication getAuthentication(Claims claims) {
+        if (stateless && claims.get(ID) != null) {
+            SecurityUser user = fromClaims(claims);
+            if (!user.isActive() || !accountStatusCache.isActive(user.getId())) {
+                throw new JwtAuthenticationException("User account is disabled", HttpStatus.UNAUTHORIZED);
+            }
+            return new UsernamePasswordAuthenticationToken(user, EMPTY_STRING, user.getAuthorities());
+        }
+        UserDetails userDetails = this.userDetailsService.loadUserByUsername(claims.getSubject());
         return new UsernamePasswordAuthenticationToken(userDetails, EMPTY_STRING, userDetails.getAuthorities());
     }
 
     public String getUsername(String token) {
-        return Jwts.parser().setSigningKey(secretKey).parseClaimsJws(token).getBody().getSubject();
+        return getClaims(token).getSubject();
     }
 
     public String resolveToken(HttpServletRequest request) {
         return request.getHeader(authorizationHeader);
     }
+
+    private static SecurityUser fromClaims(Claims claims) {
+        try {
+            Number id = claims.get(ID, Number.class);
+            String role = claims.get(ROLE, String.class);
+            String status = claims.get(STATUS, String.class);
+            if (id == null || role == null || status == null) {
+                throw new MalformedJwtException("JWT token has no user claims");
+            }
+            return new SecurityUser(id.longValue(), claims.getSubject(), EMPTY_STRING, Role.valueOf(role),
+                    Status.valueOf(status));
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new JwtAuthenticationException("JWT token is expired or invalid", HttpStatus.UNAUTHORIZED);
+        }
+    }
+
+    private Claims verify(String token) {
+        Claims claims = jwtParser.parseClaimsJws(token).getBody();
+        if (claims.getExpiration() == null) {
+            throw new MalformedJwtException("JWT token has no expiration");
+        }
+        return claims;
+    }
 }
@@ -0,0 +1,66 @@
+package com.epam.esm.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.concurrent.*;
+
+/**
+ * Runs password hashing and verification on a separate pool of fixed size, so BCrypt work of login and
+ * registration spikes can't occupy all request threads. Pool queue is bounded, tasks which don't fit are
+ * rejected instead of waiting.
+ */
+@Component
+public class PasswordHashingExecutor {
+    private static final String THREAD_NAME_PREFIX = "password-hashing-";
+    @Value("${password-hashing.pool-size:2}")
+    private int poolSize;
+    @Value("${password-hashing.queue-capacity:16}")
+    private int queueCapacity;
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    protected void init() {
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory(THREAD_NAME_PREFIX),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    protected void destroy() {
+        executor.shutdown();
+    }
+
+    /**
+     * Submits task to the pool.
+     *
+     * @param task task which hashes or verifies password
+     * @param <T>  the type of task result
+     * @return future completed with task result or with exception thrown by the task
+     * @throws RejectedExecutionException if all threads are busy and queue is full
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                future.complete(task.call());
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Returns count of tasks waiting for a free thread.
+     *
+     * @return queue size
+     */
+    int getQueueSize() {
+        return executor.getQueue().size();
+    }
+}
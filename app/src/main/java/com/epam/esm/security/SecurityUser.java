@@ -1,43 +1,40 @@
 package com.epam.esm.security;
 
+import com.epam.esm.entity.Role;
 import com.epam.esm.entity.Status;
 import lombok.Data;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
-import java.util.List;
 
+/**
+ * Authenticated user. Besides email it carries user id and role, so ownership of requested resources can be
+ * checked without loading the user.
+ */
 @Data
 public class SecurityUser implements UserDetails {
+    private final Long id;
     private final String username;
     private final String password;
-    private final List<SimpleGrantedAuthority> authorities;
-    private final boolean isActive;
+    private final Role role;
+    private final Status status;
 
-    public SecurityUser(String username, String password, List<SimpleGrantedAuthority> authorities, boolean isActive) {
+    public SecurityUser(Long id, String username, String password, Role role, Status status) {
+        this.id = id;
         this.username = username;
         this.password = password;
-        this.authorities = authorities;
-        this.isActive = isActive;
+        this.role = role;
+        this.status = status;
     }
 
-    public static UserDetails fromUser(com.epam.esm.entity.User user) {
-        return new User(
-                user.getEmail(), user.getPassword(),
-                user.getStatus().equals(Status.ACTIVE),
-                user.getStatus().equals(Status.ACTIVE),
-                user.getStatus().equals(Status.ACTIVE),
-                user.getStatus().equals(Status.ACTIVE),
-                user.getRole().getAuthorities()
-        );
+    public static SecurityUser fromUser(com.epam.esm.entity.User user) {
+        return new SecurityUser(user.getId(), user.getEmail(), user.getPassword(), user.getRole(), user.getStatus());
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return authorities;
+        return role.getAuthorities();
     }
 
     @Override
@@ -52,21 +49,25 @@ public class SecurityUser implements UserDetails {
 
     @Override
     public boolean isAccountNonExpired() {
-        return isActive;
+        return isActive();
     }
 
     @Override
     public boolean isAccountNonLocked() {
-        return isActive;
+        return isActive();
     }
 
     @Override
     public boolean isCredentialsNonExpired() {
-        return isActive;
+        return isActive();
     }
 
     @Override
     public boolean isEnabled() {
-        return isActive;
+        return isActive();
+    }
+
+    public boolean isActive() {
+        return Status.ACTIVE.equals(status);
     }
 }
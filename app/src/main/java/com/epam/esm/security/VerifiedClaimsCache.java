@@ -0,0 +1,94 @@
+package com.epam.esm.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.jsonwebtoken.Claims;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded cache of claims of tokens whose signature is already verified. Tokens are keyed by their SHA-256
+ * digest, so bearer tokens themselves are not kept in memory. Every entry expires at {@code exp} claim of its
+ * token, so expired token is never served from the cache.
+ */
+class VerifiedClaimsCache {
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+    private final Cache<ByteBuffer, Claims> cache;
+
+    VerifiedClaimsCache(long maximumSize) {
+        this(maximumSize, Ticker.systemTicker(), System::currentTimeMillis);
+    }
+
+    VerifiedClaimsCache(long maximumSize, Ticker ticker, LongSupplier clock) {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .ticker(ticker)
+                .executor(Runnable::run)
+                .expireAfter(new ExpirationClaimExpiry(clock))
+                .build();
+    }
+
+    /**
+     * Returns claims of the token, verifying it with provided function only if token is not cached yet.
+     *
+     * @param token    compact JWT
+     * @param verifier parses token and verifies its signature, throws an exception if token is invalid
+     * @return verified claims
+     */
+    Claims get(String token, Function<String, Claims> verifier) {
+        return cache.get(digest(token), key -> verifier.apply(token));
+    }
+
+    long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    private static ByteBuffer digest(String token) {
+        MessageDigest messageDigest = DIGEST.get();
+        return ByteBuffer.wrap(messageDigest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private static class ExpirationClaimExpiry implements Expiry<ByteBuffer, Claims> {
+        private final LongSupplier clock;
+
+        private ExpirationClaimExpiry(LongSupplier clock) {
+            this.clock = clock;
+        }
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return 0;
+            }
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, expiration.getTime() - clock.getAsLong()));
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
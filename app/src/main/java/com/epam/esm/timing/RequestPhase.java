@@ -0,0 +1,46 @@
+package com.epam.esm.timing;
+
+/**
+ * Phases of request processing measured by {@link RequestTimings}. Names are used as metric tags and as
+ * metric names of {@code Server-Timing} header.
+ */
+public enum RequestPhase {
+    /**
+     * Verification of JWT token and loading of its authentication.
+     */
+    AUTHENTICATION("auth"),
+    /**
+     * DAO calls including transaction handling, nested calls are counted once.
+     */
+    DATABASE("db"),
+    /**
+     * Conversion of entities to DTOs.
+     */
+    MAPPING("mapping"),
+    /**
+     * Building of HATEOAS links.
+     */
+    LINKS("links"),
+    /**
+     * Writing of response body from return of the handler until the response is complete.
+     */
+    SERIALIZATION("serialization"),
+    /**
+     * Remainder of total time not covered by other phases: filters, services, validation.
+     */
+    OTHER("other"),
+    /**
+     * Whole request processing.
+     */
+    TOTAL("total");
+
+    private final String metricName;
+
+    RequestPhase(String metricName) {
+        this.metricName = metricName;
+    }
+
+    public String getMetricName() {
+        return metricName;
+    }
+}
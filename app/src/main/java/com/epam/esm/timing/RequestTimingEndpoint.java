@@ -0,0 +1,62 @@
+package com.epam.esm.timing;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Actuator endpoint {@code /actuator/timings} on the management port with phase durations in milliseconds and
+ * response sizes in bytes of every endpoint which received requests.
+ */
+@Component
+@Endpoint(id = "timings")
+public class RequestTimingEndpoint {
+    private static final String COUNT = "count";
+    private static final String MEAN = "mean";
+    private static final String MAX = "max";
+    private static final String PERCENTILE_PREFIX = "p";
+    private final RequestTimingMetrics requestTimingMetrics;
+
+    public RequestTimingEndpoint(RequestTimingMetrics requestTimingMetrics) {
+        this.requestTimingMetrics = requestTimingMetrics;
+    }
+
+    @ReadOperation
+    public Map<String, Object> timings() {
+        Map<String, Object> endpoints = new TreeMap<>();
+        for (RequestTimingMetrics.EndpointMeters endpointMeters : requestTimingMetrics.findAllEndpoints()) {
+            Map<String, Object> endpoint = new LinkedHashMap<>();
+            Map<String, Object> phases = new LinkedHashMap<>();
+            for (RequestPhase phase : RequestPhase.values()) {
+                Timer timer = endpointMeters.getPhaseTimer(phase);
+                phases.put(phase.getMetricName(), summarize(timer.takeSnapshot(), TimeUnit.MILLISECONDS));
+            }
+            endpoint.put("phases", phases);
+            DistributionSummary responseSize = endpointMeters.getResponseSize();
+            endpoint.put("responseBytes", summarize(responseSize.takeSnapshot(), null));
+            endpoints.put(endpointMeters.getName(), endpoint);
+        }
+        return endpoints;
+    }
+
+    private static Map<String, Object> summarize(HistogramSnapshot snapshot, TimeUnit timeUnit) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put(COUNT, snapshot.count());
+        summary.put(MEAN, timeUnit != null ? snapshot.mean(timeUnit) : snapshot.mean());
+        summary.put(MAX, timeUnit != null ? snapshot.max(timeUnit) : snapshot.max());
+        for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+            String name = PERCENTILE_PREFIX + Math.round(percentile.percentile() * 100);
+            summary.put(name, timeUnit != null ? percentile.value(timeUnit) : percentile.value());
+        }
+        return summary;
+    }
+}
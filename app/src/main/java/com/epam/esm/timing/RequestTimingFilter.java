@@ -0,0 +1,207 @@
+package com.epam.esm.timing;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Starts {@link RequestTimings} of the request before any other filter and records them with written response
+ * size to {@link RequestTimingMetrics} when the response is complete. Bytes written to the output stream or the
+ * writer are counted by a response wrapper which is reused by the thread for its next request. Requests
+ * processed asynchronously are recorded by an {@link AsyncListener} when asynchronous processing completes,
+ * with timings measured by the first dispatch and the whole time until completion. Their wrapper is left to
+ * the asynchronous processing.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestTimingFilter extends OncePerRequestFilter {
+    private static final ThreadLocal<CountingResponseWrapper> RESPONSE_WRAPPER = new ThreadLocal<>();
+    private final RequestTimingMetrics requestTimingMetrics;
+
+    public RequestTimingFilter(RequestTimingMetrics requestTimingMetrics) {
+        this.requestTimingMetrics = requestTimingMetrics;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestTimings timings = RequestTimings.current();
+        CountingResponseWrapper responseWrapper = RESPONSE_WRAPPER.get();
+        if (responseWrapper == null) {
+            responseWrapper = new CountingResponseWrapper(response);
+            RESPONSE_WRAPPER.set(responseWrapper);
+        } else {
+            responseWrapper.reset(response);
+        }
+        timings.start();
+        try {
+            filterChain.doFilter(request, responseWrapper);
+        } finally {
+            timings.finish();
+            if (request.isAsyncStarted()) {
+                RESPONSE_WRAPPER.remove();
+                request.getAsyncContext().addListener(new AsyncCompletionListener(timings.detach(),
+                        responseWrapper));
+            } else {
+                requestTimingMetrics.record(timings, responseWrapper.getWrittenBytes());
+            }
+        }
+    }
+
+    /**
+     * Records the request when asynchronous processing completes, which follows timeouts and errors too.
+     */
+    private class AsyncCompletionListener implements AsyncListener {
+        private final RequestTimings timings;
+        private final CountingResponseWrapper responseWrapper;
+
+        AsyncCompletionListener(RequestTimings timings, CountingResponseWrapper responseWrapper) {
+            this.timings = timings;
+            this.responseWrapper = responseWrapper;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            timings.finish();
+            requestTimingMetrics.record(timings, responseWrapper.getWrittenBytes());
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+
+    private static class CountingResponseWrapper extends HttpServletResponseWrapper {
+        private final CountingOutputStream outputStream = new CountingOutputStream();
+        private final CountingWriter writer = new CountingWriter();
+        private PrintWriter printWriter;
+
+        CountingResponseWrapper(HttpServletResponse response) {
+            super(response);
+        }
+
+        void reset(HttpServletResponse response) {
+            setResponse(response);
+            outputStream.reset(null);
+            writer.reset(null, null);
+        }
+
+        long getWrittenBytes() {
+            return outputStream.writtenBytes + writer.writtenBytes;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream.delegate == null) {
+                outputStream.reset(super.getOutputStream());
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer.delegate == null) {
+                writer.reset(super.getWriter(), Charset.forName(getCharacterEncoding()));
+                printWriter = new PrintWriter(writer);
+            }
+            return printWriter;
+        }
+    }
+
+    /**
+     * Counts bytes which written characters take in response encoding. UTF-8 is counted without encoding, other
+     * encodings are rare in responses and are counted by encoding written characters.
+     */
+    private static class CountingWriter extends Writer {
+        private PrintWriter delegate;
+        private Charset charset;
+        private boolean utf8;
+        private long writtenBytes;
+
+        void reset(PrintWriter delegate, Charset charset) {
+            this.delegate = delegate;
+            this.charset = charset;
+            utf8 = StandardCharsets.UTF_8.equals(charset);
+            writtenBytes = 0;
+        }
+
+        @Override
+        public void write(int c) {
+            delegate.write(c);
+            writtenBytes += utf8 ? utf8Length((char) c) : String.valueOf((char) c).getBytes(charset).length;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            delegate.write(cbuf, off, len);
+            if (utf8) {
+                for (int i = off; i < off + len; i++) {
+                    writtenBytes += utf8Length(cbuf[i]);
+                }
+            } else {
+                writtenBytes += new String(cbuf, off, len).getBytes(charset).length;
+            }
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            delegate.write(str, off, len);
+            if (utf8) {
+                for (int i = off; i < off + len; i++) {
+                    writtenBytes += utf8Length(str.charAt(i));
+                }
+            } else {
+                writtenBytes += str.substring(off, off + len).getBytes(charset).length;
+            }
+        }
+
+        @Override
+        public void flush() {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+
+        /**
+         * Returns count of bytes of the character in UTF-8, every half of a surrogate pair takes two of four
+         * bytes of the pair.
+         */
+        private static int utf8Length(char c) {
+            if (c < 0x80) {
+                return 1;
+            }
+            if (c < 0x800 || Character.isSurrogate(c)) {
+                return 2;
+            }
+            return 3;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.epam.esm.timing;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Assigns the endpoint which handles the request to its {@link RequestTimings}.
+ */
+@Component
+public class RequestTimingInterceptor implements HandlerInterceptor {
+    private final RequestTimingMetrics requestTimingMetrics;
+
+    public RequestTimingInterceptor(RequestTimingMetrics requestTimingMetrics) {
+        this.requestTimingMetrics = requestTimingMetrics;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestTimings timings = RequestTimings.current();
+        if (timings.isActive() && handler instanceof HandlerMethod) {
+            timings.setEndpoint(requestTimingMetrics.findEndpoint((HandlerMethod) handler, request));
+        }
+        return true;
+    }
+}
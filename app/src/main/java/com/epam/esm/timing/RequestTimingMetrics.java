@@ -0,0 +1,118 @@
+package com.epam.esm.timing;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Histograms of request phase durations and response sizes per endpoint. Meters of an endpoint are created on
+ * its first request and found by handler method afterwards, histograms have fixed buckets, so memory doesn't
+ * grow with count of requests and recording doesn't allocate. Requests which didn't reach a handler, for
+ * example rejected by authentication, are recorded as {@code unmatched} endpoint.
+ */
+@Component
+public class RequestTimingMetrics {
+    public static final String PHASE_TIMER = "http.server.phase";
+    public static final String RESPONSE_SIZE = "http.server.response.size";
+    public static final String ENDPOINT_TAG = "endpoint";
+    public static final String PHASE_TAG = "phase";
+    public static final String UNMATCHED_ENDPOINT = "unmatched";
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+    private static final Duration MINIMUM_EXPECTED_DURATION = Duration.ofNanos(1000);
+    private static final Duration MAXIMUM_EXPECTED_DURATION = Duration.ofSeconds(30);
+    private static final RequestPhase[] PHASES = RequestPhase.values();
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<Method, EndpointMeters> endpoints = new ConcurrentHashMap<>();
+    private final EndpointMeters unmatched;
+
+    public RequestTimingMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.unmatched = new EndpointMeters(UNMATCHED_ENDPOINT);
+    }
+
+    /**
+     * Finds meters of the endpoint served by handler method, creates them on the first request.
+     *
+     * @param handlerMethod handler of the request
+     * @param request       the request, its matched path pattern names the endpoint
+     * @return meters of the endpoint
+     */
+    public EndpointMeters findEndpoint(HandlerMethod handlerMethod, HttpServletRequest request) {
+        EndpointMeters endpointMeters = endpoints.get(handlerMethod.getMethod());
+        if (endpointMeters != null) {
+            return endpointMeters;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String name = request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+        return endpoints.computeIfAbsent(handlerMethod.getMethod(), key -> new EndpointMeters(name));
+    }
+
+    /**
+     * Returns meters of all endpoints which received requests.
+     *
+     * @return meters of endpoints
+     */
+    public Collection<EndpointMeters> findAllEndpoints() {
+        return endpoints.values();
+    }
+
+    void record(RequestTimings timings, long responseBytes) {
+        Object endpoint = timings.getEndpoint();
+        EndpointMeters endpointMeters = endpoint instanceof EndpointMeters ? (EndpointMeters) endpoint : unmatched;
+        for (RequestPhase phase : PHASES) {
+            endpointMeters.phaseTimers[phase.ordinal()].record(timings.getNanos(phase), TimeUnit.NANOSECONDS);
+        }
+        endpointMeters.responseSize.record(responseBytes);
+    }
+
+    /**
+     * Phase timers and response size summary of one endpoint.
+     */
+    public class EndpointMeters {
+        private final String name;
+        private final Timer[] phaseTimers = new Timer[PHASES.length];
+        private final DistributionSummary responseSize;
+
+        EndpointMeters(String name) {
+            this.name = name;
+            for (RequestPhase phase : PHASES) {
+                phaseTimers[phase.ordinal()] = Timer.builder(PHASE_TIMER)
+                        .tag(ENDPOINT_TAG, name)
+                        .tag(PHASE_TAG, phase.getMetricName())
+                        .publishPercentiles(PERCENTILES)
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(MINIMUM_EXPECTED_DURATION)
+                        .maximumExpectedValue(MAXIMUM_EXPECTED_DURATION)
+                        .register(meterRegistry);
+            }
+            responseSize = DistributionSummary.builder(RESPONSE_SIZE)
+                    .tag(ENDPOINT_TAG, name)
+                    .baseUnit("bytes")
+                    .publishPercentiles(PERCENTILES)
+                    .register(meterRegistry);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Timer getPhaseTimer(RequestPhase phase) {
+            return phaseTimers[phase.ordinal()];
+        }
+
+        public DistributionSummary getResponseSize() {
+            return responseSize;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.epam.esm.timing;
+
+/**
+ * Durations of {@link RequestPhase phases} of the request processed by the current thread. Every thread has one
+ * instance which is reset by {@link RequestTimingFilter} at the start of each request, so recording doesn't
+ * allocate. Outside of a request recording does nothing, for example for DAO calls of scheduled tasks.
+ */
+public final class RequestTimings {
+    private static final ThreadLocal<RequestTimings> CURRENT = ThreadLocal.withInitial(RequestTimings::new);
+    private static final RequestPhase[] PHASES = RequestPhase.values();
+    private final long[] phaseNanos = new long[PHASES.length];
+    private final int[] depths = new int[PHASES.length];
+    private boolean active;
+    private long requestStart;
+    private long handlerEnd;
+    private Object endpoint;
+
+    private RequestTimings() {
+    }
+
+    /**
+     * Returns timings of the request processed by the current thread.
+     *
+     * @return timings of the current thread
+     */
+    public static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Adds time elapsed since start to the phase of the current request.
+     *
+     * @param phase measured phase
+     * @param start start of measurement in terms of {@link System#nanoTime()}
+     */
+    public static void record(RequestPhase phase, long start) {
+        CURRENT.get().add(phase, System.nanoTime() - start);
+    }
+
+    /**
+     * Marks entry into the phase which may be entered again before it is exited, for example a DAO called from
+     * another DAO.
+     *
+     * @param phase entered phase
+     */
+    public void enter(RequestPhase phase) {
+        depths[phase.ordinal()]++;
+    }
+
+    /**
+     * Marks exit from the phase and adds its duration if it is the outermost entry.
+     *
+     * @param phase exited phase
+     * @param start start of the outermost entry in terms of {@link System#nanoTime()}
+     */
+    public void exit(RequestPhase phase, long start) {
+        if (--depths[phase.ordinal()] == 0) {
+            add(phase, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Adds duration to the phase.
+     *
+     * @param phase measured phase
+     * @param nanos duration in nanoseconds
+     */
+    public void add(RequestPhase phase, long nanos) {
+        if (active) {
+            phaseNanos[phase.ordinal()] += nanos;
+        }
+    }
+
+    /**
+     * Returns duration of the phase recorded so far.
+     *
+     * @param phase measured phase
+     * @return duration in nanoseconds
+     */
+    public long getNanos(RequestPhase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    /**
+     * Returns time elapsed since the start of the request.
+     *
+     * @return duration in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return System.nanoTime() - requestStart;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public Object getEndpoint() {
+        return endpoint;
+    }
+
+    public void setEndpoint(Object endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Marks that the handler returned and serialization of response body starts.
+     */
+    public void markHandlerEnd() {
+        if (active && handlerEnd == 0) {
+            handlerEnd = System.nanoTime();
+        }
+    }
+
+    /**
+     * Copies timings measured so far, so a request processed asynchronously can be completed after the thread
+     * moves on to other requests.
+     *
+     * @return copy of timings
+     */
+    RequestTimings detach() {
+        RequestTimings detached = new RequestTimings();
+        System.arraycopy(phaseNanos, 0, detached.phaseNanos, 0, phaseNanos.length);
+        detached.endpoint = endpoint;
+        detached.requestStart = requestStart;
+        detached.handlerEnd = handlerEnd;
+        return detached;
+    }
+
+    void start() {
+        for (int i = 0; i < phaseNanos.length; i++) {
+            phaseNanos[i] = 0;
+            depths[i] = 0;
+        }
+        endpoint = null;
+        handlerEnd = 0;
+        requestStart = System.nanoTime();
+        active = true;
+    }
+
+    /**
+     * Completes the request: serialization is time since the handler returned, other is total time not covered
+     * by measured phases.
+     */
+    void finish() {
+        long end = System.nanoTime();
+        long total = end - requestStart;
+        phaseNanos[RequestPhase.SERIALIZATION.ordinal()] = handlerEnd == 0 ? 0 : end - handlerEnd;
+        phaseNanos[RequestPhase.TOTAL.ordinal()] = total;
+        long measured = 0;
+        for (RequestPhase phase : PHASES) {
+            if (phase != RequestPhase.OTHER && phase != RequestPhase.TOTAL) {
+                measured += phaseNanos[phase.ordinal()];
+            }
+        }
+        phaseNanos[RequestPhase.OTHER.ordinal()] = Math.max(0, total - measured);
+        active = false;
+    }
+}
@@ -0,0 +1,64 @@
+package com.epam.esm.timing;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Locale;
+
+/**
+ * Marks the end of the handler before response body is written, so the rest of the request is measured as
+ * serialization. If the request has {@code X-Server-Timing} header, adds {@code Server-Timing} header with
+ * phases measured so far, for example {@code auth;dur=0.210, db;dur=3.104, mapping;dur=0.051,
+ * links;dur=0.340, app;dur=4.012} in milliseconds, where {@code app} is time until body is written.
+ * Serialization isn't included, because headers are sent before body.
+ */
+@ControllerAdvice
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+    public static final String REQUEST_HEADER = "X-Server-Timing";
+    public static final String RESPONSE_HEADER = "Server-Timing";
+    private static final RequestPhase[] HEADER_PHASES = {RequestPhase.AUTHENTICATION, RequestPhase.DATABASE,
+            RequestPhase.MAPPING, RequestPhase.LINKS};
+    private static final String APP_METRIC = "app";
+    private static final String METRIC_FORMAT = "%s;dur=%.3f";
+    private static final String METRIC_SEPARATOR = ", ";
+    private static final double NANOS_IN_MILLI = 1_000_000.0;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body,
+                                  MethodParameter returnType,
+                                  MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request,
+                                  ServerHttpResponse response) {
+        RequestTimings timings = RequestTimings.current();
+        timings.markHandlerEnd();
+        if (timings.isActive() && request.getHeaders().containsKey(REQUEST_HEADER)) {
+            response.getHeaders().add(RESPONSE_HEADER, formatServerTiming(timings));
+        }
+        return body;
+    }
+
+    private static String formatServerTiming(RequestTimings timings) {
+        StringBuilder serverTiming = new StringBuilder();
+        for (RequestPhase phase : HEADER_PHASES) {
+            appendMetric(serverTiming, phase.getMetricName(), timings.getNanos(phase));
+            serverTiming.append(METRIC_SEPARATOR);
+        }
+        appendMetric(serverTiming, APP_METRIC, timings.getElapsedNanos());
+        return serverTiming.toString();
+    }
+
+    private static void appendMetric(StringBuilder serverTiming, String name, long nanos) {
+        serverTiming.append(String.format(Locale.ROOT, METRIC_FORMAT, name, nanos / NANOS_IN_MILLI));
+    }
+}
@@ -1,5 +1,6 @@
 package com.epam.esm.util;
 
+import com.epam.esm.util.entity.SearchOperator;
 import com.epam.esm.util.entity.SearchUnit;
 import com.epam.esm.util.entity.SortUnit;
 
@@ -11,10 +12,24 @@ import java.util.List;
  */
 public class CriteriaConstructor {
     private static final String DESC = "DESC";
+    private static final String ID = "id";
+    private static final char OPERATOR_SEPARATOR = ':';
+    private static final int BETWEEN_VALUES = 2;
 
     private CriteriaConstructor() {
     }
 
+    /**
+     * Converts search fields and expressions to search criteria. Search field may be followed by operator
+     * separated by {@code :}, for example {@code price:gte}, otherwise {@link SearchOperator#CONTAINS} is used.
+     * Values of {@link SearchOperator#BETWEEN} and {@link SearchOperator#IN} are separated by
+     * {@value SearchUnit#VALUE_SEPARATOR}, for example {@code 10;20}.
+     *
+     * @param searchFields      search fields with optional operators
+     * @param searchExpressions search expressions
+     * @return list of search units, expressions without field are ignored
+     * @throws IllegalArgumentException if operator is not supported or count of values doesn't match it
+     */
     public static List<SearchUnit> convertListsToSearchCriteria(List<String> searchFields,
                                                                 List<String> searchExpressions) {
         List<SearchUnit> searchCriteria = new ArrayList<>();
@@ -24,13 +39,25 @@ public class CriteriaConstructor {
         int size = searchFields.size();
         for (int i = 0; i < size; i++) {
             if (i < searchExpressions.size()) {
-                SearchUnit searchUnit = new SearchUnit(searchFields.get(i), searchExpressions.get(i));
-                searchCriteria.add(searchUnit);
+                searchCriteria.add(toSearchUnit(searchFields.get(i), searchExpressions.get(i)));
             }
         }
         return searchCriteria;
     }
 
+    private static SearchUnit toSearchUnit(String searchField, String searchExpression) {
+        int separator = searchField.lastIndexOf(OPERATOR_SEPARATOR);
+        if (separator < 0) {
+            return new SearchUnit(searchField, searchExpression);
+        }
+        SearchOperator operator = SearchOperator.of(searchField.substring(separator + 1));
+        SearchUnit searchUnit = new SearchUnit(searchField.substring(0, separator), searchExpression, operator);
+        if (operator == SearchOperator.BETWEEN && searchUnit.getSearchValues().size() != BETWEEN_VALUES) {
+            throw new IllegalArgumentException("Search operator between requires two values");
+        }
+        return searchUnit;
+    }
+
     public static List<SortUnit> convertListsToSortCriteria(List<String> sortFields,
                                                             List<String> sortTypes) {
         List<SortUnit> sortCriteria = new ArrayList<>();
@@ -53,4 +80,23 @@ public class CriteriaConstructor {
         }
         return sortCriteria;
     }
+
+    /**
+     * Appends ascending sort by id to the sort criteria if it isn't sorted by id yet, so order of records
+     * becomes deterministic and can be used for keyset pagination.
+     *
+     * @param sortCriteria sort criteria to append tiebreaker to
+     * @return new list of sort criteria which ends with unique field
+     */
+    public static List<SortUnit> appendIdTiebreaker(List<SortUnit> sortCriteria) {
+        List<SortUnit> keysetSortCriteria = new ArrayList<>();
+        for (SortUnit sortUnit : sortCriteria) {
+            keysetSortCriteria.add(sortUnit);
+            if (ID.equals(sortUnit.getSortField())) {
+                return keysetSortCriteria;
+            }
+        }
+        keysetSortCriteria.add(new SortUnit(ID, true));
+        return keysetSortCriteria;
+    }
 }
@@ -0,0 +1,52 @@
+package com.epam.esm.util;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Csv writer writes rows of values as comma separated values as described in RFC 4180. Values which
+ * contain delimiter, quote or line break are quoted, null values are written as empty fields.
+ */
+public class CsvWriter {
+    private static final char DELIMITER = ',';
+    private static final char QUOTE = '"';
+    private static final String LINE_BREAK = "\r\n";
+    private final Writer writer;
+
+    public CsvWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Writes values as a single row.
+     *
+     * @param values values of the row
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeRow(Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(DELIMITER);
+            }
+            if (values[i] != null) {
+                writeValue(values[i].toString());
+            }
+        }
+        writer.write(LINE_BREAK);
+    }
+
+    private void writeValue(String value) throws IOException {
+        boolean quoted = false;
+        for (int i = 0; i < value.length() && !quoted; i++) {
+            char c = value.charAt(i);
+            quoted = c == DELIMITER || c == QUOTE || c == '\n' || c == '\r';
+        }
+        if (!quoted) {
+            writer.write(value);
+            return;
+        }
+        writer.write(QUOTE);
+        writer.write(value.replace("\"", "\"\""));
+        writer.write(QUOTE);
+    }
+}
@@ -0,0 +1,149 @@
+package com.epam.esm.util;
+
+import com.epam.esm.util.entity.CursorPage;
+import com.epam.esm.util.entity.SortUnit;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Cursor converter is class for converting sort key values of the last fetched record into opaque
+ * continuation token and back. Token is bound to the sort criteria it was created with, so it can't be
+ * used with another sort criteria.
+ */
+public class CursorConverter {
+    private static final String ASC = "asc";
+    private static final String DESC = "desc";
+    private static final char FIELD_DELIMITER = ':';
+    private static final char UNIT_DELIMITER = ',';
+    private static final String INVALID_CURSOR_MESSAGE = "The supplied cursor is invalid";
+
+    private CursorConverter() {
+    }
+
+    /**
+     * Creates page of records with continuation token. Token is created only if page is full, because
+     * otherwise there are no more records to fetch.
+     *
+     * @param content      fetched records
+     * @param sortCriteria sort criteria with unique tiebreaker which was used to fetch records
+     * @param limit        maximum count of records in the page
+     * @param <T>          the type of records
+     * @return page of records
+     */
+    public static <T> CursorPage<T> toPage(List<T> content, List<SortUnit> sortCriteria, int limit) {
+        String nextCursor = null;
+        if (limit > 0 && content.size() == limit) {
+            nextCursor = encode(extractSortKeys(content.get(content.size() - 1), sortCriteria), sortCriteria);
+        }
+        return new CursorPage<>(content, nextCursor);
+    }
+
+    /**
+     * Reads values of sort fields from provided object.
+     *
+     * @param entity       object to read values from
+     * @param sortCriteria sort criteria
+     * @return list of string representations of sort key values
+     */
+    public static List<String> extractSortKeys(Object entity, List<SortUnit> sortCriteria) {
+        BeanWrapper beanWrapper = new BeanWrapperImpl(entity);
+        List<String> sortKeys = new ArrayList<>(sortCriteria.size());
+        for (SortUnit sortUnit : sortCriteria) {
+            sortKeys.add(ValueConverter.toString(beanWrapper.getPropertyValue(sortUnit.getSortField())));
+        }
+        return sortKeys;
+    }
+
+    /**
+     * Encodes sort key values into continuation token.
+     *
+     * @param sortKeys     sort key values of the last fetched record
+     * @param sortCriteria sort criteria which was used to fetch record
+     * @return continuation token
+     */
+    public static String encode(List<String> sortKeys, List<SortUnit> sortCriteria) {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        try (DataOutputStream outputStream = new DataOutputStream(byteArrayOutputStream)) {
+            writeString(outputStream, signature(sortCriteria));
+            outputStream.writeInt(sortKeys.size());
+            for (String sortKey : sortKeys) {
+                outputStream.writeBoolean(sortKey != null);
+                if (sortKey != null) {
+                    writeString(outputStream, sortKey);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(byteArrayOutputStream.toByteArray());
+    }
+
+    /**
+     * Decodes continuation token into sort key values.
+     *
+     * @param cursor       continuation token, may be null
+     * @param sortCriteria sort criteria which is used to fetch next records
+     * @return list of sort key values or empty list if cursor is null or empty
+     * @throws IllegalArgumentException if cursor is malformed or was created with another sort criteria
+     */
+    public static List<String> decode(String cursor, List<SortUnit> sortCriteria) {
+        List<String> sortKeys = new ArrayList<>();
+        if (cursor == null || cursor.isEmpty()) {
+            return sortKeys;
+        }
+        try (DataInputStream inputStream = new DataInputStream(
+                new ByteArrayInputStream(Base64.getUrlDecoder().decode(cursor)))) {
+            if (!signature(sortCriteria).equals(readString(inputStream))) {
+                throw new IllegalArgumentException(INVALID_CURSOR_MESSAGE);
+            }
+            int size = inputStream.readInt();
+            if (size != sortCriteria.size()) {
+                throw new IllegalArgumentException(INVALID_CURSOR_MESSAGE);
+            }
+            for (int i = 0; i < size; i++) {
+                sortKeys.add(inputStream.readBoolean() ? readString(inputStream) : null);
+            }
+            if (inputStream.available() > 0) {
+                throw new IllegalArgumentException(INVALID_CURSOR_MESSAGE);
+            }
+        } catch (IOException | IllegalArgumentException | NegativeArraySizeException e) {
+            throw new IllegalArgumentException(INVALID_CURSOR_MESSAGE, e);
+        }
+        return sortKeys;
+    }
+
+    private static String signature(List<SortUnit> sortCriteria) {
+        StringBuilder signature = new StringBuilder();
+        for (SortUnit sortUnit : sortCriteria) {
+            if (signature.length() > 0) {
+                signature.append(UNIT_DELIMITER);
+            }
+            signature.append(sortUnit.getSortField())
+                    .append(FIELD_DELIMITER)
+                    .append(sortUnit.isAscending() ? ASC : DESC);
+        }
+        return signature.toString();
+    }
+
+    private static void writeString(DataOutputStream outputStream, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        outputStream.writeInt(bytes.length);
+        outputStream.write(bytes);
+    }
+
+    private static String readString(DataInputStream inputStream) throws IOException {
+        int length = inputStream.readInt();
+        if (length > inputStream.available()) {
+            throw new EOFException();
+        }
+        byte[] bytes = new byte[length];
+        inputStream.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
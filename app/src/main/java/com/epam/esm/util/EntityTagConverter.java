@@ -0,0 +1,54 @@
+package com.epam.esm.util;
+
+/**
+ * EntityTagConverter class is responsible for converting entity version to strong entity tag and matching
+ * it against {@code If-Match} header value.
+ */
+public class EntityTagConverter {
+    private static final String ANY = "*";
+    private static final String WEAK_PREFIX = "W/";
+    private static final String QUOTE = "\"";
+    private static final String SEPARATOR = ",";
+
+    private EntityTagConverter() {
+    }
+
+    /**
+     * Converts version to quoted strong entity tag.
+     *
+     * @param version entity version
+     * @return entity tag
+     */
+    public static String toEntityTag(long version) {
+        return QUOTE + version + QUOTE;
+    }
+
+    /**
+     * Checks if {@code If-Match} header value matches version with strong comparison, so weak tags are never
+     * matched. Asterisk matches any version.
+     *
+     * @param ifMatch value of {@code If-Match} header, comma separated list of entity tags
+     * @param version current entity version
+     * @return true if any of entity tags matches version
+     */
+    public static boolean matches(String ifMatch, long version) {
+        String entityTag = toEntityTag(version);
+        for (String candidate : ifMatch.split(SEPARATOR)) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals(ANY) || (!trimmed.startsWith(WEAK_PREFIX) && trimmed.equals(entityTag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if {@code If-Match} header value is asterisk, which matches any current representation.
+     *
+     * @param ifMatch value of {@code If-Match} header
+     * @return true if value is asterisk
+     */
+    public static boolean isAny(String ifMatch) {
+        return ifMatch.trim().equals(ANY);
+    }
+}
@@ -0,0 +1,89 @@
+package com.epam.esm.util;
+
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * URI template of a controller method path split into literal parts once, so links are expanded by string
+ * concatenation. Unlike {@code linkTo(methodOn(...))} it doesn't record a proxy invocation and doesn't parse
+ * and expand the template reflectively for every link, which matters when links are built for every record
+ * of a page. Base URI is resolved once per request by {@link #currentBaseUri()}.
+ */
+public class LinkTemplate {
+    private static final char VARIABLE_START = '{';
+    private static final char VARIABLE_END = '}';
+    private final String template;
+    private final String[] literals;
+
+    private LinkTemplate(String template, String[] literals) {
+        this.template = template;
+        this.literals = literals;
+    }
+
+    /**
+     * Splits path template to literal parts.
+     *
+     * @param template path template starting with slash, variables are enclosed in braces
+     * @return compiled template
+     * @throws IllegalArgumentException if braces of template are not balanced
+     */
+    public static LinkTemplate compile(String template) {
+        List<String> literals = new ArrayList<>();
+        int literalStart = 0;
+        int variableStart;
+        while ((variableStart = template.indexOf(VARIABLE_START, literalStart)) >= 0) {
+            int variableEnd = template.indexOf(VARIABLE_END, variableStart);
+            if (variableEnd < 0) {
+                throw new IllegalArgumentException("Unclosed variable in template " + template);
+            }
+            literals.add(template.substring(literalStart, variableStart));
+            literalStart = variableEnd + 1;
+        }
+        literals.add(template.substring(literalStart));
+        return new LinkTemplate(template, literals.toArray(new String[0]));
+    }
+
+    /**
+     * Returns base URI of the current request, to which templates are appended.
+     *
+     * @return scheme, host, port and servlet mapping of the current request
+     */
+    public static String currentBaseUri() {
+        return ServletUriComponentsBuilder.fromCurrentServletMapping().toUriString();
+    }
+
+    /**
+     * Expands template with provided values in order of variables.
+     *
+     * @param baseUri base URI of the current request
+     * @param values  values of variables, they must be URI safe
+     * @return expanded URI
+     */
+    public String expand(String baseUri, Object... values) {
+        if (values.length != literals.length - 1) {
+            throw new IllegalArgumentException("Template " + template + " expects " + (literals.length - 1)
+                    + " values");
+        }
+        StringBuilder uri = new StringBuilder(baseUri.length() + template.length() + 16);
+        uri.append(baseUri).append(literals[0]);
+        for (int i = 0; i < values.length; i++) {
+            uri.append(values[i]).append(literals[i + 1]);
+        }
+        return uri.toString();
+    }
+
+    /**
+     * Creates templated link, which is expanded by the client.
+     *
+     * @param baseUri  base URI of the current request
+     * @param relation link relation
+     * @return templated link
+     */
+    public Link toTemplatedLink(String baseUri, LinkRelation relation) {
+        return Link.of(baseUri + template, relation);
+    }
+}
@@ -0,0 +1,74 @@
+package com.epam.esm.util;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Value converter is class for converting string representation of entity attribute values
+ * to the java type of the attribute and back.
+ */
+public class ValueConverter {
+    private ValueConverter() {
+    }
+
+    /**
+     * Converts value to its string representation which can be parsed by {@link #fromString(String, Class)}.
+     *
+     * @param value value to convert
+     * @return string representation of value or null if value is null
+     */
+    public static String toString(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).toPlainString();
+        }
+        if (value instanceof Enum) {
+            return ((Enum<?>) value).name();
+        }
+        return value.toString();
+    }
+
+    /**
+     * Converts string to the provided java type.
+     *
+     * @param value string to convert
+     * @param type  java type of attribute
+     * @return converted value or null if value is null
+     * @throws IllegalArgumentException if value can't be converted to provided type
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Object fromString(String value, Class<?> type) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            if (String.class.equals(type)) {
+                return value;
+            }
+            if (Long.class.equals(type) || long.class.equals(type)) {
+                return Long.valueOf(value);
+            }
+            if (Integer.class.equals(type) || int.class.equals(type)) {
+                return Integer.valueOf(value);
+            }
+            if (BigDecimal.class.equals(type)) {
+                return new BigDecimal(value);
+            }
+            if (LocalDateTime.class.equals(type)) {
+                return LocalDateTime.parse(value);
+            }
+            if (Boolean.class.equals(type) || boolean.class.equals(type)) {
+                return Boolean.valueOf(value);
+            }
+            if (type.isEnum()) {
+                return Enum.valueOf((Class<? extends Enum>) type, value);
+            }
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Value '" + value + "' can't be converted to " + type.getSimpleName(), e);
+        }
+        throw new IllegalArgumentException("Attribute type " + type.getSimpleName() + " is not supported");
+    }
+}
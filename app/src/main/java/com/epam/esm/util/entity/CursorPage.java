@@ -0,0 +1,23 @@
+package com.epam.esm.util.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Page of records fetched in keyset mode. {@code nextCursor} is an opaque continuation token which
+ * encodes sort key values of the last record, it is null when there are no more records to fetch.
+ *
+ * @param <T> the type of page records
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> content;
+    private String nextCursor;
+}
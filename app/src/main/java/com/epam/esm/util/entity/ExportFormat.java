@@ -0,0 +1,25 @@
+package com.epam.esm.util.entity;
+
+/**
+ * Format of exported records.
+ */
+public enum ExportFormat {
+    /**
+     * Newline delimited JSON, one record per line.
+     */
+    NDJSON("application/x-ndjson"),
+    /**
+     * Comma separated values with header line.
+     */
+    CSV("text/csv");
+
+    private final String mediaType;
+
+    ExportFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+}
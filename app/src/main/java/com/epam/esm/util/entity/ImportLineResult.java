@@ -0,0 +1,17 @@
+package com.epam.esm.util.entity;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportLineResult {
+    private long line;
+    private ImportStatus status;
+    private Long id;
+    private String message;
+}
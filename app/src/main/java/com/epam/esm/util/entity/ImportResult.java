@@ -0,0 +1,26 @@
+package com.epam.esm.util.entity;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Summary of bulk import with result of every non-blank line.
+ */
+@Data
+public class ImportResult {
+    private int created;
+    private int rejected;
+    private int failed;
+    private List<ImportLineResult> lines = new ArrayList<>();
+
+    public void add(ImportLineResult lineResult) {
+        switch (lineResult.getStatus()) {
+            case CREATED -> created++;
+            case REJECTED -> rejected++;
+            case FAILED -> failed++;
+        }
+        lines.add(lineResult);
+    }
+}
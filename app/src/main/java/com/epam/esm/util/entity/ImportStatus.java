@@ -0,0 +1,19 @@
+package com.epam.esm.util.entity;
+
+/**
+ * Outcome of importing a single line.
+ */
+public enum ImportStatus {
+    /**
+     * Record is stored.
+     */
+    CREATED,
+    /**
+     * Record is malformed or doesn't pass validation.
+     */
+    REJECTED,
+    /**
+     * Record is valid, but transaction of its chunk failed.
+     */
+    FAILED
+}
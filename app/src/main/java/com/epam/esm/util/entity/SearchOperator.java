@@ -0,0 +1,67 @@
+package com.epam.esm.util.entity;
+
+import java.util.Locale;
+
+/**
+ * Operator which compares entity attribute with search expression. Values are converted to the java type of the
+ * attribute, so comparison is done by database on typed values and can be served by index, except of
+ * {@link #CONTAINS} on text attributes.
+ */
+public enum SearchOperator {
+    /**
+     * Text attribute contains expression, {@code LIKE '%expression%'}. Other attributes are compared for
+     * equality.
+     */
+    CONTAINS,
+    /**
+     * Attribute is equal to value.
+     */
+    EQ,
+    /**
+     * Attribute is not equal to value.
+     */
+    NE,
+    /**
+     * Attribute is less than value.
+     */
+    LT,
+    /**
+     * Attribute is less than or equal to value.
+     */
+    LTE,
+    /**
+     * Attribute is greater than value.
+     */
+    GT,
+    /**
+     * Attribute is greater than or equal to value.
+     */
+    GTE,
+    /**
+     * Attribute is in range of two values, both inclusive.
+     */
+    BETWEEN,
+    /**
+     * Attribute is equal to one of values.
+     */
+    IN,
+    /**
+     * Text attribute starts with expression, {@code LIKE 'expression%'}.
+     */
+    PREFIX;
+
+    /**
+     * Finds operator by name ignoring case.
+     *
+     * @param name name of operator, for example {@code gte}
+     * @return found operator
+     * @throws IllegalArgumentException if there is no operator with this name
+     */
+    public static SearchOperator of(String name) {
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Search operator '" + name + "' is not supported", e);
+        }
+    }
+}
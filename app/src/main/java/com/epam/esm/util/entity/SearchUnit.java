@@ -5,11 +5,29 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Describes condition on a single entity attribute. Operators {@link SearchOperator#BETWEEN} and
+ * {@link SearchOperator#IN} take several values separated by {@value #VALUE_SEPARATOR} in the search expression.
+ */
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class SearchUnit {
+    public static final String VALUE_SEPARATOR = ";";
     private String searchFieldName;
     private String searchExpression;
+    @Builder.Default
+    private SearchOperator operator = SearchOperator.CONTAINS;
+
+    public SearchUnit(String searchFieldName, String searchExpression) {
+        this(searchFieldName, searchExpression, SearchOperator.CONTAINS);
+    }
+
+    public List<String> getSearchValues() {
+        return Arrays.asList(searchExpression.split(VALUE_SEPARATOR, -1));
+    }
 }
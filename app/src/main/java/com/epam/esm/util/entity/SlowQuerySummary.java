@@ -0,0 +1,27 @@
+package com.epam.esm.util.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Aggregated executions of a slow SQL statement shape with types of bind parameters of its slowest execution
+ * and plan of its first slow execution.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlowQuerySummary {
+    private String sql;
+    private String parameterTypes;
+    private long count;
+    private double totalMillis;
+    private double meanMillis;
+    private double maxMillis;
+    private String plan;
+    private LocalDateTime lastSeen;
+}
@@ -0,0 +1,23 @@
+package com.epam.esm.util.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Describes tag expression to search gift certificates by. Gift certificate matches if it has all tags
+ * from {@code allOf}, at least one tag from {@code anyOf} and none of tags from {@code noneOf}. Empty or
+ * null list doesn't restrict the search.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TagFilter {
+    private List<String> allOf;
+    private List<String> anyOf;
+    private List<String> noneOf;
+}
@@ -0,0 +1,16 @@
+package com.epam.esm.util.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserTagUsage {
+    private Long userId;
+    private Long tagId;
+    private Long count;
+}
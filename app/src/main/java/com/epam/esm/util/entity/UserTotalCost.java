@@ -0,0 +1,17 @@
+package com.epam.esm.util.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserTotalCost {
+    private Long userId;
+    private BigDecimal totalCost;
+}
@@ -0,0 +1,66 @@
+-- Schema as Hibernate used to create it with ddl-auto=update, so existing databases are baselined at this version.
+-- Description is the only difference: Hibernate asked for varchar(65535), which MySQL can't hold in a row.
+
+CREATE TABLE tag
+(
+    id   BIGINT NOT NULL,
+    name VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE gift_certificate
+(
+    id               BIGINT NOT NULL,
+    name             VARCHAR(255),
+    description      LONGTEXT,
+    price            DECIMAL(19, 2),
+    duration_in_days INTEGER,
+    create_date      DATETIME,
+    last_update_date DATETIME,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE gift_certificate_has_tag
+(
+    gift_certificate_id BIGINT NOT NULL,
+    tag_id              BIGINT NOT NULL,
+    CONSTRAINT gift_certificate_has_tag_gift_certificate_fk
+        FOREIGN KEY (gift_certificate_id) REFERENCES gift_certificate (id),
+    CONSTRAINT gift_certificate_has_tag_tag_fk
+        FOREIGN KEY (tag_id) REFERENCES tag (id)
+);
+
+CREATE TABLE `user`
+(
+    id                BIGINT NOT NULL,
+    email             VARCHAR(255),
+    name              VARCHAR(255),
+    surname           VARCHAR(255),
+    password          VARCHAR(255),
+    registration_date DATETIME,
+    role              VARCHAR(255),
+    status            VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE `order`
+(
+    id                  BIGINT NOT NULL,
+    user_id             BIGINT NOT NULL,
+    gift_certificate_id BIGINT NOT NULL,
+    cost                DECIMAL(19, 2),
+    order_date          DATETIME,
+    PRIMARY KEY (id),
+    CONSTRAINT order_user_fk
+        FOREIGN KEY (user_id) REFERENCES `user` (id),
+    CONSTRAINT order_gift_certificate_fk
+        FOREIGN KEY (gift_certificate_id) REFERENCES gift_certificate (id)
+);
+
+-- Sequence shared by all entities with generated ids.
+
+CREATE TABLE hibernate_sequence
+(
+    next_val BIGINT
+);
+INSERT INTO hibernate_sequence VALUES (1);
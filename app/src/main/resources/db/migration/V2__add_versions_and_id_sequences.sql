@@ -0,0 +1,33 @@
+-- Versions of optimistic locking, which ETags of single entities are built from.
+ALTER TABLE tag ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE gift_certificate ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE `order` ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+-- Databases created by Hibernate on MySQL without strict mode hold description as mediumtext.
+ALTER TABLE gift_certificate MODIFY COLUMN description LONGTEXT;
+
+-- Sequence tables of PooledIdGenerator start past the greatest id taken from the shared sequence.
+
+CREATE TABLE tag_sequence
+(
+    next_val BIGINT
+);
+INSERT INTO tag_sequence SELECT COALESCE(MAX(id), 0) + 1 FROM tag;
+
+CREATE TABLE gift_certificate_sequence
+(
+    next_val BIGINT
+);
+INSERT INTO gift_certificate_sequence SELECT COALESCE(MAX(id), 0) + 1 FROM gift_certificate;
+
+CREATE TABLE user_sequence
+(
+    next_val BIGINT
+);
+INSERT INTO user_sequence SELECT COALESCE(MAX(id), 0) + 1 FROM `user`;
+
+CREATE TABLE order_sequence
+(
+    next_val BIGINT
+);
+INSERT INTO order_sequence SELECT COALESCE(MAX(id), 0) + 1 FROM `order`;
@@ -0,0 +1,17 @@
+-- Login, registration and token authentication find user by email, registration already rejects taken emails.
+CREATE UNIQUE INDEX user_email_uq ON `user` (email);
+
+-- Order history of a user is read in id order, optionally within range of order date. Most used tag of a user
+-- starts from orders of the user.
+CREATE INDEX order_user_id_order_date_id_idx ON `order` (user_id, order_date, id);
+
+-- Search by tag starts from tag and reaches certificates without reading rows of the link table.
+CREATE INDEX gift_certificate_has_tag_tag_id_gift_certificate_id_idx
+    ON gift_certificate_has_tag (tag_id, gift_certificate_id);
+
+-- Certificates are searched by tag names, tags by name equality or prefix. Tags added with certificates may
+-- repeat names of existing tags, so the index is not unique.
+CREATE INDEX tag_name_idx ON tag (name);
+
+-- Export reads certificates changed in range of dates.
+CREATE INDEX gift_certificate_last_update_date_id_idx ON gift_certificate (last_update_date, id);
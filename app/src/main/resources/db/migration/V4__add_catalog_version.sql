@@ -0,0 +1,8 @@
+-- Version of the catalog of gift certificates and tags, which entity tags of collection responses are built from.
+CREATE TABLE catalog_version
+(
+    id      INTEGER NOT NULL,
+    version BIGINT  NOT NULL,
+    PRIMARY KEY (id)
+);
+INSERT INTO catalog_version VALUES (1, 0);
@@ -0,0 +1,270 @@
+package com.epam.esm.controller;
+
+import com.epam.esm.entity.Role;
+import com.epam.esm.entity.Status;
+import com.epam.esm.entity.Tag;
+import com.epam.esm.generator.DataGenerator;
+import com.epam.esm.model.dao.metrics.StatementRecorder;
+import com.epam.esm.model.service.TagService;
+import com.epam.esm.security.JwtTokenProvider;
+import com.epam.esm.security.SecurityUser;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Budgets of JDBC statements executed by every controller endpoint against generated catalog. Requests are
+ * authenticated by JWT tokens like in production, account status of both users is cached before the tests.
+ * Collections of gift certificates and tags read catalog version and their changes increment it, which takes
+ * one statement each. Certificate found by id is read from the second-level cache together with its tags once
+ * it is cached. Empty page of orders of user takes one more statement, which checks that the user exists.
+ */
+@SpringBootTest(properties = {
+        "generator.tags=20",
+        "generator.users=30",
+        "generator.certificates=200",
+        "generator.orders=500",
+        "generator.words=50"})
+@AutoConfigureMockMvc
+@ActiveProfiles({"test", DataGenerator.PROFILE})
+@Import(StatementRecorder.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class StatementBudgetTest {
+    private static final String CERTIFICATES = "/api/v1/gift-certificates";
+    private static final String TAGS = "/api/v1/tags";
+    private static final String USERS = "/api/v1/users";
+    private static final String PASSWORD = "password";
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private StatementRecorder statementRecorder;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+    @Autowired
+    private TagService tagService;
+    private String adminToken;
+    private String userToken;
+    private long userId;
+    private String userEmail;
+    private long orderedCertificateId;
+    private String popularTagName;
+
+    @BeforeAll
+    void setUp() throws Exception {
+        List<Map<String, Object>> users = jdbcTemplate.queryForList("SELECT id, email FROM `user` ORDER BY id "
+                + "LIMIT 2");
+        long adminId = (Long) users.get(0).get("id");
+        jdbcTemplate.update("UPDATE `user` SET role = 'ADMIN' WHERE id = ?", adminId);
+        adminToken = jwtTokenProvider.createToken(new SecurityUser(adminId, (String) users.get(0).get("email"),
+                PASSWORD, Role.ADMIN, Status.ACTIVE));
+        userId = (Long) users.get(1).get("id");
+        userEmail = (String) users.get(1).get("email");
+        userToken = jwtTokenProvider.createToken(new SecurityUser(userId, userEmail, PASSWORD, Role.USER,
+                Status.ACTIVE));
+        orderedCertificateId = jdbcTemplate.queryForObject("SELECT MIN(gift_certificate_id) FROM `order`",
+                Long.class);
+        popularTagName = jdbcTemplate.queryForObject("SELECT t.name FROM tag t JOIN gift_certificate_has_tag l "
+                + "ON l.tag_id = t.id GROUP BY t.id, t.name ORDER BY COUNT(*) DESC, t.id LIMIT 1", String.class);
+        mockMvc.perform(get(USERS + "/" + userId).header(HttpHeaders.AUTHORIZATION, adminToken)).andExpect(status().isOk());
+        mockMvc.perform(get(USERS + "/" + userId).header(HttpHeaders.AUTHORIZATION, userToken)).andExpect(status().isOk());
+    }
+
+    @Test
+    void findAllCertificates_HundredRequested_ShouldFitBudget() {
+        assertBudget(3, get(CERTIFICATES).param("limit", "100"), userToken, status().isOk());
+    }
+
+    @Test
+    void findAllCertificates_OffsetAndSortGiven_ShouldFitBudget() {
+        assertBudget(3, get(CERTIFICATES).param("offset", "20").param("limit", "20")
+                .param("sortField", "name").param("sortType", "desc"), userToken, status().isOk());
+    }
+
+    @Test
+    void findAllCertificates_TagNameGiven_ShouldFitBudget() {
+        assertBudget(3, get(CERTIFICATES).param("limit", "20").param("tagName", popularTagName), userToken,
+                status().isOk());
+    }
+
+    @Test
+    void findCertificateById_ExistingIdGiven_ShouldFitBudget() {
+        assertBudget(2, get(CERTIFICATES + "/" + orderedCertificateId), userToken, status().isOk());
+    }
+
+    @Test
+    void findCertificateById_CachedCertificateGiven_ShouldNotQuery() throws Exception {
+        mockMvc.perform(get(CERTIFICATES + "/" + orderedCertificateId).header(HttpHeaders.AUTHORIZATION, userToken))
+                .andExpect(status().isOk());
+        assertBudget(0, get(CERTIFICATES + "/" + orderedCertificateId), userToken, status().isOk());
+    }
+
+    @Test
+    void addCertificate_NewAndExistingTagsGiven_ShouldFitBudget() {
+        String body = "{\"name\":\"budget\",\"description\":\"budget certificate\",\"price\":10,"
+                + "\"durationInDays\":5,\"tags\":[{\"name\":\"" + popularTagName + "\"},{\"name\":\"budget-new\"}]}";
+        assertBudget(6, post(CERTIFICATES).contentType(MediaType.APPLICATION_JSON).content(body), adminToken,
+                status().isCreated());
+    }
+
+    @Test
+    void importCertificates_ThreeLinesGiven_ShouldFitBudget() {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 3; i++) {
+            body.append("{\"name\":\"imported").append(i).append("\",\"description\":\"imported certificate\",")
+                    .append("\"price\":10,\"durationInDays\":5,\"tags\":[{\"name\":\"").append(popularTagName)
+                    .append("\"}]}\n");
+        }
+        assertBudget(7, post(CERTIFICATES + "/import").contentType(MediaType.APPLICATION_NDJSON)
+                .content(body.toString()), adminToken, status().isOk());
+    }
+
+    @Test
+    void updateCertificate_PriceGiven_ShouldFitBudget() {
+        long id = jdbcTemplate.queryForObject("SELECT MAX(id) - 1 FROM gift_certificate", Long.class);
+        assertBudget(5, patch(CERTIFICATES + "/" + id).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"price\":42}"), adminToken, status().isOk());
+    }
+
+    @Test
+    void deleteCertificate_NotOrderedGiven_ShouldFitBudget() {
+        long id = jdbcTemplate.queryForObject("SELECT MIN(id) FROM gift_certificate WHERE id NOT IN "
+                + "(SELECT gift_certificate_id FROM `order`)", Long.class);
+        assertBudget(6, delete(CERTIFICATES + "/" + id), adminToken, status().isOk());
+    }
+
+    @Test
+    void findAllTags_HundredRequested_ShouldFitBudget() {
+        assertBudget(2, get(TAGS).param("limit", "100"), userToken, status().isOk());
+    }
+
+    @Test
+    void findTagById_ExistingIdGiven_ShouldFitBudget() {
+        long id = jdbcTemplate.queryForObject("SELECT MIN(id) FROM tag", Long.class);
+        assertBudget(1, get(TAGS + "/" + id), userToken, status().isOk());
+    }
+
+    @Test
+    void addTag_NewNameGiven_ShouldFitBudget() {
+        assertBudget(3, post(TAGS).contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"budget-tag\"}"),
+                adminToken, status().isCreated());
+    }
+
+    @Test
+    void deleteTag_UnusedTagGiven_ShouldFitBudget() throws Exception {
+        Tag tag = tagService.add(Tag.builder().name("budget-unused").build());
+        assertBudget(4, delete(TAGS + "/" + tag.getId()), adminToken, status().isOk());
+    }
+
+    @Test
+    void findMostUsedTag_OrdersGiven_ShouldFitBudget() {
+        assertBudget(1, get(TAGS + "/popular"), userToken, status().isOk());
+    }
+
+    @Test
+    void findAllUsers_AllRequested_ShouldFitBudget() {
+        assertBudget(1, get(USERS).param("limit", "30"), adminToken, status().isOk());
+    }
+
+    @Test
+    void findUserById_ExistingIdGiven_ShouldFitBudget() {
+        assertBudget(1, get(USERS + "/" + (userId + 1)), adminToken, status().isOk());
+    }
+
+    @Test
+    void findOrdersOfUser_ExistingUserGiven_ShouldFitBudget() {
+        assertBudget(1, get(USERS + "/" + userId + "/orders").param("limit", "20"), userToken,
+                status().isOk());
+    }
+
+    @Test
+    void findOrdersOfUser_PageAfterLastOrderGiven_ShouldFitBudget() {
+        assertBudget(2, get(USERS + "/" + userId + "/orders").param("offset", "100000").param("limit", "20"),
+                userToken, status().isOk());
+    }
+
+    @Test
+    void makeOrder_ExistingCertificateGiven_ShouldFitBudget() {
+        assertBudget(3, post(USERS + "/" + userId + "/orders").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"id\":" + orderedCertificateId + "}"), userToken, status().isCreated());
+    }
+
+    @Test
+    void register_NewEmailGiven_ShouldFitBudget() {
+        String body = "{\"email\":\"budget@mail.com\",\"password\":\"password\",\"name\":\"budget\","
+                + "\"surname\":\"budget\"}";
+        assertAsyncBudget(2, post(USERS).contentType(MediaType.APPLICATION_JSON).content(body),
+                status().isCreated());
+    }
+
+    @Test
+    void login_ValidPasswordGiven_ShouldFitBudget() {
+        String body = "{\"email\":\"" + userEmail + "\",\"password\":\"" + PASSWORD + "\"}";
+        assertAsyncBudget(1, post("/api/v1/auth/login").contentType(MediaType.APPLICATION_JSON).content(body),
+                status().isOk());
+    }
+
+    @Test
+    void exportCertificates_AllGiven_ShouldFitBudget() {
+        assertBudget(2, get("/api/v1/export/gift-certificates"), adminToken, status().isOk());
+    }
+
+    @Test
+    void exportOrders_AllGiven_ShouldFitBudget() {
+        assertBudget(1, get("/api/v1/export/orders"), adminToken, status().isOk());
+    }
+
+    @Test
+    void findSlowQueries_ReportGiven_ShouldNotQueryDatabase() {
+        assertBudget(0, get("/api/v1/slow-queries"), adminToken, status().isOk());
+    }
+
+    @Test
+    void resetSlowQueries_ReportGiven_ShouldNotQueryDatabase() {
+        assertBudget(0, delete("/api/v1/slow-queries"), adminToken, status().isNoContent());
+    }
+
+    private void assertBudget(int budget, MockHttpServletRequestBuilder request, String token,
+                              ResultMatcher expectedStatus) {
+        MockHttpServletRequestBuilder authenticated = request.header(HttpHeaders.AUTHORIZATION, token);
+        statementRecorder.assertAtMost(budget, describe(authenticated),
+                () -> mockMvc.perform(authenticated).andExpect(expectedStatus));
+    }
+
+    private void assertAsyncBudget(int budget, MockHttpServletRequestBuilder asyncRequest,
+                                   ResultMatcher expectedStatus) {
+        statementRecorder.assertAtMost(budget, describe(asyncRequest), () -> {
+            MvcResult result = mockMvc.perform(asyncRequest)
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            mockMvc.perform(asyncDispatch(result)).andExpect(expectedStatus);
+        });
+    }
+
+    private static String describe(MockHttpServletRequestBuilder request) {
+        MockHttpServletRequest built = request.buildRequest(new MockServletContext());
+        return built.getMethod() + " " + built.getRequestURI() + "?" + built.getQueryString();
+    }
+}
@@ -0,0 +1,98 @@
+package com.epam.esm.controller.mapper;
+
+import com.epam.esm.entity.*;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DtoMapperTest {
+    private static final LocalDateTime DATE = LocalDateTime.of(2021, 2, 1, 12, 30, 15, 123000000);
+    private final DtoMapper dtoMapper = new DtoMapperImpl();
+    private final ModelMapper modelMapper = new ModelMapper();
+
+    @Test
+    void toDto_GiftCertificateGiven_ShouldBeEqualToModelMapperResult() {
+        GiftCertificate giftCertificate = createGiftCertificate(List.of(createTag(1L, "first"),
+                createTag(2L, "second")));
+        assertEquals(modelMapper.map(giftCertificate, GiftCertificateDto.class), dtoMapper.toDto(giftCertificate));
+    }
+
+    @Test
+    void toDto_GiftCertificateWithoutTagsGiven_ShouldBeEqualToModelMapperResult() {
+        GiftCertificate giftCertificate = createGiftCertificate(null);
+        giftCertificate.setDescription(null);
+        assertEquals(modelMapper.map(giftCertificate, GiftCertificateDto.class), dtoMapper.toDto(giftCertificate));
+    }
+
+    @Test
+    void toDto_GiftCertificateGiven_ShouldNotShareTagListWithEntity() {
+        GiftCertificate giftCertificate = createGiftCertificate(List.of(createTag(1L, "first")));
+        assertNotSame(giftCertificate.getTags(), dtoMapper.toDto(giftCertificate).getTags());
+    }
+
+    @Test
+    void toDto_TagGiven_ShouldBeEqualToModelMapperResult() {
+        Tag tag = createTag(3L, "third");
+        assertEquals(modelMapper.map(tag, TagDto.class), dtoMapper.toDto(tag));
+    }
+
+    @Test
+    void toDto_UserGiven_ShouldBeEqualToModelMapperResult() {
+        User user = createUser();
+        assertEquals(modelMapper.map(user, UserDto.class), dtoMapper.toDto(user));
+    }
+
+    @Test
+    void toDto_OrderGiven_ShouldBeEqualToModelMapperResult() {
+        Order order = Order.builder()
+                .id(5L)
+                .user(createUser())
+                .giftCertificate(createGiftCertificate(List.of(createTag(1L, "first"))))
+                .cost(new BigDecimal("12.50"))
+                .orderDate(DATE)
+                .version(2)
+                .build();
+        assertEquals(modelMapper.map(order, OrderDto.class), dtoMapper.toDto(order));
+    }
+
+    @Test
+    void toDto_NullGiven_ShouldReturnNull() {
+        assertNull(dtoMapper.toDto((Order) null));
+    }
+
+    private static GiftCertificate createGiftCertificate(List<Tag> tags) {
+        return GiftCertificate.builder()
+                .id(4L)
+                .name("certificate")
+                .description("description")
+                .price(new BigDecimal("12.50"))
+                .durationInDays(30)
+                .createDate(DATE)
+                .lastUpdateDate(DATE.plusDays(1))
+                .tags(tags)
+                .version(3)
+                .build();
+    }
+
+    private static Tag createTag(long id, String name) {
+        return Tag.builder().id(id).name(name).version(1).build();
+    }
+
+    private static User createUser() {
+        return User.builder()
+                .id(6L)
+                .email("user@mail.com")
+                .name("name")
+                .surname("surname")
+                .registrationDate(DATE)
+                .password("hash")
+                .role(Role.USER)
+                .status(Status.ACTIVE)
+                .build();
+    }
+}
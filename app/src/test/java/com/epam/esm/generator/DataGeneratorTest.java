@@ -0,0 +1,89 @@
+package com.epam.esm.generator;
+
+import com.epam.esm.entity.Tag;
+import com.epam.esm.model.dao.TagDao;
+import com.epam.esm.model.dao.exception.DaoException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "generator.tags=20",
+        "generator.users=30",
+        "generator.certificates=200",
+        "generator.orders=2000",
+        "generator.max-tags-per-certificate=4",
+        "generator.words=50",
+        "generator.rows-per-statement=7",
+        "generator.statements-per-batch=3"})
+@ActiveProfiles({"test", DataGenerator.PROFILE})
+class DataGeneratorTest {
+    private static final String CERTIFICATES_QUERY = "SELECT name, description, price, duration_in_days, "
+            + "create_date FROM gift_certificate WHERE id > ? ORDER BY id";
+    private static final String CERTIFICATE_TAGS_QUERY = "SELECT gift_certificate_id - ? AS certificate, "
+            + "tag_id - ? AS tag FROM gift_certificate_has_tag WHERE gift_certificate_id > ? ORDER BY 1, 2";
+    private static final String ORDERS_QUERY = "SELECT user_id - ? AS user_id, gift_certificate_id - ? AS "
+            + "certificate, cost, order_date FROM `order` WHERE id > ? ORDER BY id";
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private DataGenerator dataGenerator;
+    @Autowired
+    private TagDao tagDao;
+
+    @Test
+    void generate_SizesGiven_ShouldInsertConfiguredRowCounts() {
+        assertEquals(20, count("tag"));
+        assertEquals(30, count("`user`"));
+        assertEquals(200, count("gift_certificate"));
+        assertEquals(2000, count("`order`"));
+        long links = count("gift_certificate_has_tag");
+        assertTrue(links >= 200 && links <= 800);
+        assertEquals(links, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM (SELECT DISTINCT gift_certificate_id, "
+                + "tag_id FROM gift_certificate_has_tag) links", Long.class));
+    }
+
+    @Test
+    void generate_SkewGiven_ShouldConcentrateReferencesOnFirstRanks() {
+        List<Long> tagUsage = jdbcTemplate.queryForList("SELECT COUNT(*) FROM gift_certificate_has_tag "
+                + "GROUP BY tag_id ORDER BY tag_id", Long.class);
+        assertTrue(tagUsage.get(0) > tagUsage.get(tagUsage.size() - 1) * 5);
+        List<Long> ordersPerUser = jdbcTemplate.queryForList("SELECT COUNT(*) FROM `order` GROUP BY user_id "
+                + "ORDER BY COUNT(*) DESC", Long.class);
+        assertTrue(ordersPerUser.get(0) + ordersPerUser.get(1) + ordersPerUser.get(2) > 2000 * 0.4);
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM `order` o JOIN gift_certificate c "
+                + "ON c.id = o.gift_certificate_id WHERE o.order_date < c.create_date OR o.cost <> c.price", Long.class));
+    }
+
+    @Test
+    @Transactional
+    void add_AfterGeneration_ShouldAssignIdAfterGeneratedRows() throws DaoException {
+        Tag tag = tagDao.add(Tag.builder().name("added").build());
+        assertTrue(tag.getId() > 20);
+    }
+
+    @Test
+    @DirtiesContext
+    void generate_SameSeedGiven_ShouldAppendSameData() {
+        List<Map<String, Object>> certificates = jdbcTemplate.queryForList(CERTIFICATES_QUERY, 0);
+        List<Map<String, Object>> certificateTags = jdbcTemplate.queryForList(CERTIFICATE_TAGS_QUERY, 0, 0, 0);
+        List<Map<String, Object>> orders = jdbcTemplate.queryForList(ORDERS_QUERY, 0, 0, 0);
+        dataGenerator.generate();
+        assertEquals(certificates, jdbcTemplate.queryForList(CERTIFICATES_QUERY, 200));
+        assertEquals(certificateTags, jdbcTemplate.queryForList(CERTIFICATE_TAGS_QUERY, 200, 20, 200));
+        assertEquals(orders, jdbcTemplate.queryForList(ORDERS_QUERY, 30, 200, 2000));
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+}
@@ -0,0 +1,62 @@
+package com.epam.esm.generator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZipfDistributionTest {
+    private static final int SAMPLES = 100_000;
+
+    @Test
+    void sample_SameSeedGiven_ShouldReturnSameRanks() {
+        ZipfDistribution distribution = new ZipfDistribution(1000, 1);
+        SplittableRandom first = new SplittableRandom(5);
+        SplittableRandom second = new SplittableRandom(5);
+        for (int i = 0; i < SAMPLES; i++) {
+            assertEquals(distribution.sample(first), distribution.sample(second));
+        }
+    }
+
+    @Test
+    void sample_ExponentOneGiven_ShouldFollowHarmonicFrequencies() {
+        ZipfDistribution distribution = new ZipfDistribution(100, 1);
+        int[] counts = sample(distribution);
+        double harmonic = 0;
+        for (int rank = 1; rank <= 100; rank++) {
+            harmonic += 1.0 / rank;
+        }
+        assertEquals(SAMPLES / harmonic, counts[0], SAMPLES * 0.01);
+        assertEquals(SAMPLES / harmonic / 2, counts[1], SAMPLES * 0.01);
+        assertTrue(counts[0] > counts[99] * 50);
+    }
+
+    @Test
+    void sample_ZeroExponentGiven_ShouldBeUniform() {
+        int[] counts = sample(new ZipfDistribution(10, 0));
+        for (int count : counts) {
+            assertEquals(SAMPLES / 10.0, count, SAMPLES * 0.01);
+        }
+    }
+
+    @Test
+    void sample_SingleRankGiven_ShouldReturnZero() {
+        ZipfDistribution distribution = new ZipfDistribution(1, 2);
+        assertEquals(0, distribution.sample(new SplittableRandom(1)));
+    }
+
+    @Test
+    void constructor_NonPositiveSizeGiven_ShouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new ZipfDistribution(0, 1));
+    }
+
+    private static int[] sample(ZipfDistribution distribution) {
+        SplittableRandom random = new SplittableRandom(11);
+        int[] counts = new int[distribution.size()];
+        for (int i = 0; i < SAMPLES; i++) {
+            counts[distribution.sample(random)]++;
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,52 @@
+package com.epam.esm.model.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CaffeineStorageAccessTest {
+    private final AtomicLong ticker = new AtomicLong();
+
+    @Test
+    void putIntoCache_SizeExceeded_ShouldKeepMaximumSize() {
+        CaffeineStorageAccess storage = new CaffeineStorageAccess(100, Duration.ZERO, ticker::get);
+        for (long i = 0; i < 1000; i++) {
+            storage.putIntoCache(i, i, null);
+        }
+        CacheStatistics statistics = storage.getStatistics();
+        assertEquals(100, statistics.getSize());
+        assertEquals(900, statistics.getEvictionCount());
+    }
+
+    @Test
+    void putIntoCache_ScanOfColdEntries_ShouldKeepFrequentlyUsedEntry() {
+        CaffeineStorageAccess storage = new CaffeineStorageAccess(100, Duration.ZERO, ticker::get);
+        for (long i = -100; i < 0; i++) {
+            storage.putIntoCache(i, i, null);
+        }
+        storage.putIntoCache(-1L, "hot", null);
+        for (int i = 0; i < 10; i++) {
+            storage.getFromCache(-1L, null);
+        }
+        for (long i = 0; i < 1000; i++) {
+            storage.putIntoCache(i, i, null);
+        }
+        assertEquals("hot", storage.getFromCache(-1L, null));
+    }
+
+    @Test
+    void getFromCache_EntryExpired_ShouldReturnNull() {
+        CaffeineStorageAccess storage = new CaffeineStorageAccess(10, Duration.ofSeconds(1), ticker::get);
+        storage.putIntoCache(1L, "one", null);
+        assertEquals("one", storage.getFromCache(1L, null));
+        ticker.set(Duration.ofSeconds(1).toNanos());
+        assertNull(storage.getFromCache(1L, null));
+        CacheStatistics statistics = storage.getStatistics();
+        assertEquals(1, statistics.getHitCount());
+        assertEquals(1, statistics.getMissCount());
+        assertEquals(1, statistics.getEvictionCount());
+    }
+}
@@ -0,0 +1,34 @@
+package com.epam.esm.model.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CatalogVersionTest {
+    @Autowired
+    private CatalogVersion catalogVersion;
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void current_IncrementedByOtherNode_ShouldChange() {
+        CatalogVersion otherNode = new CatalogVersion(new JdbcTemplate(dataSource));
+        String previous = catalogVersion.current();
+        otherNode.increment();
+        assertNotEquals(previous, catalogVersion.current());
+        assertEquals(otherNode.current(), catalogVersion.current());
+    }
+
+    @Test
+    void current_NotIncremented_ShouldNotChange() {
+        assertEquals(catalogVersion.current(), catalogVersion.current());
+    }
+}
@@ -0,0 +1,83 @@
+package com.epam.esm.model.cache;
+
+import com.epam.esm.entity.Tag;
+import com.epam.esm.model.dao.TagDao;
+import com.epam.esm.model.dao.exception.DaoException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class EntityCacheRegionFactoryTest {
+    private static final String TAG_REGION = "tag";
+    @Autowired
+    private TagDao tagDao;
+    @Autowired
+    private EntityCacheRegionFactory regionFactory;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void findById_EntityCached_ShouldReturnEntityFromCache() {
+        long id = inTransaction(() -> tagDao.add(Tag.builder().name("cached").build()).getId());
+        long hitCount = hitCount();
+        Tag tag = inTransaction(() -> tagDao.findById(id).orElseThrow());
+        assertEquals("cached", tag.getName());
+        assertEquals(hitCount + 1, hitCount());
+        inTransaction(() -> tagDao.delete(id));
+    }
+
+    @Test
+    void findById_EntityUpdated_ShouldReturnUpdatedEntity() {
+        long id = inTransaction(() -> tagDao.add(Tag.builder().name("old").build()).getId());
+        inTransaction(() -> tagDao.update(Tag.builder().id(id).name("new").build()));
+        Tag tag = inTransaction(() -> tagDao.findById(id).orElseThrow());
+        assertEquals("new", tag.getName());
+        inTransaction(() -> tagDao.delete(id));
+    }
+
+    @Test
+    void findById_EntityDeleted_ShouldReturnEmptyOptional() {
+        long id = inTransaction(() -> tagDao.add(Tag.builder().name("deleted").build()).getId());
+        inTransaction(() -> tagDao.delete(id));
+        assertTrue(inTransaction(() -> tagDao.findById(id)).isEmpty());
+    }
+
+    @Test
+    void bindTo_RegionCreated_ShouldPublishRegionCounters() {
+        long id = inTransaction(() -> tagDao.add(Tag.builder().name("published").build()).getId());
+        inTransaction(() -> tagDao.findById(id).orElseThrow());
+        double hits = meterRegistry.get("cache.gets").tag("cache", TAG_REGION).tag("result", "hit")
+                .functionCounter()
+                .count();
+        assertEquals(hitCount(), hits);
+        assertTrue(meterRegistry.get("cache.size").tag("cache", TAG_REGION).gauge().value() > 0);
+        inTransaction(() -> tagDao.delete(id));
+    }
+
+    private <R> R inTransaction(DaoCallback<R> callback) {
+        return transactionTemplate.execute(status -> {
+            try {
+                return callback.execute();
+            } catch (DaoException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private long hitCount() {
+        return regionFactory.getStatistics(TAG_REGION).orElseThrow().getHitCount();
+    }
+
+    private interface DaoCallback<R> {
+        R execute() throws DaoException;
+    }
+}
@@ -0,0 +1,45 @@
+package com.epam.esm.model.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LruStorageAccessTest {
+    private final AtomicLong ticker = new AtomicLong();
+
+    @Test
+    void putIntoCache_SizeExceeded_ShouldEvictLeastRecentlyUsed() {
+        LruStorageAccess storage = new LruStorageAccess(2, Duration.ZERO, ticker::get);
+        storage.putIntoCache(1L, "one", null);
+        storage.putIntoCache(2L, "two", null);
+        storage.getFromCache(1L, null);
+        storage.putIntoCache(3L, "three", null);
+        assertTrue(storage.contains(1L));
+        assertFalse(storage.contains(2L));
+        assertTrue(storage.contains(3L));
+        assertEquals(new CacheStatistics(1, 0, 1, 2), storage.getStatistics());
+    }
+
+    @Test
+    void getFromCache_EntryExpired_ShouldReturnNull() {
+        LruStorageAccess storage = new LruStorageAccess(10, Duration.ofSeconds(1), ticker::get);
+        storage.putIntoCache(1L, "one", null);
+        ticker.set(Duration.ofMillis(999).toNanos());
+        assertEquals("one", storage.getFromCache(1L, null));
+        ticker.set(Duration.ofSeconds(1).toNanos());
+        assertNull(storage.getFromCache(1L, null));
+        assertEquals(new CacheStatistics(1, 1, 1, 0), storage.getStatistics());
+    }
+
+    @Test
+    void evictData_KeyGiven_ShouldRemoveEntryWithoutCountingEviction() {
+        LruStorageAccess storage = new LruStorageAccess(10, Duration.ZERO, ticker::get);
+        storage.putIntoCache(1L, "one", null);
+        storage.evictData(1L);
+        assertNull(storage.getFromCache(1L, null));
+        assertEquals(new CacheStatistics(0, 1, 0, 0), storage.getStatistics());
+    }
+}
@@ -0,0 +1,174 @@
+package com.epam.esm.model.dao;
+
+import com.epam.esm.entity.*;
+import com.epam.esm.model.dao.exception.DaoException;
+import com.epam.esm.model.dao.metrics.SlowQueryLog;
+import com.epam.esm.util.entity.SearchOperator;
+import com.epam.esm.util.entity.SearchUnit;
+import com.epam.esm.util.entity.SlowQuerySummary;
+import com.epam.esm.util.entity.SortUnit;
+import com.epam.esm.util.entity.TagFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Explains queries of DAO calls which select a part of a table on H2 schema created by migrations and fails if
+ * any of them scans a whole table or doesn't use the index designed for it. Every statement is slow for
+ * {@link SlowQueryLog} with zero threshold, so the log captures plan of every query shape. In-memory indexes are
+ * disabled, so searches by tag and text are answered by the database.
+ */
+@SpringBootTest(properties = {
+        "metrics.slow-query.threshold=PT0S",
+        "index.certificate-text.enabled=false",
+        "index.certificate-tag.enabled=false",
+        "index.tag-usage.enabled=false"})
+@ActiveProfiles("test")
+@Transactional
+class QueryPlanTest {
+    private static final String TABLE_SCAN = "tableScan";
+    private static final String EXPLAIN_FAILED = "EXPLAIN failed";
+    private static final int TAG_COUNT = 20;
+    private static final int GIFT_CERTIFICATE_COUNT = 50;
+    private static final int USER_COUNT = 10;
+    private static final int ORDER_COUNT = 100;
+    private static final LocalDateTime FIRST_DATE = LocalDateTime.of(2021, 1, 1, 12, 0);
+    @Autowired
+    private TagDao tagDao;
+    @Autowired
+    private GiftCertificateDao giftCertificateDao;
+    @Autowired
+    private UserDao userDao;
+    @Autowired
+    private OrderDao orderDao;
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+    @Autowired
+    private EntityManager entityManager;
+    private final List<User> users = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws DaoException {
+        List<Tag> tags = new ArrayList<>();
+        for (int i = 0; i < TAG_COUNT; i++) {
+            tags.add(tagDao.add(Tag.builder().name("plan" + i).build()));
+        }
+        List<GiftCertificate> giftCertificates = new ArrayList<>();
+        for (int i = 0; i < GIFT_CERTIFICATE_COUNT; i++) {
+            giftCertificates.add(giftCertificateDao.add(GiftCertificate.builder()
+                    .name("certificate" + i)
+                    .description("description")
+                    .price(BigDecimal.valueOf(i + 1))
+                    .durationInDays(10)
+                    .createDate(FIRST_DATE.plusDays(i))
+                    .lastUpdateDate(FIRST_DATE.plusDays(i))
+                    .tags(new ArrayList<>(List.of(tags.get(i % TAG_COUNT), tags.get((i + 1) % TAG_COUNT))))
+                    .build()));
+        }
+        for (int i = 0; i < USER_COUNT; i++) {
+            users.add(userDao.add(User.builder()
+                    .email("plan" + i + "@mail.com")
+                    .name("name")
+                    .surname("surname")
+                    .password("password")
+                    .registrationDate(FIRST_DATE)
+                    .role(Role.USER)
+                    .status(Status.ACTIVE)
+                    .build()));
+        }
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            GiftCertificate giftCertificate = giftCertificates.get(i % GIFT_CERTIFICATE_COUNT);
+            orderDao.add(Order.builder()
+                    .user(users.get(i % USER_COUNT))
+                    .giftCertificate(giftCertificate)
+                    .cost(giftCertificate.getPrice())
+                    .orderDate(FIRST_DATE.plusDays(i))
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        slowQueryLog.reset();
+    }
+
+    @Test
+    void findByEmail_ExistingEmailGiven_ShouldUseEmailIndex() {
+        assertIndexed(() -> userDao.findByEmail("plan3@mail.com"), "user_email_uq");
+    }
+
+    @Test
+    void findOrdersOfUser_PageGiven_ShouldUseUserOrderIndex() {
+        assertIndexed(() -> userDao.findOrdersOfUser(users.get(0).getId(), List.of(), 0, 5),
+                "order_user_id_order_date_id_idx");
+    }
+
+    @Test
+    void findOrdersOfUser_OrderDateRangeAndCursorGiven_ShouldUseUserOrderIndex() {
+        String range = FIRST_DATE.plusDays(10) + SearchUnit.VALUE_SEPARATOR + FIRST_DATE.plusDays(40);
+        List<SearchUnit> searchCriteria = List.of(new SearchUnit("orderDate", range, SearchOperator.BETWEEN));
+        assertIndexed(() -> userDao.findOrdersOfUser(users.get(1).getId(), searchCriteria,
+                List.of(new SortUnit("id", true)), List.of("0"), 5), "order_user_id_order_date_id_idx");
+    }
+
+    @Test
+    void findByTagName_AllOfAndNoneOfGiven_ShouldUseTagIndexes() {
+        TagFilter tagFilter = new TagFilter(List.of("plan1"), null, List.of("plan2"));
+        assertIndexed(() -> giftCertificateDao.findByTagName(tagFilter, List.of(), List.of(new SortUnit("id", true)),
+                0, 10), "tag_name_idx", "gift_certificate_has_tag_tag_id_gift_certificate_id_idx");
+    }
+
+    @Test
+    void findAll_TagNamePrefixGiven_ShouldUseTagNameIndex() {
+        List<SearchUnit> searchCriteria = List.of(new SearchUnit("name", "plan1", SearchOperator.PREFIX));
+        assertIndexed(() -> tagDao.findAll(searchCriteria, List.of(), 0, 10), "tag_name_idx");
+    }
+
+    @Test
+    void findAll_TagNameEqualityGiven_ShouldUseTagNameIndex() {
+        List<SearchUnit> searchCriteria = List.of(new SearchUnit("name", "plan1", SearchOperator.EQ));
+        assertIndexed(() -> tagDao.findAll(searchCriteria, List.of(), 0, 10), "tag_name_idx");
+    }
+
+    @Test
+    void findAll_LastUpdateDateRangeGiven_ShouldUseLastUpdateDateIndex() {
+        String range = FIRST_DATE.plusDays(5) + SearchUnit.VALUE_SEPARATOR + FIRST_DATE.plusDays(8);
+        List<SearchUnit> searchCriteria = List.of(new SearchUnit("lastUpdateDate", range, SearchOperator.BETWEEN));
+        assertIndexed(() -> giftCertificateDao.findAll(searchCriteria, List.of(), 0, 10),
+                "gift_certificate_last_update_date_id_idx");
+    }
+
+    @Test
+    void scrollAll_LastUpdateDateRangeGiven_ShouldUseLastUpdateDateIndex() {
+        assertIndexed(() -> giftCertificateDao.scrollAll(FIRST_DATE.plusDays(5), FIRST_DATE.plusDays(8),
+                giftCertificate -> {
+                }), "gift_certificate_last_update_date_id_idx");
+    }
+
+    private void assertIndexed(Executable call, String... expectedIndexes) {
+        assertDoesNotThrow(call);
+        List<SlowQuerySummary> queries = slowQueryLog.findSlowest(Integer.MAX_VALUE);
+        assertFalse(queries.isEmpty(), "No queries are explained");
+        StringBuilder plans = new StringBuilder();
+        for (SlowQuerySummary query : queries) {
+            String plan = query.getPlan();
+            assertNotNull(plan, "Plan of " + query.getSql() + " is not captured");
+            assertFalse(plan.startsWith(EXPLAIN_FAILED), plan);
+            assertFalse(plan.contains(TABLE_SCAN), "Full scan in plan of " + query.getSql() + ":\n" + plan);
+            plans.append(plan).append('\n');
+        }
+        for (String expectedIndex : expectedIndexes) {
+            assertTrue(plans.indexOf(expectedIndex) >= 0, expectedIndex + " is not used by:\n" + plans);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.epam.esm.model.dao;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Migrates a database created from the baseline schema the way application does, baselining it at version 1,
+ * and compares the result with a database created by migrations from scratch.
+ */
+class SchemaMigrationTest {
+    private static final String URL = "jdbc:h2:mem:%s;DB_CLOSE_DELAY=-1;DATABASE_TO_UPPER=false";
+    private static final String BASELINE_SCHEMA = "db/migration/V1__create_schema.sql";
+    private static final String BASELINE_VERSION = "1";
+    private static final String FIND_SEQUENCE_VALUE_QUERY = "SELECT next_val FROM %s";
+    private static final String INFORMATION_SCHEMA = "INFORMATION_SCHEMA";
+    private static final String FLYWAY_TABLE_PREFIX = "flyway";
+
+    @Test
+    void migrate_BaselineDatabaseGiven_ShouldMatchSchemaCreatedByMigrations() throws SQLException {
+        DataSource baseline = createBaselineDatabase();
+        migrate(baseline);
+        DataSource created = createDataSource();
+        migrate(created);
+        Set<String> columns = describeColumns(created);
+        assertFalse(columns.isEmpty());
+        assertEquals(columns, describeColumns(baseline));
+    }
+
+    @Test
+    void migrate_BaselineDatabaseWithDataGiven_ShouldStartSequencesPastStoredIds() {
+        DataSource baseline = createBaselineDatabase();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(baseline);
+        jdbcTemplate.update("INSERT INTO tag (id, name) VALUES (3, 'first'), (7, 'second')");
+        jdbcTemplate.update("INSERT INTO gift_certificate (id, name, description, price, duration_in_days) "
+                + "VALUES (8, 'name', 'description', 10, 10)");
+        jdbcTemplate.update("INSERT INTO gift_certificate_has_tag (gift_certificate_id, tag_id) VALUES (8, 7)");
+        jdbcTemplate.update("INSERT INTO `user` (id, email, name, surname, password, role, status) "
+                + "VALUES (9, 'user@mail.com', 'name', 'surname', 'password', 'USER', 'ACTIVE')");
+        jdbcTemplate.update("INSERT INTO `order` (id, user_id, gift_certificate_id, cost) VALUES (12, 9, 8, 10)");
+        jdbcTemplate.update("UPDATE hibernate_sequence SET next_val = 13");
+        migrate(baseline);
+        assertEquals(8, sequenceValue(jdbcTemplate, "tag_sequence"));
+        assertEquals(9, sequenceValue(jdbcTemplate, "gift_certificate_sequence"));
+        assertEquals(10, sequenceValue(jdbcTemplate, "user_sequence"));
+        assertEquals(13, sequenceValue(jdbcTemplate, "order_sequence"));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT version FROM tag WHERE id = 7", Long.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT version FROM gift_certificate WHERE id = 8", Long.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT version FROM `order` WHERE id = 12", Long.class));
+    }
+
+    @Test
+    void migrate_EmptyDatabaseGiven_ShouldStartSequencesFromOne() {
+        DataSource dataSource = createDataSource();
+        migrate(dataSource);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        assertEquals(1, sequenceValue(jdbcTemplate, "tag_sequence"));
+        assertEquals(1, sequenceValue(jdbcTemplate, "order_sequence"));
+    }
+
+    private static DataSource createBaselineDatabase() {
+        DataSource dataSource = createDataSource();
+        new ResourceDatabasePopulator(new ClassPathResource(BASELINE_SCHEMA)).execute(dataSource);
+        return dataSource;
+    }
+
+    private static DataSource createDataSource() {
+        return new DriverManagerDataSource(String.format(URL, UUID.randomUUID()));
+    }
+
+    private static void migrate(DataSource dataSource) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .baselineOnMigrate(true)
+                .baselineVersion(BASELINE_VERSION)
+                .load()
+                .migrate();
+    }
+
+    private static long sequenceValue(JdbcTemplate jdbcTemplate, String sequence) {
+        return jdbcTemplate.queryForObject(String.format(FIND_SEQUENCE_VALUE_QUERY, sequence), Long.class);
+    }
+
+    private static Set<String> describeColumns(DataSource dataSource) throws SQLException {
+        Set<String> columns = new TreeSet<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet resultSet = metaData.getColumns(null, null, null, null)) {
+                while (resultSet.next()) {
+                    String table = resultSet.getString("TABLE_NAME");
+                    if (!INFORMATION_SCHEMA.equalsIgnoreCase(resultSet.getString("TABLE_SCHEM"))
+                            && !table.startsWith(FLYWAY_TABLE_PREFIX)) {
+                        columns.add(table + "." + resultSet.getString("COLUMN_NAME") + " "
+                                + resultSet.getString("TYPE_NAME") + "(" + resultSet.getInt("COLUMN_SIZE") + ") "
+                                + resultSet.getString("IS_NULLABLE") + " " + resultSet.getString("COLUMN_DEF"));
+                    }
+                }
+            }
+        }
+        return columns;
+    }
+}
@@ -0,0 +1,62 @@
+package com.epam.esm.model.dao.id;
+
+import com.epam.esm.entity.Tag;
+import com.epam.esm.model.dao.TagDao;
+import com.epam.esm.model.dao.exception.DaoException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties[id.block-size.tag_sequence]=10",
+        "spring.jpa.properties[id.block-size.gift_certificate_sequence]=5"
+})
+@ActiveProfiles("test")
+@Transactional
+class PooledIdGeneratorTest {
+    private static final String FIND_SEQUENCE_VALUE_QUERY = "SELECT next_val FROM %s";
+    @Autowired
+    private TagDao tagDao;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private IdSequenceAligner idSequenceAligner;
+
+    @Test
+    void add_BlockOfIdsAllocated_ShouldNotReadSequenceUntilBlockIsUsed() throws DaoException {
+        long first = tagDao.add(Tag.builder().name("first").build()).getId();
+        long sequenceValue = sequenceValue("tag_sequence");
+        long remainingIds = sequenceValue - first - 1;
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < remainingIds; i++) {
+            ids.add(tagDao.add(Tag.builder().name("tag" + i).build()).getId());
+        }
+        assertEquals(sequenceValue, sequenceValue("tag_sequence"));
+        assertEquals(remainingIds, ids.size());
+        assertTrue(ids.stream().allMatch(id -> id > first && id < sequenceValue));
+        tagDao.add(Tag.builder().name("next block").build());
+        assertEquals(sequenceValue + 10, sequenceValue("tag_sequence"));
+    }
+
+    @Test
+    void align_SequenceBehindStoredIds_ShouldMoveSequence() {
+        jdbcTemplate.update("INSERT INTO gift_certificate (id, name, description, price, duration_in_days) "
+                + "VALUES (100000, 'name', 'description', 10, 10)");
+        idSequenceAligner.align();
+        assertEquals(100001, sequenceValue("gift_certificate_sequence"));
+        idSequenceAligner.align();
+        assertEquals(100001, sequenceValue("gift_certificate_sequence"));
+    }
+
+    private long sequenceValue(String sequence) {
+        return jdbcTemplate.queryForObject(String.format(FIND_SEQUENCE_VALUE_QUERY, sequence), Long.class);
+    }
+}
@@ -0,0 +1,201 @@
+package com.epam.esm.model.dao.impl;
+
+import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.entity.Tag;
+import com.epam.esm.model.dao.GiftCertificateDao;
+import com.epam.esm.model.dao.TagDao;
+import com.epam.esm.model.dao.exception.DaoException;
+import com.epam.esm.model.index.GiftCertificateTagIndex;
+import com.epam.esm.model.index.GiftCertificateTextIndex;
+import com.epam.esm.util.entity.SearchOperator;
+import com.epam.esm.util.entity.SearchUnit;
+import com.epam.esm.util.entity.SortUnit;
+import com.epam.esm.util.entity.TagFilter;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.OptimisticLockException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class GiftCertificateDaoImplTest {
+    private static final int GIFT_CERTIFICATE_COUNT = 30;
+    private static final int TAG_COUNT = 5;
+    private static final int LIMIT = 20;
+    private static final String CONCURRENT_UPDATE_QUERY =
+            "UPDATE gift_certificate SET version = version + 1 WHERE id = :id";
+    @Autowired
+    private GiftCertificateDao giftCertificateDao;
+    @Autowired
+    private TagDao tagDao;
+    @Autowired
+    private GiftCertificateTagIndex tagIndex;
+    @Autowired
+    private GiftCertificateTextIndex textIndex;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    private Statistics statistics;
+    private final List<GiftCertificate> indexed = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws DaoException {
+        List<Tag> tags = new ArrayList<>();
+        for (int i = 0; i < TAG_COUNT; i++) {
+            tags.add(tagDao.add(Tag.builder().name("tag" + i).build()));
+        }
+        for (int i = 0; i < GIFT_CERTIFICATE_COUNT; i++) {
+            GiftCertificate giftCertificate = giftCertificateDao.add(GiftCertificate.builder()
+                    .name("certificate" + (GIFT_CERTIFICATE_COUNT - i))
+                    .description("description")
+                    .price(BigDecimal.valueOf(i + 1))
+                    .durationInDays(10)
+                    .createDate(LocalDateTime.now())
+                    .lastUpdateDate(LocalDateTime.now())
+                    .tags(new ArrayList<>(List.of(tags.get(i % TAG_COUNT), tags.get((i + 1) % TAG_COUNT))))
+                    .build());
+            tagIndex.add(giftCertificate);
+            textIndex.add(giftCertificate);
+            indexed.add(giftCertificate);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+        indexed.forEach(tagIndex::remove);
+        indexed.forEach(textIndex::remove);
+    }
+
+    @Test
+    void findAll_PageGiven_ShouldFetchTagsWithTwoStatements() throws DaoException {
+        List<GiftCertificate> page = giftCertificateDao.findAll(List.of(), List.of(new SortUnit("name", true)), 0,
+                LIMIT);
+        page.forEach(giftCertificate -> assertEquals(2, giftCertificate.getTags().size()));
+        assertEquals(LIMIT, page.size());
+        assertTrue(page.stream().allMatch(giftCertificate -> Hibernate.isInitialized(giftCertificate.getTags())));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findAll_SortGiven_ShouldKeepPageOrder() throws DaoException {
+        List<String> names = giftCertificateDao.findAll(List.of(), List.of(new SortUnit("name", false)), 0, LIMIT)
+                .stream()
+                .map(GiftCertificate::getName)
+                .collect(Collectors.toList());
+        List<String> sortedNames = names.stream().sorted((a, b) -> b.compareTo(a)).collect(Collectors.toList());
+        assertEquals(sortedNames, names);
+    }
+
+    @Test
+    void findAll_CursorGiven_ShouldFetchTagsWithTwoStatements() throws DaoException {
+        List<GiftCertificate> page = giftCertificateDao.findAll(List.of(), List.of(new SortUnit("id", true)),
+                List.of("0"), LIMIT);
+        page.forEach(giftCertificate -> assertEquals(2, giftCertificate.getTags().size()));
+        assertEquals(LIMIT, page.size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findAll_PriceRangeGiven_ShouldCompareNumbers() throws DaoException {
+        List<SearchUnit> searchCriteria = List.of(new SearchUnit("price", "5;9", SearchOperator.BETWEEN));
+        List<GiftCertificate> page = giftCertificateDao.findAll(searchCriteria, List.of(new SortUnit("id", true)),
+                0, LIMIT);
+        assertEquals(5, page.size());
+        page.forEach(giftCertificate -> assertTrue(giftCertificate.getPrice().compareTo(BigDecimal.valueOf(5)) >= 0
+                && giftCertificate.getPrice().compareTo(BigDecimal.valueOf(9)) <= 0));
+    }
+
+    @Test
+    void findAll_PrefixGiven_ShouldMatchNamesStartingWithPrefix() throws DaoException {
+        List<SearchUnit> searchCriteria = List.of(new SearchUnit("name", "certificate1", SearchOperator.PREFIX));
+        List<GiftCertificate> page = giftCertificateDao.findAll(searchCriteria, List.of(), 0, LIMIT);
+        assertEquals(11, page.size());
+        page.forEach(giftCertificate -> assertTrue(giftCertificate.getName().startsWith("certificate1")));
+    }
+
+    @Test
+    void findAll_PrefixWithWildcardGiven_ShouldMatchWildcardLiterally() throws DaoException {
+        List<SearchUnit> searchCriteria = List.of(new SearchUnit("name", "certificate_", SearchOperator.PREFIX));
+        assertTrue(giftCertificateDao.findAll(searchCriteria, List.of(), 0, LIMIT).isEmpty());
+    }
+
+    @Test
+    void findAll_InGiven_ShouldMatchListedValues() throws DaoException {
+        List<SearchUnit> searchCriteria = List.of(new SearchUnit("durationInDays", "10;20", SearchOperator.IN),
+                new SearchUnit("price", "3", SearchOperator.LTE));
+        assertEquals(3, giftCertificateDao.findAll(searchCriteria, List.of(), 0, LIMIT).size());
+    }
+
+    @Test
+    void findByTagName_TagNameGiven_ShouldFetchTagsWithTwoStatements() throws DaoException {
+        TagFilter tagFilter = new TagFilter(List.of("tag0"), null, null);
+        List<GiftCertificate> page = giftCertificateDao.findByTagName(tagFilter, List.of(),
+                List.of(new SortUnit("id", true)), 0, LIMIT);
+        page.forEach(giftCertificate -> assertTrue(giftCertificate.getTags().stream()
+                .anyMatch(tag -> tag.getName().equals("tag0"))));
+        assertEquals(2 * GIFT_CERTIFICATE_COUNT / TAG_COUNT, page.size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void update_CurrentVersionGiven_ShouldIncrementVersion() throws DaoException {
+        GiftCertificate giftCertificate = giftCertificateDao.findById(indexed.get(0).getId()).orElseThrow();
+        long version = giftCertificate.getVersion();
+        giftCertificate.setName("renamed");
+        GiftCertificate updated = giftCertificateDao.update(giftCertificate, version);
+        entityManager.flush();
+        assertEquals(version + 1, updated.getVersion());
+    }
+
+    @Test
+    void update_StaleVersionGiven_ShouldThrowOptimisticLockingFailureException() throws DaoException {
+        GiftCertificate giftCertificate = giftCertificateDao.findById(indexed.get(0).getId()).orElseThrow();
+        long staleVersion = giftCertificate.getVersion() - 1;
+        giftCertificate.setName("renamed");
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> giftCertificateDao.update(giftCertificate, staleVersion));
+    }
+
+    @Test
+    void update_ChangedAfterCheckGiven_ShouldFailOnFlush() throws DaoException {
+        long id = indexed.get(0).getId();
+        GiftCertificate giftCertificate = giftCertificateDao.findById(id).orElseThrow();
+        long version = giftCertificate.getVersion();
+        entityManager.createNativeQuery(CONCURRENT_UPDATE_QUERY).setParameter("id", id).executeUpdate();
+        giftCertificate.setName("renamed");
+        giftCertificateDao.update(giftCertificate, version);
+        assertThrows(OptimisticLockException.class, () -> entityManager.flush());
+    }
+
+    @Test
+    void delete_StaleVersionGiven_ShouldThrowOptimisticLockingFailureException() {
+        long id = indexed.get(0).getId();
+        assertThrows(OptimisticLockingFailureException.class, () -> giftCertificateDao.delete(id, 1));
+    }
+}
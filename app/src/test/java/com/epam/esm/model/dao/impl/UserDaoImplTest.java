@@ -0,0 +1,145 @@
+package com.epam.esm.model.dao.impl;
+
+import com.epam.esm.entity.*;
+import com.epam.esm.model.dao.GiftCertificateDao;
+import com.epam.esm.model.dao.OrderDao;
+import com.epam.esm.model.dao.UserDao;
+import com.epam.esm.model.dao.exception.DaoException;
+import com.epam.esm.model.dao.exception.EntityWithIdNotFoundException;
+import com.epam.esm.util.entity.OrderSummary;
+import com.epam.esm.util.entity.SearchOperator;
+import com.epam.esm.util.entity.SearchUnit;
+import com.epam.esm.util.entity.SortUnit;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class UserDaoImplTest {
+    private static final int ORDER_COUNT = 10;
+    private static final LocalDateTime FIRST_ORDER_DATE = LocalDateTime.of(2021, 1, 1, 12, 0);
+    @Autowired
+    private UserDao userDao;
+    @Autowired
+    private OrderDao orderDao;
+    @Autowired
+    private GiftCertificateDao giftCertificateDao;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    private Statistics statistics;
+    private User user;
+    private User userWithoutOrders;
+
+    @BeforeEach
+    void setUp() throws DaoException {
+        user = userDao.add(createUser("orders@mail.com"));
+        userWithoutOrders = userDao.add(createUser("no-orders@mail.com"));
+        GiftCertificate giftCertificate = giftCertificateDao.add(GiftCertificate.builder()
+                .name("certificate")
+                .description("description")
+                .price(BigDecimal.TEN)
+                .durationInDays(10)
+                .createDate(LocalDateTime.now())
+                .lastUpdateDate(LocalDateTime.now())
+                .tags(new ArrayList<>())
+                .build());
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            orderDao.add(Order.builder()
+                    .user(user)
+                    .giftCertificate(giftCertificate)
+                    .cost(BigDecimal.valueOf(i + 1))
+                    .orderDate(FIRST_ORDER_DATE.plusDays(i))
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void findOrdersOfUser_UserWithOrdersGiven_ShouldReturnRowsWithSingleStatement() throws DaoException {
+        List<OrderSummary> orders = userDao.findOrdersOfUser(user.getId(), List.of(), 2, 5);
+        assertEquals(5, orders.size());
+        assertEquals(0, BigDecimal.valueOf(3).compareTo(orders.get(0).getCost()));
+        assertEquals("certificate", orders.get(0).getGiftCertificateName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findOrdersOfUser_CursorGiven_ShouldReturnOrdersAfterCursor() throws DaoException {
+        List<SortUnit> sortCriteria = List.of(new SortUnit("id", true));
+        List<OrderSummary> firstPage = userDao.findOrdersOfUser(user.getId(), List.of(), sortCriteria, List.of(), 4);
+        String lastId = firstPage.get(firstPage.size() - 1).getId().toString();
+        List<OrderSummary> secondPage = userDao.findOrdersOfUser(user.getId(), List.of(), sortCriteria,
+                List.of(lastId), 10);
+        assertEquals(ORDER_COUNT - 4, secondPage.size());
+        assertTrue(secondPage.get(0).getId() > Long.parseLong(lastId));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findOrdersOfUser_OrderDateRangeGiven_ShouldReturnOrdersInRange() throws DaoException {
+        String range = FIRST_ORDER_DATE.plusDays(2) + SearchUnit.VALUE_SEPARATOR + FIRST_ORDER_DATE.plusDays(4);
+        List<SearchUnit> searchCriteria = List.of(new SearchUnit("orderDate", range, SearchOperator.BETWEEN));
+        List<OrderSummary> orders = userDao.findOrdersOfUser(user.getId(), searchCriteria, 0, 10);
+        assertEquals(3, orders.size());
+        assertEquals(FIRST_ORDER_DATE.plusDays(2), orders.get(0).getOrderDate());
+    }
+
+    @Test
+    void findOrdersOfUser_CostLowerBoundGiven_ShouldCompareNumbers() throws DaoException {
+        List<SearchUnit> searchCriteria = List.of(new SearchUnit("cost", "9", SearchOperator.GTE));
+        List<OrderSummary> orders = userDao.findOrdersOfUser(user.getId(), searchCriteria, 0, 10);
+        assertEquals(2, orders.size());
+    }
+
+    @Test
+    void findOrdersOfUser_UserWithoutOrdersGiven_ShouldReturnEmptyList() throws DaoException {
+        assertTrue(userDao.findOrdersOfUser(userWithoutOrders.getId(), List.of(), 0, 10).isEmpty());
+    }
+
+    @Test
+    void findOrdersOfUser_NotExistingUserGiven_ShouldThrowEntityWithIdNotFoundException() {
+        assertThrows(EntityWithIdNotFoundException.class, () ->
+                userDao.findOrdersOfUser(Long.MAX_VALUE, List.of(), 0, 10));
+    }
+
+    private static User createUser(String email) {
+        return User.builder()
+                .email(email)
+                .name("name")
+                .surname("surname")
+                .password("password")
+                .registrationDate(LocalDateTime.now())
+                .role(Role.USER)
+                .status(Status.ACTIVE)
+                .build();
+    }
+}
@@ -0,0 +1,61 @@
+package com.epam.esm.model.dao.metrics;
+
+import com.epam.esm.entity.Tag;
+import com.epam.esm.model.dao.TagDao;
+import com.epam.esm.model.dao.exception.DaoException;
+import com.epam.esm.util.entity.SearchUnit;
+import com.epam.esm.util.entity.SortUnit;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class DaoMetricsAspectTest {
+    @Autowired
+    private TagDao tagDao;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void findAll_SearchAndSortGiven_ShouldRecordTimerAndRowsTaggedByShape() throws DaoException {
+        tagDao.add(Tag.builder().name("metrics1").build());
+        tagDao.add(Tag.builder().name("metrics2").build());
+        tagDao.add(Tag.builder().name("other").build());
+        tagDao.findAll(List.of(new SearchUnit("name", "metrics")), List.of(new SortUnit("name", false)), 0, 10);
+        Tags tags = Tags.of(DaoMetricsAspect.DAO_TAG, "TagDaoImpl", DaoMetricsAspect.METHOD_TAG, "findAll",
+                DaoMetricsAspect.SHAPE_TAG, "search=name;sort=-name");
+        assertEquals(1, meterRegistry.get(DaoMetricsAspect.QUERY_TIMER).tags(tags).timer().count());
+        assertEquals(2, meterRegistry.get(DaoMetricsAspect.QUERY_ROWS).tags(tags).summary().totalAmount());
+    }
+
+    @Test
+    void findById_NoCriteriaGiven_ShouldRecordNoneShape() throws DaoException {
+        Tag tag = tagDao.add(Tag.builder().name("metrics").build());
+        tagDao.findById(tag.getId());
+        tagDao.findById(-1);
+        Tags tags = Tags.of(DaoMetricsAspect.DAO_TAG, "TagDaoImpl", DaoMetricsAspect.METHOD_TAG, "findById",
+                DaoMetricsAspect.SHAPE_TAG, QueryShape.NONE);
+        assertTrue(meterRegistry.get(DaoMetricsAspect.QUERY_TIMER).tags(tags).timer().count() >= 2);
+        assertTrue(meterRegistry.get(DaoMetricsAspect.QUERY_ROWS).tags(tags).summary().count() >= 2);
+    }
+
+    @Test
+    void findAll_UnknownSortFieldGiven_ShouldCountError() {
+        List<SortUnit> sortCriteria = List.of(new SortUnit("unknownField", true));
+        assertThrows(RuntimeException.class, () -> tagDao.findAll(List.of(), sortCriteria, 0, 10));
+        Tags tags = Tags.of(DaoMetricsAspect.DAO_TAG, "TagDaoImpl", DaoMetricsAspect.METHOD_TAG, "findAll",
+                DaoMetricsAspect.SHAPE_TAG, "sort=unknownField");
+        assertEquals(1, meterRegistry.get(DaoMetricsAspect.QUERY_ERRORS).tags(tags).counter().count());
+        assertEquals(1, meterRegistry.get(DaoMetricsAspect.QUERY_TIMER).tags(tags).timer().count());
+    }
+}
@@ -0,0 +1,41 @@
+package com.epam.esm.model.dao.metrics;
+
+import com.epam.esm.util.entity.SearchOperator;
+import com.epam.esm.util.entity.SearchUnit;
+import com.epam.esm.util.entity.SortUnit;
+import com.epam.esm.util.entity.TagFilter;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class QueryShapeTest {
+
+    @Test
+    void of_SearchAndSortCriteriaGiven_ShouldReturnFieldNamesWithoutValues() {
+        Object[] args = {List.of(new SearchUnit("name", "gift"), new SearchUnit("description", "card")),
+                List.of(new SortUnit("createDate", false), new SortUnit("id", true)), 0, 20};
+        assertEquals("search=name,description;sort=-createDate,id", QueryShape.of(args));
+    }
+
+    @Test
+    void of_SearchOperatorGiven_ShouldAppendOperatorToField() {
+        Object[] args = {List.of(new SearchUnit("price", "10;20", SearchOperator.BETWEEN),
+                new SearchUnit("name", "gift")), List.of(), 0, 20};
+        assertEquals("search=price:between,name", QueryShape.of(args));
+    }
+
+    @Test
+    void of_TagFilterGiven_ShouldReturnNonEmptyGroups() {
+        TagFilter tagFilter = TagFilter.builder().allOf(List.of("a", "b")).anyOf(List.of()).noneOf(List.of("c")).build();
+        Object[] args = {tagFilter, List.of(), List.of(new SortUnit("id", true)), 0, 20};
+        assertEquals("tags=allOf,noneOf;sort=id", QueryShape.of(args));
+    }
+
+    @Test
+    void of_NoCriteriaGiven_ShouldReturnNone() {
+        Object[] args = {1L, List.of(), List.of("cursor"), 20};
+        assertEquals(QueryShape.NONE, QueryShape.of(args));
+    }
+}
@@ -0,0 +1,73 @@
+package com.epam.esm.model.dao.metrics;
+
+import com.epam.esm.entity.Tag;
+import com.epam.esm.model.dao.TagDao;
+import com.epam.esm.model.dao.exception.DaoException;
+import com.epam.esm.util.entity.SearchUnit;
+import com.epam.esm.util.entity.SlowQuerySummary;
+import com.epam.esm.util.entity.SortUnit;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "metrics.slow-query.threshold=PT0S")
+@ActiveProfiles("test")
+@Transactional
+class SlowQueryLogTest {
+    @Autowired
+    private TagDao tagDao;
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        slowQueryLog.reset();
+    }
+
+    @Test
+    void dataSource_ContextStarted_ShouldTimeStatements() throws DaoException {
+        assertTrue(dataSource instanceof StatementTimingDataSource);
+        long before = meterRegistry.get(SlowQueryLog.STATEMENT_TIMER).timer().count();
+        tagDao.findAll(List.of(), List.of(new SortUnit("id", true)), 0, 10);
+        assertTrue(meterRegistry.get(SlowQueryLog.STATEMENT_TIMER).timer().count() > before);
+    }
+
+    @Test
+    void findSlowest_SlowQueryExecuted_ShouldReportShapeWithParametersAndPlan() throws DaoException {
+        tagDao.add(Tag.builder().name("slow").build());
+        tagDao.findAll(List.of(new SearchUnit("name", "slow")), List.of(new SortUnit("name", true)), 0, 10);
+        tagDao.findAll(List.of(new SearchUnit("name", "other")), List.of(new SortUnit("name", true)), 0, 10);
+        Optional<SlowQuerySummary> summary = slowQueryLog.findSlowest(Integer.MAX_VALUE).stream()
+                .filter(shape -> shape.getSql().startsWith("select") && shape.getSql().contains(" like "))
+                .findAny();
+        assertTrue(summary.isPresent());
+        assertEquals(2, summary.get().getCount());
+        assertTrue(summary.get().getParameterTypes().startsWith("String"), summary.get().getParameterTypes());
+        assertNotNull(summary.get().getPlan());
+        assertFalse(summary.get().getPlan().startsWith("EXPLAIN failed"), summary.get().getPlan());
+    }
+
+    @Test
+    void findSlowest_LimitGiven_ShouldReturnShapesInDescendingOrderOfTotalDuration() throws DaoException {
+        tagDao.add(Tag.builder().name("slow").build());
+        tagDao.findAll(List.of(), List.of(new SortUnit("id", true)), 0, 10);
+        tagDao.findAll(List.of(new SearchUnit("name", "slow")), List.of(), 0, 10);
+        List<SlowQuerySummary> slowest = slowQueryLog.findSlowest(2);
+        assertEquals(2, slowest.size());
+        assertTrue(slowest.get(0).getTotalMillis() >= slowest.get(1).getTotalMillis());
+    }
+}
@@ -0,0 +1,38 @@
+package com.epam.esm.model.dao.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Types;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlShapeTest {
+
+    @Test
+    void normalize_LiteralsGiven_ShouldReplaceWithParameters() {
+        String sql = "select tag0_.id from tag tag0_ where tag0_.name like '%it''s%' and tag0_.id > 10 limit 20";
+        assertEquals("select tag0_.id from tag tag0_ where tag0_.name like ? and tag0_.id > ? limit ?",
+                SqlShape.normalize(sql));
+    }
+
+    @Test
+    void normalize_PaddedInListsGiven_ShouldHaveSameShape() {
+        String twoValues = "select * from tag t where t.id in (?, ?)";
+        String fourValues = "select * from tag t\n  where t.id in (?,?, ?, ?)";
+        assertEquals("select * from tag t where t.id in " + SqlShape.PARAMETER_LIST, SqlShape.normalize(twoValues));
+        assertEquals(SqlShape.normalize(twoValues), SqlShape.normalize(fourValues));
+    }
+
+    @Test
+    void describeParameters_RepeatedTypesGiven_ShouldCollapseRuns() {
+        Object[] parameters = {"name", 1L, 2L, 3L, new StatementTimingDataSource.NullParameter(Types.BIGINT),
+                LocalDateTime.now(), null};
+        assertEquals("String, Long x3, null, LocalDateTime", SqlShape.describeParameters(parameters, 6));
+    }
+
+    @Test
+    void describeParameters_NoParametersGiven_ShouldReturnEmptyDescription() {
+        assertEquals("", SqlShape.describeParameters(new Object[4], 0));
+    }
+}
@@ -0,0 +1,89 @@
+package com.epam.esm.model.dao.metrics;
+
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+import org.springframework.boot.test.context.TestComponent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Records JDBC statements executed by a call and asserts that their count fits the budget, so N+1 queries of
+ * Hibernate mappings fail tests. Statements of all threads are recorded, so asynchronous endpoints are covered,
+ * except of threads of scheduled tasks, like index rebuilds. Tests import the recorder with
+ * {@code @Import(StatementRecorder.class)}, which creates a separate application context with its own database.
+ */
+@TestComponent
+public class StatementRecorder implements StatementListener {
+    private static final String SCHEDULING_THREAD_PREFIX = "scheduling-";
+    private final List<String> statements = new ArrayList<>();
+    private boolean recording;
+
+    @Override
+    public synchronized void statementExecuted(String sql, long nanos) {
+        if (recording && !Thread.currentThread().getName().startsWith(SCHEDULING_THREAD_PREFIX)) {
+            statements.add(sql);
+        }
+    }
+
+    /**
+     * Runs the call and fails if it executes more statements than the budget, listing executed statements.
+     *
+     * @param budget    maximum count of statements
+     * @param operation description of the call for failure message
+     * @param call      measured call
+     * @param <T>       type of result
+     * @return result of the call
+     */
+    public <T> T assertAtMost(int budget, String operation, ThrowingSupplier<T> call) {
+        start();
+        T result;
+        try {
+            result = call.get();
+        } catch (Throwable e) {
+            stop();
+            return fail(operation + " failed", e);
+        }
+        List<String> executed = stop();
+        if (executed.size() > budget) {
+            fail(describe(operation, budget, executed));
+        }
+        return result;
+    }
+
+    /**
+     * Runs the call and fails if it executes more statements than the budget, listing executed statements.
+     *
+     * @param budget    maximum count of statements
+     * @param operation description of the call for failure message
+     * @param call      measured call
+     */
+    public void assertAtMost(int budget, String operation, Executable call) {
+        assertAtMost(budget, operation, () -> {
+            call.execute();
+            return null;
+        });
+    }
+
+    private synchronized void start() {
+        statements.clear();
+        recording = true;
+    }
+
+    private synchronized List<String> stop() {
+        recording = false;
+        return new ArrayList<>(statements);
+    }
+
+    private static String describe(String operation, int budget, List<String> executed) {
+        StringBuilder message = new StringBuilder(operation)
+                .append(" executed ").append(executed.size())
+                .append(" statements, budget is ").append(budget).append(':');
+        for (int i = 0; i < executed.size(); i++) {
+            message.append(System.lineSeparator()).append(i + 1).append(". ").append(executed.get(i));
+        }
+        return message.toString();
+    }
+}
@@ -0,0 +1,120 @@
+package com.epam.esm.model.index;
+
+import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.entity.Tag;
+import com.epam.esm.util.entity.TagFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GiftCertificateTagIndexTest {
+    private static final Tag SPA = Tag.builder().id(1L).name("spa").build();
+    private static final Tag SPORT = Tag.builder().id(2L).name("sport").build();
+    private static final Tag KIDS = Tag.builder().id(3L).name("kids").build();
+    private GiftCertificateTagIndex tagIndex;
+
+    @BeforeEach
+    void setUp() {
+        tagIndex = new GiftCertificateTagIndex();
+        tagIndex.startRebuild();
+        tagIndex.addToRebuild(List.of(
+                GiftCertificate.builder().id(1L).tags(List.of(SPA)).build(),
+                GiftCertificate.builder().id(2L).tags(List.of(SPA, KIDS)).build(),
+                GiftCertificate.builder().id(3L).tags(List.of(SPORT, KIDS)).build(),
+                GiftCertificate.builder().id(4L).tags(List.of()).build()));
+        tagIndex.finishRebuild();
+    }
+
+    @Test
+    void findIds_IndexNotBuilt_ShouldReturnEmptyOptional() {
+        GiftCertificateTagIndex notBuiltIndex = new GiftCertificateTagIndex();
+        Optional<long[]> actual = notBuiltIndex.findIds(TagFilter.builder().allOf(List.of("spa")).build());
+        assertTrue(actual.isEmpty());
+    }
+
+    @Test
+    void findIds_AllOfGiven_ShouldReturnIntersection() {
+        Optional<long[]> actual = tagIndex.findIds(TagFilter.builder().allOf(List.of("spa", "kids")).build());
+        assertArrayEquals(new long[]{2L}, actual.orElseThrow());
+    }
+
+    @Test
+    void findIds_AnyOfGiven_ShouldReturnUnion() {
+        Optional<long[]> actual = tagIndex.findIds(TagFilter.builder().anyOf(List.of("spa", "sport")).build());
+        assertArrayEquals(new long[]{1L, 2L, 3L}, actual.orElseThrow());
+    }
+
+    @Test
+    void findIds_OnlyNoneOfGiven_ShouldReturnDifferenceWithAllCertificates() {
+        Optional<long[]> actual = tagIndex.findIds(TagFilter.builder().noneOf(List.of("kids")).build());
+        assertArrayEquals(new long[]{1L, 4L}, actual.orElseThrow());
+    }
+
+    @Test
+    void findIds_AllOperatorsGiven_ShouldCombineThem() {
+        Optional<long[]> actual = tagIndex.findIds(TagFilter.builder()
+                .allOf(List.of("kids"))
+                .anyOf(List.of("spa", "sport"))
+                .noneOf(List.of("sport"))
+                .build());
+        assertArrayEquals(new long[]{2L}, actual.orElseThrow());
+    }
+
+    @Test
+    void findIds_UnknownTagGiven_ShouldReturnEmptyArray() {
+        Optional<long[]> actual = tagIndex.findIds(TagFilter.builder().allOf(List.of("museum")).build());
+        assertEquals(0, actual.orElseThrow().length);
+    }
+
+    @Test
+    void findIds_TagNamesInOtherCaseGiven_ShouldMatchIgnoringCase() {
+        Optional<long[]> actual = tagIndex.findIds(TagFilter.builder().allOf(List.of("SPA", "Kids", "kids")).build());
+        assertArrayEquals(new long[]{2L}, actual.orElseThrow());
+    }
+
+    @Test
+    void update_TagsChanged_ShouldReplaceIndexedTags() {
+        tagIndex.update(GiftCertificate.builder().id(1L).tags(List.of(SPORT)).build());
+        TagFilter tagFilter = TagFilter.builder().allOf(List.of("spa")).build();
+        assertArrayEquals(new long[]{2L}, tagIndex.findIds(tagFilter).orElseThrow());
+    }
+
+    @Test
+    void remove_IndexedCertificateGiven_ShouldNotBeFound() {
+        tagIndex.remove(GiftCertificate.builder().id(2L).build());
+        TagFilter tagFilter = TagFilter.builder().noneOf(List.of("sport")).build();
+        assertArrayEquals(new long[]{1L, 4L}, tagIndex.findIds(tagFilter).orElseThrow());
+    }
+
+    @Test
+    void removeTag_IndexedTagGiven_ShouldNotMatchAnyCertificate() {
+        tagIndex.removeTag(KIDS.getId());
+        TagFilter tagFilter = TagFilter.builder().anyOf(List.of("kids")).build();
+        assertEquals(0, tagIndex.findIds(tagFilter).orElseThrow().length);
+    }
+
+    @Test
+    void addToRebuild_CertificateChangedDuringRebuild_ShouldKeepChangedTags() {
+        tagIndex.startRebuild();
+        tagIndex.update(GiftCertificate.builder().id(1L).tags(List.of(SPORT)).build());
+        tagIndex.addToRebuild(List.of(GiftCertificate.builder().id(1L).tags(List.of(SPA)).build()));
+        tagIndex.finishRebuild();
+        TagFilter tagFilter = TagFilter.builder().allOf(List.of("sport")).build();
+        assertArrayEquals(new long[]{1L}, tagIndex.findIds(tagFilter).orElseThrow());
+    }
+
+    @Test
+    void invalidate_RebuildInProgress_ShouldStayNotReadyUntilNextRebuild() {
+        tagIndex.startRebuild();
+        tagIndex.invalidate();
+        tagIndex.finishRebuild();
+        assertFalse(tagIndex.isReady());
+        tagIndex.startRebuild();
+        tagIndex.finishRebuild();
+        assertTrue(tagIndex.isReady());
+    }
+}
@@ -0,0 +1,117 @@
+package com.epam.esm.model.index;
+
+import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.util.entity.SearchUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GiftCertificateTextIndexTest {
+    private GiftCertificateTextIndex textIndex;
+
+    @BeforeEach
+    void setUp() {
+        textIndex = new GiftCertificateTextIndex();
+        textIndex.startRebuild();
+        textIndex.addToRebuild(List.of(
+                GiftCertificate.builder().id(1L).name("Spa day").description("Relax in the spa").build(),
+                GiftCertificate.builder().id(2L).name("Café visit").description("Coffee and dessert").build(),
+                GiftCertificate.builder().id(3L).name("Spa weekend").description("Two days of rest").build()));
+        textIndex.finishRebuild();
+    }
+
+    @Test
+    void findCandidateIds_IndexNotBuilt_ShouldReturnEmptyOptional() {
+        GiftCertificateTextIndex notBuiltIndex = new GiftCertificateTextIndex();
+        Optional<long[]> actual = notBuiltIndex.findCandidateIds(List.of(new SearchUnit("name", "spa")));
+        assertTrue(actual.isEmpty());
+    }
+
+    @Test
+    void findCandidateIds_NotIndexedFieldGiven_ShouldReturnEmptyOptional() {
+        Optional<long[]> actual = textIndex.findCandidateIds(List.of(new SearchUnit("price", "10")));
+        assertTrue(actual.isEmpty());
+    }
+
+    @Test
+    void findCandidateIds_SubstringGiven_ShouldReturnMatchingIds() {
+        Optional<long[]> actual = textIndex.findCandidateIds(List.of(new SearchUnit("name", "SP")));
+        assertArrayEquals(new long[]{1L, 3L}, actual.orElseThrow());
+    }
+
+    @Test
+    void findCandidateIds_LongSubstringGiven_ShouldReturnMatchingIds() {
+        Optional<long[]> actual = textIndex.findCandidateIds(List.of(new SearchUnit("description", "essert")));
+        assertArrayEquals(new long[]{2L}, actual.orElseThrow());
+    }
+
+    @Test
+    void findCandidateIds_GramsOfDifferentTokensGiven_ShouldNotMatch() {
+        Optional<long[]> actual = textIndex.findCandidateIds(List.of(new SearchUnit("name", "spaday")));
+        assertEquals(0, actual.orElseThrow().length);
+    }
+
+    @Test
+    void findCandidateIds_OnlyTokenWithGramRemoved_ShouldNotMatchGram() {
+        textIndex.remove(GiftCertificate.builder().id(3L).name("Spa weekend").description("Two days of rest").build());
+        Optional<long[]> actual = textIndex.findCandidateIds(List.of(new SearchUnit("name", "kn")));
+        assertEquals(0, actual.orElseThrow().length);
+    }
+
+    @Test
+    void findCandidateIds_SeveralCriteriaGiven_ShouldReturnIntersection() {
+        Optional<long[]> actual = textIndex.findCandidateIds(List.of(
+                new SearchUnit("name", "spa"),
+                new SearchUnit("description", "rest")));
+        assertArrayEquals(new long[]{3L}, actual.orElseThrow());
+    }
+
+    @Test
+    void findCandidateIds_DiacriticsGiven_ShouldIgnoreDiacritics() {
+        Optional<long[]> actual = textIndex.findCandidateIds(List.of(new SearchUnit("name", "cafe")));
+        assertArrayEquals(new long[]{2L}, actual.orElseThrow());
+    }
+
+    @Test
+    void findCandidateIds_NoMatchesGiven_ShouldReturnEmptyArray() {
+        Optional<long[]> actual = textIndex.findCandidateIds(List.of(new SearchUnit("name", "museum")));
+        assertEquals(0, actual.orElseThrow().length);
+    }
+
+    @Test
+    void update_NameChanged_ShouldReplaceIndexedValue() {
+        GiftCertificate previous = GiftCertificate.builder().id(1L).name("Spa day").description("Relax in the spa").build();
+        GiftCertificate updated = GiftCertificate.builder().id(1L).name("Museum day").description("Relax in the spa").build();
+        textIndex.update(previous, updated);
+        assertArrayEquals(new long[]{3L},
+                textIndex.findCandidateIds(List.of(new SearchUnit("name", "spa"))).orElseThrow());
+        assertArrayEquals(new long[]{1L},
+                textIndex.findCandidateIds(List.of(new SearchUnit("name", "museum"))).orElseThrow());
+    }
+
+    @Test
+    void remove_IndexedCertificateGiven_ShouldNotBeFound() {
+        textIndex.remove(GiftCertificate.builder().id(3L).name("Spa weekend").description("Two days of rest").build());
+        assertArrayEquals(new long[]{1L},
+                textIndex.findCandidateIds(List.of(new SearchUnit("name", "spa"))).orElseThrow());
+    }
+
+    @Test
+    void add_DuringRebuild_ShouldBeKeptAfterRebuild() {
+        textIndex.startRebuild();
+        textIndex.add(GiftCertificate.builder().id(4L).name("Spa night").description("Sauna").build());
+        textIndex.finishRebuild();
+        assertArrayEquals(new long[]{4L},
+                textIndex.findCandidateIds(List.of(new SearchUnit("name", "spa"))).orElseThrow());
+    }
+
+    @Test
+    void tokenize_TextGiven_ShouldReturnLowerCaseAlphanumericTokens() {
+        List<String> actual = GiftCertificateTextIndex.tokenize("Spa-Day, 2 persons!");
+        assertEquals(List.of("spa", "day", "2", "persons"), actual);
+    }
+}
@@ -0,0 +1,39 @@
+package com.epam.esm.model.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongObjectMapTest {
+    @Test
+    void put_ManyKeysGiven_ShouldKeepAllValues() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+        for (long key = 0; key < 1000; key++) {
+            map.put(key * 31, String.valueOf(key));
+        }
+        assertEquals(1000, map.size());
+        assertEquals("500", map.get(500 * 31));
+        assertNull(map.get(1));
+    }
+
+    @Test
+    void remove_KeysRemoved_ShouldKeepOtherKeysReachable() {
+        LongObjectMap<Long> map = new LongObjectMap<>();
+        for (long key = 1; key <= 1000; key++) {
+            map.put(key, key);
+        }
+        for (long key = 1; key <= 1000; key += 2) {
+            map.remove(key);
+        }
+        assertEquals(500, map.size());
+        for (long key = 1; key <= 1000; key++) {
+            assertEquals(key % 2 == 0 ? Long.valueOf(key) : null, map.get(key));
+        }
+        List<Long> values = new ArrayList<>();
+        map.forEachValue(values::add);
+        assertEquals(500, values.size());
+    }
+}
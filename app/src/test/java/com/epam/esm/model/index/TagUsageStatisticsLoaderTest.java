@@ -0,0 +1,146 @@
+package com.epam.esm.model.index;
+
+import com.epam.esm.entity.*;
+import com.epam.esm.model.dao.GiftCertificateDao;
+import com.epam.esm.model.dao.TagDao;
+import com.epam.esm.model.dao.UserDao;
+import com.epam.esm.model.dao.exception.DaoException;
+import com.epam.esm.model.service.ServiceException;
+import com.epam.esm.model.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class TagUsageStatisticsLoaderTest {
+    private static final int TAG_COUNT = 8;
+    private static final int GIFT_CERTIFICATE_COUNT = 30;
+    private static final int USER_COUNT = 20;
+    private static final int ORDER_COUNT = 300;
+    private static final int CHECK_EVERY = 50;
+    @Autowired
+    private TagDao tagDao;
+    @Autowired
+    private GiftCertificateDao giftCertificateDao;
+    @Autowired
+    private UserDao userDao;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private TagUsageStatistics tagUsageStatistics;
+    @Autowired
+    private TagUsageStatisticsLoader tagUsageStatisticsLoader;
+    private final Random random = new Random(7);
+    private final List<Long> giftCertificateIds = new ArrayList<>();
+    private final List<Long> userIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws DaoException {
+        List<Tag> tags = new ArrayList<>();
+        for (int i = 0; i < TAG_COUNT; i++) {
+            tags.add(tagDao.add(Tag.builder().name("tag" + i).build()));
+        }
+        for (int i = 0; i < GIFT_CERTIFICATE_COUNT; i++) {
+            List<Tag> giftCertificateTags = new ArrayList<>();
+            for (int j = 0; j < 1 + random.nextInt(3); j++) {
+                Tag tag = tags.get(skewed(TAG_COUNT));
+                if (!giftCertificateTags.contains(tag)) {
+                    giftCertificateTags.add(tag);
+                }
+            }
+            GiftCertificate giftCertificate = giftCertificateDao.add(GiftCertificate.builder()
+                    .name("certificate" + i)
+                    .description("description")
+                    .price(BigDecimal.valueOf(100 + random.nextInt(10000), 2))
+                    .durationInDays(10)
+                    .createDate(LocalDateTime.now())
+                    .lastUpdateDate(LocalDateTime.now())
+                    .tags(giftCertificateTags)
+                    .build());
+            giftCertificateIds.add(giftCertificate.getId());
+        }
+        for (int i = 0; i < USER_COUNT; i++) {
+            User user = userDao.add(User.builder()
+                    .email("user" + i + "@mail.com")
+                    .name("name")
+                    .surname("surname")
+                    .password("password")
+                    .registrationDate(LocalDateTime.now())
+                    .role(Role.USER)
+                    .status(Status.ACTIVE)
+                    .build());
+            userIds.add(user.getId());
+        }
+    }
+
+    @Test
+    void record_GeneratedOrdersGiven_ShouldMatchDataSource() throws DaoException, ServiceException {
+        tagUsageStatisticsLoader.rebuild();
+        for (int i = 1; i <= ORDER_COUNT; i++) {
+            makeRandomOrder();
+            if (i % CHECK_EVERY == 0) {
+                assertEquals(tagDao.findMostUsedTag().getId(), tagUsageStatistics.findMostUsedTagId().orElseThrow());
+            }
+        }
+    }
+
+    @Test
+    void rebuild_GeneratedOrdersGiven_ShouldMatchDataSource() throws DaoException, ServiceException {
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            makeRandomOrder();
+        }
+        tagUsageStatisticsLoader.rebuild();
+        assertEquals(tagDao.findMostUsedTag().getId(), tagUsageStatistics.findMostUsedTagId().orElseThrow());
+    }
+
+    @Test
+    void rebuild_TiedUsersAndTagsGiven_ShouldPickLowerIdsLikeDataSource() throws DaoException, ServiceException {
+        List<Tag> tiedTags = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            tiedTags.add(tagDao.add(Tag.builder().name("tied" + i).build()));
+        }
+        GiftCertificate first = addExpensiveCertificate(tiedTags.subList(0, 2));
+        GiftCertificate second = addExpensiveCertificate(tiedTags.subList(2, 4));
+        userService.makeOrderOnGiftCertificate(userIds.get(1), first.getId());
+        userService.makeOrderOnGiftCertificate(userIds.get(0), second.getId());
+        tagUsageStatisticsLoader.rebuild();
+        long expectedTagId = tiedTags.get(2).getId();
+        assertEquals(expectedTagId, tagDao.findMostUsedTag().getId());
+        assertEquals(expectedTagId, tagUsageStatistics.findMostUsedTagId().orElseThrow());
+    }
+
+    private GiftCertificate addExpensiveCertificate(List<Tag> tags) throws DaoException {
+        return giftCertificateDao.add(GiftCertificate.builder()
+                .name("expensive")
+                .description("description")
+                .price(BigDecimal.valueOf(1_000_000_000))
+                .durationInDays(10)
+                .createDate(LocalDateTime.now())
+                .lastUpdateDate(LocalDateTime.now())
+                .tags(new ArrayList<>(tags))
+                .build());
+    }
+
+    private void makeRandomOrder() throws ServiceException {
+        long userId = userIds.get(skewed(USER_COUNT));
+        long giftCertificateId = giftCertificateIds.get(random.nextInt(GIFT_CERTIFICATE_COUNT));
+        userService.makeOrderOnGiftCertificate(userId, giftCertificateId);
+    }
+
+    private int skewed(int bound) {
+        return (int) (bound * Math.pow(random.nextDouble(), 2));
+    }
+}
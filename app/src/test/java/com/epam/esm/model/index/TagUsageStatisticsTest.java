@@ -0,0 +1,115 @@
+package com.epam.esm.model.index;
+
+import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.entity.Order;
+import com.epam.esm.entity.Tag;
+import com.epam.esm.entity.User;
+import com.epam.esm.util.entity.UserTagUsage;
+import com.epam.esm.util.entity.UserTotalCost;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TagUsageStatisticsTest {
+    private static final Tag SPA = Tag.builder().id(1L).name("spa").build();
+    private static final Tag SPORT = Tag.builder().id(2L).name("sport").build();
+    private TagUsageStatistics tagUsageStatistics;
+
+    @BeforeEach
+    void setUp() {
+        tagUsageStatistics = new TagUsageStatistics();
+        tagUsageStatistics.startRebuild();
+        tagUsageStatistics.finishRebuild(List.of(), List.of(), Set.of(), Set.of());
+    }
+
+    @Test
+    void findMostUsedTagId_NotBuilt_ShouldReturnEmptyOptional() {
+        assertTrue(new TagUsageStatistics().findMostUsedTagId().isEmpty());
+    }
+
+    @Test
+    void findMostUsedTagId_NoOrders_ShouldReturnEmptyOptional() {
+        assertTrue(tagUsageStatistics.findMostUsedTagId().isEmpty());
+    }
+
+    @Test
+    void record_OrdersGiven_ShouldReturnMostUsedTagOfUserWithHighestCost() {
+        tagUsageStatistics.record(order(1L, 1L, "10", SPA));
+        tagUsageStatistics.record(order(2L, 2L, "4", SPORT));
+        tagUsageStatistics.record(order(3L, 2L, "4", SPORT, SPA));
+        assertEquals(1L, tagUsageStatistics.findMostUsedTagId().orElseThrow());
+        tagUsageStatistics.record(order(4L, 2L, "4", SPORT));
+        assertEquals(2L, tagUsageStatistics.findMostUsedTagId().orElseThrow());
+    }
+
+    @Test
+    void record_OrderWithoutUserGiven_ShouldDisableStatistics() {
+        tagUsageStatistics.record(Order.builder().id(1L).cost(BigDecimal.ONE).build());
+        assertFalse(tagUsageStatistics.isReady());
+        assertTrue(tagUsageStatistics.findMostUsedTagId().isEmpty());
+    }
+
+    @Test
+    void finishRebuild_OrdersRecordedDuringRebuild_ShouldAddOnlyNotCountedOrders() {
+        tagUsageStatistics.startRebuild();
+        tagUsageStatistics.record(order(5L, 2L, "30", SPORT));
+        tagUsageStatistics.record(order(6L, 1L, "10", SPA));
+        tagUsageStatistics.finishRebuild(
+                List.of(new UserTotalCost(1L, new BigDecimal("10"))),
+                List.of(new UserTagUsage(1L, 1L, 1L)),
+                Set.of(5L, 6L), Set.of(6L));
+        assertEquals(2L, tagUsageStatistics.findMostUsedTagId().orElseThrow());
+    }
+
+    @Test
+    void finishRebuild_UncheckedOrdersRecordedDuringRebuild_ShouldNotReplaceStatistics() {
+        tagUsageStatistics.startRebuild();
+        tagUsageStatistics.record(order(5L, 1L, "10", SPA));
+        assertFalse(tagUsageStatistics.finishRebuild(List.of(), List.of(), Set.of(), Set.of()));
+        assertEquals(List.of(5L), tagUsageStatistics.findUncheckedOrderIds(Set.of()));
+        tagUsageStatistics.record(order(6L, 1L, "10", SPA));
+        assertEquals(List.of(6L), tagUsageStatistics.findUncheckedOrderIds(Set.of(5L)));
+        assertTrue(tagUsageStatistics.finishRebuild(List.of(), List.of(), Set.of(5L, 6L), Set.of()));
+        assertEquals(1L, tagUsageStatistics.findMostUsedTagId().orElseThrow());
+    }
+
+    @Test
+    void finishRebuild_TiedCountsGiven_ShouldPreferLowerIds() {
+        tagUsageStatistics.startRebuild();
+        tagUsageStatistics.finishRebuild(
+                List.of(new UserTotalCost(2L, BigDecimal.TEN), new UserTotalCost(1L, BigDecimal.TEN)),
+                List.of(new UserTagUsage(1L, 2L, 3L), new UserTagUsage(1L, 1L, 3L), new UserTagUsage(2L, 2L, 5L)),
+                Set.of(), Set.of());
+        assertEquals(1L, tagUsageStatistics.findMostUsedTagId().orElseThrow());
+    }
+
+    @Test
+    void record_TiedCountsGiven_ShouldPreferSameIdsAsRebuild() {
+        tagUsageStatistics.record(order(1L, 2L, "5", SPORT));
+        tagUsageStatistics.record(order(2L, 2L, "5", SPORT));
+        tagUsageStatistics.record(order(3L, 1L, "5", SPORT));
+        tagUsageStatistics.record(order(4L, 1L, "5", SPA));
+        long recorded = tagUsageStatistics.findMostUsedTagId().orElseThrow();
+        tagUsageStatistics.startRebuild();
+        tagUsageStatistics.finishRebuild(
+                List.of(new UserTotalCost(1L, BigDecimal.TEN), new UserTotalCost(2L, BigDecimal.TEN)),
+                List.of(new UserTagUsage(1L, 2L, 1L), new UserTagUsage(1L, 1L, 1L), new UserTagUsage(2L, 2L, 2L)),
+                Set.of(), Set.of());
+        assertEquals(1L, recorded);
+        assertEquals(recorded, tagUsageStatistics.findMostUsedTagId().orElseThrow());
+    }
+
+    private static Order order(long id, long userId, String cost, Tag... tags) {
+        return Order.builder()
+                .id(id)
+                .user(User.builder().id(userId).build())
+                .giftCertificate(GiftCertificate.builder().tags(List.of(tags)).build())
+                .cost(new BigDecimal(cost))
+                .build();
+    }
+}
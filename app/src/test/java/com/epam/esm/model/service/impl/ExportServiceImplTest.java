@@ -0,0 +1,130 @@
+package com.epam.esm.model.service.impl;
+
+import com.epam.esm.entity.*;
+import com.epam.esm.model.dao.GiftCertificateDao;
+import com.epam.esm.model.dao.OrderDao;
+import com.epam.esm.model.dao.TagDao;
+import com.epam.esm.model.dao.UserDao;
+import com.epam.esm.model.dao.exception.DaoException;
+import com.epam.esm.model.service.ExportService;
+import com.epam.esm.model.service.ServiceException;
+import com.epam.esm.util.entity.ExportFormat;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ExportServiceImplTest {
+    private static final LocalDateTime START = LocalDateTime.of(2021, 1, 1, 0, 0);
+    private static final int GIFT_CERTIFICATE_COUNT = 5;
+    @Autowired
+    private ExportService exportService;
+    @Autowired
+    private TagDao tagDao;
+    @Autowired
+    private GiftCertificateDao giftCertificateDao;
+    @Autowired
+    private UserDao userDao;
+    @Autowired
+    private OrderDao orderDao;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() throws DaoException {
+        Tag first = tagDao.add(Tag.builder().name("first").build());
+        Tag second = tagDao.add(Tag.builder().name("second").build());
+        User user = userDao.add(User.builder()
+                .email("export@mail.com")
+                .name("name")
+                .surname("surname")
+                .password("password")
+                .registrationDate(START)
+                .role(Role.USER)
+                .status(Status.ACTIVE)
+                .build());
+        for (int i = 0; i < GIFT_CERTIFICATE_COUNT; i++) {
+            GiftCertificate giftCertificate = giftCertificateDao.add(GiftCertificate.builder()
+                    .name("certificate, \"" + i + "\"")
+                    .description("description")
+                    .price(BigDecimal.TEN)
+                    .durationInDays(10)
+                    .createDate(START)
+                    .lastUpdateDate(START.plusDays(i))
+                    .tags(new ArrayList<>(i % 2 == 0 ? List.of(first, second) : List.of(first)))
+                    .build());
+            orderDao.add(Order.builder()
+                    .user(user)
+                    .giftCertificate(giftCertificate)
+                    .cost(BigDecimal.TEN)
+                    .orderDate(START.plusDays(i))
+                    .build());
+        }
+    }
+
+    @Test
+    void exportGiftCertificates_NdjsonFormatGiven_ShouldWriteEveryCertificateWithTagsOnce()
+            throws ServiceException, IOException {
+        List<String> lines = export(exportService::exportGiftCertificates, null, null, ExportFormat.NDJSON);
+        assertEquals(GIFT_CERTIFICATE_COUNT, lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            JsonNode node = objectMapper.readTree(lines.get(i));
+            assertEquals("certificate, \"" + i + "\"", node.get("name").asText());
+            assertEquals(i % 2 == 0 ? 2 : 1, node.get("tags").size());
+        }
+    }
+
+    @Test
+    void exportGiftCertificates_RangeGiven_ShouldWriteOnlyCertificatesInRange() throws ServiceException {
+        List<String> lines = export(exportService::exportGiftCertificates, START.plusDays(1), START.plusDays(3),
+                ExportFormat.CSV);
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).startsWith("id,name,"));
+        assertTrue(lines.get(1).contains(",\"certificate, \"\"1\"\"\",description,10,10,"));
+        assertTrue(lines.get(1).endsWith(",first"));
+        assertTrue(lines.get(2).endsWith(",first|second"));
+    }
+
+    @Test
+    void exportOrders_CsvFormatGiven_ShouldWriteHeaderAndEveryOrder() throws ServiceException {
+        List<String> lines = export(exportService::exportOrders, START.plusDays(2), null, ExportFormat.CSV);
+        assertEquals("id,user_id,gift_certificate_id,cost,order_date", lines.get(0));
+        assertEquals(4, lines.size());
+    }
+
+    @Test
+    void exportOrders_EmptyRangeGiven_ShouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> exportService.exportOrders(START, START,
+                ExportFormat.NDJSON, new ByteArrayOutputStream()));
+    }
+
+    private static List<String> export(Export export, LocalDateTime from, LocalDateTime to, ExportFormat format)
+            throws ServiceException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        export.run(from, to, format, out);
+        return out.toString(StandardCharsets.UTF_8).lines().toList();
+    }
+
+    @FunctionalInterface
+    private interface Export {
+        void run(LocalDateTime from, LocalDateTime to, ExportFormat format, ByteArrayOutputStream out)
+                throws ServiceException;
+    }
+}
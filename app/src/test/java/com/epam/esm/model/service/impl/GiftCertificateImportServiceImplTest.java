@@ -0,0 +1,145 @@
+package com.epam.esm.model.service.impl;
+
+import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.entity.Tag;
+import com.epam.esm.model.cache.CatalogVersion;
+import com.epam.esm.model.dao.GiftCertificateDao;
+import com.epam.esm.model.dao.TagDao;
+import com.epam.esm.model.dao.exception.DaoException;
+import com.epam.esm.model.index.GiftCertificateTagIndex;
+import com.epam.esm.model.index.GiftCertificateTextIndex;
+import com.epam.esm.model.service.ServiceException;
+import com.epam.esm.util.entity.ImportLineResult;
+import com.epam.esm.util.entity.ImportResult;
+import com.epam.esm.util.entity.ImportStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@ExtendWith(MockitoExtension.class)
+class GiftCertificateImportServiceImplTest {
+    private static final String VALID_LINE = "{\"name\":\"name%d\",\"description\":\"description\"," +
+            "\"price\":10,\"durationInDays\":5,\"tags\":[{\"id\":1,\"name\":\"old\"},{\"name\":\"new\"}]}";
+    @Mock
+    private GiftCertificateDao giftCertificateDao;
+    @Mock
+    private TagDao tagDao;
+    @Mock
+    private CatalogVersion catalogVersion;
+    private GiftCertificateImportServiceImpl importService;
+    private final AtomicLong nextId = new AtomicLong(1);
+
+    @BeforeEach
+    void setUp() {
+        importService = new GiftCertificateImportServiceImpl(giftCertificateDao, tagDao,
+                new GiftCertificateTextIndex(), new GiftCertificateTagIndex(), catalogVersion,
+                new ObjectMapper().registerModule(new JavaTimeModule()));
+        ReflectionTestUtils.setField(importService, "chunkSize", 2);
+    }
+
+    @Test
+    void importAll_ValidLinesGiven_ShouldCreateAllInChunks() throws DaoException, ServiceException {
+        mockAddAll();
+        when(tagDao.findAllByIds(anyCollection())).thenReturn(List.of(Tag.builder().id(1L).name("old").build()));
+        ImportResult result = importService.importAll(new StringReader(lines(5)));
+        assertEquals(5, result.getCreated());
+        assertEquals(0, result.getRejected() + result.getFailed());
+        assertTrue(result.getLines().stream().allMatch(line -> line.getId() != null));
+        verify(giftCertificateDao, times(3)).addAll(anyList());
+        verify(tagDao, times(3)).findAllByIds(anyCollection());
+    }
+
+    @Test
+    void importAll_MalformedAndInvalidLinesGiven_ShouldRejectOnlyThem() throws DaoException, ServiceException {
+        mockAddAll();
+        String source = String.format(VALID_LINE, 1) + "\n" +
+                "{not json\n" +
+                "\n" +
+                "{\"description\":\"without name\"}\n" +
+                String.format(VALID_LINE, 2) + "\n";
+        ImportResult result = importService.importAll(new StringReader(source));
+        assertEquals(2, result.getCreated());
+        assertEquals(2, result.getRejected());
+        List<ImportLineResult> lines = result.getLines();
+        assertEquals(List.of(1L, 2L, 4L, 5L), lines.stream().map(ImportLineResult::getLine).toList());
+        assertEquals(ImportStatus.REJECTED, lines.get(1).getStatus());
+        assertEquals("The supplied [GiftCertificate] has invalid field 'name'", lines.get(2).getMessage());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void importAll_TagsGiven_ShouldResolveExistingAndShareNewTags() throws DaoException, ServiceException {
+        mockAddAll();
+        Tag existing = Tag.builder().id(1L).name("old").build();
+        when(tagDao.findAllByIds(anyCollection())).thenReturn(List.of(existing));
+        importService.importAll(new StringReader(lines(2)));
+        ArgumentCaptor<List<GiftCertificate>> captor = ArgumentCaptor.forClass(List.class);
+        verify(giftCertificateDao).addAll(captor.capture());
+        List<GiftCertificate> added = captor.getValue();
+        assertSame(existing, added.get(0).getTags().get(0));
+        assertSame(added.get(0).getTags().get(1), added.get(1).getTags().get(1));
+        assertNull(added.get(0).getTags().get(1).getId());
+    }
+
+    @Test
+    void importAll_DaoExceptionThrown_ShouldFailOnlyItsChunk() throws DaoException, ServiceException {
+        when(giftCertificateDao.addAll(anyList()))
+                .thenThrow(new DaoException())
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        ImportResult result = importService.importAll(new StringReader(lines(4)));
+        assertEquals(2, result.getFailed());
+        assertEquals(2, result.getCreated());
+        assertEquals(ImportStatus.FAILED, result.getLines().get(0).getStatus());
+        assertNotNull(result.getLines().get(0).getMessage());
+    }
+
+    @Test
+    void importAll_IndexUpdateFailed_ShouldReportCreatedAndInvalidateIndexes() throws DaoException, ServiceException {
+        mockAddAll();
+        GiftCertificateTextIndex textIndex = spy(new GiftCertificateTextIndex());
+        GiftCertificateTagIndex tagIndex = spy(new GiftCertificateTagIndex());
+        doThrow(new IllegalStateException()).when(textIndex).add(any(GiftCertificate.class));
+        importService = new GiftCertificateImportServiceImpl(giftCertificateDao, tagDao, textIndex, tagIndex,
+                catalogVersion, new ObjectMapper().registerModule(new JavaTimeModule()));
+        ImportResult result = importService.importAll(new StringReader(lines(2)));
+        assertEquals(2, result.getCreated());
+        assertEquals(0, result.getFailed());
+        verify(textIndex).invalidate();
+        verify(tagIndex).invalidate();
+        verify(catalogVersion).increment();
+    }
+
+    private void mockAddAll() throws DaoException {
+        when(giftCertificateDao.addAll(anyList())).thenAnswer(invocation -> {
+            List<GiftCertificate> giftCertificates = invocation.getArgument(0);
+            giftCertificates.forEach(giftCertificate -> giftCertificate.setId(nextId.getAndIncrement()));
+            return giftCertificates;
+        });
+    }
+
+    private static String lines(int count) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 1; i <= count; i++) {
+            builder.append(String.format(VALID_LINE, i)).append('\n');
+        }
+        return builder.toString();
+    }
+}
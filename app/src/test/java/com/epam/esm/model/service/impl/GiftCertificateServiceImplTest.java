@@ -1,16 +1,22 @@
 package com.epam.esm.model.service.impl;
 
 import com.epam.esm.entity.GiftCertificate;
+import com.epam.esm.model.cache.CatalogVersion;
 import com.epam.esm.model.dao.GiftCertificateDao;
 import com.epam.esm.model.dao.TagDao;
 import com.epam.esm.model.dao.exception.DaoException;
+import com.epam.esm.model.index.GiftCertificateTagIndex;
+import com.epam.esm.model.index.GiftCertificateTextIndex;
 import com.epam.esm.model.service.ServiceException;
+import com.epam.esm.util.entity.CursorPage;
+import com.epam.esm.util.entity.TagFilter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -21,6 +27,8 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SpringBootTest
@@ -30,11 +38,14 @@ class GiftCertificateServiceImplTest {
     private GiftCertificateDao giftCertificateDao;
     @Mock
     private TagDao tagDao;
+    @Mock
+    private CatalogVersion catalogVersion;
     private GiftCertificateServiceImpl giftCertificateService;
 
     @BeforeEach
     void setUp() {
-        giftCertificateService = new GiftCertificateServiceImpl(giftCertificateDao, tagDao);
+        giftCertificateService = new GiftCertificateServiceImpl(giftCertificateDao, tagDao,
+                new GiftCertificateTextIndex(), new GiftCertificateTagIndex(), catalogVersion);
     }
 
     @Test
@@ -49,6 +60,14 @@ class GiftCertificateServiceImplTest {
         }
     }
 
+    @Test
+    void add_ValidGiftCertificateGiven_ShouldChangeCatalogVersion() throws DaoException, ServiceException {
+        when(giftCertificateDao.add(any(GiftCertificate.class)))
+                .thenReturn(GiftCertificate.builder().id(1L).name("name").build());
+        giftCertificateService.add(GiftCertificate.builder().name("name").build());
+        verify(catalogVersion).increment();
+    }
+
     @Test
     void add_NullGiven_ShouldThrowIllegalArgumentException() {
         assertThrows(IllegalArgumentException.class, () -> giftCertificateService.add(null));
@@ -151,6 +170,32 @@ class GiftCertificateServiceImplTest {
                 () -> giftCertificateService.findAll(null, null, null, null, -1, -1));
     }
 
+    @Test
+    void findAllWithCursor_FullPageFound_ShouldReturnNextCursor() throws DaoException {
+        List<GiftCertificate> expected = List.of(GiftCertificate.builder().id(1L).build());
+        when(giftCertificateDao.findAll(anyList(), anyList(), anyList(), anyInt())).thenReturn(expected);
+        try {
+            CursorPage<GiftCertificate> actual = giftCertificateService.findAll(null, null, null, null, null, 1);
+            assertEquals(expected, actual.getContent());
+            assertNotNull(actual.getNextCursor());
+        } catch (ServiceException e) {
+            fail(e);
+        }
+    }
+
+    @Test
+    void findAllWithCursor_InvalidCursorGiven_ShouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> giftCertificateService.findAll(null, null, null, null, "invalid", 1));
+    }
+
+    @Test
+    void findAllWithCursor_DaoExceptionThrown_ShouldThrowServiceException() throws DaoException {
+        when(giftCertificateDao.findAll(anyList(), anyList(), anyList(), anyInt())).thenThrow(new DaoException());
+        assertThrows(ServiceException.class,
+                () -> giftCertificateService.findAll(null, null, null, null, null, 1));
+    }
+
     @Test
     void update_ValidIdAndGiftCertificateGiven_Success() throws DaoException {
         when(giftCertificateDao.findById(anyLong())).thenReturn(Optional.of(new GiftCertificate()));
@@ -164,6 +209,26 @@ class GiftCertificateServiceImplTest {
         }
     }
 
+    @Test
+    void update_ExpectedVersionGiven_ShouldUpdateWithExpectedVersion() throws DaoException, ServiceException {
+        GiftCertificate giftCertificate = GiftCertificate.builder().id(1L).version(3).build();
+        when(giftCertificateDao.findById(1L)).thenReturn(Optional.of(giftCertificate));
+        when(giftCertificateDao.update(giftCertificate, 3L)).thenReturn(giftCertificate);
+        assertEquals(giftCertificate, giftCertificateService.update(1L, new GiftCertificate(), 3L));
+        verify(giftCertificateDao, never()).update(any(GiftCertificate.class));
+    }
+
+    @Test
+    void update_StaleVersionGiven_ShouldThrowOptimisticLockingFailureException() throws DaoException {
+        GiftCertificate giftCertificate = GiftCertificate.builder().id(1L).version(4).build();
+        when(giftCertificateDao.findById(1L)).thenReturn(Optional.of(giftCertificate));
+        when(giftCertificateDao.update(giftCertificate, 3L))
+                .thenThrow(new OptimisticLockingFailureException("version"));
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> giftCertificateService.update(1L, new GiftCertificate(), 3L));
+        verify(catalogVersion, never()).increment();
+    }
+
     @Test
     void update_InvalidIdAndNullGiven_ShouldThrowIllegalArgumentException() {
         assertThrows(IllegalArgumentException.class, () -> giftCertificateService.update(0, null));
@@ -198,6 +263,14 @@ class GiftCertificateServiceImplTest {
         }
     }
 
+    @Test
+    void delete_ExpectedVersionGiven_ShouldDeleteWithExpectedVersion() throws DaoException, ServiceException {
+        GiftCertificate giftCertificate = GiftCertificate.builder().id(1L).version(3).build();
+        when(giftCertificateDao.delete(1L, 3L)).thenReturn(giftCertificate);
+        assertEquals(giftCertificate, giftCertificateService.delete(1L, 3L));
+        verify(catalogVersion).increment();
+    }
+
     @Test
     void delete_InvalidIdGiven_ShouldThrowIllegalArgumentException() {
         assertThrows(IllegalArgumentException.class, () -> giftCertificateService.delete(0));
@@ -212,10 +285,11 @@ class GiftCertificateServiceImplTest {
     @Test
     void findByTagName_ValidTagNameGiven_ShouldReturnList() throws DaoException {
         List<GiftCertificate> expected = List.of(new GiftCertificate());
-        when(giftCertificateDao.findByTagName(anyList(), anyList(), anyList(), anyInt(), anyInt())).thenReturn(expected);
+        when(giftCertificateDao.findByTagName(any(TagFilter.class), anyList(), anyList(), anyInt(), anyInt())).thenReturn(expected);
         try {
             List<GiftCertificate> actual =
-                    giftCertificateService.findByTagName(List.of("tag name"), null, null, null, null, 0, 501);
+                    giftCertificateService.findByTagName(List.of("tag name"), null, null, null, null, null, null, 0,
+                            501);
             assertEquals(expected, actual);
         } catch (ServiceException e) {
             fail(e);
@@ -225,23 +299,26 @@ class GiftCertificateServiceImplTest {
     @Test
     void findByTagName_NullGiven_ShouldThrowIllegalArgumentException() {
         assertThrows(IllegalArgumentException.class,
-                () -> giftCertificateService.findByTagName(null, null, null, null, null, 1, 1));
+                () -> giftCertificateService.findByTagName(null, null, null, null, null, null, null, 1, 1));
     }
 
     @Test
     void findByTagName_DaoExceptionThrown_ShouldThrowServiceException() throws DaoException {
-        when(giftCertificateDao.findByTagName(anyList(), anyList(), anyList(), anyInt(), anyInt()))
+        when(giftCertificateDao.findByTagName(any(TagFilter.class), anyList(), anyList(), anyInt(), anyInt()))
                 .thenThrow(new DaoException());
         assertThrows(ServiceException.class,
-                () -> giftCertificateService.findByTagName(List.of("tag name"), null, null, null, null, 1, 1));
+                () -> giftCertificateService.findByTagName(List.of("tag name"), null, null, null, null, null, null,
+                        1, 1));
     }
 
     @Test
     void findByTagName_ValidParametersGiven_ShouldReturnList() throws DaoException {
         List<GiftCertificate> expected = List.of(new GiftCertificate());
-        when(giftCertificateDao.findByTagName(anyList(), anyList(), anyList(), anyInt(), anyInt())).thenReturn(expected);
+        when(giftCertificateDao.findByTagName(any(TagFilter.class), anyList(), anyList(), anyInt(), anyInt())).thenReturn(expected);
         try {
             List<GiftCertificate> actual = giftCertificateService.findByTagName(List.of("tag name"),
+                    null,
+                    null,
                     new ArrayList<>(),
                     new ArrayList<>(),
                     new ArrayList<>(),
@@ -254,9 +331,39 @@ class GiftCertificateServiceImplTest {
         }
     }
 
+    @Test
+    void findByTagNameWithCursor_NotFullPageFound_ShouldReturnNullCursor() throws DaoException {
+        List<GiftCertificate> expected = List.of(GiftCertificate.builder().id(1L).build());
+        when(giftCertificateDao.findByTagName(any(TagFilter.class), anyList(), anyList(), anyList(), anyInt()))
+                .thenReturn(expected);
+        try {
+            CursorPage<GiftCertificate> actual =
+                    giftCertificateService.findByTagName(List.of("tag name"), null, null, null, null, null, null,
+                            null, 2);
+            assertEquals(expected, actual.getContent());
+            assertNull(actual.getNextCursor());
+        } catch (ServiceException e) {
+            fail(e);
+        }
+    }
+
     @Test
     void findByTagName_InvalidParametersGiven_ShouldThrowIllegalArgumentException() {
         assertThrows(IllegalArgumentException.class,
-                () -> giftCertificateService.findByTagName(List.of(""), null, null, null, null, -1, -1));
+                () -> giftCertificateService.findByTagName(List.of(""), null, null, null, null, null, null, -1, -1));
+    }
+
+    @Test
+    void findByTagName_OnlyExcludedTagNameGiven_ShouldReturnList() throws DaoException {
+        List<GiftCertificate> expected = List.of(new GiftCertificate());
+        when(giftCertificateDao.findByTagName(any(TagFilter.class), anyList(), anyList(), anyInt(), anyInt()))
+                .thenReturn(expected);
+        try {
+            List<GiftCertificate> actual = giftCertificateService.findByTagName(null, null, List.of("tag name"),
+                    null, null, null, null, 0, 10);
+            assertEquals(expected, actual);
+        } catch (ServiceException e) {
+            fail(e);
+        }
     }
 }
@@ -1,9 +1,13 @@
 package com.epam.esm.model.service.impl;
 
 import com.epam.esm.entity.Tag;
+import com.epam.esm.model.cache.CatalogVersion;
 import com.epam.esm.model.dao.TagDao;
 import com.epam.esm.model.dao.exception.DaoException;
+import com.epam.esm.model.index.GiftCertificateTagIndex;
+import com.epam.esm.model.index.TagUsageStatistics;
 import com.epam.esm.model.service.ServiceException;
+import com.epam.esm.util.entity.CursorPage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,9 +18,11 @@ import org.springframework.boot.test.context.SpringBootTest;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SpringBootTest
@@ -24,11 +30,16 @@ import static org.mockito.Mockito.when;
 class TagServiceImplTest {
     @Mock
     private TagDao tagDao;
+    @Mock
+    private TagUsageStatistics tagUsageStatistics;
+    @Mock
+    private CatalogVersion catalogVersion;
     private TagServiceImpl tagService;
 
     @BeforeEach
     void setUp() {
-        tagService = new TagServiceImpl(tagDao);
+        tagService = new TagServiceImpl(tagDao, new GiftCertificateTagIndex(), tagUsageStatistics,
+                catalogVersion);
     }
 
     @Test
@@ -43,6 +54,13 @@ class TagServiceImplTest {
         }
     }
 
+    @Test
+    void add_ValidTagGiven_ShouldChangeCatalogVersion() throws DaoException, ServiceException {
+        when(tagDao.add(any(Tag.class))).thenReturn(Tag.builder().id(1L).name("name").build());
+        tagService.add(Tag.builder().name("name").build());
+        verify(catalogVersion).increment();
+    }
+
     @Test
     void add_NullGiven_ShouldThrowIllegalArgumentException() {
         assertThrows(IllegalArgumentException.class, () -> tagService.add(null));
@@ -129,6 +147,25 @@ class TagServiceImplTest {
                 () -> tagService.findAll(null, null, null, null, -1, -1));
     }
 
+    @Test
+    void findAllWithCursor_FullPageFound_ShouldReturnNextCursor() throws DaoException {
+        List<Tag> expected = List.of(Tag.builder().id(1L).name("name").build());
+        when(tagDao.findAll(anyList(), anyList(), anyList(), anyInt())).thenReturn(expected);
+        try {
+            CursorPage<Tag> actual = tagService.findAll(List.of("name"), null, null, null, null, 1);
+            assertEquals(expected, actual.getContent());
+            assertNotNull(actual.getNextCursor());
+        } catch (ServiceException e) {
+            fail(e);
+        }
+    }
+
+    @Test
+    void findAllWithCursor_InvalidLimitGiven_ShouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> tagService.findAll(null, null, null, null, null, -1));
+    }
+
     @Test
     void delete_ValidIdGiven_Success() throws DaoException {
         when(tagDao.delete(anyLong())).thenReturn(new Tag());
@@ -141,6 +178,13 @@ class TagServiceImplTest {
         }
     }
 
+    @Test
+    void delete_ValidIdGiven_ShouldChangeCatalogVersion() throws DaoException, ServiceException {
+        when(tagDao.delete(1L)).thenReturn(Tag.builder().id(1L).name("name").build());
+        tagService.delete(1L);
+        verify(catalogVersion).increment();
+    }
+
     @Test
     void delete_InvalidIdGiven_ShouldThrowIllegalArgumentException() {
         assertThrows(IllegalArgumentException.class, () -> tagService.delete(0));
@@ -164,6 +208,19 @@ class TagServiceImplTest {
         }
     }
 
+    @Test
+    void findMostUsedTag_StatisticsReady_ShouldReturnTagFromStatistics() throws DaoException {
+        Tag expected = Tag.builder().id(1L).name("tag name").build();
+        when(tagUsageStatistics.findMostUsedTagId()).thenReturn(OptionalLong.of(1L));
+        when(tagDao.findById(1L)).thenReturn(Optional.of(expected));
+        try {
+            Tag actual = tagService.findMostUsedTag();
+            assertEquals(expected, actual);
+        } catch (ServiceException e) {
+            fail(e);
+        }
+    }
+
     @Test
     void findMostUsedTag_DaoExceptionThrown_ShouldThrowServiceException() throws DaoException {
         when(tagDao.findMostUsedTag()).thenThrow(new DaoException());
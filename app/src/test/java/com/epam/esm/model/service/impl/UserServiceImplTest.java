@@ -7,13 +7,17 @@ import com.epam.esm.model.dao.GiftCertificateDao;
 import com.epam.esm.model.dao.OrderDao;
 import com.epam.esm.model.dao.UserDao;
 import com.epam.esm.model.dao.exception.DaoException;
+import com.epam.esm.model.index.TagUsageStatistics;
 import com.epam.esm.model.service.ServiceException;
+import com.epam.esm.util.entity.CursorPage;
+import com.epam.esm.util.entity.OrderSummary;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -21,6 +25,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SpringBootTest
@@ -32,11 +37,16 @@ class UserServiceImplTest {
     private OrderDao orderDao;
     @Mock
     private GiftCertificateDao giftCertificateDao;
+    @Mock
+    private PasswordEncoder passwordEncoder;
+    @Mock
+    private TagUsageStatistics tagUsageStatistics;
     private UserServiceImpl userService;
 
     @BeforeEach
     void setUp() {
-        userService = new UserServiceImpl(userDao, orderDao, giftCertificateDao, passwordEncoder);
+        userService = new UserServiceImpl(userDao, orderDao, giftCertificateDao, passwordEncoder,
+                tagUsageStatistics);
     }
 
     @Test
@@ -115,25 +125,38 @@ class UserServiceImplTest {
 
     @Test
     void findOrdersOfUser_ValidParametersGiven_OrdersOfUserReturned() throws DaoException {
-        List<Order> expected = List.of(new Order());
-        when(userDao.findOrdersOfUser(anyLong(), anyInt(), anyInt())).thenReturn(expected);
+        List<OrderSummary> expected = List.of(new OrderSummary());
+        when(userDao.findOrdersOfUser(anyLong(), anyList(), anyInt(), anyInt())).thenReturn(expected);
         try {
-            List<Order> actual = userService.findOrdersOfUser(1L, 0, 501);
+            List<OrderSummary> actual = userService.findOrdersOfUser(1L, null, null, 0, 501);
             assertEquals(expected, actual);
         } catch (ServiceException e) {
             fail(e);
         }
     }
 
+    @Test
+    void findOrdersOfUserWithCursor_FullPageFound_ShouldReturnNextCursor() throws DaoException {
+        List<OrderSummary> expected = List.of(OrderSummary.builder().id(1L).build());
+        when(userDao.findOrdersOfUser(anyLong(), anyList(), anyList(), anyList(), anyInt())).thenReturn(expected);
+        try {
+            CursorPage<OrderSummary> actual = userService.findOrdersOfUser(1L, null, null, null, 1);
+            assertEquals(expected, actual.getContent());
+            assertNotNull(actual.getNextCursor());
+        } catch (ServiceException e) {
+            fail(e);
+        }
+    }
+
     @Test
     void findOrdersOfUser_InvalidParametersGiven_ShouldThrowIllegalArgumentException() {
-        assertThrows(IllegalArgumentException.class, () -> userService.findOrdersOfUser(0, -1, -1));
+        assertThrows(IllegalArgumentException.class, () -> userService.findOrdersOfUser(0, null, null, -1, -1));
     }
 
     @Test
     void findOrdersOfUser_DaoExceptionThrown_ShouldThrowServiceException() throws DaoException {
-        when(userDao.findOrdersOfUser(anyLong(), anyInt(), anyInt())).thenThrow(new DaoException());
-        assertThrows(ServiceException.class, () -> userService.findOrdersOfUser(1L, 0, 501));
+        when(userDao.findOrdersOfUser(anyLong(), anyList(), anyInt(), anyInt())).thenThrow(new DaoException());
+        assertThrows(ServiceException.class, () -> userService.findOrdersOfUser(1L, null, null, 0, 501));
     }
 
     @Test
@@ -145,6 +168,7 @@ class UserServiceImplTest {
         try {
             Order actual = userService.makeOrderOnGiftCertificate(1L, 1L);
             assertEquals(expected, actual);
+            verify(tagUsageStatistics).record(expected);
         } catch (ServiceException e) {
             fail(e);
         }
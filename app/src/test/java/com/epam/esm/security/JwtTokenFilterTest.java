@@ -0,0 +1,32 @@
+package com.epam.esm.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.servlet.http.HttpServletRequest;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class JwtTokenFilterTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @SpyBean
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Test
+    void doFilter_RequestGiven_ShouldResolveTokenOnce() throws Exception {
+        mockMvc.perform(get("/api/v1/tags").param("limit", "10"));
+        verify(jwtTokenProvider, times(1)).resolveToken(any(HttpServletRequest.class));
+    }
+}
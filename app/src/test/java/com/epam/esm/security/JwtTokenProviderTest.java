@@ -0,0 +1,76 @@
+package com.epam.esm.security;
+
+import com.epam.esm.entity.Role;
+import com.epam.esm.entity.Status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtTokenProviderTest {
+    private static final SecurityUser USER =
+            new SecurityUser(7L, "user@mail.com", "password", Role.USER, Status.ACTIVE);
+    @Mock
+    private UserDetailsService userDetailsService;
+    @Mock
+    private AccountStatusCache accountStatusCache;
+    private JwtTokenProvider jwtTokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenProvider = new JwtTokenProvider(userDetailsService, accountStatusCache);
+        ReflectionTestUtils.setField(jwtTokenProvider, "secretKey", "secret");
+        ReflectionTestUtils.setField(jwtTokenProvider, "validityInMilliseconds", 60);
+        ReflectionTestUtils.setField(jwtTokenProvider, "stateless", true);
+        ReflectionTestUtils.setField(jwtTokenProvider, "cacheEnabled", true);
+        ReflectionTestUtils.setField(jwtTokenProvider, "cacheMaximumSize", 10);
+    }
+
+    @Test
+    void getAuthentication_StatelessModeEnabled_ShouldBuildPrincipalFromClaims() {
+        jwtTokenProvider.init();
+        when(accountStatusCache.isActive(7L)).thenReturn(true);
+        Authentication authentication = jwtTokenProvider.getAuthentication(jwtTokenProvider.createToken(USER));
+        SecurityUser principal = (SecurityUser) authentication.getPrincipal();
+        assertEquals(7L, principal.getId());
+        assertEquals("user@mail.com", principal.getUsername());
+        assertEquals(Role.USER.getAuthorities(), new HashSet<>(authentication.getAuthorities()));
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void getAuthentication_AccountDisabled_ShouldThrowJwtAuthenticationException() {
+        jwtTokenProvider.init();
+        when(accountStatusCache.isActive(7L)).thenReturn(false);
+        String token = jwtTokenProvider.createToken(USER);
+        assertThrows(JwtAuthenticationException.class, () -> jwtTokenProvider.getAuthentication(token));
+    }
+
+    @Test
+    void getAuthentication_StatelessModeDisabled_ShouldLoadUser() {
+        ReflectionTestUtils.setField(jwtTokenProvider, "stateless", false);
+        jwtTokenProvider.init();
+        when(userDetailsService.loadUserByUsername("user@mail.com")).thenReturn(USER);
+        Authentication authentication = jwtTokenProvider.getAuthentication(jwtTokenProvider.createToken(USER));
+        assertSame(USER, authentication.getPrincipal());
+        verifyNoInteractions(accountStatusCache);
+    }
+
+    @Test
+    void getClaims_TamperedToken_ShouldThrowJwtAuthenticationException() {
+        jwtTokenProvider.init();
+        String token = jwtTokenProvider.createToken(USER);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+        assertThrows(JwtAuthenticationException.class, () -> jwtTokenProvider.getClaims(tampered));
+    }
+}
@@ -0,0 +1,59 @@
+package com.epam.esm.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingExecutorTest {
+    private final PasswordHashingExecutor executor = new PasswordHashingExecutor();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(executor, "poolSize", 1);
+        ReflectionTestUtils.setField(executor, "queueCapacity", 1);
+        executor.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.destroy();
+    }
+
+    @Test
+    void submit_TaskGiven_ShouldCompleteWithTaskResult() throws ExecutionException, InterruptedException {
+        assertEquals("hash", executor.submit(() -> "hash").get());
+    }
+
+    @Test
+    void submit_TaskThrownException_ShouldCompleteExceptionally() throws InterruptedException {
+        CompletableFuture<String> future = executor.submit(() -> {
+            throw new IllegalArgumentException("Invalid password");
+        });
+        ExecutionException e = assertThrows(ExecutionException.class, future::get);
+        assertTrue(e.getCause() instanceof IllegalArgumentException);
+    }
+
+    @Test
+    void submit_PoolAndQueueFull_ShouldThrowRejectedExecutionException() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        executor.submit(() -> {
+            started.countDown();
+            release.await();
+            return null;
+        });
+        started.await();
+        executor.submit(() -> null);
+        assertEquals(1, executor.getQueueSize());
+        assertThrows(RejectedExecutionException.class, () -> executor.submit(() -> null));
+    }
+}
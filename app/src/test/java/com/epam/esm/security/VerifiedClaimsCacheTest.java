@@ -0,0 +1,53 @@
+package com.epam.esm.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedClaimsCacheTest {
+    private static final String TOKEN = "header.payload.signature";
+    private final AtomicLong ticker = new AtomicLong();
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger verificationCount = new AtomicInteger();
+    private final VerifiedClaimsCache cache = new VerifiedClaimsCache(10, ticker::get, clock::get);
+
+    @Test
+    void get_SameTokenGivenTwice_ShouldVerifyOnce() {
+        Claims first = cache.get(TOKEN, token -> verify(Duration.ofMinutes(1)));
+        Claims second = cache.get(TOKEN, token -> verify(Duration.ofMinutes(1)));
+        assertSame(first, second);
+        assertEquals(1, verificationCount.get());
+    }
+
+    @Test
+    void get_TokenExpired_ShouldVerifyAgain() {
+        cache.get(TOKEN, token -> verify(Duration.ofMinutes(1)));
+        ticker.set(Duration.ofMinutes(1).toNanos());
+        clock.set(Duration.ofMinutes(1).toMillis());
+        cache.get(TOKEN, token -> verify(Duration.ofMinutes(1)));
+        assertEquals(2, verificationCount.get());
+    }
+
+    @Test
+    void get_VerificationFailed_ShouldNotCacheToken() {
+        assertThrows(MalformedJwtException.class, () -> cache.get(TOKEN, token -> {
+            throw new MalformedJwtException("Invalid token");
+        }));
+        assertEquals(0, cache.size());
+    }
+
+    private Claims verify(Duration validity) {
+        verificationCount.incrementAndGet();
+        return Jwts.claims()
+                .setSubject("user@mail.com")
+                .setExpiration(new Date(clock.get() + validity.toMillis()));
+    }
+}
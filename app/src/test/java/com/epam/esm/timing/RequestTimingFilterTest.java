@@ -0,0 +1,133 @@
+package com.epam.esm.timing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RequestTimingFilterTest {
+    private static final String PATH = "/api/v1/tags";
+    private static final String LIMIT = "limit";
+    private static final String ENDPOINT = "GET " + PATH;
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private RequestTimingEndpoint requestTimingEndpoint;
+
+    @Test
+    @WithMockUser(authorities = "all:read")
+    void doFilter_ServerTimingRequested_ShouldAddServerTimingHeader() throws Exception {
+        MvcResult result = mockMvc.perform(get(PATH).param(LIMIT, "10")
+                .header(ServerTimingAdvice.REQUEST_HEADER, ""))
+                .andExpect(status().isOk())
+                .andReturn();
+        String serverTiming = result.getResponse().getHeader(ServerTimingAdvice.RESPONSE_HEADER);
+        assertNotNull(serverTiming);
+        assertTrue(serverTiming.matches("auth;dur=\\d+\\.\\d{3}, db;dur=\\d+\\.\\d{3}, mapping;dur=\\d+\\.\\d{3}, "
+                + "links;dur=\\d+\\.\\d{3}, app;dur=\\d+\\.\\d{3}"), serverTiming);
+    }
+
+    @Test
+    @WithMockUser(authorities = "all:read")
+    void doFilter_ServerTimingNotRequested_ShouldNotAddServerTimingHeader() throws Exception {
+        mockMvc.perform(get(PATH).param(LIMIT, "10"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(ServerTimingAdvice.RESPONSE_HEADER));
+    }
+
+    @Test
+    @WithMockUser(authorities = "all:read")
+    void doFilter_RequestCompleted_ShouldRecordPhasesAndResponseSizeOfEndpoint() throws Exception {
+        Tags tags = Tags.of(RequestTimingMetrics.ENDPOINT_TAG, ENDPOINT);
+        long before = countOf(tags.and(RequestTimingMetrics.PHASE_TAG, RequestPhase.TOTAL.getMetricName()));
+        MvcResult result = mockMvc.perform(get(PATH).param(LIMIT, "10"))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertEquals(before + 1, countOf(tags.and(RequestTimingMetrics.PHASE_TAG,
+                RequestPhase.TOTAL.getMetricName())));
+        assertTrue(meterRegistry.get(RequestTimingMetrics.PHASE_TIMER)
+                .tags(tags.and(RequestTimingMetrics.PHASE_TAG, RequestPhase.DATABASE.getMetricName()))
+                .timer()
+                .totalTime(TimeUnit.NANOSECONDS) > 0);
+        double maxSize = meterRegistry.get(RequestTimingMetrics.RESPONSE_SIZE).tags(tags).summary().max();
+        assertTrue(maxSize >= result.getResponse().getContentAsByteArray().length);
+        assertTrue(requestTimingEndpoint.timings().containsKey(ENDPOINT));
+    }
+
+    @Test
+    @WithMockUser(authorities = "all:read")
+    void doFilter_NoHandlerFound_ShouldRecordUnmatchedEndpoint() throws Exception {
+        Tags tags = Tags.of(RequestTimingMetrics.ENDPOINT_TAG, RequestTimingMetrics.UNMATCHED_ENDPOINT,
+                RequestTimingMetrics.PHASE_TAG, RequestPhase.TOTAL.getMetricName());
+        long before = countOf(tags);
+        mockMvc.perform(get("/api/v1/unknown"));
+        assertEquals(before + 1, countOf(tags));
+    }
+
+    @Test
+    void doFilter_AsyncRequestCompleted_ShouldRecordEndpoint() throws Exception {
+        Tags tags = Tags.of(RequestTimingMetrics.ENDPOINT_TAG, "POST /api/v1/users",
+                RequestTimingMetrics.PHASE_TAG, RequestPhase.TOTAL.getMetricName());
+        long before = countOf(tags);
+        MvcResult result = mockMvc.perform(post("/api/v1/users").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"timing@mail.com\",\"password\":\"password\",\"name\":\"timing\","
+                        + "\"surname\":\"timing\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(before, countOf(tags));
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isCreated());
+        assertEquals(before + 1, countOf(tags));
+    }
+
+    @Test
+    void doFilter_ResponseWrittenByWriter_ShouldRecordEncodedSize() throws Exception {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        RequestTimingFilter filter = new RequestTimingFilter(new RequestTimingMetrics(registry));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        String body = "size \u00e9\u20ac\ud83d\ude00";
+        filter.doFilter(new MockHttpServletRequest(), response, (request, filteredResponse) -> {
+            filteredResponse.getWriter().write(body);
+            filteredResponse.getWriter().flush();
+        });
+        double size = registry.get(RequestTimingMetrics.RESPONSE_SIZE)
+                .tags(RequestTimingMetrics.ENDPOINT_TAG, RequestTimingMetrics.UNMATCHED_ENDPOINT)
+                .summary()
+                .totalAmount();
+        assertEquals(body.getBytes(StandardCharsets.UTF_8).length, size);
+        assertEquals(body, response.getContentAsString());
+    }
+
+    private long countOf(Tags tags) {
+        return meterRegistry.find(RequestTimingMetrics.PHASE_TIMER).tags(tags).timers().stream()
+                .mapToLong(Timer::count)
+                .sum();
+    }
+}
@@ -0,0 +1,69 @@
+package com.epam.esm.timing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestTimingsTest {
+    private RequestTimings timings;
+
+    @BeforeEach
+    void setUp() {
+        timings = RequestTimings.current();
+        timings.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        timings.finish();
+    }
+
+    @Test
+    void finish_PhasesAdded_ShouldComputeOtherAsRemainderOfTotal() {
+        timings.add(RequestPhase.DATABASE, 1000);
+        timings.add(RequestPhase.MAPPING, 500);
+        timings.finish();
+        long total = timings.getNanos(RequestPhase.TOTAL);
+        assertEquals(Math.max(0, total - 1500), timings.getNanos(RequestPhase.OTHER));
+        assertEquals(0, timings.getNanos(RequestPhase.SERIALIZATION));
+    }
+
+    @Test
+    void finish_HandlerEndMarked_ShouldMeasureSerialization() {
+        timings.markHandlerEnd();
+        timings.finish();
+        long serialization = timings.getNanos(RequestPhase.SERIALIZATION);
+        assertTrue(serialization >= 0 && serialization <= timings.getNanos(RequestPhase.TOTAL));
+    }
+
+    @Test
+    void exit_NestedEntriesGiven_ShouldAddOnlyOutermost() {
+        long outerStart = System.nanoTime();
+        timings.enter(RequestPhase.DATABASE);
+        timings.enter(RequestPhase.DATABASE);
+        timings.exit(RequestPhase.DATABASE, System.nanoTime());
+        assertEquals(0, timings.getNanos(RequestPhase.DATABASE));
+        timings.exit(RequestPhase.DATABASE, outerStart);
+        assertTrue(timings.getNanos(RequestPhase.DATABASE) > 0);
+    }
+
+    @Test
+    void add_RequestFinished_ShouldIgnoreDuration() {
+        timings.finish();
+        timings.add(RequestPhase.LINKS, 1000);
+        assertEquals(0, timings.getNanos(RequestPhase.LINKS));
+        assertFalse(timings.isActive());
+    }
+
+    @Test
+    void start_PreviousRequestRecorded_ShouldResetPhases() {
+        timings.add(RequestPhase.LINKS, 1000);
+        timings.setEndpoint("endpoint");
+        timings.finish();
+        timings.start();
+        assertEquals(0, timings.getNanos(RequestPhase.LINKS));
+        assertNull(timings.getEndpoint());
+    }
+}
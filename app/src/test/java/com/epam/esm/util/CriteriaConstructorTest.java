@@ -0,0 +1,39 @@
+package com.epam.esm.util;
+
+import com.epam.esm.util.entity.SearchOperator;
+import com.epam.esm.util.entity.SearchUnit;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CriteriaConstructorTest {
+
+    @Test
+    void convertListsToSearchCriteria_FieldWithoutOperatorGiven_ShouldUseContains() {
+        List<SearchUnit> actual = CriteriaConstructor.convertListsToSearchCriteria(List.of("name"), List.of("spa"));
+        assertEquals(List.of(new SearchUnit("name", "spa", SearchOperator.CONTAINS)), actual);
+    }
+
+    @Test
+    void convertListsToSearchCriteria_FieldWithOperatorGiven_ShouldSplitOperator() {
+        List<SearchUnit> actual = CriteriaConstructor.convertListsToSearchCriteria(
+                List.of("price:between", "name:Prefix"), List.of("10;20", "sp"));
+        assertEquals(List.of(new SearchUnit("price", "10;20", SearchOperator.BETWEEN),
+                new SearchUnit("name", "sp", SearchOperator.PREFIX)), actual);
+        assertEquals(List.of("10", "20"), actual.get(0).getSearchValues());
+    }
+
+    @Test
+    void convertListsToSearchCriteria_UnknownOperatorGiven_ShouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> CriteriaConstructor.convertListsToSearchCriteria(List.of("price:like"), List.of("10")));
+    }
+
+    @Test
+    void convertListsToSearchCriteria_BetweenWithSingleValueGiven_ShouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> CriteriaConstructor.convertListsToSearchCriteria(List.of("price:between"), List.of("10")));
+    }
+}
@@ -0,0 +1,31 @@
+package com.epam.esm.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CsvWriterTest {
+    @Test
+    void writeRow_PlainValuesGiven_ShouldWriteThemAsIs() throws IOException {
+        StringWriter writer = new StringWriter();
+        new CsvWriter(writer).writeRow(1, "name", 2.5);
+        assertEquals("1,name,2.5\r\n", writer.toString());
+    }
+
+    @Test
+    void writeRow_SpecialCharactersGiven_ShouldQuoteValues() throws IOException {
+        StringWriter writer = new StringWriter();
+        new CsvWriter(writer).writeRow("a,b", "say \"hi\"", "line\nbreak");
+        assertEquals("\"a,b\",\"say \"\"hi\"\"\",\"line\nbreak\"\r\n", writer.toString());
+    }
+
+    @Test
+    void writeRow_NullGiven_ShouldWriteEmptyField() throws IOException {
+        StringWriter writer = new StringWriter();
+        new CsvWriter(writer).writeRow("a", null, "c");
+        assertEquals("a,,c\r\n", writer.toString());
+    }
+}
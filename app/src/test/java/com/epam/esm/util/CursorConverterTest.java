@@ -0,0 +1,55 @@
+package com.epam.esm.util;
+
+import com.epam.esm.entity.Tag;
+import com.epam.esm.util.entity.CursorPage;
+import com.epam.esm.util.entity.SortUnit;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorConverterTest {
+    private final List<SortUnit> sortCriteria = List.of(new SortUnit("name", false), new SortUnit("id", true));
+
+    @Test
+    void decode_EncodedSortKeysGiven_ShouldReturnSameSortKeys() {
+        List<String> expected = Arrays.asList("name, with: delimiters", null);
+        String cursor = CursorConverter.encode(expected, sortCriteria);
+        assertEquals(expected, CursorConverter.decode(cursor, sortCriteria));
+    }
+
+    @Test
+    void decode_NullGiven_ShouldReturnEmptyList() {
+        assertTrue(CursorConverter.decode(null, sortCriteria).isEmpty());
+    }
+
+    @Test
+    void decode_CursorOfAnotherSortCriteriaGiven_ShouldThrowIllegalArgumentException() {
+        String cursor = CursorConverter.encode(List.of("name", "1"), sortCriteria);
+        List<SortUnit> anotherSortCriteria = List.of(new SortUnit("name", true), new SortUnit("id", true));
+        assertThrows(IllegalArgumentException.class, () -> CursorConverter.decode(cursor, anotherSortCriteria));
+    }
+
+    @Test
+    void decode_MalformedCursorGiven_ShouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> CursorConverter.decode("not a cursor", sortCriteria));
+        assertThrows(IllegalArgumentException.class, () -> CursorConverter.decode("AAAAAQ", sortCriteria));
+    }
+
+    @Test
+    void toPage_FullPageGiven_ShouldReturnCursorOfLastRecord() {
+        List<Tag> tags = List.of(Tag.builder().id(1L).name("first").build(),
+                Tag.builder().id(2L).name("second").build());
+        CursorPage<Tag> page = CursorConverter.toPage(tags, sortCriteria, 2);
+        assertEquals(List.of("second", "2"), CursorConverter.decode(page.getNextCursor(), sortCriteria));
+    }
+
+    @Test
+    void toPage_NotFullPageGiven_ShouldReturnNullCursor() {
+        List<Tag> tags = new ArrayList<>(List.of(Tag.builder().id(1L).name("first").build()));
+        assertNull(CursorConverter.toPage(tags, sortCriteria, 2).getNextCursor());
+    }
+}
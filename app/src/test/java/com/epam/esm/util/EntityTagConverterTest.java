@@ -0,0 +1,33 @@
+package com.epam.esm.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityTagConverterTest {
+    @Test
+    void matches_SameVersionGiven_ShouldReturnTrue() {
+        assertTrue(EntityTagConverter.matches(EntityTagConverter.toEntityTag(3), 3));
+    }
+
+    @Test
+    void matches_ListContainingVersionGiven_ShouldReturnTrue() {
+        assertTrue(EntityTagConverter.matches("\"1\", \"3\"", 3));
+    }
+
+    @Test
+    void matches_OtherVersionGiven_ShouldReturnFalse() {
+        assertFalse(EntityTagConverter.matches("\"2\"", 3));
+    }
+
+    @Test
+    void matches_WeakTagGiven_ShouldReturnFalse() {
+        assertFalse(EntityTagConverter.matches("W/\"3\"", 3));
+    }
+
+    @Test
+    void matches_AsteriskGiven_ShouldReturnTrue() {
+        assertTrue(EntityTagConverter.matches("*", 3));
+        assertTrue(EntityTagConverter.isAny(" * "));
+    }
+}
@@ -0,0 +1,62 @@
+package com.epam.esm.util;
+
+import com.epam.esm.controller.GiftCertificateControllerV1;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+class LinkTemplateTest {
+    private final LinkTemplate template = LinkTemplate.compile("/api/v1/gift-certificates/{id}");
+
+    @BeforeEach
+    void setUp() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setScheme("https");
+        request.setServerName("example.com");
+        request.setServerPort(8443);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void expand_IdGiven_ShouldEqualLinkBuiltByMethodInvocation() {
+        Link expected = linkTo(methodOn(GiftCertificateControllerV1.class).findById(42L, null)).withSelfRel();
+        assertEquals(expected.getHref(), template.expand(LinkTemplate.currentBaseUri(), 42L));
+    }
+
+    @Test
+    void expand_SeveralVariablesGiven_ShouldKeepLiteralsInOrder() {
+        LinkTemplate ordersTemplate = LinkTemplate.compile("/users/{userId}/orders/{orderId}");
+        assertEquals("http://host/users/1/orders/2", ordersTemplate.expand("http://host", 1, 2));
+    }
+
+    @Test
+    void expand_WrongValueCountGiven_ShouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> template.expand("http://host"));
+    }
+
+    @Test
+    void compile_UnclosedVariableGiven_ShouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> LinkTemplate.compile("/tags/{id"));
+    }
+
+    @Test
+    void toTemplatedLink_BaseUriGiven_ShouldReturnTemplatedLink() {
+        Link link = template.toTemplatedLink("http://host", IanaLinkRelations.ITEM);
+        assertTrue(link.isTemplated());
+        assertEquals("http://host/api/v1/gift-certificates/7", link.expand(7).getHref());
+    }
+}